@@ -82,7 +82,7 @@ public class AntennaComplianceTool {
         SW360Configuration configuration = new SW360Configuration(propertiesFile.toFile());
 
         SW360UpdaterImpl updaterImpl = new SW360UpdaterImpl(new SW360MetaDataUpdater(
-                configuration.getConnection()
+                configuration.getConnection(), configuration.getFileHashCache()
         ),
                 "redundant project name",
                 "redundant project version",
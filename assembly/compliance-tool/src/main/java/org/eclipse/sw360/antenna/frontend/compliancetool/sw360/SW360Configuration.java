@@ -15,6 +15,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.api.service.ServiceFactory;
 import org.eclipse.sw360.antenna.api.workflow.ConfigurableWorkflowItem;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
 import org.eclipse.sw360.antenna.sw360.workflow.SW360ConnectionConfigurationFactory;
 import org.slf4j.Logger;
@@ -36,6 +38,9 @@ public class SW360Configuration extends ConfigurableWorkflowItem {
     private final Path sourcesPath;
     private final Path baseDir;
     private final ServiceFactory serviceFactory;
+    private final boolean useProxy;
+    private final String proxyHost;
+    private final int proxyPort;
 
     public SW360Configuration(File propertiesFile) {
         this(propertiesFile, new SW360ConnectionConfigurationFactory(), new ServiceFactory());
@@ -59,6 +64,9 @@ public class SW360Configuration extends ConfigurableWorkflowItem {
         baseDir = Paths.get(getProperty("basedir")).toAbsolutePath().normalize();
         sourcesPath = baseDir.resolve(getProperty("sourcesDirectory"));
         csvFilePath = baseDir.resolve(getProperty("csvFilePath"));
+        useProxy = getBooleanConfigValue("proxyUse");
+        proxyHost = properties.get("proxyHost");
+        proxyPort = Integer.parseInt(StringUtils.defaultIfEmpty(properties.get("proxyPort"), "-1"));
         connection = makeConnection();
     }
 
@@ -71,16 +79,17 @@ public class SW360Configuration extends ConfigurableWorkflowItem {
                 {"user.token", getConfigValue("sw360token", properties)},
                 {"client.id", getConfigValue("sw360clientId", properties)},
                 {"client.password", getConfigValue("sw360clientPassword", properties)},
-                {"download.attachments", getConfigValue("sw360downloadSources", properties, "false")}})
+                {"download.attachments", getConfigValue("sw360downloadSources", properties, "false")},
+                {"request.coalescing", getConfigValue("sw360requestCoalescing", properties, "false")},
+                {"cache.ttl.seconds", getConfigValue("sw360cacheTtlSeconds", properties, "0")},
+                {"sync.adapters.direct", getConfigValue("sw360directSyncAdapters", properties, "false")}})
                 .collect(Collectors.toMap(entry -> entry[0], entry -> entry[1]));
-        boolean useProxy = getBooleanConfigValue("proxyUse");
-        String proxyHost = properties.get("proxyHost");
-        int proxyPort = Integer.parseInt(StringUtils.defaultIfEmpty(properties.get("proxyPort"), "-1"));
 
         return connectionFactory.createConnection(
                 key -> getConfigValue(key, configMap),
                 serviceFactory.createHttpClient(useProxy, proxyHost, proxyPort),
-                ServiceFactory.getObjectMapper());
+                ServiceFactory.getObjectMapper(),
+                getDownloadManager());
     }
 
     public Path getBaseDir() {
@@ -112,10 +121,44 @@ public class SW360Configuration extends ConfigurableWorkflowItem {
         return value;
     }
 
+    /**
+     * Returns the value of the optional configuration property with the given
+     * key. If the property is not defined, the default value is returned.
+     *
+     * @param key          the key of the property
+     * @param defaultValue the default value
+     * @return the value of the property or the default value
+     */
+    public String getProperty(String key, String defaultValue) {
+        return properties.getOrDefault(key, defaultValue);
+    }
+
     public SW360Connection getConnection() {
         return connection;
     }
 
+    /**
+     * Returns the shared {@code DownloadManager} to be used for downloads.
+     * The manager uses the same HTTP client as the SW360 connection and
+     * limits the number of parallel downloads.
+     *
+     * @return the {@code DownloadManager}
+     */
+    public DownloadManager getDownloadManager() {
+        return serviceFactory.createDownloadManager(useProxy, proxyHost, proxyPort);
+    }
+
+    /**
+     * Returns the {@code FileHashCache} to be used for hashing local
+     * attachment files. The cache is persisted only if the
+     * {@value #FILE_HASH_CACHE} property defines a store file.
+     *
+     * @return the {@code FileHashCache}
+     */
+    public FileHashCache getFileHashCache() {
+        return getFileHashCache(properties, FileHashCache.getDefault());
+    }
+
     public Boolean getBooleanConfigValue(String key) {
         return getBooleanConfigValue(key, properties);
     }
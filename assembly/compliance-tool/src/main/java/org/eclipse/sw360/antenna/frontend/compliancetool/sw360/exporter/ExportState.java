@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.exporter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * An internally used helper class that stores information about the releases
+ * processed by an export run, so that later runs can skip work.
+ * </p>
+ * <p>
+ * The SW360 REST API does not expose modification markers for releases.
+ * Therefore, this class records for each release ID a hash of the content
+ * of the release as it was retrieved from the server, together with the
+ * state of the release and the time when this state was recorded:
+ * </p>
+ * <ul>
+ *     <li>Releases that are approved are no longer exported. As approval is
+ *     normally the final state of the clearing workflow, these releases do
+ *     not need to be requested again by later runs. However, a release can
+ *     lose its approval, e.g. if its clearing is reopened. Therefore, the
+ *     approval of a release is only trusted for a configurable interval;
+ *     afterwards, the release is requested again, and its state is
+ *     recorded anew.</li>
+ *     <li>For releases that were exported, the paths to their downloaded
+ *     source attachments are recorded as well. If such a release is
+ *     retrieved again with the same content hash, its sources can be reused
+ *     without processing its attachments again.</li>
+ * </ul>
+ * <p>
+ * The state is stored in a simple text file with one line per release; the
+ * fields of a line are separated by tab characters. The file is written
+ * completely by {@link #save()}, using a temporary file that is moved to the
+ * target location atomically. An instance without a file only keeps the
+ * state in memory; this is used if incremental exports are disabled.
+ * </p>
+ * <p>
+ * Implementation note: This class is thread-safe; the state of releases can
+ * be updated concurrently.
+ * </p>
+ */
+class ExportState {
+    /**
+     * Constant for the state of a release that is approved.
+     */
+    static final String STATE_APPROVED = "APPROVED";
+
+    /**
+     * Constant for the state of a release that has been exported.
+     */
+    static final String STATE_EXPORTED = "EXPORTED";
+
+    /**
+     * The separator of the fields in the state file.
+     */
+    private static final String SEPARATOR = "\t";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportState.class);
+
+    /**
+     * The file in which the state is stored; can be <strong>null</strong>.
+     */
+    private final Path stateFile;
+
+    /**
+     * A map storing the entries for the releases known.
+     */
+    private final ConcurrentMap<String, ReleaseEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The interval after which approved releases have to be checked again.
+     */
+    private final Duration approvedRecheckInterval;
+
+    /**
+     * The clock for obtaining the current time.
+     */
+    private final Clock clock;
+
+    /**
+     * Creates a new instance of {@code ExportState} that is backed by the
+     * given file and uses the default interval to re-check approved
+     * releases. If the file exists, its content is loaded. A
+     * <strong>null</strong> path creates an instance that keeps its state
+     * only in memory.
+     *
+     * @param stateFile the file storing the state (may be <strong>null</strong>)
+     */
+    ExportState(Path stateFile) {
+        this(stateFile, Duration.ofDays(SW360Exporter.DEFAULT_APPROVED_RECHECK_DAYS), Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new instance of {@code ExportState} that is backed by the
+     * given file and trusts the approval of a release for the interval
+     * specified. The clock is used to determine the current time.
+     *
+     * @param stateFile               the file storing the state (may be
+     *                                <strong>null</strong>)
+     * @param approvedRecheckInterval the interval after which approved
+     *                                releases are checked again
+     * @param clock                   the clock
+     */
+    ExportState(Path stateFile, Duration approvedRecheckInterval, Clock clock) {
+        this.stateFile = stateFile;
+        this.approvedRecheckInterval = Objects.requireNonNull(approvedRecheckInterval);
+        this.clock = Objects.requireNonNull(clock);
+        if (stateFile != null) {
+            load();
+        }
+    }
+
+    /**
+     * Returns an {@code Optional} with the file in which the state is
+     * stored. The {@code Optional} is empty for an in-memory instance.
+     *
+     * @return an {@code Optional} with the state file
+     */
+    Optional<Path> getStateFile() {
+        return Optional.ofNullable(stateFile);
+    }
+
+    /**
+     * Returns a flag whether the release with the given ID has been
+     * recorded as approved, and this approval is recent enough to be
+     * trusted. If the approval is older than the re-check interval, result
+     * is <strong>false</strong>, so that the release is requested again.
+     *
+     * @param releaseId the ID of the release
+     * @return <strong>true</strong> if this release is known to be approved
+     */
+    boolean isApproved(String releaseId) {
+        ReleaseEntry entry = entries.get(releaseId);
+        return entry != null && STATE_APPROVED.equals(entry.getState()) &&
+                clock.instant().isBefore(entry.getRecordTime().plus(approvedRecheckInterval));
+    }
+
+    /**
+     * Returns the paths to the source attachments of an exported release if
+     * the release has not been changed. This is the case if there is an
+     * entry for this release with the given content hash, and all the source
+     * files recorded for it still exist.
+     *
+     * @param releaseId   the ID of the release
+     * @param contentHash the hash of the current content of the release
+     * @return an {@code Optional} with the paths to the release's sources
+     */
+    Optional<Set<Path>> getUnchangedSources(String releaseId, String contentHash) {
+        ReleaseEntry entry = entries.get(releaseId);
+        if (entry == null || !STATE_EXPORTED.equals(entry.getState()) ||
+                !entry.getContentHash().equals(contentHash) ||
+                !entry.getSourcePaths().stream().allMatch(Files::isRegularFile)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.getSourcePaths());
+    }
+
+    /**
+     * Records that the release with the given ID is approved.
+     *
+     * @param releaseId   the ID of the release
+     * @param contentHash the hash of the content of the release
+     */
+    void recordApproved(String releaseId, String contentHash) {
+        entries.put(releaseId, new ReleaseEntry(STATE_APPROVED, contentHash, clock.instant(),
+                Collections.emptySet()));
+    }
+
+    /**
+     * Records that the release with the given ID has been exported with the
+     * source attachments specified.
+     *
+     * @param releaseId   the ID of the release
+     * @param contentHash the hash of the content of the release
+     * @param sourcePaths the paths to the release's source attachments
+     */
+    void recordExported(String releaseId, String contentHash, Collection<Path> sourcePaths) {
+        entries.put(releaseId, new ReleaseEntry(STATE_EXPORTED, contentHash, clock.instant(),
+                new HashSet<>(sourcePaths)));
+    }
+
+    /**
+     * Removes the entries for all releases whose IDs are not contained in
+     * the given set. This is used to drop releases that have been deleted on
+     * the server.
+     *
+     * @param releaseIds the IDs of the releases to keep
+     */
+    void retainAll(Set<String> releaseIds) {
+        entries.keySet().retainAll(releaseIds);
+    }
+
+    /**
+     * Returns the number of releases stored in this object.
+     *
+     * @return the number of releases
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the current state to the state file. This is a no-op for an
+     * in-memory instance.
+     *
+     * @throws IOException if an error occurs
+     */
+    void save() throws IOException {
+        if (stateFile == null) {
+            return;
+        }
+
+        Path directory = stateFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path tempFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, ReleaseEntry> e : entries.entrySet()) {
+                writer.write(toLine(e.getKey(), e.getValue()));
+                writer.newLine();
+            }
+        }
+        Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads the content of the state file if it exists. Lines that cannot be
+     * parsed are ignored; a file that cannot be read at all is treated as
+     * empty, which means that a full export is done.
+     */
+    private void load() {
+        if (!Files.isRegularFile(stateFile)) {
+            return;
+        }
+
+        try {
+            for (String line : Files.readAllLines(stateFile, StandardCharsets.UTF_8)) {
+                parseLine(line);
+            }
+            LOG.debug("Loaded state of {} releases from {}.", entries.size(), stateFile);
+        } catch (IOException e) {
+            LOG.warn("Could not read export state file {}. Doing a full export.", stateFile, e);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Parses a line of the state file and adds a corresponding entry.
+     *
+     * @param line the line
+     */
+    private void parseLine(String line) {
+        String[] fields = line.split(SEPARATOR);
+        if (fields.length < 4 || !(STATE_APPROVED.equals(fields[1]) || STATE_EXPORTED.equals(fields[1]))) {
+            LOG.debug("Ignoring invalid line in export state file: {}", line);
+            return;
+        }
+
+        Instant recordTime;
+        try {
+            recordTime = Instant.ofEpochMilli(Long.parseLong(fields[3]));
+        } catch (NumberFormatException e) {
+            LOG.debug("Ignoring line with invalid time in export state file: {}", line);
+            return;
+        }
+        Set<Path> sourcePaths = Arrays.stream(fields, 4, fields.length)
+                .map(Paths::get)
+                .collect(Collectors.toSet());
+        entries.put(fields[0], new ReleaseEntry(fields[1], fields[2], recordTime, sourcePaths));
+    }
+
+    /**
+     * Generates the line in the state file for the given entry.
+     *
+     * @param releaseId the ID of the release
+     * @param entry     the entry
+     * @return the line for this entry
+     */
+    private static String toLine(String releaseId, ReleaseEntry entry) {
+        List<String> fields = entry.getSourcePaths().stream()
+                .map(Path::toString)
+                .sorted()
+                .collect(Collectors.toList());
+        fields.add(0, String.valueOf(entry.getRecordTime().toEpochMilli()));
+        fields.add(0, entry.getContentHash());
+        fields.add(0, entry.getState());
+        fields.add(0, releaseId);
+        return String.join(SEPARATOR, fields);
+    }
+
+    /**
+     * A class representing the information stored for a single release.
+     */
+    private static final class ReleaseEntry {
+        /**
+         * The state of the release.
+         */
+        private final String state;
+
+        /**
+         * The hash of the content of the release.
+         */
+        private final String contentHash;
+
+        /**
+         * The time when the state of the release was recorded.
+         */
+        private final Instant recordTime;
+
+        /**
+         * The paths to the source attachments of the release.
+         */
+        private final Set<Path> sourcePaths;
+
+        ReleaseEntry(String state, String contentHash, Instant recordTime, Set<Path> sourcePaths) {
+            this.state = state;
+            this.contentHash = Objects.requireNonNull(contentHash);
+            this.recordTime = Objects.requireNonNull(recordTime);
+            this.sourcePaths = Collections.unmodifiableSet(sourcePaths);
+        }
+
+        String getState() {
+            return state;
+        }
+
+        String getContentHash() {
+            return contentHash;
+        }
+
+        Instant getRecordTime() {
+            return recordTime;
+        }
+
+        Set<Path> getSourcePaths() {
+            return sourcePaths;
+        }
+    }
+}
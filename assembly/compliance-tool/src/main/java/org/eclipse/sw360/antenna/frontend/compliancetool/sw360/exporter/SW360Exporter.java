@@ -11,30 +11,83 @@
  */
 package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.exporter;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.eclipse.sw360.antenna.api.service.ServiceFactory;
 import org.eclipse.sw360.antenna.csvreader.CSVArtifactMapper;
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.ComplianceFeatureUtils;
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360Configuration;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.http.download.Checksum;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapterAsync;
+import org.eclipse.sw360.antenna.sw360.client.rest.PagingIterator;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360HalResource;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360AttachmentType;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.ComponentSearchParams;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
-import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
+import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestLimiter;
+import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
 import org.eclipse.sw360.antenna.sw360.utils.ArtifactToReleaseUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * <p>
+ * The exporter of the compliance tool, which writes all releases in SW360
+ * that are not yet cleared to a CSV file.
+ * </p>
+ * <p>
+ * The data is loaded from the SW360 server by an asynchronous pipeline:
+ * The list of components is retrieved page by page; for each component on a
+ * page, the detail information is fetched; as soon as a component is available, requests for
+ * its releases are sent; and as soon as a release is available, the download
+ * of its source attachments is started. So the latency of the many requests
+ * is overlapped. The number of requests that are in progress at the same
+ * time is limited by the {@link #PROP_MAX_CONCURRENT_REQUESTS} property.
+ * </p>
+ * <p>
+ * Per default, the releases are written to the CSV file sorted by their
+ * creation date, which requires that all of them have been loaded. If the
+ * {@link #PROP_SORT_RELEASES} property is set to <strong>false</strong>, each
+ * release is written as soon as it has been processed. In both cases, the
+ * data is written to a temporary file first, which replaces the CSV file only
+ * after the export was successful.
+ * </p>
+ * <p>
+ * If the {@link #PROP_INCREMENTAL} property is set to <strong>true</strong>,
+ * the exporter records information about the processed releases in a local
+ * state file (see {@link ExportState}). Later runs then do not request
+ * releases again that have been approved recently (see
+ * {@link #PROP_APPROVED_RECHECK_DAYS}), and they reuse the downloaded
+ * sources of releases whose content has not changed.
+ * </p>
+ */
 public class SW360Exporter {
     /**
      * The configuration property defining the encoding of the CSV file.
@@ -55,6 +108,66 @@ public class SW360Exporter {
      */
     public static final String PROP_REMOVE_SOURCES = "removeUnreferencedSources";
 
+    /**
+     * The configuration property that defines the maximum number of requests
+     * to the SW360 server that are in progress at the same time. This
+     * property is optional; if it is missing,
+     * {@link #DEFAULT_MAX_CONCURRENT_REQUESTS} is used.
+     */
+    public static final String PROP_MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+
+    /**
+     * The configuration property that controls whether the releases in the
+     * CSV file are sorted. If set to <strong>false</strong>, releases are
+     * written in the order they are retrieved from the server. This property
+     * is optional; the default value is <strong>true</strong>.
+     */
+    public static final String PROP_SORT_RELEASES = "sortReleases";
+
+    /**
+     * The configuration property that enables incremental exports. If set to
+     * <strong>true</strong>, the state of the export is stored in a file, and
+     * later runs only process releases that are new or have been changed.
+     * This property is optional; the default value is <strong>false</strong>.
+     */
+    public static final String PROP_INCREMENTAL = "incrementalExport";
+
+    /**
+     * The configuration property defining the path to the file in which the
+     * state of incremental exports is stored. A relative path is resolved
+     * against the base directory. This property is optional; if it is
+     * missing, {@link #DEFAULT_STATE_FILE} is used.
+     */
+    public static final String PROP_STATE_FILE = "exportStateFile";
+
+    /**
+     * The configuration property that defines the number of days for which
+     * the approval of a release recorded by an incremental export is
+     * trusted. Approved releases are skipped by later runs; after this
+     * interval, they are requested again, so that a release that lost its
+     * approval is exported again. A value of 0 causes approved releases to
+     * be requested on every run. This property is optional; if it is
+     * missing, {@link #DEFAULT_APPROVED_RECHECK_DAYS} is used.
+     */
+    public static final String PROP_APPROVED_RECHECK_DAYS = "approvedRecheckDays";
+
+    /**
+     * The default number of days after which approved releases are requested
+     * again by incremental exports.
+     */
+    public static final int DEFAULT_APPROVED_RECHECK_DAYS = 7;
+
+    /**
+     * The default name of the file storing the state of incremental exports.
+     */
+    public static final String DEFAULT_STATE_FILE = ".sw360-export-state";
+
+    /**
+     * The default maximum number of requests to the SW360 server that are in
+     * progress at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
     /**
      * A {@code Comparator} for sorting {@code ReleaseWithSources} objects.
      * This comparator is used to sort the list of releases before it is
@@ -69,7 +182,8 @@ public class SW360Exporter {
     private SW360Connection connection;
 
     public SW360Exporter(SW360Configuration configuration) {
-        this(configuration, new SourcesExporter(configuration.getSourcesPath()));
+        this(configuration, new SourcesExporter(configuration.getSourcesPath(),
+                configuration.getDownloadManager(), configuration.getFileHashCache()));
     }
 
     SW360Exporter(SW360Configuration configuration, SourcesExporter sourcesExporter) {
@@ -80,34 +194,52 @@ public class SW360Exporter {
     public void execute() {
         LOGGER.debug("{} has started.", SW360Exporter.class.getName());
         connection = configuration.getConnection();
+        boolean sortReleases = Boolean.parseBoolean(configuration.getProperty(PROP_SORT_RELEASES, "true"));
+        RequestLimiter requestLimiter = new RequestLimiter(Integer.parseInt(
+                configuration.getProperty(PROP_MAX_CONCURRENT_REQUESTS,
+                        String.valueOf(DEFAULT_MAX_CONCURRENT_REQUESTS))));
+        ExportState exportState = createExportState();
 
-        Collection<SW360SparseComponent> components = connection.getComponentAdapter().search(ComponentSearchParams.ALL_COMPONENTS);
-
-        Collection<SW360SparseRelease> sw360SparseReleases = getReleasesFromComponents(components);
-
-        Collection<SW360Release> sw360ReleasesNotApproved = getNonApprovedReleasesFromSpareReleases(sw360SparseReleases);
-
-        Collection<ReleaseWithSources> nonApprovedReleasesWithSources =
-                sourcesExporter.downloadSources(connection.getReleaseAdapterAsync(), sw360ReleasesNotApproved);
-
-        List<Artifact> artifacts = nonApprovedReleasesWithSources.stream()
-                .sorted(RELEASES_COMPARATOR)
-                .map(this::releaseAsArtifact)
-                .collect(Collectors.toList());
-
-        File csvFile =  configuration.getCsvFilePath()
-                .toFile();
-
-        CSVArtifactMapper csvArtifactMapper = new CSVArtifactMapper(csvFile.toPath(),
+        Path csvFile = configuration.getCsvFilePath();
+        Path tempCsvFile = csvFile.resolveSibling(csvFile.getFileName() + ".tmp");
+        CSVArtifactMapper csvArtifactMapper = new CSVArtifactMapper(tempCsvFile,
                 Charset.forName(configuration.getProperty(PROP_ENCODING)),
                 configuration.getProperty(PROP_DELIMITER).charAt(0),
                 configuration.getBaseDir());
 
-        csvArtifactMapper.writeArtifactsToCsvFile(artifacts);
+        Collection<ReleaseWithSources> nonApprovedReleasesWithSources;
+        boolean success = false;
+        try {
+            try (CSVArtifactMapper.ArtifactWriter writer = csvArtifactMapper.openArtifactWriter()) {
+                Consumer<ReleaseWithSources> releaseConsumer = sortReleases ? release -> { } :
+                        release -> writeRelease(writer, release);
+                ExportContext context = new ExportContext(requestLimiter, exportState, releaseConsumer);
+                nonApprovedReleasesWithSources = FutureUtils.block(exportReleases(context));
+                exportState.retainAll(context.getReleaseIds());
+
+                if (sortReleases) {
+                    List<ReleaseWithSources> sortedReleases = nonApprovedReleasesWithSources.stream()
+                            .sorted(RELEASES_COMPARATOR)
+                            .collect(Collectors.toList());
+                    for (ReleaseWithSources release : sortedReleases) {
+                        writer.write(releaseAsArtifact(release));
+                    }
+                }
+            }
+            Files.move(tempCsvFile, csvFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            success = true;
+        } catch (IOException e) {
+            throw new SW360ClientException("Could not write CSV file " + csvFile, e);
+        } finally {
+            if (!success) {
+                deleteTempFile(tempCsvFile);
+            }
+        }
 
         if (Boolean.parseBoolean(configuration.getProperty(PROP_REMOVE_SOURCES))) {
             sourcesExporter.removeUnreferencedFiles(nonApprovedReleasesWithSources);
         }
+        saveExportState(exportState);
 
         LOGGER.info("The SW360Exporter was executed with the following configuration:");
         configuration.logConfiguration(LOGGER);
@@ -120,25 +252,226 @@ public class SW360Exporter {
         return artifact;
     }
 
-    private Collection<SW360SparseRelease> getReleasesFromComponents(Collection<SW360SparseComponent> components) {
-        return components.stream()
-                .map(SW360HalResource::getId)
-                .filter(Objects::nonNull)
-                .map(id -> connection.getComponentAdapter().getComponentById(id))
-                .map(component -> component.orElse(null))
-                .filter(Objects::nonNull)
-                .flatMap(component -> component.getEmbedded().getReleases().stream())
-                .collect(Collectors.toList());
+    /**
+     * Writes the given release to the CSV file. This method is called for
+     * each release as soon as it is available if sorting is disabled.
+     *
+     * @param writer  the writer for the CSV file
+     * @param release the release to be written
+     * @throws UncheckedIOException if an error occurs
+     */
+    private void writeRelease(CSVArtifactMapper.ArtifactWriter writer, ReleaseWithSources release) {
+        try {
+            writer.write(releaseAsArtifact(release));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes the temporary CSV file after a failed export. The CSV file is
+     * only replaced if the export was successful, so that a failure does not
+     * destroy the result of a previous run.
+     *
+     * @param tempFile the temporary CSV file
+     */
+    private static void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not remove temporary file {}.", tempFile, e);
+        }
+    }
+
+    /**
+     * Creates the object for storing the state of the export. If incremental
+     * exports are enabled, the state is loaded from the configured state
+     * file; otherwise, an in-memory instance is returned.
+     *
+     * @return the {@code ExportState}
+     * @throws IllegalArgumentException if the re-check interval is negative
+     */
+    private ExportState createExportState() {
+        if (!Boolean.parseBoolean(configuration.getProperty(PROP_INCREMENTAL, "false"))) {
+            return new ExportState(null);
+        }
+
+        Path stateFile = configuration.getBaseDir()
+                .resolve(configuration.getProperty(PROP_STATE_FILE, DEFAULT_STATE_FILE));
+        int recheckDays = Integer.parseInt(configuration.getProperty(PROP_APPROVED_RECHECK_DAYS,
+                String.valueOf(DEFAULT_APPROVED_RECHECK_DAYS)));
+        if (recheckDays < 0) {
+            throw new IllegalArgumentException("Invalid value for " + PROP_APPROVED_RECHECK_DAYS + ": " + recheckDays);
+        }
+        ExportState state = new ExportState(stateFile, Duration.ofDays(recheckDays), Clock.systemUTC());
+        LOGGER.info("Incremental export; state of {} releases was loaded from {}.", state.size(), stateFile);
+        return state;
+    }
+
+    /**
+     * Writes the state of the export to its file, so that it can be used by
+     * the next run. Errors are only logged; in the worst case, the next run
+     * has to process more releases.
+     *
+     * @param exportState the state of the export
+     */
+    private static void saveExportState(ExportState exportState) {
+        try {
+            exportState.save();
+        } catch (IOException e) {
+            LOGGER.warn("Could not save the state of the export to {}.",
+                    exportState.getStateFile().orElse(null), e);
+        }
+    }
+
+    /**
+     * Starts the asynchronous pipeline that retrieves all components and
+     * their releases and downloads the sources of the releases that are not
+     * yet approved. Each processed release is passed to the consumer of the
+     * context. The list of components is loaded page by page while this
+     * method runs; so it throws an exception if a page cannot be loaded. The
+     * resulting future completes with all releases that have been processed;
+     * it fails if one of the further requests to the server fails.
+     *
+     * @param context the context of the current export
+     * @return a future with the releases to be exported
+     */
+    private CompletableFuture<Collection<ReleaseWithSources>> exportReleases(ExportContext context) {
+        SW360ComponentClientAdapterAsync componentAdapter = connection.getComponentAdapterAsync();
+        List<CompletableFuture<Collection<ReleaseWithSources>>> componentFutures;
+        try (Stream<SW360SparseComponent> components = componentAdapter.getComponentClient()
+                .streamComponents(ComponentSearchParams.ALL_COMPONENTS, PagingIterator.DEFAULT_PAGE_SIZE)) {
+            componentFutures = components
+                    .map(SW360SparseComponent::getId)
+                    .filter(Objects::nonNull)
+                    .map(id -> context.getRequestLimiter()
+                            .submit(() -> componentAdapter.getComponentById(id))
+                            .thenCompose(component -> exportComponent(context, component)))
+                    .collect(Collectors.toList());
+        }
+        return FutureUtils.sequence(componentFutures, ex -> true)
+                .thenApply(results -> results.stream()
+                        .flatMap(Collection::stream)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Processes all the releases of a component that has been retrieved from
+     * the server. For each release, a request is sent, and the resulting
+     * release is processed further if it is not yet approved.
+     *
+     * @param context   the context of the current export
+     * @param component an {@code Optional} with the component
+     * @return a future with the releases of this component to be exported
+     */
+    private CompletableFuture<Collection<ReleaseWithSources>>
+    exportComponent(ExportContext context, Optional<SW360Component> component) {
+        List<CompletableFuture<Optional<ReleaseWithSources>>> releaseFutures = component
+                .map(comp -> comp.getEmbedded().getReleases().stream()
+                        .map(SW360HalResource::getId)
+                        .filter(Objects::nonNull)
+                        .map(id -> exportRelease(context, id))
+                        .collect(Collectors.toList()))
+                .orElse(Collections.emptyList());
+        return FutureUtils.sequence(releaseFutures, ex -> true)
+                .thenApply(results -> results.stream()
+                        .filter(Optional::isPresent)
+                        .map(Optional::get)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Processes the release with the given ID. Releases that are known to be
+     * approved (and whose approval does not need to be checked again) are
+     * skipped directly. Otherwise, the release is retrieved;
+     * if it is not approved, its sources are downloaded - unless they are
+     * still valid from a previous run -, and it is passed to the consumer.
+     *
+     * @param context   the context of the current export
+     * @param releaseId the ID of the release
+     * @return a future with an {@code Optional} for the processed release;
+     * the {@code Optional} is empty if the release is not to be exported
+     */
+    private CompletableFuture<Optional<ReleaseWithSources>> exportRelease(ExportContext context, String releaseId) {
+        context.getReleaseIds().add(releaseId);
+        if (context.getExportState().isApproved(releaseId)) {
+            LOGGER.debug("Skipping release {}, which was approved in a previous run.", releaseId);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        SW360ReleaseClientAdapterAsync releaseAdapter = connection.getReleaseAdapterAsync();
+        return context.getRequestLimiter().submit(() -> releaseAdapter.getReleaseById(releaseId))
+                .thenCompose(optRelease -> {
+                    if (!optRelease.isPresent()) {
+                        LOGGER.warn("Release with ID {} could not be found.", releaseId);
+                        return CompletableFuture.completedFuture(Optional.empty());
+                    }
+                    return exportRelease(context, releaseAdapter, releaseId, optRelease.get());
+                });
+    }
+
+    /**
+     * Processes a release that has been retrieved from the server and
+     * updates the state of the export accordingly.
+     *
+     * @param context        the context of the current export
+     * @param releaseAdapter the release adapter
+     * @param releaseId      the ID of the release
+     * @param release        the release
+     * @return a future with an {@code Optional} for the processed release
+     */
+    private CompletableFuture<Optional<ReleaseWithSources>>
+    exportRelease(ExportContext context, SW360ReleaseClientAdapterAsync releaseAdapter, String releaseId,
+                  SW360Release release) {
+        ExportState exportState = context.getExportState();
+        String contentHash = calculateContentHash(release);
+        if (ComplianceFeatureUtils.isApproved(release)) {
+            exportState.recordApproved(releaseId, contentHash);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        return exportState.getUnchangedSources(releaseId, contentHash)
+                .map(paths -> CompletableFuture.completedFuture(new ReleaseWithSources(release, paths)))
+                .orElseGet(() -> sourcesExporter.downloadSourcesForRelease(releaseAdapter, release))
+                .thenApply(releaseWithSources -> {
+                    if (releaseWithSources.getSourceAttachmentPaths().size() == countSourceAttachments(release)) {
+                        exportState.recordExported(releaseId, contentHash,
+                                releaseWithSources.getSourceAttachmentPaths());
+                    }
+                    context.getReleaseConsumer().accept(releaseWithSources);
+                    return Optional.of(releaseWithSources);
+                });
+    }
+
+    /**
+     * Calculates a hash over the content of the given release. This is used
+     * to find out whether a release has been changed since the last export.
+     *
+     * @param release the release
+     * @return the hash of this release
+     * @throws SW360ClientException if the release cannot be serialized
+     */
+    private static String calculateContentHash(SW360Release release) {
+        try {
+            return Checksum.calculate(Checksum.ALGORITHM_SHA1,
+                    ServiceFactory.getObjectMapper().writeValueAsBytes(release));
+        } catch (JsonProcessingException e) {
+            throw new SW360ClientException("Could not serialize release " + release.getName(), e);
+        }
     }
 
-    private Collection<SW360Release> getNonApprovedReleasesFromSpareReleases(Collection<SW360SparseRelease> sw360SparseReleases) {
-        return sw360SparseReleases.stream()
-                .map(SW360HalResource::getId)
-                .filter(Objects::nonNull)
-                .map(id -> connection.getReleaseAdapter().getReleaseById(id))
-                .map(Optional::get)
-                .filter(sw360Release -> !ComplianceFeatureUtils.isApproved(sw360Release))
-                .collect(Collectors.toList());
+    /**
+     * Returns the number of source attachments assigned to the given
+     * release. Only if all of them could be downloaded, the sources of the
+     * release can be reused by the next export.
+     *
+     * @param release the release
+     * @return the number of source attachments of this release
+     */
+    private static long countSourceAttachments(SW360Release release) {
+        return release.getEmbedded().getAttachments().stream()
+                .filter(attachment -> attachment.getAttachmentType() == SW360AttachmentType.SOURCE)
+                .count();
     }
 
     /**
@@ -171,4 +504,53 @@ public class SW360Exporter {
         return cCreated.thenComparing(rel -> rel.getRelease().getName())
                 .thenComparing(rel -> rel.getRelease().getVersion());
     }
+
+    /**
+     * A class storing the objects that are needed during a single run of the
+     * exporter.
+     */
+    private static final class ExportContext {
+        /**
+         * The object to limit parallel requests.
+         */
+        private final RequestLimiter requestLimiter;
+
+        /**
+         * The state of the export.
+         */
+        private final ExportState exportState;
+
+        /**
+         * The consumer for processed releases.
+         */
+        private final Consumer<ReleaseWithSources> releaseConsumer;
+
+        /**
+         * A set with the IDs of all releases encountered during the export.
+         */
+        private final Set<String> releaseIds = ConcurrentHashMap.newKeySet();
+
+        ExportContext(RequestLimiter requestLimiter, ExportState exportState,
+                      Consumer<ReleaseWithSources> releaseConsumer) {
+            this.requestLimiter = requestLimiter;
+            this.exportState = exportState;
+            this.releaseConsumer = releaseConsumer;
+        }
+
+        RequestLimiter getRequestLimiter() {
+            return requestLimiter;
+        }
+
+        ExportState getExportState() {
+            return exportState;
+        }
+
+        Consumer<ReleaseWithSources> getReleaseConsumer() {
+            return releaseConsumer;
+        }
+
+        Set<String> getReleaseIds() {
+            return releaseIds;
+        }
+    }
 }
@@ -13,6 +13,9 @@ package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.exporter;
 import org.apache.commons.lang.text.StrBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360AttachmentUtils;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360AttachmentType;
@@ -37,6 +40,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +58,12 @@ import java.util.stream.Collectors;
  * source attachments are downloaded. The folder structure is derived from the
  * release name and its version.
  * </p>
+ * <p>
+ * If a {@link DownloadManager} is provided, all downloads are submitted to it,
+ * so that the number of parallel downloads from the SW360 server is limited.
+ * Downloaded files are verified against the SHA-1 hashes of the attachments
+ * before they are stored under their final name.
+ * </p>
  */
 class SourcesExporter {
     /**
@@ -82,6 +92,16 @@ class SourcesExporter {
      */
     private final Path sourcePath;
 
+    /**
+     * The manager to limit parallel downloads; can be <strong>null</strong>.
+     */
+    private final DownloadManager downloadManager;
+
+    /**
+     * The cache for the hashes of local attachment files.
+     */
+    private final FileHashCache fileHashCache;
+
     /**
      * Creates a new instance of {@code SourcesExporter} and sets the directory
      * where sources are to be downloaded.
@@ -89,7 +109,34 @@ class SourcesExporter {
      * @param sourcePath the path to the sources directory
      */
     public SourcesExporter(Path sourcePath) {
+        this(sourcePath, null);
+    }
+
+    /**
+     * Creates a new instance of {@code SourcesExporter} that sets the
+     * directory where sources are to be downloaded and the manager that
+     * controls parallel downloads.
+     *
+     * @param sourcePath      the path to the sources directory
+     * @param downloadManager the download manager (may be <strong>null</strong>)
+     */
+    public SourcesExporter(Path sourcePath, DownloadManager downloadManager) {
+        this(sourcePath, downloadManager, FileHashCache.getDefault());
+    }
+
+    /**
+     * Creates a new instance of {@code SourcesExporter} that sets the
+     * directory where sources are to be downloaded, the manager that controls
+     * parallel downloads, and the cache for the hashes of local files.
+     *
+     * @param sourcePath      the path to the sources directory
+     * @param downloadManager the download manager (may be <strong>null</strong>)
+     * @param fileHashCache   the cache for file hashes
+     */
+    public SourcesExporter(Path sourcePath, DownloadManager downloadManager, FileHashCache fileHashCache) {
         this.sourcePath = sourcePath;
+        this.downloadManager = downloadManager;
+        this.fileHashCache = fileHashCache;
     }
 
     /**
@@ -97,8 +144,8 @@ class SourcesExporter {
      * configured download directory. The method ignores (just logs) errors and
      * returns a collection with information about the releases and the
      * attachments that could be downloaded successfully. The download is done
-     * in parallel as far as possible (limited by the thread pool used by the
-     * HTTP client).
+     * in parallel as far as possible (limited by the download manager if
+     * available, otherwise by the thread pool used by the HTTP client).
      *
      * @param releaseAdapter the SW360 release client adapter
      * @param releases       the list with releases to be processed
@@ -138,20 +185,23 @@ class SourcesExporter {
      * @throws org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException if an error occurs
      */
     String calculateLocalAttachmentHash(Path localPath) {
-        return SW360AttachmentUtils.calculateSha1Hash(localPath);
+        return SW360AttachmentUtils.calculateSha1Hash(localPath, fileHashCache);
     }
 
     /**
      * Handles the attachment downloads for a single release. All attachments
      * of type <em>source</em> assigned to the release are downloaded (in
      * parallel). A future with the resulting {@code ReleaseWithSources} object
-     * is returned.
+     * is returned. Errors are handled in the same way as by
+     * {@link #downloadSources(SW360ReleaseClientAdapterAsync, Collection)}.
+     * This method can be used to start the download for a release as soon as
+     * it becomes available.
      *
      * @param releaseAdapter the SW360 release client adapter
      * @param release        the release to be processed
      * @return an object with the result of the download operations
      */
-    private CompletableFuture<ReleaseWithSources>
+    public CompletableFuture<ReleaseWithSources>
     downloadSourcesForRelease(SW360ReleaseClientAdapterAsync releaseAdapter, SW360Release release) {
         Path releaseFolder = pathForRelease(release);
         List<CompletableFuture<Path>> downloads = release.getEmbedded().getAttachments().stream()
@@ -178,14 +228,32 @@ class SourcesExporter {
                                                        Path releasePath) {
         return getLocalAttachmentPath(attachment, releasePath)
                 .map(CompletableFuture::completedFuture)
-                .orElseGet(() -> FutureUtils.wrapFutureForConditionalFallback(releaseAdapter.processAttachment(release,
-                        attachment.getAttachmentId(),
-                        createDownloadProcessor(releasePath, attachment)), ex -> true,
+                .orElseGet(() -> FutureUtils.wrapFutureForConditionalFallback(
+                        limitDownload(release, () -> releaseAdapter.processAttachment(release,
+                                attachment.getAttachmentId(), createDownloadProcessor(releasePath, attachment))),
+                        ex -> true,
                         () -> FutureUtils.failedFuture(new IllegalStateException(String.format(FMT_DOWNLOAD_ERROR,
                                 attachment.getFilename(), release.getName(), release.getVersion()))))
                 );
     }
 
+    /**
+     * Executes a download operation under the control of the download
+     * manager if one is available. The downloads are assigned to the host of
+     * the release's self link.
+     *
+     * @param release  the release the download is for
+     * @param download the download operation
+     * @return a future with the result of the download
+     */
+    private CompletableFuture<Path> limitDownload(SW360Release release,
+                                                  Supplier<CompletableFuture<Path>> download) {
+        if (downloadManager == null || release.getSelfLink() == null) {
+            return download.get();
+        }
+        return downloadManager.submit(DownloadManager.hostOf(release.getSelfLink().getHref()), download);
+    }
+
     /**
      * Tries to find the local path for an attachment. This method prevents
      * unnecessary downloads by checking whether the attachment already exists
@@ -233,8 +301,9 @@ class SourcesExporter {
      */
     private static SW360AttachmentUtils.AttachmentDownloadProcessorCreateDownloadFolderWithParents
     createDownloadProcessor(Path releasePath, SW360SparseAttachment attachment) {
+        Checksum checksum = StringUtils.isEmpty(attachment.getSha1()) ? null : Checksum.sha1(attachment.getSha1());
         return new SW360AttachmentUtils.AttachmentDownloadProcessorCreateDownloadFolderWithParents(releasePath,
-                sanitizePath(attachment.getFilename()), StandardCopyOption.REPLACE_EXISTING);
+                sanitizePath(attachment.getFilename()), checksum, StandardCopyOption.REPLACE_EXISTING);
     }
 
     /**
@@ -10,21 +10,86 @@
  */
 package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
 
+import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360Configuration;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapterAsync;
+import org.eclipse.sw360.antenna.sw360.client.rest.PagingIterator;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360HalResource;
-import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360ComponentEmbedded;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.ComponentSearchParams;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
+import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestLimiter;
 
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * <p>
+ * An abstract base class for info requests that evaluate the releases of all
+ * components available in SW360.
+ * </p>
+ * <p>
+ * Retrieving the releases requires a request for each component and another
+ * one for each release. To keep the run time of status reports acceptable
+ * for large SW360 instances, these requests are sent asynchronously. First,
+ * the components are loaded in parallel to collect the sparse releases they
+ * contain (see {@link #getSparseReleases(SW360Connection)}). Then the
+ * details of these releases are requested in parallel, and releases are
+ * filtered when they arrive. A {@link RequestLimiter} makes sure that the
+ * number of requests in progress at the same time does not exceed a limit.
+ * The limit can be set with the
+ * {@value SW360StatusReporter#PROP_MAX_CONCURRENT_REQUESTS} configuration
+ * property.
+ * </p>
+ * <p>
+ * Concrete subclasses define a predicate to select the releases they are
+ * interested in. The results can either be collected or - via
+ * {@link #execute(SW360Connection, Consumer)} - be passed to a consumer as
+ * soon as they arrive.
+ * </p>
+ */
 abstract class IRForReleases implements InfoRequest<SW360Release> {
+    /**
+     * The default maximum number of requests to the SW360 server that are in
+     * progress at the same time.
+     */
+    static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+    /**
+     * The maximum number of parallel requests.
+     */
+    private int maxConcurrentRequests;
+
+    /**
+     * Creates a new instance of {@code IRForReleases} that uses the default
+     * limit for parallel requests.
+     */
+    IRForReleases() {
+        this(DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Creates a new instance of {@code IRForReleases} with the maximum number
+     * of requests that can be sent in parallel.
+     *
+     * @param maxConcurrentRequests the limit for parallel requests
+     */
+    IRForReleases(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
     @Override
     public String helpMessage() {
         return "The info parameter " + getInfoParameter() + " does not require any additional parameters or settings.";
@@ -41,37 +106,120 @@ abstract class IRForReleases implements InfoRequest<SW360Release> {
     }
 
     /**
-     * Gives a stream of releases from  a list of components
+     * {@inheritDoc} This implementation reads the limit for parallel
+     * requests.
      *
-     * @param connection connection object to a sw360 instance
-     * @param components list of sparse components containing linked releases
-     * @return stream of releases
+     * @throws IllegalArgumentException if the limit is not a positive number
      */
-    private Stream<SW360Release> getSw360ReleaseStream(SW360Connection connection, List<SW360SparseComponent> components) {
-        return components.stream()
-                .map(SW360HalResource::getId)
-                .map(id -> connection.getComponentAdapter().getComponentById(id))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(SW360HalResource::getEmbedded)
-                .map(SW360ComponentEmbedded::getReleases)
-                .flatMap(Collection::stream)
-                .map(release -> connection.getReleaseAdapter().getReleaseById(release.getReleaseId()))
-                .filter(Optional::isPresent)
-                .map(Optional::get);
+    @Override
+    public void configure(SW360Configuration configuration) {
+        maxConcurrentRequests = Integer.parseInt(configuration.getProperty(
+                SW360StatusReporter.PROP_MAX_CONCURRENT_REQUESTS, String.valueOf(DEFAULT_MAX_CONCURRENT_REQUESTS)));
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Invalid value for " + SW360StatusReporter.PROP_MAX_CONCURRENT_REQUESTS +
+                    ": " + maxConcurrentRequests);
+        }
+    }
+
+    @Override
+    public Collection<SW360Release> execute(SW360Connection connection) {
+        return getReleasesByPredicate(connection, getReleasePredicate());
+    }
+
+    @Override
+    public void execute(SW360Connection connection, Consumer<? super SW360Release> consumer) {
+        processReleasesByPredicate(connection, getReleasePredicate(), consumer);
     }
 
     /**
-     * Filters a list of components linked releases with a predicate
+     * Returns the predicate to select the releases to be reported.
+     *
+     * @return the predicate for the releases of interest
+     */
+    abstract Predicate<SW360Release> getReleasePredicate();
+
+    /**
+     * Returns the maximum number of requests this object sends to the
+     * server in parallel.
+     *
+     * @return the limit for parallel requests
+     */
+    int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Retrieves the releases of all components from the server and returns
+     * the ones that are accepted by the given predicate. The details of all
+     * releases are fetched in parallel.
      *
      * @param connection       connection object to a sw360 instance
-     * @param components       list of sparse components containing linked releases
      * @param releasePredicate predicate by which releases are filtered
-     * @return all releases of the components that adhere to prediacte
+     * @return all releases of the components that adhere to the predicate
+     */
+    Set<SW360Release> getReleasesByPredicate(SW360Connection connection, Predicate<SW360Release> releasePredicate) {
+        Set<SW360Release> releases = ConcurrentHashMap.newKeySet();
+        processReleasesByPredicate(connection, releasePredicate, releases::add);
+        return releases;
+    }
+
+    /**
+     * Retrieves the releases of all components from the server and passes
+     * the ones that are accepted by the given predicate to a consumer. The
+     * sparse releases of all components are obtained first; then their
+     * details are fetched in parallel. The consumer is invoked as soon as a
+     * release arrives, potentially from multiple threads. This method blocks
+     * until all releases have been processed.
+     *
+     * @param connection       connection object to a sw360 instance
+     * @param releasePredicate predicate by which releases are filtered
+     * @param consumer         the consumer for the matching releases
+     */
+    void processReleasesByPredicate(SW360Connection connection, Predicate<SW360Release> releasePredicate,
+                                    Consumer<? super SW360Release> consumer) {
+        Set<SW360SparseRelease> sparseReleases = getSparseReleases(connection);
+        RequestLimiter limiter = new RequestLimiter(maxConcurrentRequests);
+        SW360ReleaseClientAdapterAsync releaseAdapter = connection.getReleaseAdapterAsync();
+        FutureUtils.block(CompletableFuture.allOf(sparseReleases.stream()
+                .map(sparseRelease -> limiter.submit(() -> releaseAdapter.getReleaseById(sparseRelease.getReleaseId()))
+                        .thenAccept(optRelease -> optRelease.filter(releasePredicate)
+                                .ifPresent(consumer)))
+                .toArray(CompletableFuture[]::new)));
+    }
+
+    /**
+     * Retrieves the sparse releases of all components from the server. The
+     * list of components is loaded page by page; the details of the
+     * components are requested in parallel while further pages arrive. No
+     * request per release is needed.
+     *
+     * @param connection connection object to a sw360 instance
+     * @return the sparse releases of all components
+     */
+    Set<SW360SparseRelease> getSparseReleases(SW360Connection connection) {
+        RequestLimiter limiter = new RequestLimiter(maxConcurrentRequests);
+        SW360ComponentClientAdapterAsync componentAdapter = connection.getComponentAdapterAsync();
+        Set<SW360SparseRelease> releases = ConcurrentHashMap.newKeySet();
+        try (Stream<SW360SparseComponent> components = componentAdapter.getComponentClient()
+                .streamComponents(ComponentSearchParams.ALL_COMPONENTS, PagingIterator.DEFAULT_PAGE_SIZE)) {
+            FutureUtils.block(CompletableFuture.allOf(components
+                    .map(SW360HalResource::getId)
+                    .filter(Objects::nonNull)
+                    .map(id -> limiter.submit(() -> componentAdapter.getComponentById(id))
+                            .thenAccept(optComponent -> releases.addAll(sparseReleasesOf(optComponent))))
+                    .toArray(CompletableFuture[]::new)));
+        }
+        return releases;
+    }
+
+    /**
+     * Returns the sparse releases of a component if it is defined.
+     *
+     * @param component an {@code Optional} with the component
+     * @return the sparse releases of this component
      */
-    Set<SW360Release> getReleasesFromComponentsByPredicate(SW360Connection connection, List<SW360SparseComponent> components, Predicate<SW360Release> releasePredicate) {
-        return getSw360ReleaseStream(connection, components)
-                .filter(releasePredicate)
-                .collect(Collectors.toSet());
+    private static Collection<SW360SparseRelease> sparseReleasesOf(Optional<SW360Component> component) {
+        return component.map(comp -> comp.getEmbedded().getReleases())
+                .orElse(Collections.emptyList());
     }
 }
@@ -11,13 +11,8 @@
 package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
 
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.ComplianceFeatureUtils;
-import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
-import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.ComponentSearchParams;
-import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
 
-import java.util.Collection;
-import java.util.List;
 import java.util.function.Predicate;
 
 public class IRGetClearedReleases extends IRForReleases {
@@ -29,10 +24,7 @@ public class IRGetClearedReleases extends IRForReleases {
     }
 
     @Override
-    public Collection<SW360Release> execute(SW360Connection connection) {
-        final List<SW360SparseComponent> components = connection.getComponentAdapter().search(ComponentSearchParams.ALL_COMPONENTS);
-
-        final Predicate<SW360Release> isApproved = ComplianceFeatureUtils::isApproved;
-        return getReleasesFromComponentsByPredicate(connection, components, isApproved);
+    Predicate<SW360Release> getReleasePredicate() {
+        return ComplianceFeatureUtils::isApproved;
     }
 }
@@ -10,12 +10,14 @@
  */
 package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
 
+import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360Configuration;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -61,7 +63,19 @@ public interface InfoRequest<T> {
      * @param parameters map of parameters for parsing.
      */
     default void parseAdditionalParameter(Map<String, String> parameters) {
-        //no -op
+        // no-op
+    }
+
+    /**
+     * Passes the configuration of the compliance tool to this info request,
+     * so that it can evaluate settings that are defined as configuration
+     * properties rather than parameters. This method is called before the
+     * request is executed. This default implementation is a no-op.
+     *
+     * @param configuration the configuration of the compliance tool
+     */
+    default void configure(SW360Configuration configuration) {
+        // no-op
     }
 
     /**
@@ -90,6 +104,22 @@ public interface InfoRequest<T> {
      */
     Collection<T> execute(SW360Connection connection);
 
+    /**
+     * Retrieves the data this info request is made for and passes the
+     * resulting objects one by one to the given consumer. This allows
+     * writing results while the request is still in progress. The consumer
+     * may be invoked from multiple threads. This default implementation
+     * passes the results of {@link #execute(SW360Connection)} to the
+     * consumer.
+     *
+     * @param connection SW360Connection supplying the information
+     *                   for a working SW360 instance
+     * @param consumer   the consumer for the objects that were retrieved
+     */
+    default void execute(SW360Connection connection, Consumer<? super T> consumer) {
+        execute(connection).forEach(consumer);
+    }
+
     /**
      * This gives the information of the kind of class that
      * is returned by the Collection of the execute function
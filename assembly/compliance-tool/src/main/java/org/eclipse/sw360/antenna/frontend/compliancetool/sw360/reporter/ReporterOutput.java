@@ -10,8 +10,12 @@
  */
 package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Central interface for the report output of the status reporter
@@ -22,4 +26,44 @@ public interface ReporterOutput {
     void setFilePath(Path filePath);
 
     <T> void print(Collection<T> result);
+
+    /**
+     * Opens a {@link ResultWriter} that writes results one by one as they
+     * become available. Implementations supporting streaming output write
+     * each result directly to the output file instead of collecting all
+     * results before writing them. This default implementation
+     * collects all results and passes them to {@link #print(Collection)}
+     * when the writer is closed.
+     *
+     * @return the writer for the results of a report
+     * @throws IOException if the output file cannot be opened
+     */
+    default ResultWriter openWriter() throws IOException {
+        List<Object> results = new ArrayList<>();
+        return new ResultWriter() {
+            @Override
+            public void write(Object result) {
+                results.add(result);
+            }
+
+            @Override
+            public void close() {
+                print(results);
+            }
+        };
+    }
+
+    /**
+     * An interface for writing the results of a report one by one. Writers
+     * are not thread-safe; callers have to synchronize concurrent writes.
+     */
+    interface ResultWriter extends Closeable {
+        /**
+         * Writes a single result object to the output.
+         *
+         * @param result the result to write
+         * @throws IOException if an error occurs
+         */
+        void write(Object result) throws IOException;
+    }
 }
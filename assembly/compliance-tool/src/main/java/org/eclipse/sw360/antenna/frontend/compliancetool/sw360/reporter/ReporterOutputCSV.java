@@ -21,7 +21,6 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -55,19 +54,42 @@ public class ReporterOutputCSV implements ReporterOutput {
 
     @Override
     public <T> void print(Collection<T> result) {
-        String header = getHeader();
-        String[][] body = setBody(result);
+        try (ResultWriter writer = openWriter()) {
+            for (T item : result) {
+                writer.write(item);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error when writing the csv file", e);
+        }
+    }
 
-        printCsvFile(header, body);
+    /**
+     * {@inheritDoc} This implementation writes the header of the csv file
+     * directly and then appends a record for each result passed to the
+     * writer.
+     */
+    @Override
+    public ResultWriter openWriter() throws IOException {
+        if (!filePath.toString().endsWith(".csv")) {
+            LOGGER.warn("CSV file {} does not have the correct file extension", filePath);
+        }
+        return new CsvResultWriter(getHeader());
     }
 
-    private <T> String[][] setBody(Collection<T> result) {
+    /**
+     * Converts a single result object to a record of the csv file. Result
+     * objects of unsupported types are converted to <strong>null</strong>.
+     *
+     * @param result the result object
+     * @return the record for this object or <strong>null</strong>
+     */
+    private String[] toRecord(Object result) {
         if (resultType.equals(SW360Release.class)) {
-            return ReporterUtils.printCollectionOfReleases((Collection<SW360Release>) result);
+            return ReporterUtils.releaseCsvPrintRow((SW360Release) result);
         } else if (resultType.equals(SW360SparseRelease.class)) {
-            return ReporterUtils.printCollectionOfSparseReleases((Collection<SW360SparseRelease>) result);
+            return ReporterUtils.sparseReleaseCsvPrintRow((SW360SparseRelease) result);
         } else {
-            return new String[][]{};
+            return null;
         }
     }
 
@@ -82,28 +104,45 @@ public class ReporterOutputCSV implements ReporterOutput {
     }
 
     /**
-     * Prints a csv file with a given name to a given target directory.
-     * Header and body are written
-     *
-     * @param header header columns used for the csv file
-     * @param body   rows used for the csv file
+     * The writer implementation that writes results directly to the csv
+     * file. Each record is flushed, so that the file grows while results are
+     * retrieved.
      */
-    private void printCsvFile(String header, String[][] body) {
-        if (header.split(delimiter).length != Arrays.stream(body).findAny().map(s -> s.length).orElse(0)) {
-            LOGGER.error("Number of header columns does not equal columns of body for the csv file.");
-        }
-        if (!filePath.endsWith(".csv")) {
-            LOGGER.warn("CSV file {} does not have the correct file extension", filePath);
+    private class CsvResultWriter implements ResultWriter {
+        private final CSVPrinter csvPrinter;
+
+        private final int headerColumns;
+
+        private boolean columnsChecked;
+
+        CsvResultWriter(String header) throws IOException {
+            headerColumns = header.split(delimiter).length;
+            BufferedWriter writer = Files.newBufferedWriter(filePath);
+            try {
+                csvPrinter = new CSVPrinter(writer,
+                        CSVFormat.DEFAULT.withHeader(header).withDelimiter(delimiter.charAt(0)));
+            } catch (IOException e) {
+                writer.close();
+                throw e;
+            }
         }
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath);
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(header).withDelimiter(delimiter.charAt(0)))
-        ) {
-            for (String[] record : body) {
-                csvPrinter.printRecord(record);
+
+        @Override
+        public void write(Object result) throws IOException {
+            String[] record = toRecord(result);
+            if (record != null) {
+                if (!columnsChecked && record.length != headerColumns) {
+                    LOGGER.error("Number of header columns does not equal columns of body for the csv file.");
+                }
+                columnsChecked = true;
+                csvPrinter.printRecord((Object[]) record);
+                csvPrinter.flush();
             }
-            csvPrinter.flush();
-        } catch (IOException e) {
-            LOGGER.error("Error when writing the csv file", e);
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvPrinter.close();
         }
     }
 }
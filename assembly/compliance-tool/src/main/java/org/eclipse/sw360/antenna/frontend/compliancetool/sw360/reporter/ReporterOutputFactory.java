@@ -14,6 +14,16 @@ package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
  * Factory class for creating a {@link ReporterOutput} implementation
  */
 class ReporterOutputFactory {
+    /**
+     * The name of the output format producing csv files.
+     */
+    static final String OUTPUT_FORMAT_CSV = "csv";
+
+    /**
+     * The name of the output format producing JSON Lines files.
+     */
+    static final String OUTPUT_FORMAT_JSON_LINES = "jsonl";
+
     static final ReporterOutput DEFAULT_REPORTER_OUTPUT = new ReporterOutputCSV();
 
     private ReporterOutputFactory() {}
@@ -25,9 +35,12 @@ class ReporterOutputFactory {
      * @return {@link ReporterOutput} of the output format
      */
     static ReporterOutput getReporterOutput(String outputFormat) {
-        if (outputFormat.equalsIgnoreCase("csv")) {
+        if (outputFormat.equalsIgnoreCase(OUTPUT_FORMAT_CSV)) {
             return new ReporterOutputCSV();
         }
+        if (outputFormat.equalsIgnoreCase(OUTPUT_FORMAT_JSON_LINES)) {
+            return new ReporterOutputJsonLines();
+        }
         return DEFAULT_REPORTER_OUTPUT;
     }
 }
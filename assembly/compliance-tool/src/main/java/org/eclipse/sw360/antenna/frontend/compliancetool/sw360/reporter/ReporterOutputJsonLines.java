@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.eclipse.sw360.antenna.api.service.ServiceFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * An implementation of the {@link ReporterOutput} that creates an output
+ * file in the <a href="https://jsonlines.org/">JSON Lines</a> format. Each
+ * result object is serialized to JSON and written on its own line as soon as
+ * it is available.
+ */
+public class ReporterOutputJsonLines implements ReporterOutput {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReporterOutputJsonLines.class);
+
+    /**
+     * The object to serialize result objects.
+     */
+    private final ObjectWriter objectWriter = ServiceFactory.getObjectMapper().writer();
+
+    private Path filePath;
+
+    @Override
+    public void setResultType(Class<?> type) {
+        // the type is not needed; the results are serialized generically
+    }
+
+    @Override
+    public void setFilePath(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public <T> void print(Collection<T> result) {
+        try (ResultWriter writer = openWriter()) {
+            for (T item : result) {
+                writer.write(item);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Error when writing the JSON Lines file", e);
+        }
+    }
+
+    @Override
+    public ResultWriter openWriter() throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8);
+        return new ResultWriter() {
+            @Override
+            public void write(Object result) throws IOException {
+                writer.write(objectWriter.writeValueAsString(result));
+                writer.newLine();
+                writer.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+}
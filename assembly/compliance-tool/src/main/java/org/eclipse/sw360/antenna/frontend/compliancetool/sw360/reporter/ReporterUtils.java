@@ -19,12 +19,6 @@ class ReporterUtils {
     private ReporterUtils() {
     }
 
-    static String[][] printCollectionOfReleases(Collection<SW360Release> releases) {
-        return releases.stream()
-                .map(ReporterUtils::releaseCsvPrintRow)
-                .toArray(String[][]::new);
-    }
-
     static String releaseCsvPrintHeader(String delimiter) {
         return "release id" + delimiter + "name" + delimiter + "version" + delimiter +
                 "coordinates" + delimiter + "main license ids" + delimiter +
@@ -34,7 +28,7 @@ class ReporterUtils {
                 "download url" + delimiter + "release tag url" + delimiter + "software heritage id";
     }
 
-    private static String[] releaseCsvPrintRow(SW360Release release) {
+    static String[] releaseCsvPrintRow(SW360Release release) {
         return new String[]{
                 release.getId(), release.getName(), release.getVersion(),
                 collectionToString(release.getCoordinates().values()),
@@ -44,18 +38,12 @@ class ReporterUtils {
                 release.getDownloadurl(), release.getReleaseTagUrl(), release.getSoftwareHeritageId()};
     }
 
-    static String[][] printCollectionOfSparseReleases(Collection<SW360SparseRelease> releases) {
-        return releases.stream()
-                .map(ReporterUtils::sparseReleaseCsvPrintRow)
-                .toArray(String[][]::new);
-    }
-
     static String sparseReleaseCsvPrintHeader(String delimiter) {
         return "releaseId" + delimiter + "name" + delimiter + "version" +
                 delimiter + "mainLicenseIds" + delimiter + "componentId";
     }
 
-    private static String[] sparseReleaseCsvPrintRow(SW360SparseRelease release) {
+    static String[] sparseReleaseCsvPrintRow(SW360SparseRelease release) {
         return new String[]{release.getReleaseId(), release.getName(),
                 release.getVersion(), collectionToString(release.getMainLicenseIds()), release.getComponentId()};
     }
@@ -12,10 +12,12 @@ package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
 
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360Configuration;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
+import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -23,10 +25,17 @@ import java.util.Set;
 /**
  * Implementation of a status reporter for the compliance tool.
  * It takes parameters given to the reporter mode and produces
- * a csv file with the information requested in its information
+ * an output file with the information requested in its information
  * parameter
  */
 public class SW360StatusReporter {
+    /**
+     * The configuration property that defines the maximum number of requests
+     * to the SW360 server that are in progress at the same time. This
+     * property is optional; if it is missing, a default value of 8 is used.
+     */
+    public static final String PROP_MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(SW360StatusReporter.class);
 
     private final SW360Configuration configuration;
@@ -50,23 +59,77 @@ public class SW360StatusReporter {
 
     /**
      * Executes the execute function of the infoRequest and prints it
-     * to a csv file.
+     * to the output file. Results are written as soon as they are
+     * retrieved, so that the output file grows while the info request is
+     * in progress. Errors when writing results may arrive directly or, if
+     * the results were produced asynchronously, wrapped in an
+     * {@code SW360ClientException}; in both cases they are logged.
      */
     public void execute() {
         LOGGER.debug("{} has started.", SW360StatusReporter.class.getName());
         final SW360Connection connection = configuration.getConnection();
 
-        final Collection<?> result = infoRequest.execute(connection);
-
+        infoRequest.configure(configuration);
         reporterOutput.setResultType(infoRequest.getType());
         reporterOutput.setFilePath(configuration.getCsvFilePath());
-        reporterOutput.print(result);
+        try (ReporterOutput.ResultWriter writer = reporterOutput.openWriter()) {
+            infoRequest.execute(connection, result -> writeResult(writer, result));
+        } catch (IOException e) {
+            LOGGER.error("Error when writing the output of the status reporter", e);
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Error when writing the output of the status reporter", e.getCause());
+        } catch (SW360ClientException e) {
+            UncheckedIOException writeException = findWriteException(e);
+            if (writeException == null) {
+                throw e;
+            }
+            LOGGER.error("Error when writing the output of the status reporter", writeException.getCause());
+        }
+    }
+
+    /**
+     * Searches the cause chain of an exception for an exception thrown when
+     * writing a result.
+     *
+     * @param e the exception to be inspected
+     * @return the exception thrown by the writer or <strong>null</strong> if
+     * there is none
+     */
+    private static UncheckedIOException findWriteException(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UncheckedIOException) {
+                return (UncheckedIOException) cause;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes a single result object to the output. As results can arrive
+     * on multiple threads, access to the writer is synchronized.
+     *
+     * @param writer the writer for the output
+     * @param result the result object
+     * @throws UncheckedIOException if an error occurs
+     */
+    private static void writeResult(ReporterOutput.ResultWriter writer, Object result) {
+        synchronized (writer) {
+            try {
+                writer.write(result);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 
     void setInfoRequest(InfoRequest<?> infoRequest) {
         this.infoRequest = infoRequest;
     }
 
+    void setReporterOutput(ReporterOutput reporterOutput) {
+        this.reporterOutput = reporterOutput;
+    }
+
     /**
      * Creates a parsed {@code InfoRequest} from a set of parameter
      *
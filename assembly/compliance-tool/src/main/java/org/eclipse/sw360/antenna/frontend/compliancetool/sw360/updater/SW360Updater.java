@@ -28,16 +28,43 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.antenna.frontend.compliancetool.sw360.ComplianceFeatureUtils.getArtifactsFromCsvFile;
 
+/**
+ * <p>
+ * The updater of the compliance tool.
+ * </p>
+ * <p>
+ * This class reads the artifacts from the CSV file and updates the
+ * corresponding releases in SW360. For releases that have been cleared, a
+ * clearing document is generated if necessary and uploaded.
+ * </p>
+ * <p>
+ * The artifacts are independent of each other; they are therefore processed
+ * by a thread pool whose size can be configured using the
+ * {@link #PROP_MAX_CONCURRENT_REQUESTS} property. So the generation of
+ * clearing documents and the requests to the SW360 server for multiple
+ * artifacts overlap. A failure when processing one artifact does not affect the others;
+ * after all artifacts have been processed, a summary is logged, and an
+ * exception listing all failed artifacts is thrown if necessary.
+ * </p>
+ */
 public class SW360Updater {
     /**
      * Configuration property that controls whether the source attachments of a
@@ -61,6 +88,21 @@ public class SW360Updater {
      */
     public static final String PROP_CLEARING_DOC_FOLDER = "clearingDocDir";
 
+    /**
+     * Configuration property that defines the maximum number of artifacts
+     * that are processed in parallel, and thus the number of concurrent
+     * requests to the SW360 server. The property has the same name as the
+     * corresponding properties of the exporter and the status reporter. This
+     * property is optional; if it is missing,
+     * {@link #DEFAULT_MAX_CONCURRENT_REQUESTS} is used.
+     */
+    public static final String PROP_MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests";
+
+    /**
+     * The default maximum number of artifacts processed in parallel.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(SW360Updater.class);
 
     private final SW360UpdaterImpl updater;
@@ -70,6 +112,7 @@ public class SW360Updater {
     private final Path clearingDocDir;
     private final boolean removeClearedSources;
     private final boolean removeClearingDocs;
+    private final int maxConcurrentRequests;
 
     public SW360Updater(SW360UpdaterImpl updater, SW360Configuration configuration,
                         ClearingReportGenerator generator) {
@@ -81,24 +124,33 @@ public class SW360Updater {
                 .resolve(configuration.getProperty(PROP_CLEARING_DOC_FOLDER));
         removeClearedSources = configuration.getBooleanConfigValue(PROP_REMOVE_CLEARED_SOURCES);
         removeClearingDocs = configuration.getBooleanConfigValue(PROP_REMOVE_CLEARING_DOCS);
+        maxConcurrentRequests = Integer.parseInt(configuration.getProperty(PROP_MAX_CONCURRENT_REQUESTS,
+                String.valueOf(DEFAULT_MAX_CONCURRENT_REQUESTS)));
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Invalid value for " + PROP_MAX_CONCURRENT_REQUESTS + ": " +
+                    maxConcurrentRequests);
+        }
     }
 
     public void execute() {
         LOGGER.debug("{} has started.", SW360Updater.class.getName());
         Collection<Artifact> artifacts = getArtifactsFromCsvFile(configuration);
 
-        Map<Artifact, SW360ClientException> exceptions = new HashMap<>();
-        for (Artifact artifact : artifacts) {
-            try {
-                uploadReleaseWithClearingDocumentFromArtifact(artifact);
-            } catch (SW360ClientException e) {
-                exceptions.put(artifact, e);
-            }
+        Map<Artifact, RuntimeException> exceptions = new LinkedHashMap<>();
+        Map<UpdateResult, Integer> summary = new EnumMap<>(UpdateResult.class);
+        List<ArtifactResult> results = processArtifacts(artifacts);
+        for (ArtifactResult result : results) {
+            summary.merge(result.getResult(), 1, Integer::sum);
+            result.getException().ifPresent(ex -> exceptions.put(result.getArtifact(), ex));
         }
 
         LOGGER.info("The SW360Updater was executed with the following configuration:");
         configuration.logConfiguration(LOGGER);
         LOGGER.info("Path for clearing documents: {}", clearingDocDir);
+        LOGGER.info("Processed {} artifacts: {} cleared releases uploaded, {} releases updated, {} skipped, {} failed.",
+                results.size(), summary.getOrDefault(UpdateResult.CLEARED, 0),
+                summary.getOrDefault(UpdateResult.UPDATED, 0), summary.getOrDefault(UpdateResult.SKIPPED, 0),
+                summary.getOrDefault(UpdateResult.FAILED, 0));
 
         if (!exceptions.isEmpty()) {
             StringBuilder builder = new StringBuilder("There have been some errors during update:");
@@ -116,13 +168,76 @@ public class SW360Updater {
         }
     }
 
+    /**
+     * Processes the given artifacts in parallel using a thread pool. The
+     * results are returned in the order of the artifacts.
+     *
+     * @param artifacts the artifacts to process
+     * @return a list with the results for all artifacts
+     */
+    private List<ArtifactResult> processArtifacts(Collection<Artifact> artifacts) {
+        if (artifacts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrentRequests, artifacts.size()));
+        try {
+            List<Future<ArtifactResult>> futures = artifacts.stream()
+                    .map(artifact -> executor.submit(() -> processArtifact(artifact)))
+                    .collect(Collectors.toList());
+            List<ArtifactResult> results = new ArrayList<>(futures.size());
+            for (Future<ArtifactResult> future : futures) {
+                results.add(waitForResult(future));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Processes a single artifact. Exceptions are caught and recorded in the
+     * result, so that they do not affect the processing of other artifacts.
+     *
+     * @param artifact the artifact to process
+     * @return the result for this artifact
+     */
+    private ArtifactResult processArtifact(Artifact artifact) {
+        try {
+            return new ArtifactResult(artifact, uploadReleaseWithClearingDocumentFromArtifact(artifact), null);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Processing of {} failed.", artifact, e);
+            return new ArtifactResult(artifact, UpdateResult.FAILED, e);
+        }
+    }
+
+    /**
+     * Waits for the processing of an artifact to complete.
+     *
+     * @param future the future for the processing of an artifact
+     * @return the result for this artifact
+     * @throws SW360ClientException if the thread is interrupted
+     */
+    private static ArtifactResult waitForResult(Future<ArtifactResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SW360ClientException("Interrupted while updating releases in SW360", e);
+        } catch (ExecutionException e) {
+            // cannot happen, as processArtifact() does not throw exceptions
+            throw new SW360ClientException("Failed to update release in SW360", e.getCause());
+        }
+    }
+
     /**
      * Upload clearing document in a release as attachment
      *
      * @param artifact the artifact the release comes from
+     * @return the result of the update operation
      * @throws SW360ClientException in case of error
      */
-    private void uploadReleaseWithClearingDocumentFromArtifact(Artifact artifact) {
+    private UpdateResult uploadReleaseWithClearingDocumentFromArtifact(Artifact artifact) {
         LOGGER.info("Processing {}.", artifact);
 
         final SW360Release sw360ReleaseFromArtifact = ArtifactToReleaseUtils.convertToReleaseWithoutAttachments(artifact);
@@ -132,6 +247,7 @@ public class SW360Updater {
 
             if (ClearingState.valueOf(releaseClearingState) == ClearingState.WORK_IN_PROGRESS) {
                 updater.artifactToReleaseInSW360(artifact, sw360ReleaseFromArtifact, true);
+                return UpdateResult.UPDATED;
             } else {
                 Path clearingDoc = getOrGenerateClearingDocument(sw360ReleaseFromArtifact, artifact);
                 Map<Path, SW360AttachmentType> clearingDocUpload =
@@ -149,13 +265,15 @@ public class SW360Updater {
                 if (removeClearingDocs) {
                     removeClearingDocument(clearingDoc, failedUploads);
                 }
+                return UpdateResult.CLEARED;
             }
         }
+        return UpdateResult.SKIPPED;
     }
 
     private Path getOrGenerateClearingDocument(SW360Release release, Artifact artifact) {
         return artifact.askFor(ArtifactClearingDocument.class).map(ArtifactClearingDocument::get)
-                .orElse(generator.createClearingDocument(release, clearingDocDir));
+                .orElseGet(() -> generator.createClearingDocument(release, clearingDocDir));
     }
 
     private static void removeSourceArtifact(Artifact artifact, SW360Release release, Set<Path> failedUploads) {
@@ -194,4 +312,57 @@ public class SW360Updater {
         return clearingState != null && !clearingState.isEmpty() &&
                 ClearingState.valueOf(clearingState) != ClearingState.INITIAL;
     }
+
+    /**
+     * An enumeration for the possible results of processing an artifact.
+     */
+    private enum UpdateResult {
+        /**
+         * The artifact has a clearing state that does not require an update.
+         */
+        SKIPPED,
+
+        /**
+         * The release of the artifact has been updated.
+         */
+        UPDATED,
+
+        /**
+         * The release of the artifact has been updated, and its clearing
+         * document has been uploaded.
+         */
+        CLEARED,
+
+        /**
+         * The processing of the artifact failed.
+         */
+        FAILED
+    }
+
+    /**
+     * A class storing the result of processing a single artifact.
+     */
+    private static final class ArtifactResult {
+        private final Artifact artifact;
+        private final UpdateResult result;
+        private final RuntimeException exception;
+
+        ArtifactResult(Artifact artifact, UpdateResult result, RuntimeException exception) {
+            this.artifact = artifact;
+            this.result = result;
+            this.exception = exception;
+        }
+
+        Artifact getArtifact() {
+            return artifact;
+        }
+
+        UpdateResult getResult() {
+            return result;
+        }
+
+        Optional<RuntimeException> getException() {
+            return Optional.ofNullable(exception);
+        }
+    }
 }
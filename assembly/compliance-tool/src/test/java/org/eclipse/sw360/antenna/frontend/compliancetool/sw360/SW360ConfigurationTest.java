@@ -13,6 +13,8 @@ package org.eclipse.sw360.antenna.frontend.compliancetool.sw360;
 import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.api.service.ServiceFactory;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
 import org.eclipse.sw360.antenna.sw360.workflow.SW360ConnectionConfigurationFactory;
 import org.junit.Rule;
@@ -25,6 +27,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -118,9 +123,13 @@ public class SW360ConfigurationTest {
         ServiceFactory svcFactory = mock(ServiceFactory.class);
         SW360Connection connection = mock(SW360Connection.class);
         HttpClient httpClient = mock(HttpClient.class);
+        DownloadManager downloadManager = mock(DownloadManager.class);
         when(svcFactory.createHttpClient(true, "proxy.net", 8080))
                 .thenReturn(httpClient);
-        when(conFactory.createConnection(any(), eq(httpClient), eq(ServiceFactory.getObjectMapper())))
+        when(svcFactory.createDownloadManager(true, "proxy.net", 8080))
+                .thenReturn(downloadManager);
+        when(conFactory.createConnection(any(), eq(httpClient), eq(ServiceFactory.getObjectMapper()),
+                eq(downloadManager)))
                 .thenReturn(connection);
         File propertiesFile = configFile("config-with-proxy.properties");
 
@@ -128,6 +137,40 @@ public class SW360ConfigurationTest {
         assertThat(configuration.getConnection()).isEqualTo(connection);
     }
 
+    @Test
+    public void testDownloadManager() {
+        SW360ConnectionConfigurationFactory conFactory = mock(SW360ConnectionConfigurationFactory.class);
+        ServiceFactory svcFactory = mock(ServiceFactory.class);
+        DownloadManager downloadManager = mock(DownloadManager.class);
+        when(svcFactory.createDownloadManager(true, "proxy.net", 8080))
+                .thenReturn(downloadManager);
+        File propertiesFile = configFile("config-with-proxy.properties");
+
+        SW360Configuration configuration = new SW360Configuration(propertiesFile, conFactory, svcFactory);
+        assertThat(configuration.getDownloadManager()).isEqualTo(downloadManager);
+    }
+
+    @Test
+    public void testFileHashCacheDefaultsToInMemoryCache() {
+        SW360Configuration configuration = new SW360Configuration(configFile("compliancetool-updater.properties"));
+
+        assertThat(configuration.getFileHashCache()).isSameAs(FileHashCache.getDefault());
+    }
+
+    @Test
+    public void testFileHashCacheWithConfiguredStoreFile() throws IOException {
+        Path storeFile = folder.getRoot().toPath().resolve("hashes.txt");
+        File propertiesFile = folder.newFile("hash-cache.properties");
+        Files.copy(configFile("compliancetool-updater.properties").toPath(), propertiesFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        Files.write(propertiesFile.toPath(), Collections.singletonList(System.lineSeparator() +
+                        SW360Configuration.FILE_HASH_CACHE + "=" + storeFile.toString().replace('\\', '/')),
+                StandardOpenOption.APPEND);
+        SW360Configuration configuration = new SW360Configuration(propertiesFile);
+
+        assertThat(configuration.getFileHashCache()).isSameAs(FileHashCache.forStoreFile(storeFile));
+    }
+
     @Test
     public void testLogConfig() {
         final StringBuilder logBuffer = new StringBuilder();
@@ -163,4 +206,13 @@ public class SW360ConfigurationTest {
             assertThat(e.getMessage()).contains(key);
         }
     }
+
+    @Test
+    public void testQueryOptionalConfigurationProperty() {
+        File propertiesFile = configFile("compliancetool-updater.properties");
+        SW360Configuration configuration = new SW360Configuration(propertiesFile);
+
+        assertThat(configuration.getProperty("undefined.property", "default")).isEqualTo("default");
+        assertThat(configuration.getProperty("delimiter", ";")).isEqualTo(",");
+    }
 }
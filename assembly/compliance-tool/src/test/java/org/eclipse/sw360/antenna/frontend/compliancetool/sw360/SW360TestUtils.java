@@ -14,12 +14,15 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactClearingState.ClearingState;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapterAsync;
+import org.eclipse.sw360.antenna.sw360.client.rest.SW360ComponentClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.Embedded;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.LinkObjects;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360HalResource;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.Self;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360AttachmentType;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360SparseAttachment;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.ComponentSearchParams;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360ComponentEmbedded;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360ComponentType;
@@ -39,9 +42,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class SW360TestUtils {
@@ -146,18 +154,38 @@ public class SW360TestUtils {
 
     /**
      * Prepares the given configuration mock to return the configuration
-     * properties provided.
+     * properties provided. Queries for optional properties that are not
+     * contained in the map yield the default value.
      *
      * @param mockConfig the configuration mock
      * @param properties the properties
      */
     public static void initConfigProperties(SW360Configuration mockConfig, Map<String, String> properties) {
+        when(mockConfig.getProperty(anyString(), anyString()))
+                .thenAnswer(invocation -> properties.getOrDefault(invocation.getArgument(0),
+                        invocation.getArgument(1)));
         properties.forEach((key, value) -> {
             when(mockConfig.getProperty(key)).thenReturn(value);
             when(mockConfig.getBooleanConfigValue(key)).thenReturn(Boolean.valueOf(value));
         });
     }
 
+    /**
+     * Prepares a mock for a component client adapter to return the given
+     * components when the list of all components is streamed from its
+     * underlying client.
+     *
+     * @param componentAdapter the component client adapter mock
+     * @param components       the components to be returned
+     */
+    public static void initComponentStream(SW360ComponentClientAdapterAsync componentAdapter,
+                                           List<SW360SparseComponent> components) {
+        SW360ComponentClient componentClient = mock(SW360ComponentClient.class);
+        when(componentClient.streamComponents(eq(ComponentSearchParams.ALL_COMPONENTS), anyInt()))
+                .thenAnswer(invocation -> components.stream());
+        when(componentAdapter.getComponentClient()).thenReturn(componentClient);
+    }
+
     /**
      * Create a test CSV file with 2 entries in a temporary folder. The file will be named "test.csv"
      *
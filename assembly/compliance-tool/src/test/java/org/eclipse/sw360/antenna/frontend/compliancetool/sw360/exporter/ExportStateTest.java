@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.exporter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExportStateTest {
+    private static final String RELEASE_ID = "release1";
+
+    private static final String HASH = "0123456789abcdef";
+
+    private static final Instant NOW = Instant.parse("2020-06-01T10:00:00Z");
+
+    private static final Duration RECHECK_INTERVAL = Duration.ofDays(2);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The file storing the state.
+     */
+    private Path stateFile;
+
+    /**
+     * A source file that exists.
+     */
+    private Path sourceFile;
+
+    @Before
+    public void setUp() throws IOException {
+        stateFile = folder.getRoot().toPath().resolve("state").resolve("export-state");
+        sourceFile = folder.newFile("release1-src.jar").toPath();
+    }
+
+    @Test
+    public void testStateIsPersisted() throws IOException {
+        ExportState state = new ExportState(stateFile);
+        state.recordApproved("approved", HASH);
+        state.recordExported(RELEASE_ID, HASH, Collections.singleton(sourceFile));
+        state.save();
+
+        ExportState state2 = new ExportState(stateFile);
+        assertThat(state2.size()).isEqualTo(2);
+        assertThat(state2.isApproved("approved")).isTrue();
+        assertThat(state2.isApproved(RELEASE_ID)).isFalse();
+        assertThat(state2.getUnchangedSources(RELEASE_ID, HASH)).contains(Collections.singleton(sourceFile));
+    }
+
+    @Test
+    public void testUnchangedSourcesRequireSameHash() {
+        ExportState state = new ExportState(null);
+        state.recordExported(RELEASE_ID, HASH, Collections.singleton(sourceFile));
+
+        assertThat(state.getUnchangedSources(RELEASE_ID, HASH + "0")).isNotPresent();
+        assertThat(state.getUnchangedSources("unknown", HASH)).isNotPresent();
+    }
+
+    @Test
+    public void testUnchangedSourcesRequireExistingFiles() throws IOException {
+        ExportState state = new ExportState(null);
+        state.recordExported(RELEASE_ID, HASH, Collections.singleton(sourceFile));
+
+        Files.delete(sourceFile);
+        assertThat(state.getUnchangedSources(RELEASE_ID, HASH)).isNotPresent();
+    }
+
+    @Test
+    public void testApprovedReleasesHaveNoUnchangedSources() {
+        ExportState state = new ExportState(null);
+        state.recordApproved(RELEASE_ID, HASH);
+
+        assertThat(state.getUnchangedSources(RELEASE_ID, HASH)).isNotPresent();
+    }
+
+    @Test
+    public void testRetainAll() {
+        ExportState state = new ExportState(null);
+        state.recordApproved("r1", HASH);
+        state.recordApproved("r2", HASH);
+        state.recordExported("r3", HASH, Collections.emptySet());
+
+        state.retainAll(new HashSet<>(Arrays.asList("r2", "r3", "r4")));
+        assertThat(state.size()).isEqualTo(2);
+        assertThat(state.isApproved("r1")).isFalse();
+        assertThat(state.isApproved("r2")).isTrue();
+    }
+
+    @Test
+    public void testInvalidLinesAreIgnored() throws IOException {
+        Files.createDirectories(stateFile.getParent());
+        Files.write(stateFile, Arrays.asList("invalid line", "r1\tUNKNOWN\thash\t0",
+                "r2\t" + ExportState.STATE_APPROVED + "\t" + HASH,
+                "r3\t" + ExportState.STATE_APPROVED + "\t" + HASH + "\tnoTime",
+                "approved\t" + ExportState.STATE_APPROVED + "\t" + HASH + "\t" + System.currentTimeMillis()));
+
+        ExportState state = new ExportState(stateFile);
+        assertThat(state.size()).isEqualTo(1);
+        assertThat(state.isApproved("approved")).isTrue();
+    }
+
+    @Test
+    public void testInMemoryStateIsNotSaved() throws IOException {
+        ExportState state = new ExportState(null);
+        state.recordApproved(RELEASE_ID, HASH);
+
+        state.save();
+        assertThat(state.getStateFile()).isNotPresent();
+        assertThat(stateFile).doesNotExist();
+    }
+
+    /**
+     * Creates a state object backed by the test state file that uses a clock
+     * with the given time.
+     *
+     * @param time the current time
+     * @return the state object
+     */
+    private ExportState createStateAt(Instant time) {
+        return new ExportState(stateFile, RECHECK_INTERVAL, Clock.fixed(time, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testApprovedReleasesAreCheckedAgainAfterInterval() throws IOException {
+        ExportState state = createStateAt(NOW);
+        state.recordApproved(RELEASE_ID, HASH);
+        state.save();
+
+        assertThat(createStateAt(NOW.plus(Duration.ofDays(1))).isApproved(RELEASE_ID)).isTrue();
+        assertThat(createStateAt(NOW.plus(RECHECK_INTERVAL)).isApproved(RELEASE_ID)).isFalse();
+    }
+
+    @Test
+    public void testRecordingApprovalAgainRestartsInterval() throws IOException {
+        ExportState state = createStateAt(NOW);
+        state.recordApproved(RELEASE_ID, HASH);
+        state.save();
+        ExportState laterState = createStateAt(NOW.plus(RECHECK_INTERVAL));
+        assertThat(laterState.isApproved(RELEASE_ID)).isFalse();
+
+        laterState.recordApproved(RELEASE_ID, HASH);
+        assertThat(laterState.isApproved(RELEASE_ID)).isTrue();
+    }
+
+    @Test
+    public void testApprovedReleasesAreAlwaysCheckedWithZeroInterval() {
+        ExportState state = new ExportState(null, Duration.ZERO, Clock.fixed(NOW, ZoneOffset.UTC));
+        state.recordApproved(RELEASE_ID, HASH);
+
+        assertThat(state.isApproved(RELEASE_ID)).isFalse();
+    }
+}
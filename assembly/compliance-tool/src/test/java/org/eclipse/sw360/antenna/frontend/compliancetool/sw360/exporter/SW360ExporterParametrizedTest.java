@@ -15,12 +15,11 @@ import org.apache.commons.csv.CSVRecord;
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.ComplianceFeatureUtils;
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360Configuration;
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360TestUtils;
-import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapter;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
-import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapter;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360SparseAttachment;
-import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.ComponentSearchParams;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360ClearingState;
@@ -114,9 +113,8 @@ public class SW360ExporterParametrizedTest {
     private File csvFile;
     private SW360Release release;
 
-    private final SW360ComponentClientAdapter componentClientAdapterMock = mock(SW360ComponentClientAdapter.class);
-
-    private final SW360ReleaseClientAdapter releaseClientAdapterMock = mock(SW360ReleaseClientAdapter.class);
+    private final SW360ComponentClientAdapterAsync componentClientAdapterMock =
+            mock(SW360ComponentClientAdapterAsync.class);
 
     private SW360ReleaseClientAdapterAsync releaseAdapterAsyncMock;
 
@@ -127,14 +125,13 @@ public class SW360ExporterParametrizedTest {
     @Before
     public void setUp() throws IOException {
         SW360SparseComponent sparseComponent = SW360TestUtils.mkSW360SparseComponent("testComponent");
-        when(componentClientAdapterMock.search(ComponentSearchParams.ALL_COMPONENTS))
-                .thenReturn(Collections.singletonList(sparseComponent));
+        SW360TestUtils.initComponentStream(componentClientAdapterMock, Collections.singletonList(sparseComponent));
 
         SW360Component component =
                 SW360TestUtils.initSelfLink(SW360TestUtils.mkSW360Component("testComponent"),
                         sparseComponent.getSelfLink().getHref());
         when(componentClientAdapterMock.getComponentById(component.getId()))
-                .thenReturn(Optional.of(component));
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(component)));
         SW360SparseRelease sparseRelease1 = SW360TestUtils.mkSW3SparseRelease("testRelease");
         SW360SparseRelease sparseRelease2 = SW360TestUtils.mkSW3SparseRelease("testRelease2");
         component.getEmbedded().setReleases(Arrays.asList(sparseRelease1, sparseRelease2));
@@ -152,12 +149,11 @@ public class SW360ExporterParametrizedTest {
         release2.getEmbedded().setAttachments(new HashSet<>(Arrays.asList(SW360TestUtils.mkAttachment("src1"),
                 SW360TestUtils.mkAttachment("src2"))));
 
-        when(releaseClientAdapterMock.getReleaseById(release.getId()))
-                .thenReturn(Optional.of(release));
-        when(releaseClientAdapterMock.getReleaseById(release2.getId()))
-                .thenReturn(Optional.of(release2));
-
         connectionMock = createConnectionMock();
+        when(releaseAdapterAsyncMock.getReleaseById(release.getId()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(release)));
+        when(releaseAdapterAsyncMock.getReleaseById(release2.getId()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(release2)));
         sourcesPath = folder.newFolder(SOURCE_FOLDER).toPath();
         createSourceAttachments(release);
         createSourceAttachments(release2);
@@ -190,10 +186,8 @@ public class SW360ExporterParametrizedTest {
 
     private SW360Connection createConnectionMock() {
         SW360Connection connection = mock(SW360Connection.class);
-        when(connection.getComponentAdapter())
+        when(connection.getComponentAdapterAsync())
                 .thenReturn(componentClientAdapterMock);
-        when(connection.getReleaseAdapter())
-                .thenReturn(releaseClientAdapterMock);
         releaseAdapterAsyncMock = createReleaseAdapterForDownloads();
         when(connection.getReleaseAdapterAsync())
                 .thenReturn(releaseAdapterAsyncMock);
@@ -213,6 +207,7 @@ public class SW360ExporterParametrizedTest {
         SW360TestUtils.initConfigProperties(config, properties);
         Path sourcesPath = basePath.resolve(properties.get("sourcesDirectory"));
         when(config.getSourcesPath()).thenReturn(sourcesPath);
+        when(config.getFileHashCache()).thenReturn(new FileHashCache(null));
         return config;
     }
 
@@ -276,4 +271,16 @@ public class SW360ExporterParametrizedTest {
         verify(sourcesExporter).removeUnreferencedFiles(captor.capture());
         assertThat(captor.getValue()).hasSize(expectedNumOfReleases);
     }
+
+    @Test
+    public void testExporterWithoutSorting() throws IOException {
+        Map<String, String> configProperties = prepareConfigProperties();
+        configProperties.put(SW360Exporter.PROP_SORT_RELEASES, "false");
+        SW360Configuration configurationMock = createConfigurationMock(configProperties);
+        SW360Exporter sw360Exporter = new SW360Exporter(configurationMock);
+
+        sw360Exporter.execute();
+        List<CSVRecord> records = SW360TestUtils.getCsvParser(csvFile, ',').getRecords();
+        assertThat(records).hasSize(expectedNumOfReleases);
+    }
 }
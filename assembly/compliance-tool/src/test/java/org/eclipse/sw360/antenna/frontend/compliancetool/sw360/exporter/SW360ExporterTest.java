@@ -10,16 +10,62 @@
  */
 package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.exporter;
 
+import org.apache.commons.csv.CSVRecord;
+import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360Configuration;
+import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360TestUtils;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapterAsync;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapterAsync;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360ClearingState;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
+import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class SW360ExporterTest {
+    /**
+     * The number of releases used by the test for concurrent requests.
+     */
+    private static final int RELEASE_COUNT = 16;
+
+    /**
+     * The maximum number of concurrent requests used by the test.
+     */
+    private static final int MAX_CONCURRENT_REQUESTS = 3;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     @Test(expected = NullPointerException.class)
     public void testConfigurationMustNotBeNull() {
@@ -69,4 +115,174 @@ public class SW360ExporterTest {
         assertThat(releaseList)
                 .containsExactly(releaseSrc1, releaseSrc2, releaseSrc3, releaseSrc4, releaseSrc5);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNumberOfConcurrentRequestsIsLimited() throws IOException {
+        SW360SparseComponent sparseComponent = SW360TestUtils.mkSW360SparseComponent("component");
+        SW360Component component = SW360TestUtils.initSelfLink(SW360TestUtils.mkSW360Component("component"),
+                sparseComponent.getSelfLink().getHref());
+        List<SW360SparseRelease> sparseReleases = new ArrayList<>();
+        for (int i = 0; i < RELEASE_COUNT; i++) {
+            sparseReleases.add(SW360TestUtils.mkSW3SparseRelease("release" + i));
+        }
+        component.getEmbedded().setReleases(sparseReleases);
+
+        SW360ComponentClientAdapterAsync componentAdapter = mock(SW360ComponentClientAdapterAsync.class);
+        SW360TestUtils.initComponentStream(componentAdapter, Collections.singletonList(sparseComponent));
+        when(componentAdapter.getComponentById(component.getId()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(component)));
+
+        AtomicInteger activeRequests = new AtomicInteger();
+        AtomicInteger maxActiveRequests = new AtomicInteger();
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+        SW360ReleaseClientAdapterAsync releaseAdapter = mock(SW360ReleaseClientAdapterAsync.class);
+        when(releaseAdapter.getReleaseById(anyString())).thenAnswer(invocation -> {
+            maxActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            CompletableFuture<Optional<SW360Release>> future = new CompletableFuture<>();
+            SW360Release release = SW360TestUtils.mkSW360Release(invocation.getArgument(0));
+            executor.schedule(() -> {
+                activeRequests.decrementAndGet();
+                future.complete(Optional.of(release));
+            }, 10, TimeUnit.MILLISECONDS);
+            return future;
+        });
+
+        SW360Connection connection = mock(SW360Connection.class);
+        when(connection.getComponentAdapterAsync()).thenReturn(componentAdapter);
+        when(connection.getReleaseAdapterAsync()).thenReturn(releaseAdapter);
+        SourcesExporter sourcesExporter = mock(SourcesExporter.class);
+        when(sourcesExporter.downloadSourcesForRelease(any(), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        new ReleaseWithSources(invocation.getArgument(1), Collections.emptySet())));
+
+        File csvFile = folder.newFile("export.csv");
+        SW360Configuration configuration = mock(SW360Configuration.class);
+        when(configuration.getConnection()).thenReturn(connection);
+        when(configuration.getCsvFilePath()).thenReturn(csvFile.toPath());
+        when(configuration.getBaseDir()).thenReturn(folder.getRoot().toPath());
+        Map<String, String> properties = new HashMap<>();
+        properties.put(SW360Exporter.PROP_ENCODING, "UTF-8");
+        properties.put(SW360Exporter.PROP_DELIMITER, ",");
+        properties.put(SW360Exporter.PROP_REMOVE_SOURCES, "false");
+        properties.put(SW360Exporter.PROP_SORT_RELEASES, "false");
+        properties.put(SW360Exporter.PROP_MAX_CONCURRENT_REQUESTS, String.valueOf(MAX_CONCURRENT_REQUESTS));
+        SW360TestUtils.initConfigProperties(configuration, properties);
+
+        try {
+            new SW360Exporter(configuration, sourcesExporter).execute();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<CSVRecord> records = SW360TestUtils.getCsvParser(csvFile, ',').getRecords();
+        assertThat(records).hasSize(RELEASE_COUNT);
+        assertThat(maxActiveRequests.get()).isGreaterThan(0).isLessThanOrEqualTo(MAX_CONCURRENT_REQUESTS);
+    }
+
+    @Test
+    public void testFailedExportKeepsPreviousCsvFile() throws IOException {
+        SW360SparseComponent sparseComponent = SW360TestUtils.mkSW360SparseComponent("component");
+        SW360ComponentClientAdapterAsync componentAdapter = mock(SW360ComponentClientAdapterAsync.class);
+        SW360TestUtils.initComponentStream(componentAdapter, Collections.singletonList(sparseComponent));
+        CompletableFuture<Optional<SW360Component>> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new SW360ClientException("Server error"));
+        when(componentAdapter.getComponentById(anyString())).thenReturn(failedFuture);
+        SW360Connection connection = mock(SW360Connection.class);
+        when(connection.getComponentAdapterAsync()).thenReturn(componentAdapter);
+        when(connection.getReleaseAdapterAsync()).thenReturn(mock(SW360ReleaseClientAdapterAsync.class));
+
+        File csvFile = folder.newFile("export.csv");
+        String previousContent = "previous export";
+        Files.write(csvFile.toPath(), previousContent.getBytes(StandardCharsets.UTF_8));
+        SW360Configuration configuration = mock(SW360Configuration.class);
+        when(configuration.getConnection()).thenReturn(connection);
+        when(configuration.getCsvFilePath()).thenReturn(csvFile.toPath());
+        when(configuration.getBaseDir()).thenReturn(folder.getRoot().toPath());
+        Map<String, String> properties = new HashMap<>();
+        properties.put(SW360Exporter.PROP_ENCODING, "UTF-8");
+        properties.put(SW360Exporter.PROP_DELIMITER, ",");
+        properties.put(SW360Exporter.PROP_REMOVE_SOURCES, "false");
+        SW360TestUtils.initConfigProperties(configuration, properties);
+
+        assertThatThrownBy(() -> new SW360Exporter(configuration, mock(SourcesExporter.class)).execute())
+                .isInstanceOf(SW360ClientException.class);
+        assertThat(new String(Files.readAllBytes(csvFile.toPath()), StandardCharsets.UTF_8))
+                .isEqualTo(previousContent);
+        assertThat(folder.getRoot().toPath().resolve("export.csv.tmp")).doesNotExist();
+    }
+
+    /**
+     * Creates a release with the given name whose ID matches the given
+     * sparse release.
+     *
+     * @param sparseRelease the sparse release
+     * @return the full release
+     */
+    private static SW360Release createRelease(SW360SparseRelease sparseRelease) {
+        return SW360TestUtils.initSelfLink(SW360TestUtils.mkSW360Release(sparseRelease.getName()),
+                sparseRelease.getSelfLink().getHref());
+    }
+
+    @Test
+    public void testIncrementalExportSkipsUnchangedReleases() throws IOException {
+        SW360SparseComponent sparseComponent = SW360TestUtils.mkSW360SparseComponent("component");
+        SW360Component component = SW360TestUtils.initSelfLink(SW360TestUtils.mkSW360Component("component"),
+                sparseComponent.getSelfLink().getHref());
+        SW360SparseRelease sparseApproved = SW360TestUtils.mkSW3SparseRelease("approved");
+        SW360SparseRelease sparseUnchanged = SW360TestUtils.mkSW3SparseRelease("unchanged");
+        SW360SparseRelease sparseChanged = SW360TestUtils.mkSW3SparseRelease("changed");
+        component.getEmbedded().setReleases(Arrays.asList(sparseApproved, sparseUnchanged, sparseChanged));
+        SW360Release approvedRelease = createRelease(sparseApproved);
+        approvedRelease.setClearingState("OSM_APPROVED");
+        approvedRelease.setSw360ClearingState(SW360ClearingState.APPROVED);
+        SW360Release unchangedRelease = createRelease(sparseUnchanged);
+        SW360Release changedRelease = createRelease(sparseChanged);
+
+        SW360ComponentClientAdapterAsync componentAdapter = mock(SW360ComponentClientAdapterAsync.class);
+        SW360TestUtils.initComponentStream(componentAdapter, Collections.singletonList(sparseComponent));
+        when(componentAdapter.getComponentById(component.getId()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(component)));
+        SW360ReleaseClientAdapterAsync releaseAdapter = mock(SW360ReleaseClientAdapterAsync.class);
+        for (SW360Release release : Arrays.asList(approvedRelease, unchangedRelease, changedRelease)) {
+            when(releaseAdapter.getReleaseById(release.getId()))
+                    .thenReturn(CompletableFuture.completedFuture(Optional.of(release)));
+        }
+        SW360Connection connection = mock(SW360Connection.class);
+        when(connection.getComponentAdapterAsync()).thenReturn(componentAdapter);
+        when(connection.getReleaseAdapterAsync()).thenReturn(releaseAdapter);
+
+        SourcesExporter sourcesExporter = mock(SourcesExporter.class);
+        when(sourcesExporter.downloadSourcesForRelease(any(), any())).thenAnswer(invocation -> {
+            SW360Release release = invocation.getArgument(1);
+            Path source = folder.getRoot().toPath().resolve(release.getName() + "-src.jar");
+            Files.write(source, release.getName().getBytes(StandardCharsets.UTF_8));
+            return CompletableFuture.completedFuture(
+                    new ReleaseWithSources(release, Collections.singleton(source)));
+        });
+
+        File csvFile = folder.newFile("export.csv");
+        SW360Configuration configuration = mock(SW360Configuration.class);
+        when(configuration.getConnection()).thenReturn(connection);
+        when(configuration.getCsvFilePath()).thenReturn(csvFile.toPath());
+        when(configuration.getBaseDir()).thenReturn(folder.getRoot().toPath());
+        Map<String, String> properties = new HashMap<>();
+        properties.put(SW360Exporter.PROP_ENCODING, "UTF-8");
+        properties.put(SW360Exporter.PROP_DELIMITER, ",");
+        properties.put(SW360Exporter.PROP_REMOVE_SOURCES, "false");
+        properties.put(SW360Exporter.PROP_INCREMENTAL, "true");
+        SW360TestUtils.initConfigProperties(configuration, properties);
+
+        new SW360Exporter(configuration, sourcesExporter).execute();
+        assertThat(folder.getRoot().toPath().resolve(SW360Exporter.DEFAULT_STATE_FILE)).exists();
+        changedRelease.setCopyrights("Changed copyright");
+        new SW360Exporter(configuration, sourcesExporter).execute();
+
+        verify(releaseAdapter, times(1)).getReleaseById(approvedRelease.getId());
+        verify(releaseAdapter, times(2)).getReleaseById(unchangedRelease.getId());
+        verify(releaseAdapter, times(2)).getReleaseById(changedRelease.getId());
+        verify(sourcesExporter, times(1)).downloadSourcesForRelease(releaseAdapter, unchangedRelease);
+        verify(sourcesExporter, times(2)).downloadSourcesForRelease(releaseAdapter, changedRelease);
+        List<CSVRecord> records = SW360TestUtils.getCsvParser(csvFile, ',').getRecords();
+        assertThat(records).hasSize(2);
+    }
+}
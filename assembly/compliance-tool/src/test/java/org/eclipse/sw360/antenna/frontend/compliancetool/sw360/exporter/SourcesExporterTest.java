@@ -12,6 +12,9 @@
 package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.exporter;
 
 import nl.jqno.equalsverifier.EqualsVerifier;
+import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360AttachmentUtils;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.Self;
@@ -46,6 +49,7 @@ import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.failedFut
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -309,6 +313,38 @@ public class SourcesExporterTest {
         assertThat(processor.getFileName()).isEqualTo("strange_file_.txt");
     }
 
+    @Test
+    public void testDownloadProcessorVerifiesChecksum() {
+        SW360SparseAttachment attachment = createAttachment(1, 1);
+        attachment.setSha1(TEST_FILE_SHA1);
+        Set<SW360SparseAttachment> attachments = Collections.singleton(attachment);
+        SW360Release release = createReleaseWithAttachments(1, attachments);
+        expectDownloads(release, attachments);
+
+        sourcesExporter.downloadSources(releaseAdapter, Collections.singleton(release));
+        ArgumentCaptor<SW360AttachmentUtils.AttachmentDownloadProcessorCreateDownloadFolderWithParents> captor =
+                ArgumentCaptor.forClass(SW360AttachmentUtils.AttachmentDownloadProcessorCreateDownloadFolderWithParents.class);
+        verify(releaseAdapter).processAttachment(eq(release), eq(attachment.getAttachmentId()), captor.capture());
+        assertThat(captor.getValue().getChecksum()).contains(Checksum.sha1(TEST_FILE_SHA1));
+    }
+
+    @Test
+    public void testDownloadsAreSubmittedToDownloadManager() {
+        SW360SparseAttachment attachment = createAttachment(1, 1);
+        Set<SW360SparseAttachment> attachments = Collections.singleton(attachment);
+        SW360Release release = createReleaseWithAttachments(1, attachments);
+        release.getLinks().setSelf(new Self("https://sw360.org/api/releases/1"));
+        ReleaseWithSources releaseWithSources = createReleaseWithSources(release, attachments);
+        expectDownloads(release, attachments);
+        DownloadManager downloadManager = spy(new DownloadManager(mock(HttpClient.class)));
+        sourcesExporter = new SourcesExporter(sourcePath, downloadManager);
+
+        Collection<ReleaseWithSources> result =
+                sourcesExporter.downloadSources(releaseAdapter, Collections.singleton(release));
+        assertThat(result).containsOnly(releaseWithSources);
+        verify(downloadManager).submit(eq("sw360.org"), any());
+    }
+
     /**
      * Creates a test file at the given location with the content specified.
      *
@@ -11,12 +11,11 @@
 package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
 
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360TestUtils;
-import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapter;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
-import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapter;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.LinkObjects;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.Self;
-import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.ComponentSearchParams;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360ComponentEmbedded;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
@@ -25,6 +24,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Sparse
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -51,19 +51,18 @@ public class IRForReleasesHelper {
         componentEmbedded.setReleases(Collections.singletonList(sparseRelease));
         component.setEmbedded(componentEmbedded);
 
-        SW360ComponentClientAdapter componentClientAdapter = mock(SW360ComponentClientAdapter.class);
+        SW360ComponentClientAdapterAsync componentClientAdapter = mock(SW360ComponentClientAdapterAsync.class);
         when(componentClientAdapter.getComponentById(any()))
-                .thenReturn(Optional.of((component)));
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(component)));
         SW360SparseComponent sparseComponent = SW360TestUtils.mkSW360SparseComponent(name);
-        when(componentClientAdapter.search(ComponentSearchParams.ALL_COMPONENTS))
-                .thenReturn(Collections.singletonList(sparseComponent));
-        when(connection.getComponentAdapter())
+        SW360TestUtils.initComponentStream(componentClientAdapter, Collections.singletonList(sparseComponent));
+        when(connection.getComponentAdapterAsync())
                 .thenReturn(componentClientAdapter);
 
-        SW360ReleaseClientAdapter releaseClientAdapter = mock(SW360ReleaseClientAdapter.class);
+        SW360ReleaseClientAdapterAsync releaseClientAdapter = mock(SW360ReleaseClientAdapterAsync.class);
         when(releaseClientAdapter.getReleaseById(any()))
-                .thenReturn(Optional.of(release));
-        when(connection.getReleaseAdapter())
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(release)));
+        when(connection.getReleaseAdapterAsync())
                 .thenReturn(releaseClientAdapter);
 
         return connection;
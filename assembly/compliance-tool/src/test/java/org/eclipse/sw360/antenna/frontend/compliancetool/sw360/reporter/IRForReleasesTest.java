@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
+
+import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360Configuration;
+import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360TestUtils;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ComponentClientAdapterAsync;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapterAsync;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IRForReleasesTest {
+    /**
+     * The number of components used by the tests.
+     */
+    private static final int COMPONENT_COUNT = 4;
+
+    /**
+     * The number of releases per component.
+     */
+    private static final int RELEASES_PER_COMPONENT = 5;
+
+    /**
+     * The limit for parallel requests used by the tests.
+     */
+    private static final int MAX_CONCURRENT_REQUESTS = 3;
+
+    private ScheduledExecutorService executor;
+
+    private SW360ComponentClientAdapterAsync componentAdapter;
+
+    private SW360ReleaseClientAdapterAsync releaseAdapter;
+
+    private SW360Connection connection;
+
+    /**
+     * The sparse releases of all test components.
+     */
+    private List<SW360SparseRelease> sparseReleases;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newScheduledThreadPool(4);
+        componentAdapter = mock(SW360ComponentClientAdapterAsync.class);
+        releaseAdapter = mock(SW360ReleaseClientAdapterAsync.class);
+        connection = mock(SW360Connection.class);
+        when(connection.getComponentAdapterAsync()).thenReturn(componentAdapter);
+        when(connection.getReleaseAdapterAsync()).thenReturn(releaseAdapter);
+
+        List<SW360SparseComponent> sparseComponents = new ArrayList<>();
+        sparseReleases = new ArrayList<>();
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            SW360SparseComponent sparseComponent = SW360TestUtils.mkSW360SparseComponent("component" + i);
+            SW360Component component = SW360TestUtils.initSelfLink(SW360TestUtils.mkSW360Component("component" + i),
+                    sparseComponent.getSelfLink().getHref());
+            List<SW360SparseRelease> releases = new ArrayList<>();
+            for (int j = 0; j < RELEASES_PER_COMPONENT; j++) {
+                releases.add(SW360TestUtils.mkSW3SparseRelease("release" + i + "_" + j));
+            }
+            component.getEmbedded().setReleases(releases);
+            sparseComponents.add(sparseComponent);
+            sparseReleases.addAll(releases);
+            when(componentAdapter.getComponentById(component.getId()))
+                    .thenReturn(CompletableFuture.completedFuture(Optional.of(component)));
+        }
+        SW360TestUtils.initComponentStream(componentAdapter, sparseComponents);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Creates a test info request with the test limit of parallel requests.
+     *
+     * @return the test info request
+     */
+    private static IRForReleases createInfoRequest() {
+        return new IRForReleases(MAX_CONCURRENT_REQUESTS) {
+            @Override
+            public String getInfoParameter() {
+                return "test";
+            }
+
+            @Override
+            Predicate<SW360Release> getReleasePredicate() {
+                return release -> release.getName().hashCode() % 2 == 0;
+            }
+        };
+    }
+
+    @Test
+    public void testReleasesAreFetchedInParallelWithLimit() {
+        AtomicInteger activeRequests = new AtomicInteger();
+        AtomicInteger maxActiveRequests = new AtomicInteger();
+        when(releaseAdapter.getReleaseById(anyString())).thenAnswer(invocation -> {
+            maxActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            String id = invocation.getArgument(0);
+            SW360Release release = SW360TestUtils.mkSW360Release(id);
+            CompletableFuture<Optional<SW360Release>> future = new CompletableFuture<>();
+            executor.schedule(() -> {
+                activeRequests.decrementAndGet();
+                future.complete(Optional.of(release));
+            }, 5, TimeUnit.MILLISECONDS);
+            return future;
+        });
+
+        Collection<SW360Release> releases = createInfoRequest().execute(connection);
+        Set<String> expectedNames = sparseReleases.stream()
+                .map(SW360SparseRelease::getReleaseId)
+                .filter(id -> id.hashCode() % 2 == 0)
+                .collect(Collectors.toSet());
+        assertThat(releases.stream().map(SW360Release::getName).collect(Collectors.toSet()))
+                .isEqualTo(expectedNames);
+        assertThat(maxActiveRequests.get()).isGreaterThan(1).isLessThanOrEqualTo(MAX_CONCURRENT_REQUESTS);
+    }
+
+    @Test
+    public void testReleasesArePassedToConsumer() {
+        when(releaseAdapter.getReleaseById(anyString())).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync(() ->
+                        Optional.of(SW360TestUtils.mkSW360Release(invocation.getArgument(0))), executor));
+        List<String> releaseNames = Collections.synchronizedList(new ArrayList<>());
+
+        createInfoRequest().execute(connection, release -> releaseNames.add(release.getName()));
+        assertThat(releaseNames).containsExactlyInAnyOrderElementsOf(sparseReleases.stream()
+                .map(SW360SparseRelease::getReleaseId)
+                .filter(id -> id.hashCode() % 2 == 0)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testMissingReleasesAreIgnored() {
+        when(releaseAdapter.getReleaseById(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        assertThat(createInfoRequest().getReleasesByPredicate(connection, release -> true)).isEmpty();
+    }
+
+    @Test
+    public void testSparseReleasesDoNotRequireReleaseRequests() {
+        Set<SW360SparseRelease> releases = createInfoRequest().getSparseReleases(connection);
+
+        assertThat(releases).containsExactlyInAnyOrderElementsOf(sparseReleases);
+        verify(releaseAdapter, never()).getReleaseById(any());
+    }
+
+    @Test
+    public void testDefaultLimitForParallelRequests() {
+        assertThat(new IRGetClearedReleases().getMaxConcurrentRequests())
+                .isEqualTo(IRForReleases.DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Creates a mock configuration that returns the given value for the
+     * property with the limit of parallel requests.
+     *
+     * @param value the value of the property
+     * @return the mock configuration
+     */
+    private static SW360Configuration createConfigurationMock(String value) {
+        SW360Configuration configuration = mock(SW360Configuration.class);
+        when(configuration.getProperty(SW360StatusReporter.PROP_MAX_CONCURRENT_REQUESTS,
+                String.valueOf(IRForReleases.DEFAULT_MAX_CONCURRENT_REQUESTS))).thenReturn(value);
+        return configuration;
+    }
+
+    @Test
+    public void testLimitForParallelRequestsCanBeConfigured() {
+        IRForReleases infoRequest = new IRGetNotClearedReleases();
+
+        infoRequest.configure(createConfigurationMock("2"));
+        assertThat(infoRequest.getMaxConcurrentRequests()).isEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidLimitForParallelRequestsIsRejected() {
+        IRForReleases infoRequest = new IRGetNotClearedReleases();
+
+        assertThatThrownBy(() -> infoRequest.configure(createConfigurationMock("0")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(SW360StatusReporter.PROP_MAX_CONCURRENT_REQUESTS);
+    }
+}
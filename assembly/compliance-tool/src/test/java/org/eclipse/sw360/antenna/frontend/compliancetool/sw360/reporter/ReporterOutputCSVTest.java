@@ -47,4 +47,22 @@ public class ReporterOutputCSVTest {
         assertThat(records).hasSize(1);
         assertThat(records.get(0).size()).isEqualTo(ReporterUtils.sparseReleaseCsvPrintHeader(delimiter).split(delimiter).length);
     }
+
+    @Test
+    public void testWriterWritesRecordsIncrementally() throws IOException {
+        Path csvFilePath = temporaryFolder.newFile("csvFile.csv").toPath();
+        final ReporterOutput csvReporter = ReporterOutputFactory.getReporterOutput("csv");
+        csvReporter.setFilePath(csvFilePath);
+        csvReporter.setResultType(SW360SparseRelease.class);
+
+        try (ReporterOutput.ResultWriter writer = csvReporter.openWriter()) {
+            writer.write(SW360TestUtils.mkSW3SparseRelease("test1"));
+            assertThat(SW360TestUtils.getCsvParser(csvFilePath.toFile(), ';').getRecords()).hasSize(1);
+
+            writer.write(SW360TestUtils.mkSW3SparseRelease("test2"));
+        }
+        final List<CSVRecord> records = SW360TestUtils.getCsvParser(csvFilePath.toFile(), ';').getRecords();
+        assertThat(records).hasSize(2);
+        assertThat(records.get(1).get(1)).isEqualTo("test2");
+    }
 }
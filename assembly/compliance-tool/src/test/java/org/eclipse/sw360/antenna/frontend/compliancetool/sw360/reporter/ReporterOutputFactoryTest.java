@@ -21,4 +21,15 @@ public class ReporterOutputFactoryTest {
 
         assertThat(reporterOutput).isEqualTo(ReporterOutputFactory.DEFAULT_REPORTER_OUTPUT);
     }
+
+    @Test
+    public void csvOutputTest() {
+        assertThat(ReporterOutputFactory.getReporterOutput("CSV")).isInstanceOf(ReporterOutputCSV.class);
+    }
+
+    @Test
+    public void jsonLinesOutputTest() {
+        assertThat(ReporterOutputFactory.getReporterOutput(ReporterOutputFactory.OUTPUT_FORMAT_JSON_LINES))
+                .isInstanceOf(ReporterOutputJsonLines.class);
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360TestUtils;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReporterOutputJsonLinesTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testPrint() throws IOException {
+        Path outputPath = temporaryFolder.newFile("result.jsonl").toPath();
+        SW360Release release1 = SW360TestUtils.mkSW360Release("release1");
+        SW360Release release2 = SW360TestUtils.mkSW360Release("release2");
+        ReporterOutput output = new ReporterOutputJsonLines();
+        output.setFilePath(outputPath);
+        output.setResultType(SW360Release.class);
+
+        output.print(Arrays.asList(release1, release2));
+        List<String> lines = Files.readAllLines(outputPath);
+        assertThat(lines).hasSize(2);
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(mapper.readTree(lines.get(0)).get("name").asText()).isEqualTo(release1.getName());
+        assertThat(mapper.readTree(lines.get(1)).get("name").asText()).isEqualTo(release2.getName());
+    }
+
+    @Test
+    public void testWriterWritesLinesIncrementally() throws IOException {
+        Path outputPath = temporaryFolder.newFile("result.jsonl").toPath();
+        ReporterOutput output = new ReporterOutputJsonLines();
+        output.setFilePath(outputPath);
+
+        try (ReporterOutput.ResultWriter writer = output.openWriter()) {
+            writer.write(SW360TestUtils.mkSW3SparseRelease("test"));
+            assertThat(Files.readAllLines(outputPath)).hasSize(1);
+        }
+    }
+}
@@ -16,47 +16,38 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Sparse
 import org.junit.Test;
 
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Set;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ReporterUtilsTest {
 
     @Test
-    public void printCollectionOfSparseReleasesTest() {
+    public void sparseReleaseCsvPrintRowTest() {
         final SW360SparseRelease sparseRelease = SW360TestUtils.mkSW3SparseRelease("test");
-        final Set<SW360SparseRelease> sparseReleases = Collections.singleton(sparseRelease);
 
-        final String[][] printedReleases = ReporterUtils.printCollectionOfSparseReleases(sparseReleases);
+        final List<String> printedRelease = Arrays.asList(ReporterUtils.sparseReleaseCsvPrintRow(sparseRelease));
 
-        assertThat(printedReleases.length).isEqualTo(sparseReleases.size());
-        assertThat(Arrays.asList(printedReleases[0]).contains(sparseRelease.getName())).isTrue();
-        assertThat(Arrays.asList(printedReleases[0]).contains(sparseRelease.getVersion())).isTrue();
-        assertThat(Arrays.asList(printedReleases[0]).contains(sparseRelease.getReleaseId())).isTrue();
+        assertThat(printedRelease).contains(sparseRelease.getName(), sparseRelease.getVersion(),
+                sparseRelease.getReleaseId());
 
         final String delimiter = ";";
         final String sparseReleasesHeader = ReporterUtils.sparseReleaseCsvPrintHeader(delimiter);
-        assertThat(printedReleases[0].length)
+        assertThat(printedRelease.size())
                 .isEqualTo(sparseReleasesHeader.split(delimiter).length);
     }
 
     @Test
-    public void printCollectionOfReleasesTest() {
+    public void releaseCsvPrintRowTest() {
         final SW360Release release = SW360TestUtils.mkSW360Release("test");
-        final Set<SW360Release> releases = Collections.singleton(release);
 
-        final String[][] printedReleases = ReporterUtils.printCollectionOfReleases(releases);
+        final List<String> printedRelease = Arrays.asList(ReporterUtils.releaseCsvPrintRow(release));
 
-        assertThat(printedReleases.length).isEqualTo(releases.size());
-        assertThat(Arrays.asList(printedReleases[0]).contains(release.getDownloadurl())).isTrue();
-        assertThat(Arrays.asList(printedReleases[0]).contains(release.getName())).isTrue();
-        assertThat(Arrays.asList(printedReleases[0]).contains(release.getCopyrights())).isTrue();
+        assertThat(printedRelease).contains(release.getDownloadurl(), release.getName(), release.getCopyrights());
 
         final String delimiter = ";";
         final String releasesHeader = ReporterUtils.releaseCsvPrintHeader(delimiter);
-        assertThat(printedReleases[0].length)
+        assertThat(printedRelease.size())
                 .isEqualTo(releasesHeader.split(delimiter).length);
-
     }
 }
@@ -12,6 +12,7 @@ package org.eclipse.sw360.antenna.frontend.compliancetool.sw360.reporter;
 
 import org.eclipse.sw360.antenna.frontend.compliancetool.sw360.SW360Configuration;
 import org.eclipse.sw360.antenna.frontend.stub.cli.AbstractAntennaCLIOptions;
+import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -21,10 +22,16 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SW360StatusReporterTest {
@@ -60,6 +67,31 @@ public class SW360StatusReporterTest {
         assertThat(csvFile).exists();
     }
 
+    @Test
+    public void testFailingWriterForAsynchronousResultsIsHandled() throws IOException {
+        File csvFile = folder.newFile("result.csv");
+        when(configurationMock.getCsvFilePath())
+                .thenReturn(csvFile.toPath());
+        ReporterOutput.ResultWriter writer = mock(ReporterOutput.ResultWriter.class);
+        doThrow(new IOException("Disk full")).when(writer).write(any());
+        ReporterOutput output = mock(ReporterOutput.class);
+        when(output.openWriter()).thenReturn(writer);
+        @SuppressWarnings("unchecked")
+        InfoRequest<Object> infoRequest = mock(InfoRequest.class);
+        doAnswer(invocation -> {
+            Consumer<Object> consumer = invocation.getArgument(1);
+            return FutureUtils.block(CompletableFuture.runAsync(() -> consumer.accept("result")));
+        }).when(infoRequest).execute(any(), any());
+
+        parameter = new HashSet<>(Collections.singletonList(ReporterParameterParser.REPORTER_PARAMETER_PREFIX + AbstractAntennaCLIOptions.PARAMETER_IDENTIFIER + new IRGetClearedReleases().getInfoParameter()));
+        SW360StatusReporter statusReporter = new SW360StatusReporter(configurationMock, parameter);
+        statusReporter.setInfoRequest(infoRequest);
+        statusReporter.setReporterOutput(output);
+
+        statusReporter.execute();
+        verify(writer).close();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testStatusReporterWithMissingParameters() {
         parameter = new HashSet<>(Collections.singletonList(ReporterParameterParser.REPORTER_PARAMETER_PREFIX + AbstractAntennaCLIOptions.PARAMETER_IDENTIFIER + new IRGetReleasesOfProjects().getInfoParameter()));
@@ -204,10 +204,14 @@ public class SW360UpdaterParameterizedTest {
         }
         when(updater.artifactToReleaseWithUploads(any(), any(), anyMap()))
                 .thenAnswer((Answer<AttachmentUploadResult<SW360Release>>) invocationOnMock -> {
+                    // artifacts are processed in parallel; so fail based on the artifact
+                    SW360Release releaseFromArtifact = invocationOnMock.getArgument(1);
+                    if (releaseFromArtifact.getName().contains("error")) {
+                        throw new SW360ClientException("Boo");
+                    }
                     deleteSourceFileIfNotAttachmentExists(attachmentExists, sourceAttachment);
                     return AttachmentUploadResult.newResult(release, Collections.emptySet(), uploadFailures);
-                })
-                .thenThrow(new SW360ClientException("Boo"));
+                });
 
         ClearingReportGenerator generator = mock(ClearingReportGenerator.class);
         Path clearingDocDir = getClearingDocDir();
@@ -29,6 +29,8 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -68,8 +70,7 @@ public class SW360UpdaterTest {
         when(updaterImpl.artifactToReleaseWithUploads(any(), any(), any()))
                 .thenReturn(new AttachmentUploadResult<>(testRelease));
 
-        String propertiesFilePath = Objects.requireNonNull(this.getClass().getClassLoader().getResource("compliancetool-updater.properties")).getPath();
-        final Map<String, String> properties = ComplianceFeatureUtils.mapPropertiesFile(new File(propertiesFilePath));
+        final Map<String, String> properties = loadProperties();
         initConfiguration(properties, ArtifactClearingState.ClearingState.OSM_APPROVED);
 
         // the creation of the clearing document will failed one time and be successful one time
@@ -87,6 +88,69 @@ public class SW360UpdaterTest {
         verify(updaterImpl, times(1)).artifactToReleaseWithUploads(any(), any(), anyMap());
     }
 
+    @Test
+    public void testUnexpectedExceptionsOnlyAffectSingleArtifacts() throws IOException {
+        SW360Release testRelease = SW360TestUtils.mkSW360Release("test");
+        SW360UpdaterImpl updaterImpl = mock(SW360UpdaterImpl.class);
+        when(updaterImpl.artifactToReleaseWithUploads(any(), any(), any()))
+                .thenReturn(new AttachmentUploadResult<>(testRelease));
+        Map<String, String> properties = loadProperties();
+        initConfiguration(properties, ArtifactClearingState.ClearingState.OSM_APPROVED);
+        Path clearingDoc = folder.newFile("clearing_document.test").toPath();
+        final ClearingReportGenerator clearingReportGenerator = mock(ClearingReportGenerator.class);
+        when(clearingReportGenerator.createClearingDocument(any(), any())).thenAnswer(invocation -> {
+            SW360Release release = invocation.getArgument(0);
+            if (release.getName().contains("error")) {
+                throw new IllegalStateException("Unexpected error");
+            }
+            return clearingDoc;
+        });
+        SW360Updater updater = new SW360Updater(updaterImpl, configurationMock, clearingReportGenerator);
+
+        Assertions.assertThatThrownBy(updater::execute)
+                .isInstanceOf(SW360ClientException.class)
+                .hasMessageContaining("Unexpected error");
+        verify(updaterImpl, times(1)).artifactToReleaseWithUploads(any(), any(), anyMap());
+    }
+
+    @Test
+    public void testArtifactsAreProcessedInParallel() throws IOException {
+        SW360Release testRelease = SW360TestUtils.mkSW360Release("test");
+        CountDownLatch latch = new CountDownLatch(2);
+        SW360UpdaterImpl updaterImpl = mock(SW360UpdaterImpl.class);
+        when(updaterImpl.artifactToReleaseWithUploads(any(), any(), any())).thenAnswer(invocation -> {
+            latch.countDown();
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new SW360ClientException("Artifacts were not processed in parallel");
+            }
+            return new AttachmentUploadResult<>(testRelease);
+        });
+        Map<String, String> properties = loadProperties();
+        properties.put(SW360Updater.PROP_MAX_CONCURRENT_REQUESTS, "2");
+        initConfiguration(properties, ArtifactClearingState.ClearingState.OSM_APPROVED);
+        final ClearingReportGenerator clearingReportGenerator = mock(ClearingReportGenerator.class);
+        when(clearingReportGenerator.createClearingDocument(any(), any()))
+                .thenReturn(folder.newFile("clearing_document.test").toPath());
+        SW360Updater updater = new SW360Updater(updaterImpl, configurationMock, clearingReportGenerator);
+
+        updater.execute();
+        verify(updaterImpl, times(2)).artifactToReleaseWithUploads(any(), any(), anyMap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxConcurrency() throws IOException {
+        Map<String, String> properties = loadProperties();
+        properties.put(SW360Updater.PROP_MAX_CONCURRENT_REQUESTS, "0");
+        initConfiguration(properties, ArtifactClearingState.ClearingState.OSM_APPROVED);
+
+        new SW360Updater(mock(SW360UpdaterImpl.class), configurationMock, mock(ClearingReportGenerator.class));
+    }
+
+    private Map<String, String> loadProperties() {
+        String propertiesFilePath = Objects.requireNonNull(this.getClass().getClassLoader().getResource("compliancetool-updater.properties")).getPath();
+        return ComplianceFeatureUtils.mapPropertiesFile(new File(propertiesFilePath));
+    }
+
     private void initConfiguration(Map<String, String> propertiesMap, ArtifactClearingState.ClearingState clearingState) throws IOException {
         Path csvFile = SW360TestUtils.writeCsvFile(folder,
                 "",
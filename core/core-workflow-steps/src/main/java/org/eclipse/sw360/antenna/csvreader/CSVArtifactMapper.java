@@ -89,13 +89,10 @@ public class CSVArtifactMapper {
     }
 
     public Path writeArtifactsToCsvFile(Collection<Artifact> artifacts) {
-        try (BufferedWriter writer = Files.newBufferedWriter(csvFile);
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(COLUMN_NAMES))
-        ) {
+        try (ArtifactWriter writer = openArtifactWriter()) {
             for (Artifact artifact : artifacts) {
-                csvPrinter.printRecords(makeCsvRecordsFromArtifact(artifact));
+                writer.write(artifact);
             }
-            csvPrinter.flush();
             return csvFile.toAbsolutePath();
         } catch (IOException e) {
             LOGGER.error("Error when writing the csv file", e);
@@ -103,6 +100,26 @@ public class CSVArtifactMapper {
         }
     }
 
+    /**
+     * Opens an {@code ArtifactWriter} for the CSV file managed by this
+     * object. In contrast to {@link #writeArtifactsToCsvFile(Collection)},
+     * the writer allows adding artifacts one by one, so that they do not have
+     * to be available at once. The header of the CSV file is written
+     * immediately. The caller is responsible for closing the writer.
+     *
+     * @return the writer for the CSV file
+     * @throws IOException if the file cannot be opened
+     */
+    public ArtifactWriter openArtifactWriter() throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(csvFile);
+        try {
+            return new ArtifactWriter(new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(COLUMN_NAMES)));
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+    }
+
     private Object[] makeCsvRecordsFromArtifact(Artifact artifact) {
         List<Object> csvRecords = new ArrayList<>();
 
@@ -445,4 +462,42 @@ public class CSVArtifactMapper {
             return "";
         }
     }
+
+    /**
+     * <p>
+     * A class for writing artifacts to a CSV file one by one.
+     * </p>
+     * <p>
+     * Instances are obtained via {@link #openArtifactWriter()}. They are
+     * useful if artifacts are produced incrementally, e.g. by asynchronous
+     * operations, and should be written as soon as they become available.
+     * The methods of this class are synchronized, so artifacts can be written
+     * from multiple threads.
+     * </p>
+     */
+    public final class ArtifactWriter implements Closeable {
+        /**
+         * The printer for writing CSV records.
+         */
+        private final CSVPrinter csvPrinter;
+
+        private ArtifactWriter(CSVPrinter csvPrinter) {
+            this.csvPrinter = csvPrinter;
+        }
+
+        /**
+         * Writes the records for the given artifact to the CSV file.
+         *
+         * @param artifact the artifact to be written
+         * @throws IOException if an error occurs
+         */
+        public synchronized void write(Artifact artifact) throws IOException {
+            csvPrinter.printRecords(makeCsvRecordsFromArtifact(artifact));
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            csvPrinter.close();
+        }
+    }
 }
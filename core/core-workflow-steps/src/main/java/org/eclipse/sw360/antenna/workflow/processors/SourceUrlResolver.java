@@ -14,6 +14,7 @@ package org.eclipse.sw360.antenna.workflow.processors;
 
 import org.eclipse.sw360.antenna.api.configuration.ToolConfiguration;
 import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
+import org.eclipse.sw360.antenna.http.utils.HttpUtils;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceUrl;
@@ -25,8 +26,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 public class SourceUrlResolver extends AbstractProcessor {
@@ -47,24 +49,28 @@ public class SourceUrlResolver extends AbstractProcessor {
     }
 
     private void resolveSourceUrls(Collection<Artifact> artifacts) {
+        Map<Artifact, CompletableFuture<File>> downloads = new LinkedHashMap<>();
         for (Artifact artifact : artifacts) {
-            Optional<String> sourceUrl = artifact.askForGet(ArtifactSourceUrl.class);
-            if (sourceUrl.isPresent()) {
-                try {
-                    File file = httpHelper.downloadFile(sourceUrl.get(), dependencyTargetDirectory);
-                    artifact.addFact(new ArtifactSourceFile(file.toPath()));
-                } catch (IOException e) {
-                    LOGGER.warn("Issue during download of artifact sources", e);
-                }
-            }
+            artifact.askForGet(ArtifactSourceUrl.class)
+                    .ifPresent(sourceUrl -> downloads.put(artifact,
+                            httpHelper.downloadFileAsync(sourceUrl, dependencyTargetDirectory)));
         }
+
+        downloads.forEach((artifact, download) -> {
+            try {
+                File file = HttpUtils.waitFor(download);
+                artifact.addFact(new ArtifactSourceFile(file.toPath()));
+            } catch (IOException e) {
+                LOGGER.warn("Issue during download of artifact sources", e);
+            }
+        });
     }
 
     @Override
     public void configure(Map<String,String> configMap) {
         super.configure(configMap);
         ToolConfiguration toolConfig = context.getToolConfiguration();
-        httpHelper = new HttpHelper(context.getHttpClient());
+        httpHelper = new HttpHelper(context.getDownloadManager());
         dependencyTargetDirectory = toolConfig.getDependenciesDirectory();
     }
 }
@@ -216,6 +216,23 @@ public class CSVArtifactMapperTest {
         });
     }
 
+    @Test
+    public void testArtifactWriterWritesArtifactsIncrementally() throws IOException {
+        Artifact artifact1 = mkArtifact("test1", false);
+        Artifact artifact2 = mkArtifact("test2", true);
+        CSVArtifactMapper csvArtifactMapper = new CSVArtifactMapper(csvFile.toPath(), StandardCharsets.UTF_8, DELIMITER, csvFile.getParentFile().toPath());
+
+        try (CSVArtifactMapper.ArtifactWriter writer = csvArtifactMapper.openArtifactWriter()) {
+            writer.write(artifact1);
+            writer.write(artifact2);
+        }
+
+        List<CSVRecord> records = parseCsvFile();
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).get("Hash")).isEqualTo("12345678test1");
+        assertThat(records.get(1).get("Hash")).isEqualTo("12345678test2");
+    }
+
     private Artifact mkArtifact(String name, boolean withOverridden) {
         Artifact artifact = new Artifact("CSV");
         artifact.addCoordinate(new Coordinate(ARTIFACT_MAVEN_COORDINATES));
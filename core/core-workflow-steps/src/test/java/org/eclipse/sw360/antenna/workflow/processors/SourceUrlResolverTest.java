@@ -22,8 +22,10 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.sw360.antenna.testing.util.AntennaTestingUtils.setVariableValueInObject;
@@ -46,8 +48,8 @@ public class SourceUrlResolverTest {
 
     @Test
     public void processDownloadsSourcesAndSetsTheSourceFileFact() throws Exception {
-        when(httpHelper.downloadFile(eq("https://example.com/artifact0.zip"), any()))
-                .thenReturn(new File("artifact0.zip"));
+        when(httpHelper.downloadFileAsync(eq("https://example.com/artifact0.zip"), any()))
+                .thenReturn(CompletableFuture.completedFuture(new File("artifact0.zip")));
 
         Artifact artifact0 = new Artifact();
         artifact0.addFact(new ArtifactSourceUrl("https://example.com/artifact0.zip"));
@@ -63,4 +65,24 @@ public class SourceUrlResolverTest {
 
         assertThat(artifact1.askForGet(ArtifactSourceFile.class).isPresent()).isFalse();
     }
+
+    @Test
+    public void processIgnoresFailedDownloads() {
+        CompletableFuture<File> failedDownload = new CompletableFuture<>();
+        failedDownload.completeExceptionally(new IOException("Download failed"));
+        when(httpHelper.downloadFileAsync(eq("https://example.com/artifact0.zip"), any()))
+                .thenReturn(failedDownload);
+        when(httpHelper.downloadFileAsync(eq("https://example.com/artifact1.zip"), any()))
+                .thenReturn(CompletableFuture.completedFuture(new File("artifact1.zip")));
+
+        Artifact artifact0 = new Artifact();
+        artifact0.addFact(new ArtifactSourceUrl("https://example.com/artifact0.zip"));
+        Artifact artifact1 = new Artifact();
+        artifact1.addFact(new ArtifactSourceUrl("https://example.com/artifact1.zip"));
+
+        resolver.process(Arrays.asList(artifact0, artifact1));
+
+        assertThat(artifact0.askForGet(ArtifactSourceFile.class).isPresent()).isFalse();
+        assertThat(artifact1.askForGet(ArtifactSourceFile.class).isPresent()).isTrue();
+    }
 }
\ No newline at end of file
@@ -17,6 +17,8 @@ import org.eclipse.sw360.antenna.api.IProcessingReporter;
 import org.eclipse.sw360.antenna.api.IProject;
 import org.eclipse.sw360.antenna.api.service.ServiceFactory;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
+import org.eclipse.sw360.antenna.http.metrics.HttpMetricsCollector;
 import org.eclipse.sw360.antenna.model.Configuration;
 
 import java.util.Optional;
@@ -101,6 +103,30 @@ public class AntennaContext {
                 toolConfiguration.getProxyHost(), toolConfiguration.getProxyPort());
     }
 
+    /**
+     * Returns the shared {@code DownloadManager} that should be used by all
+     * components that download files. The manager uses the shared HTTP
+     * client and limits the number of parallel downloads, both globally and
+     * per host.
+     *
+     * @return the shared download manager instance
+     */
+    public DownloadManager getDownloadManager() {
+        return serviceFactory.createDownloadManager(toolConfiguration.useProxy(),
+                toolConfiguration.getProxyHost(), toolConfiguration.getProxyPort());
+    }
+
+    /**
+     * Returns the object that collects metrics about all HTTP requests
+     * executed during this Antenna run. This object can be used to report
+     * statistics about the HTTP traffic, e.g. latencies per host or route.
+     *
+     * @return the shared collector for HTTP request metrics
+     */
+    public HttpMetricsCollector getHttpMetrics() {
+        return serviceFactory.getHttpMetrics();
+    }
+
     /**
      * Returns a configured {@code ObjectMapper} for JSON serialization. The
      * object is created and initialized when it is accessed for the first
@@ -17,6 +17,8 @@ import org.eclipse.sw360.antenna.http.HttpClientFactory;
 import org.eclipse.sw360.antenna.http.HttpClientFactoryImpl;
 import org.eclipse.sw360.antenna.http.config.HttpClientConfig;
 import org.eclipse.sw360.antenna.http.config.ProxySettings;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
+import org.eclipse.sw360.antenna.http.metrics.HttpMetricsCollector;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -48,6 +50,18 @@ public class ServiceFactory {
      */
     private final ConcurrentMap<ProxySettings, HttpClient> httpClients;
 
+    /**
+     * A cache for the download managers that have been created. As for HTTP
+     * clients, there is one manager per proxy configuration.
+     */
+    private final ConcurrentMap<ProxySettings, DownloadManager> downloadManagers;
+
+    /**
+     * The object collecting metrics about all HTTP requests executed by the
+     * clients created by this factory.
+     */
+    private final HttpMetricsCollector httpMetrics;
+
     /**
      * Creates a new instance of {@code ServiceFactory} with default settings.
      */
@@ -64,6 +78,8 @@ public class ServiceFactory {
     ServiceFactory(HttpClientFactory httpClientFactory) {
         this.httpClientFactory = httpClientFactory;
         httpClients = new ConcurrentHashMap<>();
+        downloadManagers = new ConcurrentHashMap<>();
+        httpMetrics = new HttpMetricsCollector();
     }
 
     /**
@@ -91,6 +107,36 @@ public class ServiceFactory {
         return httpClients.computeIfAbsent(proxySettings, this::createHttpClient);
     }
 
+    /**
+     * Returns a {@code DownloadManager} that supports the given proxy
+     * configuration. The manager uses the HTTP client for this configuration
+     * as returned by {@link #createHttpClient(boolean, String, int)}. As the
+     * manager enforces limits for parallel downloads, all components should
+     * use the shared instance; therefore, this method returns the same
+     * manager when asked for the same proxy configuration.
+     *
+     * @param useProxy  flag whether a proxy should be used
+     * @param proxyHost the proxy host
+     * @param proxyPort the proxy port
+     * @return the {@code DownloadManager} supporting this proxy configuration
+     */
+    public DownloadManager createDownloadManager(boolean useProxy, String proxyHost, int proxyPort) {
+        ProxySettings proxySettings = ProxySettings.fromConfig(useProxy, proxyHost, proxyPort);
+        return downloadManagers.computeIfAbsent(proxySettings,
+                settings -> new DownloadManager(httpClients.computeIfAbsent(settings, this::createHttpClient)));
+    }
+
+    /**
+     * Returns the object that collects metrics about the HTTP requests
+     * executed by the clients created by this factory. All clients share the
+     * same collector, so it contains the data of the whole Antenna run.
+     *
+     * @return the collector for HTTP request metrics
+     */
+    public HttpMetricsCollector getHttpMetrics() {
+        return httpMetrics;
+    }
+
     /**
      * Creates a new HTTP client that is configured with the proxy settings
      * passed in.
@@ -106,15 +152,17 @@ public class ServiceFactory {
     /**
      * Creates a configuration for a new HTTP client based on the given proxy
      * settings. As the JSON mapper needed by the client the one managed by
-     * this factory is used.
+     * this factory is used. Request metrics are passed to the shared
+     * metrics collector.
      *
      * @param settings the proxy settings
      * @return the {@code HttpClientConfig} for these proxy settings
      */
-    private static HttpClientConfig createHttpClientConfig(ProxySettings settings) {
+    private HttpClientConfig createHttpClientConfig(ProxySettings settings) {
         return HttpClientConfig.basicConfig()
                 .withObjectMapper(getObjectMapper())
-                .withProxySettings(settings);
+                .withProxySettings(settings)
+                .withMetricsListener(httpMetrics);
     }
 
     /**
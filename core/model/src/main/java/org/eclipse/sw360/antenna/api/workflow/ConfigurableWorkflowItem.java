@@ -13,15 +13,29 @@ package org.eclipse.sw360.antenna.api.workflow;
 import org.eclipse.sw360.antenna.api.IProcessingReporter;
 import org.eclipse.sw360.antenna.api.configuration.AntennaContext;
 import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 public abstract class ConfigurableWorkflowItem {
+    /**
+     * The name of the optional configuration entry that defines the store
+     * file of the {@link FileHashCache} used by a workflow step. If it is
+     * not set, hashes of files are only cached in memory.
+     */
+    public static final String FILE_HASH_CACHE = "fileHashCache";
+
+    /**
+     * The name of the optional configuration entry that defines the maximum
+     * number of tasks a workflow step executes in parallel.
+     */
+    public static final String MAX_CONCURRENCY = "maxConcurrency";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurableWorkflowItem.class);
     protected IProcessingReporter reporter;
@@ -76,6 +90,49 @@ public abstract class ConfigurableWorkflowItem {
         return result;
     }
 
+    /**
+     * Returns the {@code FileHashCache} to be used by a workflow step. If the
+     * configuration defines a store file via the {@value #FILE_HASH_CACHE}
+     * entry, the cache persisted in this file is returned; otherwise, the
+     * given default cache is used.
+     *
+     * @param configMap    the configuration of the workflow step
+     * @param defaultCache the cache to use if persistence is not configured
+     * @return the {@code FileHashCache} to be used
+     */
+    public FileHashCache getFileHashCache(Map<String, String> configMap, FileHashCache defaultCache) {
+        String storeFile = configMap.get(FILE_HASH_CACHE);
+        return storeFile == null || storeFile.trim().isEmpty() ? defaultCache :
+                FileHashCache.forStoreFile(Paths.get(storeFile.trim()));
+    }
+
+    /**
+     * Returns the maximum number of tasks to be executed in parallel by a
+     * workflow step. The value is read from the {@value #MAX_CONCURRENCY}
+     * entry of the configuration; if it is not set, the given default value
+     * is returned.
+     *
+     * @param configMap          the configuration of the workflow step
+     * @param defaultConcurrency the default maximum concurrency
+     * @return the maximum number of parallel tasks
+     * @throws ConfigurationException if the value is not a positive number
+     */
+    public int parseMaxConcurrency(Map<String, String> configMap, int defaultConcurrency) {
+        String value = configMap.get(MAX_CONCURRENCY);
+        if (value == null) {
+            return defaultConcurrency;
+        }
+        try {
+            int concurrency = Integer.parseInt(value.trim());
+            if (concurrency > 0) {
+                return concurrency;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the exception below
+        }
+        throw new ConfigurationException("The value in '" + MAX_CONCURRENCY + "' must be a positive number.");
+    }
+
     public Boolean getBooleanConfigValue(String key, Map<String, String> configMap) {
         return "true".equals(getConfigValue(key, configMap, "false").toLowerCase());
     }
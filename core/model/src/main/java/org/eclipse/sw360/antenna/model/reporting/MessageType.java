@@ -120,5 +120,9 @@ public enum MessageType {
     /**
      * Rule engine has reported an INFO, WARN or FAIL.
      */
-    RULE_ENGINE
+    RULE_ENGINE,
+    /**
+     * Statistics about the HTTP requests executed during processing.
+     */
+    HTTP_METRICS
 }
@@ -15,6 +15,7 @@ import org.eclipse.sw360.antenna.api.IProcessingReporter;
 import org.eclipse.sw360.antenna.api.IProject;
 import org.eclipse.sw360.antenna.api.service.ServiceFactory;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.model.Configuration;
 import org.junit.Test;
 
@@ -102,6 +103,22 @@ public class AntennaContextTest {
         assertThat(context.getHttpClient()).isEqualTo(httpClient);
     }
 
+    @Test
+    public void testDownloadManager() {
+        final String proxyHost = "test.proxy";
+        final int proxyPort = 5555;
+        ServiceFactory serviceFactory = mock(ServiceFactory.class);
+        DownloadManager downloadManager = mock(DownloadManager.class);
+        when(serviceFactory.createDownloadManager(true, proxyHost, proxyPort)).thenReturn(downloadManager);
+        ToolConfiguration.ConfigurationBuilder configurationBuilder = defaultToolConfigurationBuilder()
+                .setProxyHost(proxyHost)
+                .setProxyPort(proxyPort);
+
+        AntennaContext context =
+                createContext(new AntennaContext.ContextBuilder(serviceFactory), configurationBuilder);
+        assertThat(context.getDownloadManager()).isEqualTo(downloadManager);
+    }
+
     @Test
     public void testContextExtensionEmptyNoMatch() {
         AntennaContext context = createContext(new AntennaContext.ContextBuilder());
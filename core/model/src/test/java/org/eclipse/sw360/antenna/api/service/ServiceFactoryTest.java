@@ -18,6 +18,7 @@ import org.eclipse.sw360.antenna.http.HttpClientFactory;
 import org.eclipse.sw360.antenna.http.HttpClientFactoryImpl;
 import org.eclipse.sw360.antenna.http.config.HttpClientConfig;
 import org.eclipse.sw360.antenna.http.config.ProxySettings;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -63,10 +64,11 @@ public class ServiceFactoryTest {
         assertThat(httpClient.getClass().getSimpleName()).isEqualTo("HttpClientImpl");
     }
 
-    private static HttpClientConfig createHttpClientConfig(ProxySettings proxySettings) {
+    private static HttpClientConfig createHttpClientConfig(ServiceFactory factory, ProxySettings proxySettings) {
         return HttpClientConfig.basicConfig()
                 .withProxySettings(proxySettings)
-                .withObjectMapper(ServiceFactory.getObjectMapper());
+                .withObjectMapper(ServiceFactory.getObjectMapper())
+                .withMetricsListener(factory.getHttpMetrics());
     }
 
     @Test
@@ -74,9 +76,9 @@ public class ServiceFactoryTest {
         HttpClientFactory clientFactory = mock(HttpClientFactory.class);
         HttpClient client = mock(HttpClient.class);
         ProxySettings proxySettings = ProxySettings.useProxy(PROXY_HOST, PROXY_PORT);
-        HttpClientConfig clientConfig = createHttpClientConfig(proxySettings);
-        when(clientFactory.newHttpClient(clientConfig)).thenReturn(client);
         ServiceFactory factory = new ServiceFactory(clientFactory);
+        HttpClientConfig clientConfig = createHttpClientConfig(factory, proxySettings);
+        when(clientFactory.newHttpClient(clientConfig)).thenReturn(client);
 
         HttpClient httpClient = factory.createHttpClient(true, PROXY_HOST, PROXY_PORT);
         assertThat(httpClient).isEqualTo(client);
@@ -89,14 +91,36 @@ public class ServiceFactoryTest {
         HttpClient client2 = mock(HttpClient.class);
         HttpClient neverUsedClient = mock(HttpClient.class);
         ProxySettings proxySettings = ProxySettings.useProxy(PROXY_HOST, PROXY_PORT);
-        HttpClientConfig clientConfig1 = createHttpClientConfig(proxySettings);
-        HttpClientConfig clientConfig2 = createHttpClientConfig(ProxySettings.noProxy());
+        ServiceFactory factory = new ServiceFactory(clientFactory);
+        HttpClientConfig clientConfig1 = createHttpClientConfig(factory, proxySettings);
+        HttpClientConfig clientConfig2 = createHttpClientConfig(factory, ProxySettings.noProxy());
         when(clientFactory.newHttpClient(clientConfig1)).thenReturn(client1, neverUsedClient);
         when(clientFactory.newHttpClient(clientConfig2)).thenReturn(client2);
-        ServiceFactory factory = new ServiceFactory(clientFactory);
         assertThat(factory.createHttpClient(true, PROXY_HOST, PROXY_PORT)).isEqualTo(client1);
 
         assertThat(factory.createHttpClient(true, PROXY_HOST, PROXY_PORT)).isEqualTo(client1);
         assertThat(factory.createHttpClient(false, PROXY_HOST, PROXY_PORT)).isEqualTo(client2);
     }
+
+    @Test
+    public void testDownloadManagersAreCachedAndUseSharedClients() {
+        HttpClientFactory clientFactory = mock(HttpClientFactory.class);
+        HttpClient client = mock(HttpClient.class);
+        ServiceFactory factory = new ServiceFactory(clientFactory);
+        HttpClientConfig clientConfig = createHttpClientConfig(factory, ProxySettings.noProxy());
+        when(clientFactory.newHttpClient(clientConfig)).thenReturn(client);
+
+        DownloadManager downloadManager = factory.createDownloadManager(false, PROXY_HOST, PROXY_PORT);
+        assertThat(downloadManager.getHttpClient()).isEqualTo(client);
+        assertThat(factory.createDownloadManager(false, PROXY_HOST, PROXY_PORT)).isSameAs(downloadManager);
+        assertThat(factory.createHttpClient(false, PROXY_HOST, PROXY_PORT)).isEqualTo(client);
+    }
+
+    @Test
+    public void testHttpMetricsCollectorIsShared() {
+        ServiceFactory factory = new ServiceFactory();
+
+        assertThat(factory.getHttpMetrics()).isNotNull();
+        assertThat(factory.getHttpMetrics()).isSameAs(factory.getHttpMetrics());
+    }
 }
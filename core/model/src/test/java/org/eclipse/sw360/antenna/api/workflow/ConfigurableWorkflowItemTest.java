@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.api.workflow;
+
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigurableWorkflowItemTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ConfigurableWorkflowItem workflowItem;
+
+    @Before
+    public void setUp() {
+        workflowItem = new ConfigurableWorkflowItem() {
+        };
+    }
+
+    @Test
+    public void testFileHashCacheDefaultsToPassedInCache() {
+        FileHashCache defaultCache = new FileHashCache(null);
+
+        assertThat(workflowItem.getFileHashCache(Collections.emptyMap(), defaultCache)).isSameAs(defaultCache);
+    }
+
+    @Test
+    public void testFileHashCacheWithConfiguredStoreFile() {
+        Path storeFile = temporaryFolder.getRoot().toPath().resolve("hashes");
+
+        FileHashCache cache = workflowItem.getFileHashCache(
+                Collections.singletonMap(ConfigurableWorkflowItem.FILE_HASH_CACHE, storeFile.toString()),
+                new FileHashCache(null));
+        assertThat(cache.getStoreFile()).contains(storeFile.toAbsolutePath().normalize());
+        assertThat(cache).isSameAs(FileHashCache.forStoreFile(storeFile));
+    }
+
+    @Test
+    public void testMaxConcurrencyDefaultsToPassedInValue() {
+        assertThat(workflowItem.parseMaxConcurrency(Collections.emptyMap(), 3)).isEqualTo(3);
+    }
+
+    @Test
+    public void testMaxConcurrencyFromConfiguration() {
+        assertThat(workflowItem.parseMaxConcurrency(
+                Collections.singletonMap(ConfigurableWorkflowItem.MAX_CONCURRENCY, " 16 "), 3)).isEqualTo(16);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testNonPositiveMaxConcurrencyIsRejected() {
+        workflowItem.parseMaxConcurrency(Collections.singletonMap(ConfigurableWorkflowItem.MAX_CONCURRENCY, "0"), 3);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testInvalidMaxConcurrencyIsRejected() {
+        workflowItem.parseMaxConcurrency(Collections.singletonMap(ConfigurableWorkflowItem.MAX_CONCURRENCY, "many"), 3);
+    }
+}
@@ -15,11 +15,17 @@ import org.eclipse.sw360.antenna.api.IAttachable;
 import org.eclipse.sw360.antenna.api.configuration.AntennaContext;
 import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
+import org.eclipse.sw360.antenna.http.metrics.HttpMetricsCollector;
+import org.eclipse.sw360.antenna.model.reporting.MessageType;
 import org.eclipse.sw360.antenna.workflow.AntennaWorkflow;
 import org.eclipse.sw360.antenna.workflow.AntennaWorkflowConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,6 +38,16 @@ public class AntennaCore {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AntennaCore.class);
 
+    /**
+     * Name of the file the JSON summary of HTTP request metrics is written to.
+     */
+    private static final String HTTP_METRICS_FILENAME = "Antenna_httpMetrics.json";
+
+    /**
+     * The maximum number of routes listed in the HTTP metrics report message.
+     */
+    private static final int HTTP_METRICS_MAX_ROUTES = 10;
+
     private final AntennaWorkflow tw;
     private final AntennaContext context;
 
@@ -69,11 +85,39 @@ public class AntennaCore {
 
     public IAttachable writeAnalysisReport() {
         LOGGER.debug("Create Analysis Report...");
+        reportHttpMetrics();
         final IAttachable report = this.context.getProcessingReporter().writeReportToReportPath();
         LOGGER.debug("Create Analysis Report...done");
         return report;
     }
 
+    /**
+     * Exports the metrics about the HTTP requests executed during this run.
+     * A summary is added to the processing report, and the full data is
+     * written as JSON to the target directory. If no HTTP requests have been
+     * executed, this method does nothing.
+     */
+    private void reportHttpMetrics() {
+        HttpMetricsCollector httpMetrics = context.getHttpMetrics();
+        if (httpMetrics.getRequestCount() == 0) {
+            return;
+        }
+
+        context.getProcessingReporter().add(MessageType.HTTP_METRICS,
+                httpMetrics.formatSummary(HTTP_METRICS_MAX_ROUTES));
+        Path metricsPath = context.getToolConfiguration().getAntennaTargetDirectory()
+                .resolve(HTTP_METRICS_FILENAME);
+        try {
+            Files.createDirectories(metricsPath.getParent());
+            try (OutputStream out = Files.newOutputStream(metricsPath)) {
+                httpMetrics.writeJsonSummary(context.getObjectMapper(), out);
+            }
+            LOGGER.debug("Wrote HTTP metrics to {}", metricsPath);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write HTTP metrics to {}.", metricsPath, e);
+        }
+    }
+
     public AntennaContext getAntennaContext() {
         return context;
     }
@@ -12,45 +12,81 @@
 package org.eclipse.sw360.antenna.util;
 
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
+import org.eclipse.sw360.antenna.http.download.DownloadRequest;
 import org.eclipse.sw360.antenna.http.utils.HttpUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
 
 public class HttpHelper {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpHelper.class);
 
-    private final HttpClient httpClient;
+    private final DownloadManager downloadManager;
 
     /**
      * Creates a new instance of {@code HttpHelper} that uses the given client
-     * for HTTP requests.
+     * for HTTP requests. A {@code DownloadManager} with default settings is
+     * created for this client.
      *
      * @param httpClient the {@code HttpClient} to be used
      */
     public HttpHelper(HttpClient httpClient) {
-        this.httpClient = httpClient;
+        this(new DownloadManager(httpClient));
+    }
+
+    /**
+     * Creates a new instance of {@code HttpHelper} that uses the given
+     * {@code DownloadManager} for downloads. This constructor should be used
+     * if a shared manager is available, so that the limits for parallel
+     * downloads apply to all components.
+     *
+     * @param downloadManager the {@code DownloadManager} to be used
+     */
+    public HttpHelper(DownloadManager downloadManager) {
+        this.downloadManager = downloadManager;
     }
 
     public File downloadFile(String url, Path targetDirectory) throws IOException {
-        String filename = url.substring(url.lastIndexOf("/") + 1);  // We don't want to have the last slash in the name
-        return downloadFile(url, targetDirectory, filename);
+        return HttpUtils.waitFor(downloadFileAsync(url, targetDirectory));
     }
 
     public File downloadFile(String url, Path targetDirectory, String filename) throws IOException {
+        return HttpUtils.waitFor(downloadFileAsync(url, targetDirectory, filename));
+    }
+
+    /**
+     * Starts the download of a file asynchronously. The name of the target
+     * file is derived from the last path component of the URL.
+     *
+     * @param url             the URL of the file to download
+     * @param targetDirectory the directory where to store the file
+     * @return a future with the downloaded file
+     */
+    public CompletableFuture<File> downloadFileAsync(String url, Path targetDirectory) {
+        String filename = url.substring(url.lastIndexOf("/") + 1);  // We don't want to have the last slash in the name
+        return downloadFileAsync(url, targetDirectory, filename);
+    }
+
+    /**
+     * Starts the download of a file asynchronously. The download is handled
+     * by the {@code DownloadManager}; so it may be queued if too many
+     * downloads are already in progress.
+     *
+     * @param url             the URL of the file to download
+     * @param targetDirectory the directory where to store the file
+     * @param filename        the name of the target file
+     * @return a future with the downloaded file
+     */
+    public CompletableFuture<File> downloadFileAsync(String url, Path targetDirectory, String filename) {
         LOGGER.debug("Downloading from URL {} to file {} in {}.", url, filename, targetDirectory);
         Path targetFile = targetDirectory.resolve(filename);
 
-        return HttpUtils.waitFor(httpClient.execute(HttpUtils.get(url),
-                HttpUtils.checkResponse(response -> {
-                    Files.createDirectories(targetDirectory);
-                    Files.copy(response.bodyStream(), targetFile, StandardCopyOption.REPLACE_EXISTING);
-                    return targetFile.toFile();
-                })));
+        return downloadManager.download(DownloadRequest.of(url, targetFile))
+                .thenApply(Path::toFile);
     }
 }
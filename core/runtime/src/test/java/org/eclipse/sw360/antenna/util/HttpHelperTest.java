@@ -97,6 +97,19 @@ public class HttpHelperTest {
         checkDownloadedFile(targetDirectory, resultFile);
     }
 
+    @Test
+    public void downloadFileAsyncWritesTheFileToDisk() throws Exception {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_REQUEST))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_OK)
+                        .withBody(TEST_CONTENT)));
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath().resolve("sub");
+
+        Path resultFile =
+                httpHelper.downloadFileAsync(wireMockRule.url(FILE_REQUEST), targetDirectory).get().toPath();
+
+        checkDownloadedFile(targetDirectory, resultFile);
+    }
+
     @Test(expected = IOException.class)
     public void downloadFileThrowsExceptionOn404StatusCode() throws Exception {
         wireMockRule.stubFor(get(anyUrl())
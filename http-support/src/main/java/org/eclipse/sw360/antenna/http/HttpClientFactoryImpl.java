@@ -49,6 +49,9 @@ public class HttpClientFactoryImpl implements HttpClientFactory {
             builder.proxy(proxy);
         }
 
+        config.metricsListener()
+                .ifPresent(listener -> builder.eventListenerFactory(MetricsEventListener.factory(listener)));
+
         if (unverifiedSSLCertificate()) {
             builder.hostnameVerifier((s, sslSession) -> true);
         }
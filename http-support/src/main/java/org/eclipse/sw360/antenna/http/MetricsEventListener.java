@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import org.eclipse.sw360.antenna.http.metrics.RequestMetrics;
+import org.eclipse.sw360.antenna.http.metrics.RequestMetricsListener;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * An OkHttp {@code EventListener} implementation that records the metrics of
+ * a single HTTP call and passes them to a {@link RequestMetricsListener}.
+ * </p>
+ * <p>
+ * OkHttp creates a new instance of this class for each call via the factory
+ * returned by {@link #factory(RequestMetricsListener)}. The instance tracks
+ * the timestamps of the events relevant for the metrics supported. When the
+ * call ends - successfully or with a failure - a {@link RequestMetrics}
+ * object is created and propagated to the listener.
+ * </p>
+ */
+class MetricsEventListener extends EventListener {
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsEventListener.class);
+
+    /**
+     * Placeholder for path segments that are identified as IDs.
+     */
+    static final String ID_PLACEHOLDER = "{id}";
+
+    /**
+     * Pattern for path segments that are considered IDs: numbers, long
+     * hexadecimal strings, or UUIDs.
+     */
+    private static final Pattern ID_SEGMENT =
+            Pattern.compile("\\d+|[0-9a-fA-F]{16,}|[0-9a-fA-F]{8}(-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12}");
+
+    /**
+     * The listener to be notified about the metrics.
+     */
+    private final RequestMetricsListener metricsListener;
+
+    /**
+     * The source for the current time in nanoseconds.
+     */
+    private final LongSupplier ticker;
+
+    /**
+     * Time when the call was started.
+     */
+    private long callStart;
+
+    /**
+     * Time when the call was picked up by the dispatcher. This is the time of
+     * the first event after the call start.
+     */
+    private long executionStart;
+
+    /**
+     * Flag whether the start of the execution has already been recorded.
+     */
+    private boolean executionStarted;
+
+    /**
+     * Time when the current DNS lookup was started.
+     */
+    private long dnsStart;
+
+    /**
+     * Accumulated time of DNS lookups.
+     */
+    private long dnsNanos;
+
+    /**
+     * Time when the current connect operation was started.
+     */
+    private long connectStart;
+
+    /**
+     * Accumulated time of connect operations.
+     */
+    private long connectNanos;
+
+    /**
+     * Time when the current TLS handshake was started.
+     */
+    private long tlsStart;
+
+    /**
+     * Accumulated time of TLS handshakes.
+     */
+    private long tlsNanos;
+
+    /**
+     * The number of bytes sent in the request body.
+     */
+    private long bytesSent;
+
+    /**
+     * The number of bytes received in the response body.
+     */
+    private long bytesReceived;
+
+    /**
+     * The status code of the response.
+     */
+    private int statusCode = RequestMetrics.NO_STATUS;
+
+    /**
+     * Creates a new instance of {@code MetricsEventListener} that notifies
+     * the listener provided and uses the given time source.
+     *
+     * @param metricsListener the listener to be notified
+     * @param ticker          the source for the current time in nanoseconds
+     */
+    MetricsEventListener(RequestMetricsListener metricsListener, LongSupplier ticker) {
+        this.metricsListener = metricsListener;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns a factory for {@code EventListener} objects that record the
+     * metrics of HTTP calls and pass them to the given listener.
+     *
+     * @param metricsListener the listener to be notified
+     * @return the factory for event listeners
+     */
+    static EventListener.Factory factory(RequestMetricsListener metricsListener) {
+        return call -> new MetricsEventListener(metricsListener, System::nanoTime);
+    }
+
+    /**
+     * Derives a route template from the given URL. The template is the path
+     * of the URL in which all segments that look like IDs are replaced by a
+     * placeholder. The query part is dropped.
+     *
+     * @param url the URL
+     * @return the route template for this URL
+     */
+    static String routeTemplate(HttpUrl url) {
+        StringBuilder buf = new StringBuilder();
+        for (String segment : url.pathSegments()) {
+            buf.append('/');
+            buf.append(ID_SEGMENT.matcher(segment).matches() ? ID_PLACEHOLDER : segment);
+        }
+        return buf.length() == 0 ? "/" : buf.toString();
+    }
+
+    @Override
+    public void callStart(@NotNull Call call) {
+        callStart = ticker.getAsLong();
+    }
+
+    @Override
+    public void proxySelectStart(@NotNull Call call, @NotNull HttpUrl url) {
+        markExecutionStart();
+    }
+
+    @Override
+    public void dnsStart(@NotNull Call call, @NotNull String domainName) {
+        markExecutionStart();
+        dnsStart = ticker.getAsLong();
+    }
+
+    @Override
+    public void dnsEnd(@NotNull Call call, @NotNull String domainName, @NotNull List<InetAddress> inetAddressList) {
+        dnsNanos += ticker.getAsLong() - dnsStart;
+    }
+
+    @Override
+    public void connectStart(@NotNull Call call, @NotNull InetSocketAddress inetSocketAddress,
+                             @NotNull Proxy proxy) {
+        markExecutionStart();
+        connectStart = ticker.getAsLong();
+    }
+
+    @Override
+    public void secureConnectStart(@NotNull Call call) {
+        tlsStart = ticker.getAsLong();
+    }
+
+    @Override
+    public void secureConnectEnd(@NotNull Call call, Handshake handshake) {
+        tlsNanos += ticker.getAsLong() - tlsStart;
+    }
+
+    @Override
+    public void connectEnd(@NotNull Call call, @NotNull InetSocketAddress inetSocketAddress, @NotNull Proxy proxy,
+                           Protocol protocol) {
+        connectNanos += ticker.getAsLong() - connectStart;
+    }
+
+    @Override
+    public void connectFailed(@NotNull Call call, @NotNull InetSocketAddress inetSocketAddress,
+                              @NotNull Proxy proxy, Protocol protocol, @NotNull IOException ioe) {
+        connectNanos += ticker.getAsLong() - connectStart;
+    }
+
+    @Override
+    public void connectionAcquired(@NotNull Call call, @NotNull Connection connection) {
+        markExecutionStart();
+    }
+
+    @Override
+    public void requestBodyEnd(@NotNull Call call, long byteCount) {
+        bytesSent += byteCount;
+    }
+
+    @Override
+    public void responseHeadersEnd(@NotNull Call call, @NotNull Response response) {
+        statusCode = response.code();
+    }
+
+    @Override
+    public void responseBodyEnd(@NotNull Call call, long byteCount) {
+        bytesReceived += byteCount;
+    }
+
+    @Override
+    public void callEnd(@NotNull Call call) {
+        publishMetrics(call);
+    }
+
+    @Override
+    public void callFailed(@NotNull Call call, @NotNull IOException ioe) {
+        publishMetrics(call);
+    }
+
+    /**
+     * Records the time when the call is actually executed. This is done on
+     * the first event after the start of the call; so the difference to the
+     * call start is the time the call was waiting in the dispatcher queue.
+     */
+    private void markExecutionStart() {
+        if (!executionStarted) {
+            executionStart = ticker.getAsLong();
+            executionStarted = true;
+        }
+    }
+
+    /**
+     * Creates the {@code RequestMetrics} object for the call and passes it to
+     * the listener. Exceptions thrown by the listener are caught and logged,
+     * so that they do not interfere with the request execution.
+     *
+     * @param call the call affected
+     */
+    private void publishMetrics(Call call) {
+        long end = ticker.getAsLong();
+        long queueWait = executionStarted ? executionStart - callStart : 0;
+        HttpUrl url = call.request().url();
+        RequestMetrics metrics = new RequestMetrics(call.request().method(), url.host(), routeTemplate(url),
+                statusCode, end - callStart, queueWait, dnsNanos, connectNanos, tlsNanos,
+                bytesSent, bytesReceived);
+        try {
+            metricsListener.requestCompleted(metrics);
+        } catch (RuntimeException e) {
+            LOG.warn("Metrics listener threw an exception.", e);
+        }
+    }
+}
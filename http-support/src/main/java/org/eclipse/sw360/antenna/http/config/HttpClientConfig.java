@@ -11,6 +11,7 @@
 package org.eclipse.sw360.antenna.http.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.sw360.antenna.http.metrics.RequestMetricsListener;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -32,7 +33,7 @@ public final class HttpClientConfig {
      * Constant for the basic configuration instance.
      */
     private static final HttpClientConfig BASIC_CONFIG =
-            new HttpClientConfig(null, ProxySettings.defaultProxySelector());
+            new HttpClientConfig(null, ProxySettings.defaultProxySelector(), null);
 
     /**
      * Stores a custom JSON object mapper. The field is null if no custom
@@ -45,16 +46,25 @@ public final class HttpClientConfig {
      */
     private final ProxySettings proxySettings;
 
+    /**
+     * Stores an optional listener to be notified about request metrics. The
+     * field is null if no listener has been set.
+     */
+    private final RequestMetricsListener metricsListener;
+
     /**
      * Creates a new instance of {@code HttpClientConfig} with the parameters
      * specified.
      *
      * @param customObjectMapper an optional custom JSON mapper
      * @param proxySettings      the proxy settings
+     * @param metricsListener    an optional listener for request metrics
      */
-    private HttpClientConfig(ObjectMapper customObjectMapper, ProxySettings proxySettings) {
+    private HttpClientConfig(ObjectMapper customObjectMapper, ProxySettings proxySettings,
+                             RequestMetricsListener metricsListener) {
         this.customObjectMapper = customObjectMapper;
         this.proxySettings = proxySettings;
+        this.metricsListener = metricsListener;
     }
 
     /**
@@ -102,6 +112,17 @@ public final class HttpClientConfig {
         return proxySettings;
     }
 
+    /**
+     * Returns an {@code Optional} with a listener to be notified about the
+     * metrics of the requests executed by the HTTP client. If this
+     * {@code Optional} is empty, no metrics are recorded.
+     *
+     * @return an {@code Optional} with the listener for request metrics
+     */
+    public Optional<RequestMetricsListener> metricsListener() {
+        return Optional.ofNullable(metricsListener);
+    }
+
     /**
      * Returns a new instance of {@code HttpClientConfig} that contains the
      * same settings as this instance, but with the JSON object mapper set to
@@ -112,7 +133,7 @@ public final class HttpClientConfig {
      * @return the new {@code HttpClientConfig} instance
      */
     public HttpClientConfig withObjectMapper(ObjectMapper newMapper) {
-        return new HttpClientConfig(newMapper, proxySettings);
+        return new HttpClientConfig(newMapper, proxySettings, metricsListener);
     }
 
     /**
@@ -124,7 +145,20 @@ public final class HttpClientConfig {
      * @return the new {@code HttpClientConfig} instance
      */
     public HttpClientConfig withProxySettings(ProxySettings newProxySettings) {
-        return new HttpClientConfig(customObjectMapper, newProxySettings);
+        return new HttpClientConfig(customObjectMapper, newProxySettings, metricsListener);
+    }
+
+    /**
+     * Returns a new instance of {@code HttpClientConfig} that contains the
+     * same settings as this instance, but with the listener for request
+     * metrics set to the parameter specified.
+     *
+     * @param newMetricsListener the listener for request metrics (can be
+     *                           <strong>null</strong> to disable metrics)
+     * @return the new {@code HttpClientConfig} instance
+     */
+    public HttpClientConfig withMetricsListener(RequestMetricsListener newMetricsListener) {
+        return new HttpClientConfig(customObjectMapper, proxySettings, newMetricsListener);
     }
 
     @Override
@@ -137,11 +171,12 @@ public final class HttpClientConfig {
         }
         HttpClientConfig that = (HttpClientConfig) o;
         return Objects.equals(customObjectMapper, that.customObjectMapper) &&
-                Objects.equals(proxySettings, that.proxySettings);
+                Objects.equals(proxySettings, that.proxySettings) &&
+                Objects.equals(metricsListener, that.metricsListener);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(customObjectMapper, proxySettings);
+        return Objects.hash(customObjectMapper, proxySettings, metricsListener);
     }
 }
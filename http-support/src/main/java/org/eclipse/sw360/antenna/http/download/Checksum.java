@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A class representing the expected checksum of a downloaded file.
+ * </p>
+ * <p>
+ * An instance stores the name of a hash algorithm supported by
+ * {@code MessageDigest} and the expected hash value as hex string. After a
+ * download is complete, the checksum of the file can be calculated and
+ * compared with the expected value.
+ * </p>
+ */
+public final class Checksum {
+    /**
+     * Constant for the name of the SHA-1 algorithm.
+     */
+    public static final String ALGORITHM_SHA1 = "SHA-1";
+
+    /**
+     * Constant for the name of the SHA-256 algorithm.
+     */
+    public static final String ALGORITHM_SHA256 = "SHA-256";
+
+    /**
+     * The size of the buffer used when reading files.
+     */
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * The hex digits used to convert hash values to strings.
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The name of the hash algorithm.
+     */
+    private final String algorithm;
+
+    /**
+     * The expected hash value as lower case hex string.
+     */
+    private final String expectedValue;
+
+    /**
+     * Creates a new instance of {@code Checksum} with the given properties.
+     *
+     * @param algorithm     the name of the hash algorithm
+     * @param expectedValue the expected hash value as hex string
+     */
+    private Checksum(String algorithm, String expectedValue) {
+        this.algorithm = algorithm;
+        this.expectedValue = expectedValue;
+    }
+
+    /**
+     * Returns a new instance of {@code Checksum} for the algorithm and the
+     * expected hash value provided. The algorithm must be supported by the
+     * current platform.
+     *
+     * @param algorithm     the name of the hash algorithm
+     * @param expectedValue the expected hash value as hex string
+     * @return the new {@code Checksum} instance
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public static Checksum of(String algorithm, String expectedValue) {
+        Objects.requireNonNull(expectedValue, "Expected hash value must not be null");
+        createDigest(Objects.requireNonNull(algorithm, "Algorithm must not be null"));
+        return new Checksum(algorithm, expectedValue.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns a new instance of {@code Checksum} for a SHA-1 hash.
+     *
+     * @param expectedValue the expected hash value as hex string
+     * @return the new {@code Checksum} instance
+     */
+    public static Checksum sha1(String expectedValue) {
+        return of(ALGORITHM_SHA1, expectedValue);
+    }
+
+    /**
+     * Returns a new instance of {@code Checksum} for a SHA-256 hash.
+     *
+     * @param expectedValue the expected hash value as hex string
+     * @return the new {@code Checksum} instance
+     */
+    public static Checksum sha256(String expectedValue) {
+        return of(ALGORITHM_SHA256, expectedValue);
+    }
+
+    /**
+     * Calculates the hash value of the given file using the algorithm
+     * specified.
+     *
+     * @param algorithm the name of the hash algorithm
+     * @param path      the path to the file
+     * @return the hash value of the file as lower case hex string
+     * @throws IOException if the file cannot be read
+     */
+    public static String calculate(String algorithm, Path path) throws IOException {
+        MessageDigest digest = createDigest(algorithm);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculates the hash value of the given data using the algorithm
+     * specified.
+     *
+     * @param algorithm the name of the hash algorithm
+     * @param data      the data to be hashed
+     * @return the hash value of the data as lower case hex string
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public static String calculate(String algorithm, byte[] data) {
+        return toHex(createDigest(algorithm).digest(data));
+    }
+
+    /**
+     * Returns the name of the hash algorithm.
+     *
+     * @return the algorithm name
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns the expected hash value as lower case hex string.
+     *
+     * @return the expected hash value
+     */
+    public String getExpectedValue() {
+        return expectedValue;
+    }
+
+    /**
+     * Checks whether the hash value of the given file matches the expected
+     * value.
+     *
+     * @param path the path to the file
+     * @return a flag whether the checksum of the file is correct
+     * @throws IOException if the file cannot be read
+     */
+    public boolean matches(Path path) throws IOException {
+        return expectedValue.equals(calculate(algorithm, path));
+    }
+
+    /**
+     * Checks the hash value of the given file and throws an exception if it
+     * does not match the expected value.
+     *
+     * @param path the path to the file
+     * @throws ChecksumMismatchException if the checksum is not correct
+     * @throws IOException               if the file cannot be read
+     */
+    public void verify(Path path) throws IOException {
+        String actualValue = calculate(algorithm, path);
+        if (!expectedValue.equals(actualValue)) {
+            throw new ChecksumMismatchException(path, this, actualValue);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Checksum checksum = (Checksum) o;
+        return algorithm.equals(checksum.algorithm) &&
+                expectedValue.equals(checksum.expectedValue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(algorithm, expectedValue);
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + ":" + expectedValue;
+    }
+
+    /**
+     * Creates a {@code MessageDigest} for the given algorithm and converts
+     * the checked exception to a runtime exception.
+     *
+     * @param algorithm the name of the hash algorithm
+     * @return the {@code MessageDigest}
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    private static MessageDigest createDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported hash algorithm: " + algorithm, e);
+        }
+    }
+
+    /**
+     * Converts the given bytes to a lower case hex string.
+     *
+     * @param bytes the bytes
+     * @return the hex string
+     */
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
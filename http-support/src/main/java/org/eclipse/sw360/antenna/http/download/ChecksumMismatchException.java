@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * An exception class reporting that a downloaded file does not have the
+ * expected checksum.
+ * </p>
+ * <p>
+ * The exception stores the expected {@link Checksum} and the value that was
+ * actually calculated, so that callers can react on corrupt downloads.
+ * </p>
+ */
+public class ChecksumMismatchException extends IOException {
+    /**
+     * The checksum that was expected.
+     */
+    private final transient Checksum expected;
+
+    /**
+     * The hash value that was actually calculated.
+     */
+    private final String actualValue;
+
+    /**
+     * Creates a new instance of {@code ChecksumMismatchException} with the
+     * details about the failed verification.
+     *
+     * @param path        the path to the file that was checked
+     * @param expected    the expected checksum
+     * @param actualValue the hash value that was calculated
+     */
+    public ChecksumMismatchException(Path path, Checksum expected, String actualValue) {
+        super(String.format("Checksum mismatch for file %s: expected %s, but was %s.", path,
+                expected, actualValue));
+        this.expected = expected;
+        this.actualValue = actualValue;
+    }
+
+    /**
+     * Returns the checksum that was expected.
+     *
+     * @return the expected checksum
+     */
+    public Checksum getExpected() {
+        return expected;
+    }
+
+    /**
+     * Returns the hash value that was actually calculated.
+     *
+     * @return the actual hash value
+     */
+    public String getActualValue() {
+        return actualValue;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A class with static utility functions to store downloaded files safely.
+ * </p>
+ * <p>
+ * Data is never written directly to the final target file. Instead, it is
+ * written to a temporary file in the same directory, which is then verified
+ * against an optional {@link Checksum} and finally renamed to the target
+ * file - atomically, if supported by the file system. So other components
+ * never see partially written or corrupt files.
+ * </p>
+ */
+public final class DownloadFiles {
+    /**
+     * The suffix for files storing partial downloads that can be resumed.
+     */
+    public static final String PART_SUFFIX = ".part";
+
+    /**
+     * The suffix for temporary files.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private DownloadFiles() {
+    }
+
+    /**
+     * Returns the path of the file that stores partial data for the given
+     * target file.
+     *
+     * @param target the target file
+     * @return the path to the corresponding part file
+     */
+    public static Path partFile(Path target) {
+        return target.resolveSibling(target.getFileName() + PART_SUFFIX);
+    }
+
+    /**
+     * Stores the content of the given stream in the target file. The data is
+     * written to a temporary file first, which is verified against the
+     * checksum provided (if any) and then moved to the target location.
+     * Supported options are {@code StandardCopyOption.REPLACE_EXISTING}; if
+     * it is missing and the target file already exists, a
+     * {@code FileAlreadyExistsException} is thrown before any data is read.
+     *
+     * @param in       the stream with the data to store
+     * @param target   the target file
+     * @param checksum the expected checksum (may be <strong>null</strong>)
+     * @param options  options for the copy operation
+     * @return the path to the target file
+     * @throws IOException if an error occurs or the checksum does not match
+     */
+    public static Path storeAtomically(InputStream in, Path target, Checksum checksum, CopyOption... options)
+            throws IOException {
+        boolean replace = Arrays.asList(options).contains(StandardCopyOption.REPLACE_EXISTING);
+        if (!replace && Files.exists(target)) {
+            throw new FileAlreadyExistsException(target.toString());
+        }
+
+        Path tempFile = createTempFile(target);
+        try {
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return commit(tempFile, target, checksum, replace);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Moves a file with completely downloaded data to its target location.
+     * If a checksum is provided, the file is verified first; in case of a
+     * mismatch, it is deleted, and a {@link ChecksumMismatchException} is
+     * thrown.
+     *
+     * @param source   the file with the downloaded data
+     * @param target   the target file
+     * @param checksum the expected checksum (may be <strong>null</strong>)
+     * @param replace  flag whether an existing target file can be replaced
+     * @return the path to the target file
+     * @throws IOException if an error occurs or the checksum does not match
+     */
+    public static Path commit(Path source, Path target, Checksum checksum, boolean replace) throws IOException {
+        if (checksum != null) {
+            try {
+                checksum.verify(source);
+            } catch (ChecksumMismatchException e) {
+                Files.deleteIfExists(source);
+                throw e;
+            }
+        }
+        return move(source, target, replace);
+    }
+
+    /**
+     * Creates a temporary file in the directory of the given target file.
+     * Using the same directory makes sure that the file can later be renamed
+     * atomically.
+     *
+     * @param target the target file
+     * @return the path to the temporary file
+     * @throws IOException if the file cannot be created
+     */
+    private static Path createTempFile(Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        return Files.createTempFile(directory, "." + target.getFileName(), TEMP_SUFFIX);
+    }
+
+    /**
+     * Renames a file to its target location. An atomic move is tried first;
+     * if this is not supported by the file system, a normal move is done.
+     *
+     * @param source  the source file
+     * @param target  the target file
+     * @param replace flag whether an existing target file can be replaced
+     * @return the path to the target file
+     * @throws IOException if the file cannot be moved
+     */
+    private static Path move(Path source, Path target, boolean replace) throws IOException {
+        if (!replace && Files.exists(target)) {
+            throw new FileAlreadyExistsException(target.toString());
+        }
+        try {
+            return Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            return replace ? Files.move(source, target, StandardCopyOption.REPLACE_EXISTING) :
+                    Files.move(source, target);
+        }
+    }
+}
@@ -0,0 +1,569 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.Response;
+import org.eclipse.sw360.antenna.http.utils.HttpConstants;
+import org.eclipse.sw360.antenna.http.utils.HttpUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A class that manages the download of files via an {@link HttpClient} with
+ * bounded concurrency.
+ * </p>
+ * <p>
+ * Components that need to download many files - sources, attachments,
+ * artifacts - can pass {@link DownloadRequest} objects to a shared instance
+ * of this class. The manager makes sure that only a limited number of
+ * downloads is active at any time, both in total and per host, so that
+ * remote servers are not overloaded and local resources are used
+ * reasonably. Requests exceeding the limits are queued and started as soon
+ * as running downloads complete. The queue is processed without blocking any
+ * threads.
+ * </p>
+ * <p>
+ * Downloaded data is written to a <em>.part</em> file next to the target
+ * file. If a download fails, the partial data is kept, and a later request
+ * for the same target resumes the transfer using an HTTP {@code Range}
+ * header; servers that do not support ranges simply send the full content
+ * again. When all data has been received, the file is verified against the
+ * checksum of the request (if defined) and then renamed atomically to the
+ * target path. So target files are always complete.
+ * </p>
+ * <p>
+ * Only a single download can write to a target file at a time. A request
+ * for a target file that is already being downloaded is joined with the
+ * running download if it has the same URI and checksum; otherwise, it is
+ * rejected.
+ * </p>
+ * <p>
+ * Via the {@link #submit(String, Supplier)} method arbitrary asynchronous
+ * operations can be run under the control of the concurrency limits; this
+ * is useful for downloads that require special request handling. This class
+ * is thread-safe.
+ * </p>
+ */
+public class DownloadManager {
+    /**
+     * The default maximum number of downloads running in parallel.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 8;
+
+    /**
+     * The default maximum number of downloads running in parallel from a
+     * single host.
+     */
+    public static final int DEFAULT_MAX_DOWNLOADS_PER_HOST = 4;
+
+    private static final Logger LOG = LoggerFactory.getLogger(DownloadManager.class);
+
+    /**
+     * Prefix of the value of the range header.
+     */
+    private static final String RANGE_PREFIX = "bytes=";
+
+    /**
+     * Prefix of the value of the content range header of a response.
+     */
+    private static final String CONTENT_RANGE_PREFIX = "bytes ";
+
+    /**
+     * Name of the header defining the range contained in a response.
+     */
+    private static final String HEADER_CONTENT_RANGE = "Content-Range";
+
+    /**
+     * The size of the buffer used when writing downloaded data.
+     */
+    private static final int BUFFER_SIZE = 16384;
+
+    /**
+     * The client used for executing HTTP requests.
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * The maximum number of tasks running in parallel.
+     */
+    private final int maxConcurrent;
+
+    /**
+     * The maximum number of tasks running in parallel per host.
+     */
+    private final int maxPerHost;
+
+    /**
+     * The queue with tasks that have not yet been started.
+     */
+    private final List<PendingTask<?>> queue = new LinkedList<>();
+
+    /**
+     * Stores the number of running tasks per host.
+     */
+    private final Map<String, Integer> activePerHost = new HashMap<>();
+
+    /**
+     * Stores the downloads in progress per target file. This is used to
+     * prevent that multiple requests write to the same file.
+     */
+    private final ConcurrentMap<Path, DownloadInProgress> downloadsInProgress = new ConcurrentHashMap<>();
+
+    /**
+     * The number of running tasks.
+     */
+    private int activeCount;
+
+    /**
+     * A flag whether a thread is currently starting queued tasks. Tasks may
+     * complete synchronously when they are started, which frees their slots
+     * again. The flag makes sure that such tasks do not trigger nested
+     * dispatch operations; the dispatching thread rather continues with the
+     * queue in a loop.
+     */
+    private boolean dispatching;
+
+    /**
+     * Creates a new instance of {@code DownloadManager} that uses the given
+     * HTTP client and the default concurrency limits.
+     *
+     * @param httpClient the HTTP client
+     */
+    public DownloadManager(HttpClient httpClient) {
+        this(httpClient, DEFAULT_MAX_CONCURRENT_DOWNLOADS, DEFAULT_MAX_DOWNLOADS_PER_HOST);
+    }
+
+    /**
+     * Creates a new instance of {@code DownloadManager} that uses the given
+     * HTTP client and the concurrency limits specified.
+     *
+     * @param httpClient    the HTTP client
+     * @param maxConcurrent the maximum number of parallel downloads
+     * @param maxPerHost    the maximum number of parallel downloads per host
+     * @throws IllegalArgumentException if a limit is less than 1
+     */
+    public DownloadManager(HttpClient httpClient, int maxConcurrent, int maxPerHost) {
+        if (maxConcurrent < 1 || maxPerHost < 1) {
+            throw new IllegalArgumentException("Concurrency limits must be positive: " + maxConcurrent +
+                    ", " + maxPerHost);
+        }
+        this.httpClient = Objects.requireNonNull(httpClient, "HTTP client must not be null");
+        this.maxConcurrent = maxConcurrent;
+        this.maxPerHost = maxPerHost;
+    }
+
+    /**
+     * Returns the HTTP client used by this manager.
+     *
+     * @return the HTTP client
+     */
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Returns the maximum number of downloads running in parallel.
+     *
+     * @return the global concurrency limit
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * Returns the maximum number of downloads running in parallel from a
+     * single host.
+     *
+     * @return the concurrency limit per host
+     */
+    public int getMaxPerHost() {
+        return maxPerHost;
+    }
+
+    /**
+     * Schedules the download described by the given request. The resulting
+     * future completes with the path to the target file when the download
+     * is complete and verified. If there is already a download in progress
+     * for the same target file with the same URI and checksum, the future of
+     * this download is returned. If the download in progress has a
+     * different URI or checksum, the resulting future fails with an
+     * {@code IllegalStateException}.
+     *
+     * @param request the request describing the download
+     * @return a future with the path to the downloaded file
+     */
+    public CompletableFuture<Path> download(DownloadRequest request) {
+        Path target = request.getTarget().toAbsolutePath().normalize();
+        CompletableFuture<Path> newFuture = new CompletableFuture<>();
+        DownloadInProgress newDownload = new DownloadInProgress(request, newFuture);
+        DownloadInProgress existingDownload = downloadsInProgress.putIfAbsent(target, newDownload);
+        if (existingDownload != null) {
+            if (!existingDownload.isCompatible(request)) {
+                CompletableFuture<Path> conflictFuture = new CompletableFuture<>();
+                conflictFuture.completeExceptionally(new IllegalStateException("Conflicting download to " +
+                        target + " is in progress: " + existingDownload.request + "; rejected: " + request));
+                return conflictFuture;
+            }
+            LOG.debug("Download to {} is already in progress.", target);
+            return existingDownload.future;
+        }
+
+        submit(request.getHost(), () -> startDownload(request))
+                .whenComplete((path, ex) -> {
+                    downloadsInProgress.remove(target, newDownload);
+                    if (ex != null) {
+                        newFuture.completeExceptionally(HttpUtils.unwrapCompletionException(ex));
+                    } else {
+                        newFuture.complete(path);
+                    }
+                });
+        return newFuture;
+    }
+
+    /**
+     * Schedules an arbitrary asynchronous task under the control of the
+     * concurrency limits of this manager. The task is started when there are
+     * free slots for the given host; the slot is occupied until the future
+     * returned by the task completes. The resulting future completes with
+     * the same result.
+     *
+     * @param host the host the task is going to contact
+     * @param task the task to execute
+     * @param <T>  the result type of the task
+     * @return a future with the result of the task
+     */
+    public <T> CompletableFuture<T> submit(String host, Supplier<? extends CompletableFuture<T>> task) {
+        PendingTask<T> pendingTask = new PendingTask<>(host, task);
+        synchronized (this) {
+            queue.add(pendingTask);
+        }
+        dispatch();
+        return pendingTask.result;
+    }
+
+    /**
+     * Extracts the host from the given URI. This is the key under which
+     * downloads and other tasks are assigned to the per-host limit of a
+     * manager. If the URI has no host or cannot be parsed, the whole string
+     * is returned.
+     *
+     * @param uri the URI
+     * @return the host of this URI
+     */
+    public static String hostOf(String uri) {
+        try {
+            String host = URI.create(uri).getHost();
+            return host != null ? host : uri;
+        } catch (IllegalArgumentException e) {
+            return uri;
+        }
+    }
+
+    /**
+     * Returns the number of tasks that are currently running.
+     *
+     * @return the number of active tasks
+     */
+    public synchronized int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Returns the number of tasks waiting to be started.
+     *
+     * @return the number of queued tasks
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Starts all queued tasks that can run with the current limits. The
+     * tasks are removed from the queue under the lock, but they are started
+     * outside of it. This is repeated until no more tasks can be started, so
+     * that slots freed by tasks completing synchronously are reused without
+     * recursion. If another thread is already dispatching, this method
+     * returns immediately; that thread picks up the free slots.
+     */
+    private void dispatch() {
+        synchronized (this) {
+            if (dispatching) {
+                return;
+            }
+            dispatching = true;
+        }
+
+        try {
+            List<PendingTask<?>> tasksToStart = fetchTasksToStart();
+            while (!tasksToStart.isEmpty()) {
+                tasksToStart.forEach(task -> task.start(this::release));
+                tasksToStart = fetchTasksToStart();
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                dispatching = false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the tasks from the queue that can be started with the current
+     * limits and reserves their slots. If no task can be started, the
+     * dispatching flag is reset in the same step, so that no free slot is
+     * missed.
+     *
+     * @return a list with the tasks to be started
+     */
+    private synchronized List<PendingTask<?>> fetchTasksToStart() {
+        List<PendingTask<?>> tasksToStart = new ArrayList<>();
+        Iterator<PendingTask<?>> it = queue.iterator();
+        while (activeCount < maxConcurrent && it.hasNext()) {
+            PendingTask<?> task = it.next();
+            int hostCount = activePerHost.getOrDefault(task.host, 0);
+            if (hostCount < maxPerHost) {
+                it.remove();
+                activePerHost.put(task.host, hostCount + 1);
+                activeCount++;
+                tasksToStart.add(task);
+            }
+        }
+        if (tasksToStart.isEmpty()) {
+            dispatching = false;
+        }
+        return tasksToStart;
+    }
+
+    /**
+     * Frees the slot occupied by a task for the given host after it has
+     * completed and starts further tasks if possible.
+     *
+     * @param host the host of the completed task
+     */
+    private void release(String host) {
+        synchronized (this) {
+            activeCount--;
+            activePerHost.computeIfPresent(host, (h, count) -> count > 1 ? count - 1 : null);
+        }
+        dispatch();
+    }
+
+    /**
+     * Starts the download described by the given request. Existing partial
+     * data for the target file is taken into account.
+     *
+     * @param request the download request
+     * @return a future with the path to the downloaded file
+     */
+    private CompletableFuture<Path> startDownload(DownloadRequest request) {
+        Path partFile = DownloadFiles.partFile(request.getTarget());
+        long offset;
+        try {
+            Path directory = request.getTarget().toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            offset = Files.exists(partFile) ? Files.size(partFile) : 0;
+        } catch (IOException e) {
+            CompletableFuture<Path> failedFuture = new CompletableFuture<>();
+            failedFuture.completeExceptionally(e);
+            return failedFuture;
+        }
+
+        if (offset > 0) {
+            LOG.debug("Resuming download of {} at offset {}.", request.getUri(), offset);
+        }
+        return httpClient.execute(builder -> {
+            builder.uri(request.getUri());
+            if (offset > 0) {
+                builder.header(HttpConstants.HEADER_RANGE, RANGE_PREFIX + offset + "-");
+            }
+        }, response -> processResponse(request, partFile, offset, response));
+    }
+
+    /**
+     * Handles the response of a download request. The data received is
+     * written to the part file, either appending to or replacing the current
+     * content. Then the part file is moved to the target location.
+     *
+     * @param request  the download request
+     * @param partFile the part file
+     * @param offset   the size of the partial data already present
+     * @param response the response
+     * @return the path to the downloaded file
+     * @throws IOException if an error occurs
+     */
+    private static Path processResponse(DownloadRequest request, Path partFile, long offset, Response response)
+            throws IOException {
+        if (offset > 0 && response.statusCode() == HttpConstants.STATUS_ERR_RANGE_NOT_SATISFIABLE) {
+            LOG.debug("Partial data of {} is already complete.", request.getUri());
+        } else if (offset > 0 && response.statusCode() == HttpConstants.STATUS_PARTIAL_CONTENT) {
+            checkContentRange(request, partFile, offset, response);
+            writeData(response, partFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } else if (response.isSuccess()) {
+            writeData(response, partFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+        } else {
+            throw HttpUtils.createExceptionForResponse(response, "Download " + request.getUri());
+        }
+
+        return DownloadFiles.commit(partFile, request.getTarget(), request.getChecksum().orElse(null), true);
+    }
+
+    /**
+     * Checks whether a partial response starts at the expected position. If
+     * this is not the case, the partial data is discarded, and an exception
+     * is thrown; the next attempt then downloads the whole file again.
+     *
+     * @param request  the download request
+     * @param partFile the part file
+     * @param offset   the expected start position
+     * @param response the response
+     * @throws IOException if the range of the response is unexpected
+     */
+    private static void checkContentRange(DownloadRequest request, Path partFile, long offset, Response response)
+            throws IOException {
+        String contentRange = response.header(HEADER_CONTENT_RANGE);
+        if (contentRange != null && !contentRange.startsWith(CONTENT_RANGE_PREFIX + offset + "-")) {
+            Files.deleteIfExists(partFile);
+            throw new IOException("Unexpected content range '" + contentRange + "' when downloading " +
+                    request.getUri());
+        }
+    }
+
+    /**
+     * Writes the body of a response to the given file.
+     *
+     * @param response the response
+     * @param file     the file to write
+     * @param options  the options for opening the file
+     * @throws IOException if an error occurs
+     */
+    private static void writeData(Response response, Path file, OpenOption... options) throws IOException {
+        try (InputStream in = response.bodyStream();
+             OutputStream out = Files.newOutputStream(file, options)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * A class storing a download in progress together with the request that
+     * started it.
+     */
+    private static final class DownloadInProgress {
+        /**
+         * The request of the download.
+         */
+        private final DownloadRequest request;
+
+        /**
+         * The future with the result of the download.
+         */
+        private final CompletableFuture<Path> future;
+
+        private DownloadInProgress(DownloadRequest request, CompletableFuture<Path> future) {
+            this.request = request;
+            this.future = future;
+        }
+
+        /**
+         * Checks whether the given request for the same target file can be
+         * served by this download. This is the case if it downloads the same
+         * URI and expects the same checksum.
+         *
+         * @param other the other request
+         * @return a flag whether the other request can join this download
+         */
+        private boolean isCompatible(DownloadRequest other) {
+            return request.getUri().equals(other.getUri()) &&
+                    request.getChecksum().equals(other.getChecksum());
+        }
+    }
+
+    /**
+     * A class representing a task waiting for its execution.
+     *
+     * @param <T> the result type of the task
+     */
+    private static final class PendingTask<T> {
+        /**
+         * The host the task is going to contact.
+         */
+        private final String host;
+
+        /**
+         * The task to execute.
+         */
+        private final Supplier<? extends CompletableFuture<T>> task;
+
+        /**
+         * The future with the result of the task.
+         */
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private PendingTask(String host, Supplier<? extends CompletableFuture<T>> task) {
+            this.host = host;
+            this.task = task;
+        }
+
+        /**
+         * Starts this task and propagates its result. When the task is done,
+         * the given callback is invoked with the host to free the slot.
+         *
+         * @param releaseCallback the callback to release the slot
+         */
+        private void start(Consumer<String> releaseCallback) {
+            CompletableFuture<T> future;
+            try {
+                future = task.get();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+
+            future.whenComplete((value, ex) -> {
+                releaseCallback.accept(host);
+                if (ex != null) {
+                    result.completeExceptionally(HttpUtils.unwrapCompletionException(ex));
+                } else {
+                    result.complete(value);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>
+ * A class describing a file to be downloaded by a {@link DownloadManager}.
+ * </p>
+ * <p>
+ * A request defines the URI of the file to download and the path where it is
+ * to be stored. Optionally, an expected {@link Checksum} can be set; the
+ * downloaded file is then verified before it is moved to its final location.
+ * Instances are immutable; the {@code withXXX()} methods return modified
+ * copies.
+ * </p>
+ */
+public final class DownloadRequest {
+    /**
+     * The URI of the file to be downloaded.
+     */
+    private final String uri;
+
+    /**
+     * The path where the downloaded file is to be stored.
+     */
+    private final Path target;
+
+    /**
+     * The expected checksum of the file; can be <strong>null</strong>.
+     */
+    private final Checksum checksum;
+
+    /**
+     * Creates a new instance of {@code DownloadRequest} with the given
+     * properties.
+     *
+     * @param uri      the URI of the file
+     * @param target   the target path
+     * @param checksum the expected checksum
+     */
+    private DownloadRequest(String uri, Path target, Checksum checksum) {
+        this.uri = uri;
+        this.target = target;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Returns a new instance of {@code DownloadRequest} that downloads the
+     * given URI to the target path specified.
+     *
+     * @param uri    the URI of the file to download
+     * @param target the path where to store the file
+     * @return the new {@code DownloadRequest}
+     */
+    public static DownloadRequest of(String uri, Path target) {
+        return new DownloadRequest(Objects.requireNonNull(uri, "URI must not be null"),
+                Objects.requireNonNull(target, "Target path must not be null"), null);
+    }
+
+    /**
+     * Returns a copy of this request that verifies the downloaded file
+     * against the given checksum.
+     *
+     * @param checksum the expected checksum (may be <strong>null</strong>)
+     * @return the modified request
+     */
+    public DownloadRequest withChecksum(Checksum checksum) {
+        return new DownloadRequest(uri, target, checksum);
+    }
+
+    /**
+     * Returns the URI of the file to be downloaded.
+     *
+     * @return the URI
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * Returns the path where the downloaded file is stored.
+     *
+     * @return the target path
+     */
+    public Path getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns an {@code Optional} with the expected checksum of the file.
+     *
+     * @return an {@code Optional} with the checksum
+     */
+    public Optional<Checksum> getChecksum() {
+        return Optional.ofNullable(checksum);
+    }
+
+    /**
+     * Returns the host the file is downloaded from. This is used to apply
+     * per-host concurrency limits. If the URI cannot be parsed, it is
+     * returned unchanged, so that the request is assigned a group of its own.
+     *
+     * @return the host of the download URI
+     */
+    public String getHost() {
+        return DownloadManager.hostOf(uri);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DownloadRequest that = (DownloadRequest) o;
+        return uri.equals(that.uri) &&
+                target.equals(that.target) &&
+                Objects.equals(checksum, that.checksum);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(uri, target, checksum);
+    }
+
+    @Override
+    public String toString() {
+        return "DownloadRequest{" +
+                "uri='" + uri + '\'' +
+                ", target=" + target +
+                ", checksum=" + checksum +
+                '}';
+    }
+}
@@ -0,0 +1,536 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * A cache for the hash values of local files.
+ * </p>
+ * <p>
+ * Calculating the hash of a large file, e.g. a source archive, is expensive,
+ * and often the same files are hashed again and again, in a single run and
+ * across multiple runs. This class stores the hashes it has calculated
+ * together with the canonical path, the size, and the last-modified time of
+ * the files. As long as these properties do not change, the hash is served
+ * from the cache; otherwise, it is calculated anew.
+ * </p>
+ * <p>
+ * Optionally, an instance can be associated with a store file. The cache is
+ * then loaded from this file on first access, and newly calculated hashes are
+ * appended to it, so that they are available for later runs. When the file is
+ * loaded, entries for files that no longer exist are dropped; the file is
+ * compacted if this happened or if it contains too many outdated entries.
+ * Access to the store file is guarded by a lock file, so that multiple
+ * processes sharing the same store file do not lose entries during
+ * compaction. Errors when reading or writing the store file are logged, but
+ * do not affect the calculation of hashes. Instances sharing a store file
+ * should be obtained via {@link #forStoreFile(Path)}.
+ * </p>
+ * <p>
+ * Files that have been modified very recently are not cached, as they might
+ * still be changed without their last-modified time being updated.
+ * </p>
+ * <p>
+ * A default instance shared by all components can be obtained via
+ * {@link #getDefault()}. Per default, it is held in memory only. Persistence
+ * has to be enabled explicitly, either by setting the system property
+ * {@value #PROP_STORE_FILE} to the path of the store file, or by passing a
+ * store file from the configuration of a workflow step to
+ * {@link #forStoreFile(Path)}. A value of {@value #STORE_NONE} for the system
+ * property also disables persistence.
+ * </p>
+ * <p>
+ * Implementation note: This class is thread-safe.
+ * </p>
+ */
+public final class FileHashCache {
+    /**
+     * Name of the system property defining the store file of the default
+     * instance.
+     */
+    public static final String PROP_STORE_FILE = "antenna.hash.cache";
+
+    /**
+     * A special value for the store file property to disable persistence.
+     */
+    public static final String STORE_NONE = "none";
+
+    /**
+     * The time in milliseconds after its last modification before a file is
+     * cached.
+     */
+    static final long MODIFICATION_TOLERANCE_MILLIS = 2000;
+
+    /**
+     * The separator for the fields of a line in the store file.
+     */
+    private static final char SEPARATOR = '\t';
+
+    /**
+     * The number of fields of a line in the store file.
+     */
+    private static final int FIELD_COUNT = 5;
+
+    /**
+     * Factor that determines when the store file is compacted. If the number
+     * of lines is greater than the number of distinct entries multiplied by
+     * this factor, the file is rewritten.
+     */
+    private static final int COMPACTION_FACTOR = 2;
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileHashCache.class);
+
+    /**
+     * Stores the shared instances for store files.
+     */
+    private static final ConcurrentMap<Path, FileHashCache> PERSISTENT_INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * The map storing the cached entries.
+     */
+    private final ConcurrentMap<EntryKey, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The file to persist the cache; <strong>null</strong> if the cache is
+     * in-memory only.
+     */
+    private final Path storeFile;
+
+    /**
+     * The clock to determine whether files have been modified recently.
+     */
+    private final Clock clock;
+
+    /**
+     * Flag whether the store file has already been loaded.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Creates a new instance of {@code FileHashCache} with the store file and
+     * the clock to use.
+     *
+     * @param storeFile the store file (may be <strong>null</strong>)
+     * @param clock     the clock
+     */
+    FileHashCache(Path storeFile, Clock clock) {
+        this.storeFile = storeFile;
+        this.clock = clock;
+        loaded = storeFile == null;
+    }
+
+    /**
+     * Creates a new instance of {@code FileHashCache} that is persisted in
+     * the given store file. If the file is <strong>null</strong>, the cache
+     * is held in memory only.
+     *
+     * @param storeFile the store file (may be <strong>null</strong>)
+     */
+    public FileHashCache(Path storeFile) {
+        this(storeFile, Clock.systemUTC());
+    }
+
+    /**
+     * Returns the default instance of this class, which is shared by all
+     * components that calculate hashes on local files.
+     *
+     * @return the default {@code FileHashCache}
+     */
+    public static FileHashCache getDefault() {
+        return DefaultInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the instance of this class that is persisted in the given store
+     * file. All callers passing the same file obtain the same instance, so
+     * that the store file is accessed by a single object in this process.
+     *
+     * @param storeFile the store file
+     * @return the {@code FileHashCache} for this store file
+     */
+    public static FileHashCache forStoreFile(Path storeFile) {
+        return PERSISTENT_INSTANCES.computeIfAbsent(storeFile.toAbsolutePath().normalize(), FileHashCache::new);
+    }
+
+    /**
+     * Returns an {@code Optional} with the store file of this cache. If the
+     * cache is not persisted, result is an empty {@code Optional}.
+     *
+     * @return an {@code Optional} with the store file
+     */
+    public Optional<Path> getStoreFile() {
+        return Optional.ofNullable(storeFile);
+    }
+
+    /**
+     * Returns the hash value of the given file using the specified algorithm.
+     * If the hash is contained in the cache and the file has not been changed
+     * since it was calculated, it is returned directly. Otherwise, the hash is
+     * calculated and stored in the cache.
+     *
+     * @param algorithm the name of the hash algorithm
+     * @param file      the path to the file
+     * @return the hash value as lower case hex string
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    public String hash(String algorithm, Path file) throws IOException {
+        Path canonicalPath = file.toRealPath();
+        BasicFileAttributes attributes = Files.readAttributes(canonicalPath, BasicFileAttributes.class);
+        EntryKey key = new EntryKey(algorithm.toUpperCase(Locale.ROOT), canonicalPath.toString());
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        ensureLoaded();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.matches(size, lastModified)) {
+            return entry.getHash();
+        }
+
+        long startTime = clock.millis();
+        String hash = Checksum.calculate(algorithm, canonicalPath);
+        if (lastModified < startTime - MODIFICATION_TOLERANCE_MILLIS) {
+            Entry newEntry = new Entry(size, lastModified, hash);
+            if (!newEntry.equals(entries.put(key, newEntry))) {
+                append(key, newEntry);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the SHA-1 hash value of the given file. This is a convenience
+     * method for the frequently used SHA-1 algorithm.
+     *
+     * @param file the path to the file
+     * @return the SHA-1 hash value as lower case hex string
+     * @throws IOException if the file cannot be read
+     */
+    public String sha1(Path file) throws IOException {
+        return hash(Checksum.ALGORITHM_SHA1, file);
+    }
+
+    /**
+     * Returns the number of entries contained in this cache.
+     *
+     * @return the number of cache entries
+     */
+    public int size() {
+        ensureLoaded();
+        return entries.size();
+    }
+
+    /**
+     * Makes sure that the store file has been loaded.
+     */
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the content of the store file into the cache. Later lines
+     * override earlier ones for the same file and algorithm. Entries for
+     * files that do not exist any more are dropped. If this is the case or
+     * the file contains too many outdated lines, it is compacted.
+     */
+    private void load() {
+        if (!Files.isRegularFile(storeFile)) {
+            return;
+        }
+
+        try {
+            withStoreLock(() -> {
+                List<String> lines = Files.readAllLines(storeFile, StandardCharsets.UTF_8);
+                for (String line : lines) {
+                    parseLine(line);
+                }
+                boolean removed = entries.keySet().removeIf(key -> !Files.exists(Paths.get(key.getPath())));
+                LOG.debug("Loaded {} file hashes from {}.", entries.size(), storeFile);
+
+                if (removed || lines.size() > entries.size() * COMPACTION_FACTOR) {
+                    compact();
+                }
+            });
+        } catch (IOException | OverlappingFileLockException e) {
+            LOG.warn("Could not load file hash cache from {}.", storeFile, e);
+        }
+    }
+
+    /**
+     * Parses a line from the store file and adds the corresponding entry to
+     * the cache. Invalid lines are ignored.
+     *
+     * @param line the line to parse
+     */
+    private void parseLine(String line) {
+        String[] fields = line.split(String.valueOf(SEPARATOR), FIELD_COUNT);
+        if (fields.length == FIELD_COUNT) {
+            try {
+                entries.put(new EntryKey(fields[0], fields[4]),
+                        new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]));
+            } catch (NumberFormatException e) {
+                LOG.debug("Ignoring invalid line in file hash cache: {}", line);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the store file with the current entries of the cache. The file
+     * is replaced atomically. This method must be called while holding the
+     * lock on the store file.
+     *
+     * @throws IOException if an error occurs
+     */
+    private void compact() throws IOException {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (Map.Entry<EntryKey, Entry> e : entries.entrySet()) {
+            lines.add(toLine(e.getKey(), e.getValue()));
+        }
+        Path tempFile = Files.createTempFile(storeFile.toAbsolutePath().getParent(),
+                storeFile.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        LOG.debug("Compacted file hash cache {}.", storeFile);
+    }
+
+    /**
+     * Appends a new entry to the store file if this cache is persisted.
+     *
+     * @param key   the key of the entry
+     * @param entry the entry
+     */
+    private synchronized void append(EntryKey key, Entry entry) {
+        if (storeFile == null || key.getPath().indexOf('\n') >= 0) {
+            return;
+        }
+
+        try {
+            Path parent = storeFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            withStoreLock(() -> {
+                try (BufferedWriter writer = Files.newBufferedWriter(storeFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.write(toLine(key, entry));
+                    writer.newLine();
+                }
+            });
+        } catch (IOException | OverlappingFileLockException e) {
+            LOG.warn("Could not write to file hash cache {}.", storeFile, e);
+        }
+    }
+
+    /**
+     * Executes an action on the store file while holding an exclusive lock on
+     * the lock file that belongs to it. This prevents that another process
+     * appends entries to the store file while it is compacted.
+     *
+     * @param action the action to execute
+     * @throws IOException if an error occurs
+     */
+    private void withStoreLock(StoreAction action) throws IOException {
+        Path lockFile = storeFile.resolveSibling(storeFile.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            action.execute();
+        }
+    }
+
+    /**
+     * Generates the line in the store file for the given entry.
+     *
+     * @param key   the key of the entry
+     * @param entry the entry
+     * @return the line for this entry
+     */
+    private static String toLine(EntryKey key, Entry entry) {
+        return key.getAlgorithm() + SEPARATOR + entry.getSize() + SEPARATOR + entry.getLastModified() +
+                SEPARATOR + entry.getHash() + SEPARATOR + key.getPath();
+    }
+
+    /**
+     * Determines the store file of the default instance based on the system
+     * property. If the property is not set, the default instance is not
+     * persisted.
+     *
+     * @return the store file of the default instance (can be
+     * <strong>null</strong>)
+     */
+    static Path defaultStoreFile() {
+        String property = System.getProperty(PROP_STORE_FILE);
+        return property == null || STORE_NONE.equalsIgnoreCase(property) ? null : Paths.get(property);
+    }
+
+    /**
+     * A holder class for the lazy creation of the default instance.
+     */
+    private static final class DefaultInstanceHolder {
+        static final FileHashCache INSTANCE = createDefaultInstance();
+
+        private static FileHashCache createDefaultInstance() {
+            Path storeFile = defaultStoreFile();
+            return storeFile != null ? forStoreFile(storeFile) : new FileHashCache(null);
+        }
+    }
+
+    /**
+     * An action on the store file that is executed while holding the lock.
+     */
+    @FunctionalInterface
+    private interface StoreAction {
+        void execute() throws IOException;
+    }
+
+    /**
+     * A class representing the key of a cache entry.
+     */
+    private static final class EntryKey {
+        /**
+         * The name of the hash algorithm.
+         */
+        private final String algorithm;
+
+        /**
+         * The canonical path of the file.
+         */
+        private final String path;
+
+        EntryKey(String algorithm, String path) {
+            this.algorithm = algorithm;
+            this.path = path;
+        }
+
+        String getAlgorithm() {
+            return algorithm;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            EntryKey entryKey = (EntryKey) o;
+            return algorithm.equals(entryKey.algorithm) &&
+                    path.equals(entryKey.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(algorithm, path);
+        }
+    }
+
+    /**
+     * A class representing a cached hash value together with the properties
+     * of the file it has been calculated for.
+     */
+    private static final class Entry {
+        /**
+         * The size of the file.
+         */
+        private final long size;
+
+        /**
+         * The last-modified time of the file in milliseconds.
+         */
+        private final long lastModified;
+
+        /**
+         * The hash value.
+         */
+        private final String hash;
+
+        Entry(long size, long lastModified, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getLastModified() {
+            return lastModified;
+        }
+
+        String getHash() {
+            return hash;
+        }
+
+        /**
+         * Checks whether this entry is valid for a file with the given
+         * properties.
+         *
+         * @param fileSize         the current size of the file
+         * @param fileLastModified the current last-modified time of the file
+         * @return <strong>true</strong> if this entry matches the file
+         */
+        boolean matches(long fileSize, long fileLastModified) {
+            return size == fileSize && lastModified == fileLastModified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Entry entry = (Entry) o;
+            return size == entry.size &&
+                    lastModified == entry.lastModified &&
+                    hash.equals(entry.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, lastModified, hash);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * A {@link RequestMetricsListener} implementation that aggregates the metrics
+ * of all requests per host and per route.
+ * </p>
+ * <p>
+ * A route is identified by the HTTP method, the host, and the route template
+ * of a request. For each host and each route a {@link RequestStatistics}
+ * object is maintained. The data collected can be queried programmatically,
+ * exported as a JSON summary, or rendered as a short human-readable text
+ * listing the slowest routes.
+ * </p>
+ * <p>
+ * This class is thread-safe. A single instance can be shared by multiple HTTP
+ * clients.
+ * </p>
+ */
+public class HttpMetricsCollector implements RequestMetricsListener {
+    /**
+     * Stores the statistics per host.
+     */
+    private final ConcurrentMap<String, RequestStatistics> hostStatistics = new ConcurrentHashMap<>();
+
+    /**
+     * Stores the statistics per route.
+     */
+    private final ConcurrentMap<String, RequestStatistics> routeStatistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void requestCompleted(RequestMetrics metrics) {
+        hostStatistics.computeIfAbsent(metrics.getHost(), host -> new RequestStatistics())
+                .record(metrics);
+        routeStatistics.computeIfAbsent(routeKey(metrics), route -> new RequestStatistics())
+                .record(metrics);
+    }
+
+    /**
+     * Returns the total number of requests recorded by this object.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return hostStatistics.values().stream()
+                .mapToLong(RequestStatistics::getRequestCount)
+                .sum();
+    }
+
+    /**
+     * Returns a map with the statistics collected per host. The map is a
+     * snapshot sorted by host names; the statistics objects it contains are
+     * live, however.
+     *
+     * @return a map with statistics per host
+     */
+    public Map<String, RequestStatistics> getHostStatistics() {
+        return new TreeMap<>(hostStatistics);
+    }
+
+    /**
+     * Returns a map with the statistics collected per route. Keys have the
+     * form <em>METHOD host/route-template</em>. The map is a snapshot sorted
+     * by keys; the statistics objects it contains are live, however.
+     *
+     * @return a map with statistics per route
+     */
+    public Map<String, RequestStatistics> getRouteStatistics() {
+        return new TreeMap<>(routeStatistics);
+    }
+
+    /**
+     * Returns a list with the keys of the routes having the highest total
+     * latency, i.e. the routes that contributed most to the overall time
+     * spent for HTTP requests.
+     *
+     * @param limit the maximum number of routes to return
+     * @return a list with the keys of the slowest routes
+     */
+    public List<String> getSlowestRoutes(int limit) {
+        return routeStatistics.entrySet().stream()
+                .sorted(Comparator.comparing(
+                        (Map.Entry<String, RequestStatistics> e) -> e.getValue().getLatency().getTotal())
+                        .reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a map with a summary of all metrics collected by this object.
+     * The map is suitable for being serialized to JSON.
+     *
+     * @return a map with summary information
+     */
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", getRequestCount());
+        summary.put("hosts", toSummaryMap(getHostStatistics()));
+        summary.put("routes", toSummaryMap(getRouteStatistics()));
+        return summary;
+    }
+
+    /**
+     * Writes a JSON representation of the summary of all metrics collected by
+     * this object to the given stream. The stream is not closed.
+     *
+     * @param mapper the JSON object mapper
+     * @param out    the stream to write to
+     * @throws IOException if an error occurs when writing the data
+     */
+    public void writeJsonSummary(ObjectMapper mapper, OutputStream out) throws IOException {
+        mapper.writerWithDefaultPrettyPrinter().writeValue(new CloseShieldOutputStream(out), toSummary());
+    }
+
+    /**
+     * Returns a human-readable text with the most important metrics per host
+     * and for the slowest routes.
+     *
+     * @param maxRoutes the maximum number of routes to list
+     * @return a text summarizing the collected metrics
+     */
+    public String formatSummary(int maxRoutes) {
+        StringBuilder buf = new StringBuilder();
+        buf.append("HTTP requests: ").append(getRequestCount());
+        getHostStatistics().forEach((host, stats) -> appendStatistics(buf, host, stats));
+        List<String> slowestRoutes = getSlowestRoutes(maxRoutes);
+        if (!slowestRoutes.isEmpty()) {
+            buf.append(System.lineSeparator()).append("Slowest routes:");
+            slowestRoutes.forEach(route -> appendStatistics(buf, route, routeStatistics.get(route)));
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Generates the key of the route a request belongs to.
+     *
+     * @param metrics the metrics of the request
+     * @return the key of the route
+     */
+    private static String routeKey(RequestMetrics metrics) {
+        return metrics.getMethod() + " " + metrics.getHost() + metrics.getRouteTemplate();
+    }
+
+    /**
+     * Appends a line with statistics information to the given buffer.
+     *
+     * @param buf   the buffer
+     * @param label the label of the statistics
+     * @param stats the statistics object
+     */
+    private static void appendStatistics(StringBuilder buf, String label, RequestStatistics stats) {
+        LatencyHistogram latency = stats.getLatency();
+        buf.append(System.lineSeparator())
+                .append("  ").append(label).append(": ")
+                .append(stats.getRequestCount()).append(" requests, total ")
+                .append(latency.getTotal().toMillis()).append(" ms, p50 ")
+                .append(latency.getPercentile(0.5).toMillis()).append(" ms, p99 ")
+                .append(latency.getPercentile(0.99).toMillis()).append(" ms, max ")
+                .append(latency.getMax().toMillis()).append(" ms, queue wait ")
+                .append(stats.getQueueWait().getTotal().toMillis()).append(" ms, status ")
+                .append(stats.getStatusCodeCounts());
+    }
+
+    /**
+     * Transforms a map with statistics objects to a map with their summaries.
+     *
+     * @param statistics the map with statistics
+     * @return the map with summaries
+     */
+    private static Map<String, Object> toSummaryMap(Map<String, RequestStatistics> statistics) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        statistics.forEach((key, stats) -> result.put(key, stats.toSummary()));
+        return result;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.metrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A simple, thread-safe histogram for durations with fixed bucket bounds.
+ * </p>
+ * <p>
+ * The buckets of this histogram have an exponential layout ranging from one
+ * millisecond to one minute; all larger values are counted in an overflow
+ * bucket. This is sufficient to get an idea about the distribution of request
+ * latencies without the need to store single values. Percentiles are
+ * approximated by the upper bound of the bucket they fall into.
+ * </p>
+ */
+public final class LatencyHistogram {
+    /**
+     * The upper bounds of the buckets in milliseconds. An additional bucket
+     * for larger values is managed implicitly.
+     */
+    private static final long[] BUCKET_BOUNDS_MILLIS = {
+            1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000
+    };
+
+    /**
+     * The counters for the single buckets.
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * The total number of recorded values.
+     */
+    private final LongAdder count;
+
+    /**
+     * The sum of all recorded values in nanoseconds.
+     */
+    private final LongAdder sumNanos;
+
+    /**
+     * The maximum value recorded so far in nanoseconds.
+     */
+    private final AtomicLong maxNanos;
+
+    /**
+     * Creates a new, empty instance of {@code LatencyHistogram}.
+     */
+    public LatencyHistogram() {
+        buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+        count = new LongAdder();
+        sumNanos = new LongAdder();
+        maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Records a value in this histogram.
+     *
+     * @param nanos the duration to record in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketIndex(TimeUnit.NANOSECONDS.toMillis(value)));
+        count.increment();
+        sumNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of values recorded by this histogram.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of all values recorded by this histogram.
+     *
+     * @return the total duration of all recorded values
+     */
+    public Duration getTotal() {
+        return Duration.ofNanos(sumNanos.sum());
+    }
+
+    /**
+     * Returns the maximum value recorded by this histogram.
+     *
+     * @return the maximum duration
+     */
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * Returns the mean of the values recorded by this histogram. If no values
+     * have been recorded, result is zero.
+     *
+     * @return the mean duration
+     */
+    public Duration getMean() {
+        long c = getCount();
+        return c == 0 ? Duration.ZERO : Duration.ofNanos(sumNanos.sum() / c);
+    }
+
+    /**
+     * Returns an approximation of the given percentile. The result is the
+     * upper bound of the bucket the percentile falls into; for the overflow
+     * bucket, the maximum value is returned.
+     *
+     * @param percentile the percentile as value between 0 and 1
+     * @return the approximated percentile value
+     */
+    public Duration getPercentile(double percentile) {
+        long c = getCount();
+        if (c == 0) {
+            return Duration.ZERO;
+        }
+
+        long threshold = (long) Math.ceil(c * Math.min(Math.max(percentile, 0), 1));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold && seen > 0) {
+                return Duration.ofMillis(BUCKET_BOUNDS_MILLIS[i]);
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Returns a map with a summary of the data stored in this histogram. The
+     * map is suitable for being serialized to JSON. All durations are
+     * represented in milliseconds.
+     *
+     * @return a map with summary information
+     */
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("totalMs", getTotal().toMillis());
+        summary.put("meanMs", getMean().toMillis());
+        summary.put("p50Ms", getPercentile(0.5).toMillis());
+        summary.put("p90Ms", getPercentile(0.9).toMillis());
+        summary.put("p99Ms", getPercentile(0.99).toMillis());
+        summary.put("maxMs", getMax().toMillis());
+
+        Map<String, Long> bucketCounts = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length(); i++) {
+            long bucketCount = buckets.get(i);
+            if (bucketCount > 0) {
+                bucketCounts.put(bucketLabel(i), bucketCount);
+            }
+        }
+        summary.put("buckets", bucketCounts);
+        return summary;
+    }
+
+    /**
+     * Determines the index of the bucket for the given value.
+     *
+     * @param millis the value in milliseconds
+     * @return the index of the bucket
+     */
+    private static int bucketIndex(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (millis <= BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    /**
+     * Generates a label for the bucket with the given index.
+     *
+     * @param index the index of the bucket
+     * @return the label for this bucket
+     */
+    private static String bucketLabel(int index) {
+        return index < BUCKET_BOUNDS_MILLIS.length ? "<=" + BUCKET_BOUNDS_MILLIS[index] + "ms" :
+                ">" + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1] + "ms";
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.metrics;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A class storing the metrics recorded for a single HTTP request.
+ * </p>
+ * <p>
+ * An instance of this class is created by the HTTP library when a request
+ * completes (either successfully or with a failure) and is then passed to the
+ * {@link RequestMetricsListener} registered at the client configuration. It
+ * contains information to identify the request, the status code of the
+ * response, and timings for the different phases of the request execution.
+ * Phases that did not take place for a request (e.g. no DNS lookup was
+ * necessary because a pooled connection could be reused) have a duration of
+ * zero.
+ * </p>
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * </p>
+ */
+public final class RequestMetrics {
+    /**
+     * Constant for the status code reported for requests that failed without
+     * receiving a response.
+     */
+    public static final int NO_STATUS = -1;
+
+    /**
+     * The HTTP method of the request.
+     */
+    private final String method;
+
+    /**
+     * The host the request was sent to.
+     */
+    private final String host;
+
+    /**
+     * The route template derived from the request URL.
+     */
+    private final String routeTemplate;
+
+    /**
+     * The status code of the response.
+     */
+    private final int statusCode;
+
+    /**
+     * The total duration of the request in nanoseconds.
+     */
+    private final long totalNanos;
+
+    /**
+     * The time the request waited in the dispatcher queue in nanoseconds.
+     */
+    private final long queueWaitNanos;
+
+    /**
+     * The time spent for DNS lookups in nanoseconds.
+     */
+    private final long dnsNanos;
+
+    /**
+     * The time spent for establishing connections in nanoseconds.
+     */
+    private final long connectNanos;
+
+    /**
+     * The time spent for TLS handshakes in nanoseconds.
+     */
+    private final long tlsNanos;
+
+    /**
+     * The number of bytes sent in the request body.
+     */
+    private final long bytesSent;
+
+    /**
+     * The number of bytes received in the response body.
+     */
+    private final long bytesReceived;
+
+    /**
+     * Creates a new instance of {@code RequestMetrics} with the data
+     * collected for a request.
+     *
+     * @param method         the HTTP method
+     * @param host           the target host
+     * @param routeTemplate  the route template of the request URL
+     * @param statusCode     the response status code or {@link #NO_STATUS}
+     * @param totalNanos     the total duration of the request (nanos)
+     * @param queueWaitNanos the time waiting in the dispatcher queue (nanos)
+     * @param dnsNanos       the time of DNS lookups (nanos)
+     * @param connectNanos   the time for connection establishment (nanos)
+     * @param tlsNanos       the time of TLS handshakes (nanos)
+     * @param bytesSent      the number of bytes sent in the request body
+     * @param bytesReceived  the number of bytes received in the response body
+     */
+    public RequestMetrics(String method, String host, String routeTemplate, int statusCode,
+                          long totalNanos, long queueWaitNanos, long dnsNanos, long connectNanos,
+                          long tlsNanos, long bytesSent, long bytesReceived) {
+        this.method = method;
+        this.host = host;
+        this.routeTemplate = routeTemplate;
+        this.statusCode = statusCode;
+        this.totalNanos = totalNanos;
+        this.queueWaitNanos = queueWaitNanos;
+        this.dnsNanos = dnsNanos;
+        this.connectNanos = connectNanos;
+        this.tlsNanos = tlsNanos;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+    }
+
+    /**
+     * Returns the HTTP method of the request.
+     *
+     * @return the HTTP method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the host the request was sent to.
+     *
+     * @return the target host
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Returns the route template of the request. This is the path of the
+     * request URL in which segments that look like IDs have been replaced by
+     * a placeholder. So requests to the same endpoint that only differ in
+     * the entities they refer to are assigned the same template.
+     *
+     * @return the route template
+     */
+    public String getRouteTemplate() {
+        return routeTemplate;
+    }
+
+    /**
+     * Returns the status code of the response. If the request failed without
+     * receiving a response, result is {@link #NO_STATUS}.
+     *
+     * @return the response status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns a flag whether the request failed on the network layer, i.e.
+     * no response has been received.
+     *
+     * @return <strong>true</strong> if no response was received;
+     * <strong>false</strong> otherwise
+     */
+    public boolean isFailed() {
+        return statusCode == NO_STATUS;
+    }
+
+    /**
+     * Returns the total duration of the request, including the time it was
+     * waiting in the queue.
+     *
+     * @return the total duration
+     */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * Returns the time the request waited in the dispatcher queue before it
+     * was actually executed. A high value here indicates that the concurrency
+     * limits of the client are a bottleneck.
+     *
+     * @return the queue wait time
+     */
+    public Duration getQueueWaitTime() {
+        return Duration.ofNanos(queueWaitNanos);
+    }
+
+    /**
+     * Returns the time spent for DNS lookups.
+     *
+     * @return the DNS lookup time
+     */
+    public Duration getDnsTime() {
+        return Duration.ofNanos(dnsNanos);
+    }
+
+    /**
+     * Returns the time spent for establishing connections. This includes the
+     * time of TLS handshakes.
+     *
+     * @return the connection time
+     */
+    public Duration getConnectTime() {
+        return Duration.ofNanos(connectNanos);
+    }
+
+    /**
+     * Returns the time spent for TLS handshakes.
+     *
+     * @return the TLS handshake time
+     */
+    public Duration getTlsTime() {
+        return Duration.ofNanos(tlsNanos);
+    }
+
+    /**
+     * Returns the number of bytes sent in the body of the request.
+     *
+     * @return the number of bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Returns the number of bytes received in the body of the response.
+     *
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RequestMetrics that = (RequestMetrics) o;
+        return statusCode == that.statusCode &&
+                totalNanos == that.totalNanos &&
+                queueWaitNanos == that.queueWaitNanos &&
+                dnsNanos == that.dnsNanos &&
+                connectNanos == that.connectNanos &&
+                tlsNanos == that.tlsNanos &&
+                bytesSent == that.bytesSent &&
+                bytesReceived == that.bytesReceived &&
+                Objects.equals(method, that.method) &&
+                Objects.equals(host, that.host) &&
+                Objects.equals(routeTemplate, that.routeTemplate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(method, host, routeTemplate, statusCode, totalNanos, queueWaitNanos, dnsNanos,
+                connectNanos, tlsNanos, bytesSent, bytesReceived);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestMetrics{" +
+                "method='" + method + '\'' +
+                ", host='" + host + '\'' +
+                ", routeTemplate='" + routeTemplate + '\'' +
+                ", statusCode=" + statusCode +
+                ", totalTime=" + getTotalTime() +
+                ", queueWaitTime=" + getQueueWaitTime() +
+                ", bytesSent=" + bytesSent +
+                ", bytesReceived=" + bytesReceived +
+                '}';
+    }
+}
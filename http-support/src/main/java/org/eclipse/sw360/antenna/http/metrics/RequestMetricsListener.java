@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.metrics;
+
+/**
+ * <p>
+ * A listener interface to be notified about the metrics of completed HTTP
+ * requests.
+ * </p>
+ * <p>
+ * An object implementing this interface can be set in the configuration of an
+ * HTTP client. It is then invoked for each request executed by this client
+ * when the request is complete. This can be used to gather statistics about
+ * the HTTP traffic or to implement tracing.
+ * </p>
+ * <p>
+ * Notifications happen on the threads of the HTTP library, often
+ * concurrently. Implementations must therefore be thread-safe and should not
+ * block.
+ * </p>
+ */
+@FunctionalInterface
+public interface RequestMetricsListener {
+    /**
+     * Notifies this listener that a request has completed. The passed in
+     * object contains the metrics recorded for this request.
+     *
+     * @param metrics the metrics of the completed request
+     */
+    void requestCompleted(RequestMetrics metrics);
+}
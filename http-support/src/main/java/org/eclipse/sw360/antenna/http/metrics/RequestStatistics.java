@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.metrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A class aggregating the metrics of a group of HTTP requests.
+ * </p>
+ * <p>
+ * {@link HttpMetricsCollector} creates instances of this class for each host
+ * and each route template. The metrics of the single requests are added, and
+ * statistics about latencies, status codes, and transferred data are
+ * calculated. This class is thread-safe.
+ * </p>
+ */
+public final class RequestStatistics {
+    /**
+     * The histogram for the total request latency.
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * The histogram for the time requests spent in the dispatcher queue.
+     */
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    /**
+     * The counters for the status codes received.
+     */
+    private final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+
+    /**
+     * The total time spent for DNS lookups.
+     */
+    private final LongAdder dnsNanos = new LongAdder();
+
+    /**
+     * The total time spent for establishing connections.
+     */
+    private final LongAdder connectNanos = new LongAdder();
+
+    /**
+     * The total time spent for TLS handshakes.
+     */
+    private final LongAdder tlsNanos = new LongAdder();
+
+    /**
+     * The total number of bytes sent.
+     */
+    private final LongAdder bytesSent = new LongAdder();
+
+    /**
+     * The total number of bytes received.
+     */
+    private final LongAdder bytesReceived = new LongAdder();
+
+    /**
+     * Adds the metrics of a single request to this object.
+     *
+     * @param metrics the metrics to be added
+     */
+    public void record(RequestMetrics metrics) {
+        latency.record(metrics.getTotalTime().toNanos());
+        queueWait.record(metrics.getQueueWaitTime().toNanos());
+        statusCodes.computeIfAbsent(metrics.getStatusCode(), code -> new LongAdder()).increment();
+        dnsNanos.add(metrics.getDnsTime().toNanos());
+        connectNanos.add(metrics.getConnectTime().toNanos());
+        tlsNanos.add(metrics.getTlsTime().toNanos());
+        bytesSent.add(metrics.getBytesSent());
+        bytesReceived.add(metrics.getBytesReceived());
+    }
+
+    /**
+     * Returns the number of requests recorded by this object.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * Returns the histogram with the total latencies of requests.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Returns the histogram with the times requests were waiting in the
+     * dispatcher queue.
+     *
+     * @return the queue wait histogram
+     */
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * Returns a map with the number of responses received per status code.
+     * Requests that failed without a response are counted under the status
+     * code {@link RequestMetrics#NO_STATUS}.
+     *
+     * @return a map with counters for status codes
+     */
+    public Map<Integer, Long> getStatusCodeCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCodes.forEach((code, counter) -> counts.put(code, counter.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns the total time spent for DNS lookups.
+     *
+     * @return the total DNS time
+     */
+    public Duration getDnsTime() {
+        return Duration.ofNanos(dnsNanos.sum());
+    }
+
+    /**
+     * Returns the total time spent for establishing connections.
+     *
+     * @return the total connection time
+     */
+    public Duration getConnectTime() {
+        return Duration.ofNanos(connectNanos.sum());
+    }
+
+    /**
+     * Returns the total time spent for TLS handshakes.
+     *
+     * @return the total TLS time
+     */
+    public Duration getTlsTime() {
+        return Duration.ofNanos(tlsNanos.sum());
+    }
+
+    /**
+     * Returns the total number of bytes sent in request bodies.
+     *
+     * @return the number of bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    /**
+     * Returns the total number of bytes received in response bodies.
+     *
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * Returns a map with a summary of the statistics managed by this object.
+     * The map is suitable for being serialized to JSON.
+     *
+     * @return a map with summary information
+     */
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", getRequestCount());
+        summary.put("statusCodes", getStatusCodeCounts());
+        summary.put("latency", latency.toSummary());
+        summary.put("queueWait", queueWait.toSummary());
+        summary.put("dnsMs", getDnsTime().toMillis());
+        summary.put("connectMs", getConnectTime().toMillis());
+        summary.put("tlsMs", getTlsTime().toMillis());
+        summary.put("bytesSent", getBytesSent());
+        summary.put("bytesReceived", getBytesReceived());
+        return summary;
+    }
+}
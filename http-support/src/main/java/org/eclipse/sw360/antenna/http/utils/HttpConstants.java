@@ -47,6 +47,13 @@ public final class HttpConstants {
      */
     public static final int STATUS_NO_CONTENT = 204;
 
+    /**
+     * Constant for the HTTP status code 206 PARTIAL CONTENT indicating that
+     * the response contains only the range of the resource requested by the
+     * client.
+     */
+    public static final int STATUS_PARTIAL_CONTENT = 206;
+
     /**
      * Constant for the HTTP status code 207 MULTI_STATUS that is returned for
      * operations affecting multiple entities. The response body typically
@@ -72,6 +79,12 @@ public final class HttpConstants {
      */
     public static final int STATUS_ERR_NOT_FOUND = 404;
 
+    /**
+     * Constant for the HTTP status code 416 RANGE NOT SATISFIABLE indicating
+     * that the range requested by the client lies outside of the resource.
+     */
+    public static final int STATUS_ERR_RANGE_NOT_SATISFIABLE = 416;
+
     /**
      * Constant for the HTTP status code 500 INTERNAL SERVER ERROR indicating a
      * general problem on server side.
@@ -94,6 +107,11 @@ public final class HttpConstants {
      */
     public static final String HEADER_AUTHORIZATION = "Authorization";
 
+    /**
+     * Constant for the HTTP header to request only a part of a resource.
+     */
+    public static final String HEADER_RANGE = "Range";
+
     /**
      * Constant for the authentication scheme Basic Auth.
      */
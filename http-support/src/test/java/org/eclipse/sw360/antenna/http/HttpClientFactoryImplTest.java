@@ -11,8 +11,10 @@
 package org.eclipse.sw360.antenna.http;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Call;
 import org.eclipse.sw360.antenna.http.config.HttpClientConfig;
 import org.eclipse.sw360.antenna.http.config.ProxySettings;
+import org.eclipse.sw360.antenna.http.metrics.RequestMetricsListener;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -103,4 +105,23 @@ public class HttpClientFactoryImplTest {
             System.clearProperty(HttpClientFactoryImpl.CLIENT_ACCESS_UNVERIFIED_PROPERTY);
         }
     }
+
+    @Test
+    public void testNewClientWithMetricsListener() {
+        RequestMetricsListener listener = mock(RequestMetricsListener.class);
+        HttpClientConfig config = HttpClientConfig.basicConfig()
+                .withMetricsListener(listener);
+
+        HttpClientImpl client = createClient(config);
+        assertThat(client.getClient().eventListenerFactory().create(mock(Call.class)))
+                .isInstanceOf(MetricsEventListener.class);
+    }
+
+    @Test
+    public void testNewClientWithoutMetricsListener() {
+        HttpClientImpl client = createClient(HttpClientConfig.basicConfig());
+
+        assertThat(client.getClient().eventListenerFactory().create(mock(Call.class)))
+                .isNotInstanceOf(MetricsEventListener.class);
+    }
 }
@@ -17,6 +17,7 @@ import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.sw360.antenna.http.config.HttpClientConfig;
+import org.eclipse.sw360.antenna.http.metrics.RequestMetrics;
 import org.eclipse.sw360.antenna.http.utils.FailedRequestException;
 import org.eclipse.sw360.antenna.http.utils.HttpUtils;
 import org.junit.Before;
@@ -36,6 +37,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aMultipart;
@@ -439,4 +443,32 @@ public class HttpRequestExecutionIT {
                 checkResponse(jsonResult(mapper, ref))));
         assertThat(fruits2).isEqualTo(fruits);
     }
+
+    @Test
+    public void testRequestMetricsAreRecorded() throws Exception {
+        final String path = ENDPOINT + "/4711";
+        CountDownLatch latch = new CountDownLatch(1);
+        List<RequestMetrics> recordedMetrics = new CopyOnWriteArrayList<>();
+        HttpClient metricsClient = new HttpClientFactoryImpl().newHttpClient(HttpClientConfig.basicConfig()
+                .withMetricsListener(metrics -> {
+                    recordedMetrics.add(metrics);
+                    latch.countDown();
+                }));
+        wireMockRule.stubFor(get(urlPathEqualTo(path))
+                .willReturn(aResponse().withStatus(STATUS_OK)
+                        .withBody(CONTENT)));
+
+        String result = waitFor(metricsClient.execute(HttpUtils.get(wireMockRule.baseUrl() + path),
+                response -> readStream(response.bodyStream())));
+        assertThat(result).isEqualTo(CONTENT);
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(recordedMetrics).hasSize(1);
+        RequestMetrics metrics = recordedMetrics.get(0);
+        assertThat(metrics.getMethod()).isEqualTo("GET");
+        assertThat(metrics.getHost()).isEqualTo("localhost");
+        assertThat(metrics.getRouteTemplate()).isEqualTo(ENDPOINT + "/" + MetricsEventListener.ID_PLACEHOLDER);
+        assertThat(metrics.getStatusCode()).isEqualTo(STATUS_OK);
+        assertThat(metrics.getBytesReceived()).isPositive();
+        assertThat(metrics.getTotalTime().toNanos()).isPositive();
+    }
 }
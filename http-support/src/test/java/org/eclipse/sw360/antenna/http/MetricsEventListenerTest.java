@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.eclipse.sw360.antenna.http.metrics.RequestMetrics;
+import org.eclipse.sw360.antenna.http.metrics.RequestMetricsListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetricsEventListenerTest {
+    private static final String URL = "https://sw360.org/resource/api/releases/0123456789abcdef0123/attachments";
+
+    /**
+     * A mock for the listener to be notified.
+     */
+    private RequestMetricsListener metricsListener;
+
+    /**
+     * The current time reported by the ticker in nanoseconds.
+     */
+    private AtomicLong time;
+
+    /**
+     * A mock for the call that is monitored.
+     */
+    private Call call;
+
+    /**
+     * The event listener to be tested.
+     */
+    private MetricsEventListener eventListener;
+
+    @Before
+    public void setUp() {
+        metricsListener = mock(RequestMetricsListener.class);
+        time = new AtomicLong();
+        call = mock(Call.class);
+        when(call.request()).thenReturn(new Request.Builder().url(URL).build());
+        eventListener = new MetricsEventListener(metricsListener, time::get);
+    }
+
+    /**
+     * Advances the current time of the ticker by the given number of
+     * milliseconds.
+     *
+     * @param millis the number of milliseconds
+     */
+    private void advance(long millis) {
+        time.addAndGet(Duration.ofMillis(millis).toNanos());
+    }
+
+    /**
+     * Obtains the metrics object that has been passed to the listener.
+     *
+     * @return the metrics passed to the listener
+     */
+    private RequestMetrics capturedMetrics() {
+        ArgumentCaptor<RequestMetrics> captor = ArgumentCaptor.forClass(RequestMetrics.class);
+        verify(metricsListener).requestCompleted(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testRouteTemplateReplacesIds() {
+        HttpUrl url = HttpUrl.get("http://localhost/api/components/42/releases/" +
+                "1d2b3c4d-1a2b-3c4d-5e6f-0123456789ab/0123456789abcdef0123?q=foo");
+
+        assertThat(MetricsEventListener.routeTemplate(url))
+                .isEqualTo("/api/components/{id}/releases/{id}/{id}");
+    }
+
+    @Test
+    public void testRouteTemplateForRootUrl() {
+        assertThat(MetricsEventListener.routeTemplate(HttpUrl.get("http://localhost")))
+                .isEqualTo("/");
+    }
+
+    @Test
+    public void testMetricsOfSuccessfulCall() {
+        InetSocketAddress address = InetSocketAddress.createUnresolved("sw360.org", 443);
+        Response response = new Response.Builder()
+                .request(call.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(201)
+                .message("Created")
+                .build();
+
+        eventListener.callStart(call);
+        advance(5);
+        eventListener.proxySelectStart(call, call.request().url());
+        eventListener.dnsStart(call, "sw360.org");
+        advance(10);
+        eventListener.dnsEnd(call, "sw360.org", Collections.emptyList());
+        eventListener.connectStart(call, address, Proxy.NO_PROXY);
+        advance(20);
+        eventListener.secureConnectStart(call);
+        advance(30);
+        eventListener.secureConnectEnd(call, null);
+        eventListener.connectEnd(call, address, Proxy.NO_PROXY, Protocol.HTTP_1_1);
+        eventListener.requestBodyEnd(call, 100);
+        advance(100);
+        eventListener.responseHeadersEnd(call, response);
+        eventListener.responseBodyEnd(call, 1000);
+        eventListener.callEnd(call);
+
+        RequestMetrics metrics = capturedMetrics();
+        assertThat(metrics.getMethod()).isEqualTo("GET");
+        assertThat(metrics.getHost()).isEqualTo("sw360.org");
+        assertThat(metrics.getRouteTemplate()).isEqualTo("/resource/api/releases/{id}/attachments");
+        assertThat(metrics.getStatusCode()).isEqualTo(201);
+        assertThat(metrics.isFailed()).isFalse();
+        assertThat(metrics.getTotalTime()).isEqualTo(Duration.ofMillis(165));
+        assertThat(metrics.getQueueWaitTime()).isEqualTo(Duration.ofMillis(5));
+        assertThat(metrics.getDnsTime()).isEqualTo(Duration.ofMillis(10));
+        assertThat(metrics.getConnectTime()).isEqualTo(Duration.ofMillis(50));
+        assertThat(metrics.getTlsTime()).isEqualTo(Duration.ofMillis(30));
+        assertThat(metrics.getBytesSent()).isEqualTo(100);
+        assertThat(metrics.getBytesReceived()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testMetricsOfFailedCall() {
+        eventListener.callStart(call);
+        advance(10);
+        eventListener.callFailed(call, new IOException("Test exception"));
+
+        RequestMetrics metrics = capturedMetrics();
+        assertThat(metrics.getStatusCode()).isEqualTo(RequestMetrics.NO_STATUS);
+        assertThat(metrics.isFailed()).isTrue();
+        assertThat(metrics.getTotalTime()).isEqualTo(Duration.ofMillis(10));
+        assertThat(metrics.getQueueWaitTime()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void testExceptionsThrownByListenerAreCaught() {
+        doThrow(new IllegalStateException("Test exception")).when(metricsListener)
+                .requestCompleted(any());
+
+        eventListener.callStart(call);
+        eventListener.callEnd(call);
+        verify(metricsListener).requestCompleted(any());
+    }
+}
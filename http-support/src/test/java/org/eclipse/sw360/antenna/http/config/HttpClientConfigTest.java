@@ -12,6 +12,7 @@ package org.eclipse.sw360.antenna.http.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import nl.jqno.equalsverifier.EqualsVerifier;
+import org.eclipse.sw360.antenna.http.metrics.RequestMetricsListener;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +25,7 @@ public class HttpClientConfigTest {
 
         assertThat(basicConfig.customObjectMapper()).isNotPresent();
         assertThat(basicConfig.proxySettings()).isEqualTo(ProxySettings.defaultProxySelector());
+        assertThat(basicConfig.metricsListener()).isNotPresent();
     }
 
     @Test
@@ -38,6 +40,8 @@ public class HttpClientConfigTest {
     public void testEquals() {
         EqualsVerifier.forClass(HttpClientConfig.class)
                 .withPrefabValues(ObjectMapper.class, new ObjectMapper(), new ObjectMapper())
+                .withPrefabValues(RequestMetricsListener.class, mock(RequestMetricsListener.class),
+                        mock(RequestMetricsListener.class))
                 .verify();
     }
 
@@ -82,4 +86,18 @@ public class HttpClientConfigTest {
 
         assertThat(config.getOrCreateObjectMapper()).isEqualTo(mapper);
     }
+
+    @Test
+    public void testWithMetricsListener() {
+        RequestMetricsListener listener = mock(RequestMetricsListener.class);
+        ObjectMapper mapper = mock(ObjectMapper.class);
+
+        HttpClientConfig config = HttpClientConfig.basicConfig()
+                .withMetricsListener(listener)
+                .withObjectMapper(mapper)
+                .withProxySettings(ProxySettings.noProxy());
+        assertThat(config.metricsListener()).contains(listener);
+        assertThat(config.customObjectMapper()).contains(mapper);
+        assertThat(config.withMetricsListener(null).metricsListener()).isNotPresent();
+    }
 }
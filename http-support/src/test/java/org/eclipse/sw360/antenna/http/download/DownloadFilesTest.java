@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class DownloadFilesTest {
+    private static final String CONTENT = "Test content";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static InputStream contentStream() {
+        return new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readFile(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that the folder of the given file only contains this file, i.e.
+     * no temporary files have been left.
+     *
+     * @param file the file
+     * @throws IOException if an error occurs
+     */
+    private static void checkNoTempFiles(Path file) throws IOException {
+        assertThat(Files.list(file.getParent())).containsOnly(file);
+    }
+
+    @Test
+    public void testPartFile() {
+        Path target = temporaryFolder.getRoot().toPath().resolve("file.zip");
+
+        Path partFile = DownloadFiles.partFile(target);
+        assertThat(partFile.getFileName().toString()).isEqualTo("file.zip.part");
+        assertThat(partFile.getParent()).isEqualTo(target.getParent());
+    }
+
+    @Test
+    public void testStoreAtomically() throws IOException {
+        Path contentFile = temporaryFolder.newFile().toPath();
+        Files.write(contentFile, CONTENT.getBytes(StandardCharsets.UTF_8));
+        String sha256 = Checksum.calculate(Checksum.ALGORITHM_SHA256, contentFile);
+        Path target = temporaryFolder.newFolder().toPath().resolve("file.txt");
+
+        Path result = DownloadFiles.storeAtomically(contentStream(), target, Checksum.sha256(sha256));
+        assertThat(result).isEqualTo(target);
+        assertThat(readFile(target)).isEqualTo(CONTENT);
+        checkNoTempFiles(target);
+    }
+
+    @Test
+    public void testStoreAtomicallyExistingFileNotReplaced() throws IOException {
+        Path target = temporaryFolder.newFile("existing.txt").toPath();
+
+        try {
+            DownloadFiles.storeAtomically(contentStream(), target, null);
+            fail("Existing file not detected!");
+        } catch (FileAlreadyExistsException e) {
+            assertThat(readFile(target)).isEmpty();
+        }
+    }
+
+    @Test
+    public void testStoreAtomicallyReplaceExisting() throws IOException {
+        Path target = temporaryFolder.newFile("existing.txt").toPath();
+
+        DownloadFiles.storeAtomically(contentStream(), target, null, StandardCopyOption.REPLACE_EXISTING);
+        assertThat(readFile(target)).isEqualTo(CONTENT);
+        checkNoTempFiles(target);
+    }
+
+    @Test
+    public void testStoreAtomicallyChecksumMismatch() throws IOException {
+        Path target = temporaryFolder.newFile("existing.txt").toPath();
+
+        try {
+            DownloadFiles.storeAtomically(contentStream(), target, Checksum.sha1("0123456789"),
+                    StandardCopyOption.REPLACE_EXISTING);
+            fail("Checksum mismatch not detected!");
+        } catch (ChecksumMismatchException e) {
+            assertThat(e.getExpected()).isEqualTo(Checksum.sha1("0123456789"));
+        }
+        assertThat(readFile(target)).isEmpty();
+        checkNoTempFiles(target);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChecksumWithUnsupportedAlgorithm() {
+        Checksum.of("unknown-hash", "1234");
+    }
+}
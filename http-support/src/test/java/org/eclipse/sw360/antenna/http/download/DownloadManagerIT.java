@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import org.eclipse.sw360.antenna.http.HttpClientFactoryImpl;
+import org.eclipse.sw360.antenna.http.config.HttpClientConfig;
+import org.eclipse.sw360.antenna.http.utils.FailedRequestException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.eclipse.sw360.antenna.http.utils.HttpConstants.HEADER_RANGE;
+import static org.eclipse.sw360.antenna.http.utils.HttpConstants.STATUS_ERR_NOT_FOUND;
+import static org.eclipse.sw360.antenna.http.utils.HttpConstants.STATUS_ERR_RANGE_NOT_SATISFIABLE;
+import static org.eclipse.sw360.antenna.http.utils.HttpConstants.STATUS_PARTIAL_CONTENT;
+import static org.eclipse.sw360.antenna.http.utils.HttpUtils.waitFor;
+
+/**
+ * Integration test class for {@link DownloadManager} that downloads files
+ * from a mock server.
+ */
+public class DownloadManagerIT {
+    /**
+     * The path of the file to download.
+     */
+    private static final String FILE_PATH = "/files/source.zip";
+
+    /**
+     * The content of the file to download.
+     */
+    private static final String CONTENT = "This is the content of the test file to be downloaded.";
+
+    /**
+     * A SHA-1 hash that does not match the test content (it is the hash of
+     * an empty file).
+     */
+    private static final String WRONG_SHA1 = "da39a3ee5e6b4b0d3255bfef95601890afd80709";
+
+    /**
+     * Length of the part of the content that is available locally.
+     */
+    private static final int PART_LENGTH = 12;
+
+    @Rule
+    public WireMockRule wireMockRule = new WireMockRule(options().dynamicPort());
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * The manager to be tested.
+     */
+    private DownloadManager downloadManager;
+
+    /**
+     * The target file of the test download.
+     */
+    private Path target;
+
+    @Before
+    public void setUp() throws IOException {
+        downloadManager =
+                new DownloadManager(new HttpClientFactoryImpl().newHttpClient(HttpClientConfig.basicConfig()));
+        target = temporaryFolder.getRoot().toPath().resolve("downloads").resolve("source.zip");
+    }
+
+    /**
+     * Returns a request to download the test file.
+     *
+     * @return the download request
+     */
+    private DownloadRequest request() {
+        return DownloadRequest.of(wireMockRule.baseUrl() + FILE_PATH, target);
+    }
+
+    /**
+     * Creates a part file for the test download with the first bytes of the
+     * test content.
+     *
+     * @throws IOException if an error occurs
+     */
+    private void createPartFile() throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.write(DownloadFiles.partFile(target),
+                CONTENT.substring(0, PART_LENGTH).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks that the target file exists with the expected content and that
+     * no part file is left.
+     *
+     * @throws IOException if an error occurs
+     */
+    private void checkDownloadedFile() throws IOException {
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        assertThat(DownloadFiles.partFile(target)).doesNotExist();
+    }
+
+    @Test
+    public void testDownload() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_PATH))
+                .willReturn(aResponse().withBody(CONTENT)));
+
+        Path path = waitFor(downloadManager.download(request()));
+        assertThat(path).isEqualTo(target);
+        checkDownloadedFile();
+        wireMockRule.verify(getRequestedFor(urlPathEqualTo(FILE_PATH))
+                .withHeader(HEADER_RANGE, absent()));
+    }
+
+    @Test
+    public void testDownloadWithValidChecksum() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_PATH))
+                .willReturn(aResponse().withBody(CONTENT)));
+        String sha1 = Checksum.calculate(Checksum.ALGORITHM_SHA1, writeContentToTempFile());
+
+        waitFor(downloadManager.download(request().withChecksum(Checksum.sha1(sha1.toUpperCase()))));
+        checkDownloadedFile();
+    }
+
+    @Test
+    public void testDownloadWithInvalidChecksum() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_PATH))
+                .willReturn(aResponse().withBody(CONTENT)));
+
+        try {
+            waitFor(downloadManager.download(request().withChecksum(Checksum.sha1(WRONG_SHA1))));
+            fail("Checksum mismatch not detected!");
+        } catch (ChecksumMismatchException e) {
+            assertThat(e.getExpected().getExpectedValue()).isEqualTo(WRONG_SHA1);
+        }
+        assertThat(target).doesNotExist();
+        assertThat(DownloadFiles.partFile(target)).doesNotExist();
+    }
+
+    @Test
+    public void testDownloadIsResumed() throws IOException {
+        createPartFile();
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_PATH))
+                .withHeader(HEADER_RANGE, equalTo("bytes=" + PART_LENGTH + "-"))
+                .willReturn(aResponse().withStatus(STATUS_PARTIAL_CONTENT)
+                        .withHeader("Content-Range", "bytes " + PART_LENGTH + "-" + (CONTENT.length() - 1) +
+                                "/" + CONTENT.length())
+                        .withBody(CONTENT.substring(PART_LENGTH))));
+
+        waitFor(downloadManager.download(request()));
+        checkDownloadedFile();
+    }
+
+    @Test
+    public void testResumeWithoutRangeSupport() throws IOException {
+        createPartFile();
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_PATH))
+                .willReturn(aResponse().withBody(CONTENT)));
+
+        waitFor(downloadManager.download(request()));
+        checkDownloadedFile();
+    }
+
+    @Test
+    public void testResumeOfCompletePartFile() throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.write(DownloadFiles.partFile(target), CONTENT.getBytes(StandardCharsets.UTF_8));
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_PATH))
+                .willReturn(aResponse().withStatus(STATUS_ERR_RANGE_NOT_SATISFIABLE)));
+
+        waitFor(downloadManager.download(request()));
+        checkDownloadedFile();
+    }
+
+    @Test
+    public void testFailedDownload() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo(FILE_PATH))
+                .willReturn(aResponse().withStatus(STATUS_ERR_NOT_FOUND)));
+
+        try {
+            waitFor(downloadManager.download(request()));
+            fail("No exception thrown!");
+        } catch (FailedRequestException e) {
+            assertThat(e.getStatusCode()).isEqualTo(STATUS_ERR_NOT_FOUND);
+        }
+        assertThat(target).doesNotExist();
+    }
+
+    /**
+     * Writes the test content to a temporary file, so that its checksum can
+     * be calculated.
+     *
+     * @return the path to the file
+     * @throws IOException if an error occurs
+     */
+    private Path writeContentToTempFile() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, CONTENT.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
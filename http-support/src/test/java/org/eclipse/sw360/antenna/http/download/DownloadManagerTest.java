@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import org.eclipse.sw360.antenna.http.HttpClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DownloadManagerTest {
+    private static final String HOST1 = "host1.org";
+    private static final String HOST2 = "host2.org";
+
+    /**
+     * A mock for the HTTP client.
+     */
+    private HttpClient httpClient;
+
+    /**
+     * The manager to be tested.
+     */
+    private DownloadManager downloadManager;
+
+    @Before
+    public void setUp() {
+        httpClient = mock(HttpClient.class);
+        downloadManager = new DownloadManager(httpClient, 3, 2);
+    }
+
+    /**
+     * Submits a task to the test manager that completes when the future
+     * provided is completed.
+     *
+     * @param host   the host of the task
+     * @param future the future controlling the task
+     * @return the result future of the manager
+     */
+    private CompletableFuture<String> submitTask(String host, CompletableFuture<String> future) {
+        return downloadManager.submit(host, () -> future);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLimitsAreRejected() {
+        new DownloadManager(httpClient, 0, 1);
+    }
+
+    @Test
+    public void testDefaultLimits() {
+        DownloadManager manager = new DownloadManager(httpClient);
+
+        assertThat(manager.getHttpClient()).isEqualTo(httpClient);
+        assertThat(manager.getMaxConcurrent()).isEqualTo(DownloadManager.DEFAULT_MAX_CONCURRENT_DOWNLOADS);
+        assertThat(manager.getMaxPerHost()).isEqualTo(DownloadManager.DEFAULT_MAX_DOWNLOADS_PER_HOST);
+    }
+
+    @Test
+    public void testLimitPerHostIsApplied() {
+        List<CompletableFuture<String>> tasks = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<String> task = new CompletableFuture<>();
+            tasks.add(task);
+            results.add(submitTask(HOST1, task));
+        }
+        assertThat(downloadManager.getActiveCount()).isEqualTo(2);
+        assertThat(downloadManager.getQueuedCount()).isEqualTo(1);
+
+        tasks.get(0).complete("r0");
+        assertThat(results.get(0)).isCompletedWithValue("r0");
+        assertThat(downloadManager.getActiveCount()).isEqualTo(2);
+        assertThat(downloadManager.getQueuedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testGlobalLimitIsApplied() {
+        CompletableFuture<String> task1 = new CompletableFuture<>();
+        submitTask(HOST1, task1);
+        submitTask(HOST1, new CompletableFuture<>());
+        submitTask(HOST2, new CompletableFuture<>());
+        CompletableFuture<String> result = submitTask(HOST1, CompletableFuture.completedFuture("r"));
+        submitTask(HOST2, new CompletableFuture<>());
+        assertThat(downloadManager.getActiveCount()).isEqualTo(3);
+        assertThat(downloadManager.getQueuedCount()).isEqualTo(2);
+
+        task1.complete("done");
+        assertThat(result).isCompletedWithValue("r");
+        assertThat(downloadManager.getActiveCount()).isEqualTo(3);
+        assertThat(downloadManager.getQueuedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFailedTasksReleaseTheirSlot() throws InterruptedException {
+        CompletableFuture<String> task = new CompletableFuture<>();
+        CompletableFuture<String> result = submitTask(HOST1, task);
+        IOException exception = new IOException("Test exception");
+
+        task.completeExceptionally(exception);
+        try {
+            result.get();
+            fail("No exception thrown!");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isEqualTo(exception);
+        }
+        assertThat(downloadManager.getActiveCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testExceptionsThrownByTasksAreHandled() {
+        CompletableFuture<String> result = downloadManager.submit(HOST1, () -> {
+            throw new IllegalStateException("Test exception");
+        });
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(downloadManager.getActiveCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDownloadsToTheSameTargetAreShared() {
+        Path target = Paths.get("target", "download-test", "file.txt");
+        when(httpClient.execute(any(), any())).thenReturn(new CompletableFuture<>());
+        DownloadRequest request = DownloadRequest.of("https://" + HOST1 + "/file.txt", target);
+
+        CompletableFuture<Path> future1 = downloadManager.download(request);
+        CompletableFuture<Path> future2 = downloadManager.download(request);
+        assertThat(future2).isSameAs(future1);
+        verify(httpClient, times(1)).execute(any(), any());
+    }
+
+    @Test
+    public void testManySynchronouslyCompletingTasksDoNotOverflowTheStack() {
+        DownloadManager manager = new DownloadManager(httpClient, 1, 1);
+        CompletableFuture<String> blockingTask = new CompletableFuture<>();
+        manager.submit(HOST1, () -> blockingTask);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            results.add(manager.submit(HOST1, () -> CompletableFuture.completedFuture("r")));
+        }
+
+        blockingTask.complete("done");
+        assertThat(results).allMatch(result -> result.isDone() && !result.isCompletedExceptionally());
+        assertThat(manager.getActiveCount()).isEqualTo(0);
+        assertThat(manager.getQueuedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testConflictingDownloadsToTheSameTargetAreRejected() throws InterruptedException {
+        Path target = Paths.get("target", "download-test", "file.txt");
+        when(httpClient.execute(any(), any())).thenReturn(new CompletableFuture<>());
+        DownloadRequest request = DownloadRequest.of("https://" + HOST1 + "/file.txt", target);
+        DownloadRequest otherUri = DownloadRequest.of("https://" + HOST2 + "/file.txt", target);
+        DownloadRequest otherChecksum = request.withChecksum(Checksum.sha1("0123456789012345678901234567890123456789"));
+
+        downloadManager.download(request);
+        for (DownloadRequest conflictingRequest : new DownloadRequest[]{otherUri, otherChecksum}) {
+            try {
+                downloadManager.download(conflictingRequest).get();
+                fail("No exception thrown!");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+            }
+        }
+        verify(httpClient, times(1)).execute(any(), any());
+    }
+
+    @Test
+    public void testHostOfRequest() {
+        DownloadRequest request = DownloadRequest.of("https://" + HOST2 + ":8443/path/file.zip",
+                Paths.get("file.zip"));
+
+        assertThat(request.getHost()).isEqualTo(HOST2);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.download;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileHashCacheTest {
+    /**
+     * The content of the test file.
+     */
+    private static final String CONTENT = "Content of a file to be hashed.";
+
+    /**
+     * Modified content of the test file with the same length.
+     */
+    private static final String CONTENT_MODIFIED = "Content of a file to be HASHED.";
+
+    /**
+     * The last-modified time of the test file.
+     */
+    private static final Instant MODIFIED = Instant.parse("2020-06-10T10:00:00Z");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * The test file to be hashed.
+     */
+    private Path file;
+
+    /**
+     * The store file for the cache.
+     */
+    private Path storeFile;
+
+    @Before
+    public void setUp() throws IOException {
+        file = temporaryFolder.newFile("test.txt").toPath();
+        writeFile(CONTENT, MODIFIED);
+        storeFile = temporaryFolder.getRoot().toPath().resolve("cache").resolve("hashes");
+    }
+
+    /**
+     * Writes the test file with the given content and last-modified time.
+     *
+     * @param content  the content
+     * @param modified the last-modified time
+     * @throws IOException if an error occurs
+     */
+    private void writeFile(String content, Instant modified) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+    }
+
+    /**
+     * Creates a cache instance for the test store file with a clock that
+     * reports a time long after the modification of the test file.
+     *
+     * @return the cache instance
+     */
+    private FileHashCache createCache() {
+        return new FileHashCache(storeFile, Clock.fixed(MODIFIED.plusSeconds(3600), ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testHashIsCalculated() throws IOException {
+        FileHashCache cache = createCache();
+
+        assertThat(cache.sha1(file)).isEqualTo(Checksum.calculate(Checksum.ALGORITHM_SHA1, file));
+        assertThat(cache.hash(Checksum.ALGORITHM_SHA256, file))
+                .isEqualTo(Checksum.calculate(Checksum.ALGORITHM_SHA256, file));
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testHashOfUnchangedFileIsCached() throws IOException {
+        FileHashCache cache = createCache();
+        String hash = cache.sha1(file);
+
+        writeFile(CONTENT_MODIFIED, MODIFIED);
+        assertThat(cache.sha1(file)).isEqualTo(hash);
+    }
+
+    @Test
+    public void testHashIsRecalculatedIfFileIsModified() throws IOException {
+        FileHashCache cache = createCache();
+        String hash = cache.sha1(file);
+
+        writeFile(CONTENT_MODIFIED, MODIFIED.plusSeconds(1));
+        assertThat(cache.sha1(file)).isNotEqualTo(hash)
+                .isEqualTo(Checksum.calculate(Checksum.ALGORITHM_SHA1, file));
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testHashIsCachedForCanonicalPath() throws IOException {
+        FileHashCache cache = createCache();
+        String hash = cache.sha1(file);
+        Path otherPath = file.getParent().resolve("sub").resolve("..").resolve(file.getFileName());
+        Files.createDirectory(file.getParent().resolve("sub"));
+
+        writeFile(CONTENT_MODIFIED, MODIFIED);
+        assertThat(cache.sha1(otherPath)).isEqualTo(hash);
+    }
+
+    @Test
+    public void testRecentlyModifiedFilesAreNotCached() throws IOException {
+        FileHashCache cache = new FileHashCache(storeFile,
+                Clock.fixed(MODIFIED.plusMillis(FileHashCache.MODIFICATION_TOLERANCE_MILLIS), ZoneOffset.UTC));
+
+        cache.sha1(file);
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(storeFile).doesNotExist();
+    }
+
+    @Test
+    public void testHashesArePersisted() throws IOException {
+        String hash = createCache().sha1(file);
+
+        writeFile(CONTENT_MODIFIED, MODIFIED);
+        FileHashCache cache = createCache();
+        assertThat(cache.sha1(file)).isEqualTo(hash);
+        assertThat(Files.readAllLines(storeFile)).hasSize(1);
+    }
+
+    @Test
+    public void testInMemoryCache() throws IOException {
+        FileHashCache cache = new FileHashCache(null);
+
+        cache.sha1(file);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getStoreFile()).isNotPresent();
+    }
+
+    @Test
+    public void testInvalidLinesInStoreFileAreIgnored() throws IOException {
+        Files.createDirectories(storeFile.getParent());
+        Files.write(storeFile, Collections.singletonList("SHA-1\tnot a number\t0\thash\t/some/path"));
+        FileHashCache cache = createCache();
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.sha1(file)).isEqualTo(Checksum.calculate(Checksum.ALGORITHM_SHA1, file));
+    }
+
+    @Test
+    public void testStoreFileIsCompacted() throws IOException {
+        List<String> lines = new ArrayList<>();
+        String path = file.toRealPath().toString();
+        for (int i = 0; i < 10; i++) {
+            lines.add("SHA-1\t" + i + "\t0\thash" + i + "\t" + path);
+        }
+        Files.createDirectories(storeFile.getParent());
+        Files.write(storeFile, lines);
+        FileHashCache cache = createCache();
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(Files.readAllLines(storeFile)).containsExactly(lines.get(9));
+    }
+
+    @Test
+    public void testDefaultStoreFile() {
+        String oldValue = System.getProperty(FileHashCache.PROP_STORE_FILE);
+        try {
+            System.clearProperty(FileHashCache.PROP_STORE_FILE);
+            assertThat(FileHashCache.defaultStoreFile()).isNull();
+
+            System.setProperty(FileHashCache.PROP_STORE_FILE, "my/cache");
+            assertThat(FileHashCache.defaultStoreFile()).isEqualTo(Paths.get("my/cache"));
+
+            System.setProperty(FileHashCache.PROP_STORE_FILE, FileHashCache.STORE_NONE);
+            assertThat(FileHashCache.defaultStoreFile()).isNull();
+        } finally {
+            if (oldValue != null) {
+                System.setProperty(FileHashCache.PROP_STORE_FILE, oldValue);
+            } else {
+                System.clearProperty(FileHashCache.PROP_STORE_FILE);
+            }
+        }
+    }
+
+    @Test
+    public void testEntriesForMissingFilesAreDroppedOnLoad() throws IOException {
+        String path = file.toRealPath().toString();
+        List<String> lines = Arrays.asList("SHA-1\t1\t0\thash1\t" + path,
+                "SHA-1\t2\t0\thash2\t" + path + ".missing");
+        Files.createDirectories(storeFile.getParent());
+        Files.write(storeFile, lines);
+        FileHashCache cache = createCache();
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(Files.readAllLines(storeFile)).containsExactly(lines.get(0));
+    }
+
+    @Test
+    public void testCompactionDoesNotLeaveTemporaryFiles() throws IOException {
+        Files.createDirectories(storeFile.getParent());
+        Files.write(storeFile, Collections.singletonList("SHA-1\t1\t0\thash\t/some/missing/path"));
+        createCache().size();
+
+        try (Stream<Path> files = Files.list(storeFile.getParent())) {
+            assertThat(files.map(p -> p.getFileName().toString()))
+                    .containsOnly(storeFile.getFileName().toString(), storeFile.getFileName() + ".lock");
+        }
+    }
+
+    @Test
+    public void testForStoreFileReturnsSharedInstance() {
+        FileHashCache cache = FileHashCache.forStoreFile(storeFile);
+
+        assertThat(cache.getStoreFile()).contains(storeFile.toAbsolutePath().normalize());
+        assertThat(FileHashCache.forStoreFile(storeFile.getParent().resolve(".").resolve(storeFile.getFileName())))
+                .isSameAs(cache);
+    }
+
+    @Test
+    public void testDefaultInstanceIsNotPersistedInTests() {
+        assertThat(FileHashCache.getDefault().getStoreFile()).isNotPresent();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.http.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpMetricsCollectorTest {
+    private static final String HOST1 = "sw360.org";
+    private static final String HOST2 = "repo.maven.apache.org";
+
+    /**
+     * The collector to be tested.
+     */
+    private HttpMetricsCollector collector;
+
+    @Before
+    public void setUp() {
+        collector = new HttpMetricsCollector();
+    }
+
+    /**
+     * Creates a metrics object with the given properties.
+     *
+     * @param host   the host
+     * @param route  the route template
+     * @param status the status code
+     * @param millis the total duration in milliseconds
+     * @return the metrics object
+     */
+    private static RequestMetrics metrics(String host, String route, int status, long millis) {
+        return new RequestMetrics("GET", host, route, status, Duration.ofMillis(millis).toNanos(),
+                Duration.ofMillis(1).toNanos(), 0, 0, 0, 10, 100);
+    }
+
+    @Test
+    public void testStatisticsPerHostAndRoute() {
+        collector.requestCompleted(metrics(HOST1, "/releases/{id}", 200, 10));
+        collector.requestCompleted(metrics(HOST1, "/releases/{id}", 404, 20));
+        collector.requestCompleted(metrics(HOST1, "/components", 200, 300));
+        collector.requestCompleted(metrics(HOST2, "/maven2", RequestMetrics.NO_STATUS, 1));
+
+        assertThat(collector.getRequestCount()).isEqualTo(4);
+        Map<String, RequestStatistics> hostStatistics = collector.getHostStatistics();
+        assertThat(hostStatistics.keySet()).containsExactly(HOST2, HOST1);
+        RequestStatistics stats1 = hostStatistics.get(HOST1);
+        assertThat(stats1.getRequestCount()).isEqualTo(3);
+        assertThat(stats1.getLatency().getTotal()).isEqualTo(Duration.ofMillis(330));
+        assertThat(stats1.getLatency().getMax()).isEqualTo(Duration.ofMillis(300));
+        assertThat(stats1.getQueueWait().getTotal()).isEqualTo(Duration.ofMillis(3));
+        assertThat(stats1.getBytesSent()).isEqualTo(30);
+        assertThat(stats1.getBytesReceived()).isEqualTo(300);
+        assertThat(stats1.getStatusCodeCounts()).containsEntry(200, 2L).containsEntry(404, 1L);
+
+        RequestStatistics routeStats = collector.getRouteStatistics().get("GET " + HOST1 + "/releases/{id}");
+        assertThat(routeStats.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSlowestRoutes() {
+        collector.requestCompleted(metrics(HOST1, "/fast", 200, 10));
+        collector.requestCompleted(metrics(HOST1, "/slow", 200, 1000));
+        collector.requestCompleted(metrics(HOST1, "/medium", 200, 100));
+        collector.requestCompleted(metrics(HOST1, "/medium", 200, 100));
+
+        assertThat(collector.getSlowestRoutes(2))
+                .containsExactly("GET " + HOST1 + "/slow", "GET " + HOST1 + "/medium");
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(Duration.ofMillis(3).toNanos());
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(Duration.ofMillis(70000).toNanos());
+        }
+
+        assertThat(histogram.getPercentile(0.5)).isEqualTo(Duration.ofMillis(5));
+        assertThat(histogram.getPercentile(0.9)).isEqualTo(Duration.ofMillis(5));
+        assertThat(histogram.getPercentile(0.99)).isEqualTo(Duration.ofMillis(70000));
+        assertThat(new LatencyHistogram().getPercentile(0.5)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void testJsonSummary() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        collector.requestCompleted(metrics(HOST1, "/releases", 200, 42));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        collector.writeJsonSummary(mapper, out);
+        JsonNode json = mapper.readTree(out.toByteArray());
+        assertThat(json.get("requests").asLong()).isEqualTo(1);
+        JsonNode hostNode = json.get("hosts").get(HOST1);
+        assertThat(hostNode.get("latency").get("maxMs").asLong()).isEqualTo(42);
+        assertThat(hostNode.get("statusCodes").get("200").asLong()).isEqualTo(1);
+        assertThat(json.get("routes").has("GET " + HOST1 + "/releases")).isTrue();
+    }
+
+    @Test
+    public void testFormatSummary() {
+        collector.requestCompleted(metrics(HOST1, "/releases", 200, 42));
+
+        String summary = collector.formatSummary(5);
+        assertThat(summary).startsWith("HTTP requests: 1")
+                .contains(HOST1 + ": 1 requests")
+                .contains("Slowest routes:")
+                .contains("GET " + HOST1 + "/releases");
+    }
+}
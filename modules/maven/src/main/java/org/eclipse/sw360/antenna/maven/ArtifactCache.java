@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.maven;
+
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.ChecksumMismatchException;
+import org.eclipse.sw360.antenna.http.download.DownloadFiles;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * A local cache for artifacts downloaded from Maven repositories that can be
+ * shared between multiple builds.
+ * </p>
+ * <p>
+ * The cache is content-addressed: the files are stored under their SHA-1
+ * hash in the <em>blobs</em> sub directory. An index maps the URLs the files
+ * have been downloaded from to their hashes. So a file is stored only once,
+ * even if it is available from multiple repositories. When a file is
+ * requested from the cache, its hash is checked against the name it is
+ * stored under; corrupt files are removed, so that they are downloaded
+ * again.
+ * </p>
+ * <p>
+ * In addition, the cache records URLs for which no file could be found.
+ * These negative entries expire after a configurable time, so that
+ * artifacts published later are eventually detected.
+ * </p>
+ * <p>
+ * All files are written atomically. Multiple builds running on the same
+ * machine can access the cache concurrently: operations on a URL can be
+ * guarded by {@link #withLock(String, CacheAction)}, which acquires a lock
+ * both in the current process and on a lock file.
+ * </p>
+ * <p>
+ * A default instance shared by all components can be obtained via
+ * {@link #getDefault()}. Per default, it is disabled, as the cache has no
+ * eviction and would otherwise grow without limit. Caching has to be enabled
+ * explicitly by setting the system property {@value #PROP_CACHE_DIRECTORY}
+ * to the cache directory. A value of {@value #CACHE_NONE} for this property
+ * also disables the default instance.
+ * </p>
+ * <p>
+ * Implementation note: This class is thread-safe.
+ * </p>
+ */
+public final class ArtifactCache {
+    /**
+     * Name of the system property defining the directory of the default
+     * instance.
+     */
+    public static final String PROP_CACHE_DIRECTORY = "antenna.artifact.cache";
+
+    /**
+     * A special value for the cache directory property to disable caching.
+     */
+    public static final String CACHE_NONE = "none";
+
+    /**
+     * The default time after which negative entries expire.
+     */
+    public static final Duration DEFAULT_MISSING_TTL = Duration.ofHours(24);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactCache.class);
+
+    private static final String BLOBS_DIRECTORY = "blobs";
+    private static final String INDEX_DIRECTORY = "index";
+    private static final String MISSING_DIRECTORY = "missing";
+    private static final String LOCKS_DIRECTORY = "locks";
+    private static final String STAGING_DIRECTORY = "tmp";
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final int SHA1_LENGTH = 40;
+
+    /**
+     * The root directory of the cache; <strong>null</strong> if the cache is
+     * disabled.
+     */
+    private final Path cacheDirectory;
+
+    /**
+     * The cache for the hashes of the files in the cache.
+     */
+    private final FileHashCache hashCache;
+
+    /**
+     * The clock to determine whether negative entries have expired.
+     */
+    private final Clock clock;
+
+    /**
+     * The time after which negative entries expire.
+     */
+    private final Duration missingTtl;
+
+    /**
+     * The locks for URLs held by threads of this process.
+     */
+    private final ConcurrentMap<String, ReentrantLock> localLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of {@code ArtifactCache} with all dependencies.
+     *
+     * @param cacheDirectory the cache directory (may be <strong>null</strong>)
+     * @param hashCache      the cache for file hashes
+     * @param clock          the clock
+     * @param missingTtl     the time after which negative entries expire
+     */
+    ArtifactCache(Path cacheDirectory, FileHashCache hashCache, Clock clock, Duration missingTtl) {
+        this.cacheDirectory = cacheDirectory;
+        this.hashCache = hashCache;
+        this.clock = clock;
+        this.missingTtl = missingTtl;
+    }
+
+    /**
+     * Creates a new instance of {@code ArtifactCache} that stores its data in
+     * the given directory. If the directory is <strong>null</strong>, the
+     * cache is disabled.
+     *
+     * @param cacheDirectory the cache directory (may be <strong>null</strong>)
+     */
+    public ArtifactCache(Path cacheDirectory) {
+        this(cacheDirectory, FileHashCache.getDefault(), Clock.systemUTC(), DEFAULT_MISSING_TTL);
+    }
+
+    /**
+     * Returns the default instance of this class, which is shared by all
+     * components that download artifacts from Maven repositories.
+     *
+     * @return the default {@code ArtifactCache}
+     */
+    public static ArtifactCache getDefault() {
+        return DefaultInstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Returns an {@code Optional} with the directory of this cache. If the
+     * cache is disabled, result is an empty {@code Optional}.
+     *
+     * @return an {@code Optional} with the cache directory
+     */
+    public Optional<Path> getCacheDirectory() {
+        return Optional.ofNullable(cacheDirectory);
+    }
+
+    /**
+     * Returns a flag whether this cache is enabled. A disabled cache does not
+     * store any data.
+     *
+     * @return a flag whether this cache is enabled
+     */
+    public boolean isEnabled() {
+        return cacheDirectory != null;
+    }
+
+    /**
+     * Returns an {@code Optional} with the cached file that has been
+     * downloaded from the given URL. The file is verified against its hash;
+     * if it is corrupt, it is removed, and an empty {@code Optional} is
+     * returned.
+     *
+     * @param url the URL of the file
+     * @return an {@code Optional} with the path to the cached file
+     * @throws IOException if an error occurs when accessing the cache
+     */
+    public Optional<Path> get(String url) throws IOException {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        Path indexFile = indexFile(url);
+        if (!Files.isRegularFile(indexFile)) {
+            return Optional.empty();
+        }
+        String sha1 = new String(Files.readAllBytes(indexFile), StandardCharsets.UTF_8).trim();
+        Path blob = sha1.length() == SHA1_LENGTH ? blobFile(sha1) : null;
+        if (blob == null || !Files.isRegularFile(blob)) {
+            Files.deleteIfExists(indexFile);
+            return Optional.empty();
+        }
+        if (!sha1.equals(hashCache.sha1(blob))) {
+            LOGGER.warn("Removing corrupt file {} from the artifact cache.", blob);
+            Files.deleteIfExists(blob);
+            Files.deleteIfExists(indexFile);
+            return Optional.empty();
+        }
+        return Optional.of(blob);
+    }
+
+    /**
+     * Adds a file downloaded from the given URL to this cache. The file is
+     * verified against the checksum provided (if any) and then moved to its
+     * location in the cache. If a file with the same content is already
+     * cached, the downloaded file is just deleted. Any negative entry for
+     * the URL is removed.
+     *
+     * @param url      the URL the file was downloaded from
+     * @param file     the downloaded file
+     * @param checksum the expected checksum (may be <strong>null</strong>)
+     * @return the path to the file in the cache
+     * @throws IOException if an error occurs or the checksum does not match
+     */
+    public Path put(String url, Path file, Checksum checksum) throws IOException {
+        checkEnabled();
+        String sha1 = Checksum.calculate(Checksum.ALGORITHM_SHA1, file);
+        if (checksum != null && !checksum.getExpectedValue().equals(Checksum.ALGORITHM_SHA1
+                .equals(checksum.getAlgorithm()) ? sha1 : Checksum.calculate(checksum.getAlgorithm(), file))) {
+            Files.deleteIfExists(file);
+            throw new ChecksumMismatchException(file, checksum, sha1);
+        }
+
+        Path blob = blobFile(sha1);
+        Files.createDirectories(blob.getParent());
+        if (Files.isRegularFile(blob)) {
+            Files.delete(file);
+        } else {
+            DownloadFiles.commit(file, blob, null, true);
+        }
+
+        Path indexFile = indexFile(url);
+        Files.createDirectories(indexFile.getParent());
+        DownloadFiles.storeAtomically(new ByteArrayInputStream(sha1.getBytes(StandardCharsets.UTF_8)),
+                indexFile, null, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(missingFile(url));
+        return blob;
+    }
+
+    /**
+     * Returns a flag whether the file at the given URL is known to be
+     * missing. This is the case if a negative entry has been recorded for
+     * this URL that has not yet expired.
+     *
+     * @param url the URL of the file
+     * @return a flag whether this file is known to be missing
+     */
+    public boolean isMissing(String url) {
+        if (!isEnabled()) {
+            return false;
+        }
+        try {
+            Path missingFile = missingFile(url);
+            return Files.isRegularFile(missingFile) &&
+                    Files.getLastModifiedTime(missingFile).toMillis() > clock.millis() - missingTtl.toMillis();
+        } catch (IOException e) {
+            LOGGER.debug("Could not check negative cache entry for {}.", url, e);
+            return false;
+        }
+    }
+
+    /**
+     * Records that no file could be found at the given URL. Errors when
+     * writing the negative entry are logged, but otherwise ignored.
+     *
+     * @param url the URL of the missing file
+     */
+    public void markMissing(String url) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            Path missingFile = missingFile(url);
+            Files.createDirectories(missingFile.getParent());
+            DownloadFiles.storeAtomically(new ByteArrayInputStream(url.getBytes(StandardCharsets.UTF_8)),
+                    missingFile, null, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(missingFile, FileTime.fromMillis(clock.millis()));
+        } catch (IOException e) {
+            LOGGER.warn("Could not record missing file {} in the artifact cache.", url, e);
+        }
+    }
+
+    /**
+     * Returns the path of a staging file in this cache to which the file at
+     * the given URL can be downloaded. The path is stable, so that an
+     * interrupted download can be resumed.
+     *
+     * @param url the URL of the file
+     * @return the path to the staging file
+     * @throws IOException if the staging directory cannot be created
+     */
+    public Path stagingFile(String url) throws IOException {
+        checkEnabled();
+        Path directory = cacheDirectory.resolve(STAGING_DIRECTORY);
+        Files.createDirectories(directory);
+        return directory.resolve(urlKey(url));
+    }
+
+    /**
+     * Executes the given action while holding an exclusive lock for the
+     * given URL. The lock is held both in the current process and on a lock
+     * file in the cache directory, so that other processes using the same
+     * cache wait until the action is complete. If the cache is disabled, the
+     * action is executed directly.
+     *
+     * @param url    the URL to lock
+     * @param action the action to execute
+     * @param <T>    the result type of the action
+     * @return the result of the action
+     * @throws IOException if the lock cannot be obtained or the action fails
+     */
+    public <T> T withLock(String url, CacheAction<T> action) throws IOException {
+        if (!isEnabled()) {
+            return action.execute();
+        }
+
+        String key = urlKey(url);
+        ReentrantLock localLock = localLocks.computeIfAbsent(key, k -> new ReentrantLock());
+        localLock.lock();
+        try {
+            Path lockFile = cacheDirectory.resolve(LOCKS_DIRECTORY).resolve(key + LOCK_SUFFIX);
+            Files.createDirectories(lockFile.getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                return action.execute();
+            }
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    private void checkEnabled() {
+        if (!isEnabled()) {
+            throw new IllegalStateException("The artifact cache is disabled.");
+        }
+    }
+
+    private Path blobFile(String sha1) {
+        return cacheDirectory.resolve(BLOBS_DIRECTORY).resolve(sha1.substring(0, 2)).resolve(sha1);
+    }
+
+    private Path indexFile(String url) {
+        return cacheDirectory.resolve(INDEX_DIRECTORY).resolve(urlKey(url));
+    }
+
+    private Path missingFile(String url) {
+        return cacheDirectory.resolve(MISSING_DIRECTORY).resolve(urlKey(url));
+    }
+
+    /**
+     * Generates a key for the given URL that can be used as file name.
+     *
+     * @param url the URL
+     * @return the key for this URL
+     */
+    private static String urlKey(String url) {
+        return Checksum.calculate(Checksum.ALGORITHM_SHA1, url.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Determines the directory of the default instance based on the system
+     * property. If the property is not set, the default instance is
+     * disabled.
+     *
+     * @return the directory of the default instance (can be
+     * <strong>null</strong>)
+     */
+    static Path defaultCacheDirectory() {
+        String property = System.getProperty(PROP_CACHE_DIRECTORY);
+        return property == null || CACHE_NONE.equalsIgnoreCase(property) ? null : Paths.get(property);
+    }
+
+    /**
+     * A functional interface for actions executed under the lock of a URL.
+     *
+     * @param <T> the result type of the action
+     */
+    @FunctionalInterface
+    public interface CacheAction<T> {
+        /**
+         * Executes this action.
+         *
+         * @return the result of the action
+         * @throws IOException if an error occurs
+         */
+        T execute() throws IOException;
+    }
+
+    /**
+     * A holder class for the lazy creation of the default instance.
+     */
+    private static final class DefaultInstanceHolder {
+        static final ArtifactCache INSTANCE = new ArtifactCache(defaultCacheDirectory());
+    }
+}
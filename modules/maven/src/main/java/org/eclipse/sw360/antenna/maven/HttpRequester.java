@@ -12,19 +12,48 @@
 package org.eclipse.sw360.antenna.maven;
 
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.Response;
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.DownloadFiles;
+import org.eclipse.sw360.antenna.http.utils.FailedRequestException;
+import org.eclipse.sw360.antenna.http.utils.HttpConstants;
+import org.eclipse.sw360.antenna.http.utils.HttpUtils;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.util.HttpHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
 
 /**
+ * <p>
  * Requests jar files for artifacts by making HTTP requests.
+ * </p>
+ * <p>
+ * The files are looked up in the user repository (if configured) and then
+ * in Maven Central. Downloads go through an {@link ArtifactCache}, which can
+ * be shared by multiple builds: files already contained in the cache are
+ * copied from there, and URLs known to be missing are skipped. Newly
+ * downloaded files are verified against the <em>.sha1</em> file - or, if it
+ * does not exist, the <em>.sha256</em> file - published by the repository,
+ * before they are added to the cache. The checksum is only requested after
+ * the jar file has been downloaded successfully, so that probing for files
+ * that do not exist costs a single request.
+ * </p>
  */
 public class HttpRequester extends IArtifactRequester {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpRequester.class);
@@ -32,20 +61,38 @@ public class HttpRequester extends IArtifactRequester {
     private static final String ARTIFACT_ID_PLACEHOLDER = "{artifactId}";
     private static final String VERSION_PLACEHOLDER = "{version}";
     private static final String MAVEN_CENTRAL_URL = "https://repo.maven.apache.org/maven2/" + GROUP_ID_PLACEHOLDER + "/" + ARTIFACT_ID_PLACEHOLDER + "/" + VERSION_PLACEHOLDER + "/";
+    private static final String SHA1_SUFFIX = ".sha1";
+    private static final String SHA256_SUFFIX = ".sha256";
+    private static final String DOWNLOAD_SUFFIX = ".download";
+    private static final Pattern HEX_PATTERN = Pattern.compile("[0-9a-fA-F]{40}|[0-9a-fA-F]{64}");
 
+    private final HttpClient httpClient;
     private HttpHelper httpHelper;
-    private Optional<URL> sourceRepositoryUrl;
+    private final Optional<URL> sourceRepositoryUrl;
+    private final ArtifactCache artifactCache;
 
     public HttpRequester(HttpClient httpClient, URL sourceRepositoryUrl) {
-        super();
-        httpHelper = new HttpHelper(httpClient);
-        this.sourceRepositoryUrl = Optional.of(sourceRepositoryUrl);
+        this(httpClient, Optional.of(sourceRepositoryUrl), ArtifactCache.getDefault());
     }
 
     public HttpRequester(HttpClient httpClient) {
+        this(httpClient, Optional.empty(), ArtifactCache.getDefault());
+    }
+
+    /**
+     * Creates a new instance of {@code HttpRequester} that uses the given
+     * {@code ArtifactCache}.
+     *
+     * @param httpClient          the HTTP client
+     * @param sourceRepositoryUrl the optional URL of the user repository
+     * @param artifactCache       the cache for downloaded files
+     */
+    public HttpRequester(HttpClient httpClient, Optional<URL> sourceRepositoryUrl, ArtifactCache artifactCache) {
         super();
+        this.httpClient = httpClient;
         httpHelper = new HttpHelper(httpClient);
-        this.sourceRepositoryUrl = Optional.empty();
+        this.sourceRepositoryUrl = sourceRepositoryUrl;
+        this.artifactCache = artifactCache;
     }
 
     @Override
@@ -58,21 +105,29 @@ public class HttpRequester extends IArtifactRequester {
             return Optional.of(localJarFile);
         }
 
-        Optional<File> downloadedFile = downloadFileFromUserUrl(mavenCoordinate, targetDirectory, jarBaseName);
-
-        if (!downloadedFile.isPresent()) {
-            String mavenCentralJarUrl = getJarUrl(mavenCoordinate, jarBaseName, MAVEN_CENTRAL_URL);
-            return tryFileDownload(mavenCentralJarUrl, targetDirectory, jarBaseName);
+        for (String jarUrl : getJarUrls(mavenCoordinate, jarBaseName)) {
+            Optional<File> file = tryFileDownload(jarUrl, localJarFile.toPath());
+            if (file.isPresent()) {
+                return file;
+            }
         }
-        return downloadedFile;
+        return Optional.empty();
     }
 
-    private Optional<File> downloadFileFromUserUrl(Coordinate mavenCoordinate, Path targetDirectory, String jarBaseName) {
-        if (sourceRepositoryUrl.isPresent()) {
-            String jarUrl = convertToJarUrlTemplate(mavenCoordinate, jarBaseName, sourceRepositoryUrl.get().toString());
-            return tryFileDownload(jarUrl, targetDirectory, jarBaseName);
-        }
-        return Optional.empty();
+    /**
+     * Returns the URLs where to look for the given jar file in the order they
+     * should be tried.
+     *
+     * @param mavenCoordinate the coordinate of the artifact
+     * @param jarBaseName     the name of the jar file
+     * @return a list with the URLs of the jar file
+     */
+    private List<String> getJarUrls(Coordinate mavenCoordinate, String jarBaseName) {
+        List<String> jarUrls = new ArrayList<>(2);
+        sourceRepositoryUrl.ifPresent(url ->
+                jarUrls.add(convertToJarUrlTemplate(mavenCoordinate, jarBaseName, url.toString())));
+        jarUrls.add(getJarUrl(mavenCoordinate, jarBaseName, MAVEN_CENTRAL_URL));
+        return jarUrls;
     }
 
     private String convertToJarUrlTemplate(Coordinate mavenCoordinate, String jarBaseName, String repoTemplate) {
@@ -82,16 +137,131 @@ public class HttpRequester extends IArtifactRequester {
         return getJarUrl(mavenCoordinate, jarBaseName, enrichedTemplate);
     }
 
-    private Optional<File> tryFileDownload(String jarUrl, Path targetDirectory, String jarBaseName) {
+    private Optional<File> tryFileDownload(String jarUrl, Path target) {
+        if (artifactCache.isMissing(jarUrl)) {
+            LOGGER.debug("Skipping " + jarUrl + ", which is known to be missing");
+            return Optional.empty();
+        }
+
         try {
-            LOGGER.debug("HttpRequester with download path " + jarUrl);
-            return Optional.ofNullable(httpHelper.downloadFile(jarUrl, targetDirectory, jarBaseName));
+            return artifactCache.withLock(jarUrl, () -> fetchFile(jarUrl, target));
         } catch (IOException e) {
             LOGGER.warn("Failed to find jar: ", e);
             return Optional.empty();
         }
     }
 
+    /**
+     * Obtains the file at the given URL and stores it at the target path.
+     * The file is taken from the cache if possible; otherwise, it is
+     * downloaded and verified. This method is called while holding the lock
+     * for the URL.
+     *
+     * @param jarUrl the URL of the file
+     * @param target the target path
+     * @return an {@code Optional} with the file; empty if it does not exist
+     * @throws IOException if an error occurs
+     */
+    private Optional<File> fetchFile(String jarUrl, Path target) throws IOException {
+        Optional<Path> cachedFile = artifactCache.get(jarUrl);
+        if (cachedFile.isPresent()) {
+            LOGGER.debug("Using cached file " + cachedFile.get() + " for " + jarUrl);
+            return Optional.of(copyToTarget(cachedFile.get(), target));
+        }
+        if (artifactCache.isMissing(jarUrl)) {
+            return Optional.empty();
+        }
+
+        LOGGER.debug("HttpRequester with download path " + jarUrl);
+        Path downloadFile = artifactCache.isEnabled() ? artifactCache.stagingFile(jarUrl) :
+                target.resolveSibling(target.getFileName() + DOWNLOAD_SUFFIX);
+        File downloadedFile;
+        try {
+            downloadedFile = httpHelper.downloadFile(jarUrl, downloadFile.getParent(),
+                    downloadFile.getFileName().toString());
+        } catch (FailedRequestException e) {
+            if (e.getStatusCode() == HttpConstants.STATUS_ERR_NOT_FOUND) {
+                LOGGER.debug("File " + jarUrl + " does not exist");
+                artifactCache.markMissing(jarUrl);
+                return Optional.empty();
+            }
+            throw e;
+        }
+        if (downloadedFile == null) {
+            return Optional.empty();
+        }
+
+        Checksum checksum = HttpUtils.waitFor(fetchChecksum(jarUrl)).orElse(null);
+        if (checksum == null) {
+            LOGGER.debug("No checksum available for " + jarUrl + ", file is not verified");
+        }
+        if (artifactCache.isEnabled()) {
+            Path cachedPath = artifactCache.put(jarUrl, downloadedFile.toPath(), checksum);
+            return Optional.of(copyToTarget(cachedPath, target));
+        }
+        return Optional.of(DownloadFiles.commit(downloadedFile.toPath(), target, checksum, true).toFile());
+    }
+
+    /**
+     * Copies a file from the cache atomically to its target location.
+     *
+     * @param cachedFile the file in the cache
+     * @param target     the target path
+     * @return the target file
+     * @throws IOException if an error occurs
+     */
+    private static File copyToTarget(Path cachedFile, Path target) throws IOException {
+        try (InputStream in = Files.newInputStream(cachedFile)) {
+            return DownloadFiles.storeAtomically(in, target, null, StandardCopyOption.REPLACE_EXISTING).toFile();
+        }
+    }
+
+    /**
+     * Requests the checksum published for the file at the given URL. The
+     * SHA-1 checksum is tried first, then the SHA-256 checksum. If neither
+     * is available, the resulting future completes with an empty
+     * {@code Optional}; it never fails.
+     *
+     * @param jarUrl the URL of the file
+     * @return a future with the checksum of the file
+     */
+    private CompletableFuture<Optional<Checksum>> fetchChecksum(String jarUrl) {
+        return fetchChecksum(jarUrl + SHA1_SUFFIX, Checksum.ALGORITHM_SHA1)
+                .thenCompose(sha1 -> sha1.isPresent() ? CompletableFuture.completedFuture(sha1) :
+                        fetchChecksum(jarUrl + SHA256_SUFFIX, Checksum.ALGORITHM_SHA256));
+    }
+
+    private CompletableFuture<Optional<Checksum>> fetchChecksum(String checksumUrl, String algorithm) {
+        return httpClient.execute(HttpUtils.get(checksumUrl), response -> parseChecksum(response, algorithm))
+                .exceptionally(e -> {
+                    LOGGER.debug("Could not fetch checksum " + checksumUrl, e);
+                    return Optional.empty();
+                });
+    }
+
+    /**
+     * Extracts the checksum from the response of a checksum request. The
+     * files contain the hash value in hex, optionally followed by the file
+     * name.
+     *
+     * @param response  the response
+     * @param algorithm the hash algorithm
+     * @return an {@code Optional} with the checksum
+     * @throws IOException if the response cannot be read
+     */
+    private static Optional<Checksum> parseChecksum(Response response, String algorithm) throws IOException {
+        if (!response.isSuccess()) {
+            return Optional.empty();
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.bodyStream(),
+                StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            String value = line != null ? line.trim().split("\\s+")[0] : "";
+            return HEX_PATTERN.matcher(value).matches() ? Optional.of(Checksum.of(algorithm, value)) :
+                    Optional.empty();
+        }
+    }
+
     private String getJarUrl(Coordinate mavenCoordinate, String remoteFileName, String repoTemplate) {
         // Construct URL (substitute in groupID, artifactID and version
         // NOTE: There should be no dots in the groupID. Dots delimit
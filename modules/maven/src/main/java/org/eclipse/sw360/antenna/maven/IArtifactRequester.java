@@ -14,6 +14,9 @@ import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -34,6 +37,37 @@ public abstract class IArtifactRequester {
      */
     public abstract Optional<File> requestFile(Coordinate mavenCoordinate, Path targetDirectory, ClassifierInformation classifierInformation);
 
+    /**
+     * Requests the jar files of multiple artifacts with the same classifier.
+     * This default implementation calls {@link #requestFile(Coordinate, Path, ClassifierInformation)}
+     * for each artifact. Requesters for which a single request is expensive
+     * override it to obtain all files in one step. Such requesters may leave
+     * out coordinates they could not process from the result; the files of
+     * these artifacts have to be requested individually.
+     *
+     * @param mavenCoordinates      Identify the artifacts for which the jars are requested.
+     * @param targetDirectory       Where the jar files will be stored.
+     * @param classifierInformation Information on the classifier (source or not and name).
+     * @return A map with the jar files found for the processed coordinates.
+     */
+    public Map<Coordinate, Optional<File>> requestFiles(Collection<Coordinate> mavenCoordinates, Path targetDirectory, ClassifierInformation classifierInformation) {
+        Map<Coordinate, Optional<File>> files = new LinkedHashMap<>();
+        for (Coordinate mavenCoordinate : mavenCoordinates) {
+            files.computeIfAbsent(mavenCoordinate, coordinate -> requestFile(coordinate, targetDirectory, classifierInformation));
+        }
+        return files;
+    }
+
+    /**
+     * Returns a flag whether this requester benefits from requesting multiple
+     * files at once via {@link #requestFiles(Collection, Path, ClassifierInformation)}.
+     *
+     * @return true if batch requests are preferred
+     */
+    public boolean supportsBatchRequests() {
+        return false;
+    }
+
     String getExpectedJarBaseName(Coordinate mavenCoordinate, ClassifierInformation classifierInformation) {
         return mavenCoordinate.getName() + "-" + mavenCoordinate.getVersion()
                 + (classifierInformation.classifier.isEmpty() ? JAR_EXTENSION : "-" + classifierInformation.classifier + JAR_EXTENSION);
@@ -20,16 +20,51 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
+ * <p>
  * Requests jar files for artifacts by using Maven Invoker. Use of this class
  * requires Maven to be installed locally.
  * See http://maven.apache.org/shared/maven-invoker/usage.html
+ * </p>
+ * <p>
+ * Starting Maven is expensive. Therefore, this class supports batch
+ * requests: the artifacts are listed as dependencies in a temporary POM,
+ * and their jars are copied to the target directory by a single invocation
+ * of the {@code dependency:copy-dependencies} goal. Artifacts without a jar
+ * for the requested classifier are skipped by this goal. If an invocation
+ * fails, e.g. because an artifact cannot be resolved at all, the batch is
+ * split into halves, which are requested again. Failed batches that are too
+ * small to be split further are not part of the result; so the caller can
+ * request these artifacts individually, typically in parallel. If an
+ * invocation succeeds, but the file of an artifact is missing afterwards,
+ * this artifact is requested individually right away.
+ * </p>
+ * <p>
+ * The batch POM is a temporary file outside of the project; so the target
+ * directory is always passed to Maven as an absolute path.
+ * </p>
+ * <p>
+ * The dependencies in the POM exclude all their transitive dependencies.
+ * Note that the goal resolves the declared artifacts themselves in order to
+ * find the files with the requested classifier; so a batch for source jars
+ * also downloads the binary jars and the (parent) POMs of its artifacts to
+ * the local repository.
+ * </p>
  */
 public class MavenInvokerRequester extends IArtifactRequester {
 
@@ -43,6 +78,23 @@ public class MavenInvokerRequester extends IArtifactRequester {
     private static final String MVN_ARG_CLASSIFIER = "\"-Dclassifier=%s\"";
     private static final String MVN_ARG_REPOS = "\"-DremoteRepositories=%s\"";
     private static final String MVN_DOWNLOAD_CMD = "dependency:get --quiet";
+    private static final String MVN_ARG_OUTPUT_DIR = "\"-DoutputDirectory=%s\"";
+    private static final String MVN_ARG_EXCLUDE_TRANSITIVE = "-DexcludeTransitive=true";
+    private static final String MVN_ARG_IGNORE_MISSING_CLASSIFIER = "-Dmdep.failOnMissingClassifierArtifact=false";
+    private static final String MVN_BATCH_DOWNLOAD_CMD = "dependency:copy-dependencies --quiet";
+    private static final String BATCH_POM_PREFIX = "antenna-batch-";
+
+    /**
+     * The maximum number of artifacts resolved by a single Maven invocation.
+     */
+    static final int MAX_BATCH_SIZE = 200;
+
+    /**
+     * The size up to which failed batches are not split further. The
+     * artifacts of such batches are left to the caller.
+     */
+    static final int MIN_SPLIT_BATCH_SIZE = 8;
+
     private final File basedir;
 
     private DefaultInvoker defaultInvoker;
@@ -91,6 +143,184 @@ public class MavenInvokerRequester extends IArtifactRequester {
         return Optional.of(getExpectedJarFile(mavenCoordinate, targetDirectory, classifierInformation));
     }
 
+    @Override
+    public boolean supportsBatchRequests() {
+        return true;
+    }
+
+    @Override
+    public Map<Coordinate, Optional<File>> requestFiles(Collection<Coordinate> mavenCoordinates, Path targetDirectory, ClassifierInformation classifierInformation) {
+        Map<Coordinate, Optional<File>> files = new LinkedHashMap<>();
+        List<Coordinate> coordinatesToRequest = new ArrayList<>();
+        for (Coordinate mavenCoordinate : new LinkedHashSet<>(mavenCoordinates)) {
+            File expectedJarFile = getExpectedJarFile(mavenCoordinate, targetDirectory, classifierInformation);
+            if (expectedJarFile.exists()) {
+                files.put(mavenCoordinate, Optional.of(expectedJarFile));
+            } else {
+                coordinatesToRequest.add(mavenCoordinate);
+            }
+        }
+
+        for (List<Coordinate> batch : createBatches(coordinatesToRequest)) {
+            requestBatch(batch, targetDirectory, classifierInformation, files);
+        }
+        return files;
+    }
+
+    /**
+     * Requests the files of a batch with a single Maven invocation and adds
+     * the results to the given map. If the invocation fails, the batch is
+     * split into halves, which are requested recursively, until the batches
+     * become too small. The artifacts of such small failed batches are not
+     * added to the map. Artifacts whose files are missing after a successful
+     * invocation are requested individually.
+     *
+     * @param batch                 the coordinates of the batch
+     * @param targetDirectory       where the jar files will be stored
+     * @param classifierInformation information on the classifier
+     * @param files                 the map for the results
+     */
+    private void requestBatch(List<Coordinate> batch, Path targetDirectory, ClassifierInformation classifierInformation,
+                              Map<Coordinate, Optional<File>> files) {
+        LOGGER.debug("Requesting " + batch.size() + " artifacts with a single Maven invocation");
+        if (callMavenInvokerBatch(batch, targetDirectory, classifierInformation.classifier)) {
+            for (Coordinate mavenCoordinate : batch) {
+                Optional<File> file = getBatchResult(mavenCoordinate, targetDirectory, classifierInformation);
+                files.put(mavenCoordinate, file.isPresent() ? file :
+                        requestFile(mavenCoordinate, targetDirectory, classifierInformation));
+            }
+        } else if (batch.size() > MIN_SPLIT_BATCH_SIZE) {
+            int middle = batch.size() / 2;
+            requestBatch(batch.subList(0, middle), targetDirectory, classifierInformation, files);
+            requestBatch(batch.subList(middle, batch.size()), targetDirectory, classifierInformation, files);
+        } else {
+            LOGGER.debug("Batch request failed, " + batch.size() + " artifacts have to be requested individually");
+        }
+    }
+
+    /**
+     * Splits the given coordinates into batches that can be resolved by a
+     * single Maven invocation. A POM must not contain the same artifact in
+     * different versions; so such coordinates are assigned to different
+     * batches.
+     *
+     * @param mavenCoordinates the coordinates to be requested
+     * @return a list with batches of coordinates
+     */
+    static List<List<Coordinate>> createBatches(Collection<Coordinate> mavenCoordinates) {
+        List<List<Coordinate>> batches = new ArrayList<>();
+        List<Set<String>> batchArtifactKeys = new ArrayList<>();
+        for (Coordinate mavenCoordinate : mavenCoordinates) {
+            String artifactKey = mavenCoordinate.getNamespace() + ":" + mavenCoordinate.getName();
+            int index = 0;
+            while (index < batches.size() && (batches.get(index).size() >= MAX_BATCH_SIZE ||
+                    batchArtifactKeys.get(index).contains(artifactKey))) {
+                index++;
+            }
+            if (index == batches.size()) {
+                batches.add(new ArrayList<>());
+                batchArtifactKeys.add(new HashSet<>());
+            }
+            batches.get(index).add(mavenCoordinate);
+            batchArtifactKeys.get(index).add(artifactKey);
+        }
+        return batches;
+    }
+
+    private Optional<File> getBatchResult(Coordinate mavenCoordinate, Path targetDirectory, ClassifierInformation classifierInformation) {
+        File expectedJarFile = getExpectedJarFile(mavenCoordinate, targetDirectory, classifierInformation);
+        if (!expectedJarFile.exists()) {
+            String jarType = classifierInformation.isSource ? "sources jar" : classifierInformation.classifier + " jar";
+            LOGGER.debug("Failed to find " + jarType + " for artifact " + mavenCoordinate.toString() +
+                    " after batch request, requesting it individually.");
+            return Optional.empty();
+        }
+        return Optional.of(expectedJarFile);
+    }
+
+    private boolean callMavenInvokerBatch(List<Coordinate> mavenCoordinates, Path targetDirectory, String classifier) {
+        Path pomFile = null;
+        try {
+            pomFile = Files.createTempFile(BATCH_POM_PREFIX, ".xml");
+            Files.write(pomFile, createBatchPom(mavenCoordinates).getBytes(StandardCharsets.UTF_8));
+
+            final List<String> mvnDownloadCmd = new ArrayList<>();
+            mvnDownloadCmd.add(String.format(MVN_ARG_OUTPUT_DIR, targetDirectory.toAbsolutePath()));
+            mvnDownloadCmd.add(MVN_ARG_EXCLUDE_TRANSITIVE);
+            if (!classifier.isEmpty()) {
+                mvnDownloadCmd.add(String.format(MVN_ARG_CLASSIFIER, classifier));
+                mvnDownloadCmd.add(MVN_ARG_IGNORE_MISSING_CLASSIFIER);
+            }
+            mvnDownloadCmd.add(MVN_BATCH_DOWNLOAD_CMD);
+            InvocationRequest request = buildInvocationRequest(mvnDownloadCmd);
+            request.setPomFile(pomFile.toFile());
+            return callMavenInvocationRequest(request);
+        } catch (IOException e) {
+            LOGGER.warn("Could not create POM for batch request, requesting artifacts individually: " + e.getMessage());
+            return false;
+        } finally {
+            deleteBatchPom(pomFile);
+        }
+    }
+
+    /**
+     * Generates the content of a POM that declares the given coordinates as
+     * dependencies without their transitive dependencies. If a sources
+     * repository is configured, it is added to the repositories of the POM.
+     *
+     * @param mavenCoordinates the coordinates
+     * @return the content of the POM
+     */
+    String createBatchPom(List<Coordinate> mavenCoordinates) {
+        StringBuilder pom = new StringBuilder();
+        pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <groupId>org.eclipse.sw360.antenna</groupId>\n")
+                .append("  <artifactId>antenna-batch-request</artifactId>\n")
+                .append("  <version>1.0.0</version>\n")
+                .append("  <packaging>pom</packaging>\n");
+        sourceRepositoryUrl.ifPresent(url -> pom.append("  <repositories>\n")
+                .append("    <repository>\n")
+                .append("      <id>antenna-sources-repository</id>\n")
+                .append("      <url>").append(escapeXml(url.toString())).append("</url>\n")
+                .append("    </repository>\n")
+                .append("  </repositories>\n"));
+        pom.append("  <dependencies>\n");
+        for (Coordinate mavenCoordinate : mavenCoordinates) {
+            pom.append("    <dependency>\n")
+                    .append("      <groupId>").append(escapeXml(mavenCoordinate.getNamespace())).append("</groupId>\n")
+                    .append("      <artifactId>").append(escapeXml(mavenCoordinate.getName())).append("</artifactId>\n")
+                    .append("      <version>").append(escapeXml(mavenCoordinate.getVersion())).append("</version>\n")
+                    .append("      <exclusions>\n")
+                    .append("        <exclusion>\n")
+                    .append("          <groupId>*</groupId>\n")
+                    .append("          <artifactId>*</artifactId>\n")
+                    .append("        </exclusion>\n")
+                    .append("      </exclusions>\n")
+                    .append("    </dependency>\n");
+        }
+        return pom.append("  </dependencies>\n")
+                .append("</project>\n")
+                .toString();
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;");
+    }
+
+    private static void deleteBatchPom(Path pomFile) {
+        if (pomFile != null) {
+            try {
+                Files.deleteIfExists(pomFile);
+            } catch (IOException e) {
+                LOGGER.debug("Could not delete temporary POM " + pomFile);
+            }
+        }
+    }
+
     private boolean callMavenInvoker(Coordinate mavenCoordinate, Path targetDirectory, String classifier) {
         final List<String> mvnDownloadCmd = buildBasicMvnDownloadCmd(mavenCoordinate, targetDirectory);
         sourceRepositoryUrl
@@ -108,7 +338,7 @@ public class MavenInvokerRequester extends IArtifactRequester {
         mvnDownloadCmd.add(String.format(MVN_ARG_GROUP_ID, mavenCoordinate.getNamespace()));
         mvnDownloadCmd.add(String.format(MVN_ARG_ARTIFACT_ID, mavenCoordinate.getName()));
         mvnDownloadCmd.add(String.format(MVN_ARG_VERSION, mavenCoordinate.getVersion()));
-        mvnDownloadCmd.add(String.format(MVN_ARG_DEST, targetDirectory));
+        mvnDownloadCmd.add(String.format(MVN_ARG_DEST, targetDirectory.toAbsolutePath()));
         mvnDownloadCmd.add(MVN_DOWNLOAD_CMD);
 
         return mvnDownloadCmd;
@@ -15,22 +15,89 @@ import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.api.workflow.AbstractAnalyzer;
 import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
 import org.eclipse.sw360.antenna.maven.WrappedDependencyNodes;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFilename;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactMatchingMetadata;
 import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactPathnames;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.xml.generated.MatchState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+/**
+ * <p>
+ * An analyzer that creates artifacts from the nodes of the Maven dependency
+ * tree.
+ * </p>
+ * <p>
+ * For dependencies that have been resolved to a local file, the hashes of
+ * this file are added to the artifact as {@link ArtifactFilename} entries, so
+ * that they can be used for hash-based matching later. The SHA-1 hash is
+ * always calculated; the SHA-256 hash can be enabled with the
+ * {@code calculateSha256} configuration option. Hashing can be disabled
+ * completely by setting {@code calculateHashes} to <strong>false</strong>.
+ * The files are hashed in parallel, with at most {@code maxConcurrency}
+ * files at a time. Hashes are obtained via a {@link FileHashCache}, which
+ * is held in memory unless a store file is configured with the
+ * {@value #FILE_HASH_CACHE} option; then unchanged files in the local
+ * repository are not hashed again in later runs.
+ * </p>
+ */
 public class MvnDependencyTreeAnalyzer extends AbstractAnalyzer {
+    /**
+     * The default maximum number of files that are hashed in parallel.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MvnDependencyTreeAnalyzer.class);
+
+    private static final String CALCULATE_HASHES = "calculateHashes";
+    private static final String CALCULATE_SHA256 = "calculateSha256";
+
+    private FileHashCache fileHashCache;
+
+    private boolean calculateHashes = true;
+    private boolean calculateSha256;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
 
     public MvnDependencyTreeAnalyzer() {
+        this(FileHashCache.getDefault());
+    }
+
+    /**
+     * Creates a new instance of {@code MvnDependencyTreeAnalyzer} that uses
+     * the given cache to obtain the hashes of files. This constructor is
+     * used for testing purposes.
+     *
+     * @param fileHashCache the cache for file hashes
+     */
+    MvnDependencyTreeAnalyzer(FileHashCache fileHashCache) {
         this.workflowStepOrder = 400;
+        this.fileHashCache = fileHashCache;
+    }
+
+    @Override
+    public void configure(Map<String, String> configMap) {
+        calculateHashes = !"false".equalsIgnoreCase(configMap.get(CALCULATE_HASHES));
+        calculateSha256 = getBooleanConfigValue(CALCULATE_SHA256, configMap);
+        maxConcurrency = parseMaxConcurrency(configMap, DEFAULT_MAX_CONCURRENCY);
+        fileHashCache = getFileHashCache(configMap, fileHashCache);
     }
 
     @Override
@@ -47,10 +114,84 @@ public class MvnDependencyTreeAnalyzer extends AbstractAnalyzer {
         final List<Artifact> collect = projectList.stream()
                 .map(this::getArtifactFromNode)
                 .collect(Collectors.toList());
+        if (calculateHashes) {
+            addFileHashes(collect);
+        }
 
         return new WorkflowStepResult(collect);
     }
 
+    /**
+     * Calculates the hashes of the local files of the given artifacts in
+     * parallel and adds them as {@link ArtifactFilename} facts. The facts
+     * are added on the calling thread. Files that cannot be hashed are
+     * skipped.
+     *
+     * @param artifacts the artifacts to be processed
+     */
+    private void addFileHashes(List<Artifact> artifacts) {
+        List<Artifact> artifactsWithFile = artifacts.stream()
+                .filter(artifact -> artifact.askForGet(ArtifactFile.class)
+                        .map(Files::isRegularFile)
+                        .orElse(false))
+                .collect(Collectors.toList());
+        if (artifactsWithFile.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, artifactsWithFile.size()));
+        try {
+            List<Future<Optional<ArtifactFilename>>> futures = new ArrayList<>(artifactsWithFile.size());
+            for (Artifact artifact : artifactsWithFile) {
+                Path file = artifact.askForGet(ArtifactFile.class).get();
+                futures.add(executor.submit(() -> hashFile(file)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                waitForHashes(futures.get(i)).ifPresent(artifactsWithFile.get(i)::addFact);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Calculates the hashes of the given file and returns a corresponding
+     * {@code ArtifactFilename} fact. Result is an empty {@code Optional} if
+     * the file cannot be read.
+     *
+     * @param file the file to be hashed
+     * @return an {@code Optional} with the fact containing the hashes
+     */
+    private Optional<ArtifactFilename> hashFile(Path file) {
+        String filename = file.getFileName().toString();
+        try {
+            ArtifactFilename artifactFilename =
+                    new ArtifactFilename(filename, fileHashCache.sha1(file), Checksum.ALGORITHM_SHA1);
+            if (calculateSha256) {
+                artifactFilename.mergeWith(new ArtifactFilename(filename,
+                        fileHashCache.hash(Checksum.ALGORITHM_SHA256, file), Checksum.ALGORITHM_SHA256));
+            }
+            return Optional.of(artifactFilename);
+        } catch (IOException e) {
+            LOGGER.warn("Could not calculate the hash of file {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<ArtifactFilename> waitForHashes(Future<Optional<ArtifactFilename>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while calculating file hashes", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExecutionException("Failed to calculate file hashes", e.getCause());
+        }
+    }
+
     private Artifact getArtifactFromNode(DependencyNode node) {
         Artifact antennaArtifact = new Artifact(getName());
 
@@ -83,4 +224,8 @@ public class MvnDependencyTreeAnalyzer extends AbstractAnalyzer {
         return "Maven dependency anaylzer";
     }
 
+    int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
 }
\ No newline at end of file
@@ -12,6 +12,7 @@
 package org.eclipse.sw360.antenna.maven.workflow.processors.enricher;
 
 import org.eclipse.sw360.antenna.api.configuration.AntennaContext;
+import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.api.workflow.AbstractProcessor;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
@@ -21,33 +22,94 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
+ * <p>
  * Processor scans all artifacts whether they are p2 based bundles. This is done by searching
  * in the jar file of the artifact for a Manifest file with bundle coordinates. These coordinates are added
- * to the artifact as P2 coordinates
+ * to the artifact as P2 coordinates.
+ * </p>
+ * <p>
+ * The jar files are read in parallel, with at most {@code maxConcurrency}
+ * files open at the same time. Only the central directory of a jar is read;
+ * the manifest entry is looked up directly in this index, and no other entry
+ * is inflated. The results are cached based on the path, the size, and the
+ * modification time of a jar file, so that bundles referenced by multiple
+ * artifacts or scanned again in a later run of the same JVM are read only
+ * once. The coordinates are added to the artifacts on the calling thread.
+ * </p>
  */
 
 public class ManifestResolver extends AbstractProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(ManifestResolver.class);
 
+    /**
+     * The default maximum number of jar files that are read in parallel.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    /**
+     * The maximum number of entries in the cache of manifest results. If
+     * this size is exceeded, the cache is cleared.
+     */
+    static final int MAX_CACHE_SIZE = 10000;
+
+
+    /**
+     * A cache for the coordinates extracted from the manifest of jar files.
+     * It is shared between all instances, so that subsequent runs in the
+     * same JVM benefit from it.
+     */
+    private static final ConcurrentMap<JarKey, Optional<Coordinate>> MANIFEST_CACHE = new ConcurrentHashMap<>();
+
     public ManifestResolver() {
         this.workflowStepOrder = 900;
     }
 
     private Path basePath;
 
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
     @Override
     public void setAntennaContext(AntennaContext context) {
         super.setAntennaContext(context);
         this.basePath = context.getProject().getBasedir().toPath();
     }
 
+    @Override
+    public void configure(Map<String, String> configMap) {
+        super.configure(configMap);
+        maxConcurrency = parseMaxConcurrency(configMap, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Returns the maximum number of jar files that are read in parallel.
+     *
+     * @return the maximum concurrency
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
     /**
      * Scans all a artifacts, if a jar file is found and
      * contains a Manifest file with bundle coordinates this coordinates are
@@ -56,20 +118,37 @@ public class ManifestResolver extends AbstractProcessor {
      * @param artifacts List of artifacts, which will be resolved
      */
     private void resolveManifest(Collection<Artifact> artifacts) {
+        List<Artifact> artifactsWithFile = new ArrayList<>();
         for (Artifact artifact : artifacts) {
             final Optional<Path> pathname = artifact.askForGet(ArtifactFile.class);
             if (pathname.isPresent() && pathname.get().toFile().exists()) {
-                resolveManifest(pathname.get(), artifact);
+                artifactsWithFile.add(artifact);
             }
         }
-    }
+        if (artifactsWithFile.isEmpty()) {
+            return;
+        }
 
-    private void resolveManifest(Path pathname, Artifact artifact){
-        LOGGER.debug("Resolving {}", pathname);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, artifactsWithFile.size()));
+        try {
+            List<Future<Optional<Coordinate>>> futures = new ArrayList<>(artifactsWithFile.size());
+            for (Artifact artifact : artifactsWithFile) {
+                Path pathname = artifact.askForGet(ArtifactFile.class).get();
+                futures.add(executor.submit(() -> readBundleCoordinate(basePath.resolve(pathname))));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                resolveManifest(artifactsWithFile.get(i), futures.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        try (JarFile jarFile = new JarFile(basePath.resolve(pathname).toFile())) {
-            setBundleCoordinates(artifact, jarFile.getManifest());
+    private void resolveManifest(Artifact artifact, Future<Optional<Coordinate>> future) {
+        try {
+            waitForCoordinate(future).ifPresent(artifact::addCoordinate);
         } catch (IOException e) {
+            Path pathname = artifact.askForGet(ArtifactFile.class).orElse(null);
             LOGGER.error("Unable to process \"{}\" because of {}", pathname,
                     e.getMessage());
             this.reporter.add(artifact,
@@ -78,15 +157,109 @@ public class ManifestResolver extends AbstractProcessor {
         }
     }
 
+    private static Optional<Coordinate> waitForCoordinate(Future<Optional<Coordinate>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while resolving manifests", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExecutionException("Failed to resolve manifest", e.getCause());
+        }
+    }
+
+    /**
+     * Returns the P2 coordinate defined by the manifest of the given jar
+     * file. The result is taken from the cache if the file has not been
+     * changed since it was read.
+     *
+     * @param jarPath the path to the jar file
+     * @return an {@code Optional} with the bundle coordinate
+     * @throws IOException if the file cannot be read
+     */
+    static Optional<Coordinate> readBundleCoordinate(Path jarPath) throws IOException {
+        LOGGER.debug("Resolving {}", jarPath);
+        BasicFileAttributes attributes = Files.readAttributes(jarPath, BasicFileAttributes.class);
+        JarKey key = new JarKey(jarPath.toAbsolutePath().normalize(), attributes.size(),
+                attributes.lastModifiedTime().toMillis());
+        Optional<Coordinate> cachedCoordinate = MANIFEST_CACHE.get(key);
+        if (cachedCoordinate != null) {
+            return cachedCoordinate;
+        }
+
+        Optional<Coordinate> coordinate = getBundleCoordinate(readManifest(jarPath));
+        if (MANIFEST_CACHE.size() >= MAX_CACHE_SIZE) {
+            MANIFEST_CACHE.clear();
+        }
+        MANIFEST_CACHE.put(key, coordinate);
+        return coordinate;
+    }
+
+    /**
+     * Reads the manifest of the given jar file. Only the manifest entry is
+     * looked up in the central directory of the file; as opposed to
+     * {@code JarFile}, no signature verification is set up.
+     *
+     * @param jarPath the path to the jar file
+     * @return the manifest or <strong>null</strong> if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private static Manifest readManifest(Path jarPath) throws IOException {
+        try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+            ZipEntry manifestEntry = findManifestEntry(zipFile);
+            if (manifestEntry == null) {
+                return null;
+            }
+            try (InputStream manifestStream = zipFile.getInputStream(manifestEntry)) {
+                return new Manifest(manifestStream);
+            }
+        }
+    }
+
+    /**
+     * Looks up the manifest entry of the given jar file. Some older build
+     * tools write the name of the manifest entry in a different case (e.g.
+     * {@code meta-inf/manifest.mf}). Like {@code JarFile}, this method
+     * therefore falls back to a case-insensitive search if there is no entry
+     * with the exact name.
+     *
+     * @param zipFile the jar file
+     * @return the manifest entry or <strong>null</strong> if there is none
+     */
+    private static ZipEntry findManifestEntry(ZipFile zipFile) {
+        ZipEntry manifestEntry = zipFile.getEntry(JarFile.MANIFEST_NAME);
+        if (manifestEntry != null) {
+            return manifestEntry;
+        }
+        return zipFile.stream()
+                .filter(entry -> JarFile.MANIFEST_NAME.equalsIgnoreCase(entry.getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Removes all entries from the cache of manifest results.
+     */
+    static void clearCache() {
+        MANIFEST_CACHE.clear();
+    }
+
     /**
-     * Adds the result of getAttribute to the artifacts bundle values.
+     * Creates the P2 coordinate from the bundle attributes of the manifest.
      */
-    private void setBundleCoordinates(Artifact artifact, Manifest manifest) {
+    private static Optional<Coordinate> getBundleCoordinate(Manifest manifest) {
         final Optional<String> symbolicName = getAttribute(manifest, "Bundle-SymbolicName");
         final Optional<String> version = getAttribute(manifest, "Bundle-Version");
         if(symbolicName.isPresent() || version.isPresent()) {
-            artifact.addCoordinate(new Coordinate(Coordinate.Types.P2, symbolicName.orElse(null), version.orElse(null)));
+            return Optional.of(new Coordinate(Coordinate.Types.P2, symbolicName.orElse(null), version.orElse(null)));
         }
+        return Optional.empty();
     }
 
     /**
@@ -95,7 +268,7 @@ public class ManifestResolver extends AbstractProcessor {
      *                      file.
      * @return Returns the value of
      */
-    private Optional<String> getAttribute(Manifest manifest, String attributeName) {
+    private static Optional<String> getAttribute(Manifest manifest, String attributeName) {
         return Optional.ofNullable(manifest)
                 .map(Manifest::getMainAttributes)
                 .flatMap(ma -> Optional.ofNullable(ma.getValue(attributeName)))
@@ -110,4 +283,40 @@ public class ManifestResolver extends AbstractProcessor {
         LOGGER.debug("Resolve manifest... done");
         return artifacts;
     }
+
+    /**
+     * The key of the manifest cache. A jar file is identified by its path,
+     * its size, and its last modification time, so that a changed file is
+     * read again.
+     */
+    private static final class JarKey {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+
+        private JarKey(Path path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            JarKey jarKey = (JarKey) o;
+            return size == jarKey.size &&
+                    lastModified == jarKey.lastModified &&
+                    path.equals(jarKey.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, lastModified);
+        }
+    }
 }
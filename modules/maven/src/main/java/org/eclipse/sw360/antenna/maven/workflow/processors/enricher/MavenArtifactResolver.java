@@ -35,6 +35,7 @@ public class MavenArtifactResolver extends AbstractProcessor {
     private List<ArtifactSelector> sourceResolvingBlacklist;
     private String preferredSourceQualifier;
     private URL sourcesRepositoryUrl;
+    private int maxConcurrency;
 
     public MavenArtifactResolver() {
         this.workflowStepOrder = 300;
@@ -55,7 +56,8 @@ public class MavenArtifactResolver extends AbstractProcessor {
                 sourcesRepositoryUrl,
                 context.getProcessingReporter(),
                 toolConfig.isMavenInstalled(),
-                context.getProject().getBasedir())
+                context.getProject().getBasedir(),
+                maxConcurrency)
                 .process(artifacts);
     }
 
@@ -72,5 +74,6 @@ public class MavenArtifactResolver extends AbstractProcessor {
             }
         }
         preferredSourceQualifier = configMap.get(PREFERRED_SOURCE_QUALIFIER);
+        maxConcurrency = parseMaxConcurrency(configMap, MavenArtifactResolverImpl.DEFAULT_MAX_CONCURRENCY);
     }
 }
\ No newline at end of file
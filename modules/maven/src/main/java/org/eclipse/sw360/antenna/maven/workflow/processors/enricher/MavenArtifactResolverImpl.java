@@ -34,13 +34,56 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+/**
+ * <p>
+ * The implementation of the Maven artifact resolver, which downloads the
+ * source and binary jars of Maven artifacts.
+ * </p>
+ * <p>
+ * For each artifact up to three files are probed: the source jar with the
+ * preferred classifier, the default source jar, and the binary jar. As these
+ * probes are mostly network round-trips, they are executed in parallel on a
+ * bounded thread pool: the lookup of the sources (the preferred classifier
+ * before the default one) and the lookup of the binary jar run as separate
+ * tasks. The limits per repository host are enforced by the download manager
+ * of the HTTP-based requester.
+ * </p>
+ * <p>
+ * The results of all probes are cached for the duration of a run, keyed by
+ * the coordinates and the classifier. So files known to be missing are not
+ * requested again if multiple artifacts share the same coordinates, and
+ * concurrent probes for the same file are combined. The facts obtained are
+ * added to the artifacts by the calling thread after all probes are done.
+ * </p>
+ * <p>
+ * If the requester supports batch requests (which is the case when Maven is
+ * invoked as an external process), the files of all artifacts are requested
+ * in a few batches first, one per classifier, and the results are stored in
+ * the cache of probe results. Files of artifacts that could not be processed
+ * in a batch are then probed in parallel as described above.
+ * </p>
+ */
 public class MavenArtifactResolverImpl {
+    /**
+     * The default maximum number of files that are requested in parallel.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(MavenArtifactResolverImpl.class);
 
     private final IProcessingReporter processingReporter;
@@ -54,6 +97,14 @@ public class MavenArtifactResolverImpl {
     private final Optional<LegacySupport> optionalLegacySupport;
     private final boolean isMavenInstalled;
     private final File basedir;
+    private final int maxConcurrency;
+
+    /**
+     * Stores the results of the probes for files done so far. Keys are
+     * derived from the coordinates and the classifier; an empty
+     * {@code Optional} means that the file is known to be missing.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Optional<File>>> probeResults = new ConcurrentHashMap<>();
 
     public MavenArtifactResolverImpl(HttpClient httpClient,
                                      Optional<RepositorySystem> optionalRepositorySystem,
@@ -66,6 +117,46 @@ public class MavenArtifactResolverImpl {
                                      IProcessingReporter processingReporter,
                                      boolean isMavenInstalled,
                                      File basedir) {
+        this(httpClient, optionalRepositorySystem, optionalMavenProject, optionalLegacySupport,
+                dependencyTargetDirectory, sourceResolvingBlacklist, preferredSourceQualifier,
+                sourcesRepositoryUrl, processingReporter, isMavenInstalled, basedir, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Creates a new instance of {@code MavenArtifactResolverImpl} with all
+     * settings, including the maximum number of files to be requested in
+     * parallel.
+     *
+     * @param httpClient                the HTTP client
+     * @param optionalRepositorySystem  the optional Maven repository system
+     * @param optionalMavenProject      the optional Maven project
+     * @param optionalLegacySupport     the optional Maven legacy support
+     * @param dependencyTargetDirectory the directory to store the jars
+     * @param sourceResolvingBlacklist  selectors for artifacts to be ignored
+     * @param preferredSourceQualifier  the preferred classifier for sources
+     * @param sourcesRepositoryUrl      an additional repository URL
+     * @param processingReporter        the processing reporter
+     * @param isMavenInstalled          flag whether Maven is installed
+     * @param basedir                   the base directory of the project
+     * @param maxConcurrency            the maximum number of files to be
+     *                                  requested in parallel
+     * @throws IllegalArgumentException if the concurrency level is invalid
+     */
+    public MavenArtifactResolverImpl(HttpClient httpClient,
+                                     Optional<RepositorySystem> optionalRepositorySystem,
+                                     Optional<MavenProject> optionalMavenProject,
+                                     Optional<LegacySupport> optionalLegacySupport,
+                                     Path dependencyTargetDirectory,
+                                     List<ArtifactSelector> sourceResolvingBlacklist,
+                                     String preferredSourceQualifier,
+                                     URL sourcesRepositoryUrl,
+                                     IProcessingReporter processingReporter,
+                                     boolean isMavenInstalled,
+                                     File basedir,
+                                     int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Invalid maximum concurrency: " + maxConcurrency);
+        }
         this.dependencyTargetDirectory = dependencyTargetDirectory;
         this.sourceResolvingBlacklist = sourceResolvingBlacklist;
         this.sourcesRepositoryUrl = sourcesRepositoryUrl;
@@ -77,6 +168,16 @@ public class MavenArtifactResolverImpl {
         this.optionalLegacySupport = optionalLegacySupport;
         this.isMavenInstalled = isMavenInstalled;
         this.basedir = basedir;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Returns the maximum number of files that are requested in parallel.
+     *
+     * @return the concurrency limit
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
     }
 
     public Collection<Artifact> process(Collection<Artifact> artifacts) {
@@ -91,7 +192,9 @@ public class MavenArtifactResolverImpl {
     }
 
     /**
-     * Downloads the maven artifacts for the given lists, if possible.
+     * Downloads the maven artifacts for the given lists, if possible. The
+     * files are requested in parallel; the results are then added to the
+     * artifacts in their original order.
      *
      * @param artifacts to be resolved
      */
@@ -101,49 +204,204 @@ public class MavenArtifactResolverImpl {
             Files.createDirectories(dependencyTargetDirectory);
         }
 
-        IArtifactRequester artifactRequester = getArtifactRequester();
-
         List<Artifact> filteredArtifacts = artifacts.stream()
                 .filter(getFilterPredicate())
                 .filter(artifact -> !isIgnoredForSourceResolving(artifact))
+                .filter(artifact -> getMavenCoordinate(artifact).isPresent())
                 .collect(Collectors.toList());
-        for (Artifact artifact : filteredArtifacts) {
-            resolve(artifact, artifactRequester, dependencyTargetDirectory);
+        if (filteredArtifacts.isEmpty()) {
+            return;
+        }
+
+        IArtifactRequester artifactRequester = getArtifactRequester();
+        if (artifactRequester.supportsBatchRequests()) {
+            requestFilesInBatches(filteredArtifacts, artifactRequester);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, 2 * filteredArtifacts.size()));
+        try {
+            List<ResolveTask> tasks = new ArrayList<>(filteredArtifacts.size());
+            for (Artifact artifact : filteredArtifacts) {
+                tasks.add(startResolve(artifact, artifactRequester, executor));
+            }
+            for (ResolveTask task : tasks) {
+                completeResolve(task);
+            }
+        } finally {
+            executor.shutdownNow();
         }
     }
 
+    /**
+     * Requests the files of all the given artifacts in batches and stores
+     * the results in the cache of probe results. The batches are executed
+     * one after the other in the same order as the single probes: source
+     * jars with the preferred classifier, default source jars, and binary
+     * jars.
+     *
+     * @param artifacts         the artifacts to be resolved
+     * @param artifactRequester the requester for files
+     */
+    private void requestFilesInBatches(List<Artifact> artifacts, IArtifactRequester artifactRequester) {
+        List<Coordinate> sourceCoordinates = artifacts.stream()
+                .filter(artifact -> !artifact.getSourceFile().isPresent())
+                .map(artifact -> getMavenCoordinate(artifact).get())
+                .collect(Collectors.toList());
+        List<Coordinate> jarCoordinates = artifacts.stream()
+                .filter(artifact -> !artifact.getFile().isPresent())
+                .map(artifact -> getMavenCoordinate(artifact).get())
+                .collect(Collectors.toList());
 
-    private void resolve(Artifact artifact, IArtifactRequester artifactRequester, Path dependencyTargetDirectory) {
-        final Optional<Coordinate> oMavenPurl = artifact.getCoordinateForType(Coordinate.Types.MAVEN);
-        if (!oMavenPurl.isPresent()) {
-            return;
+        if (preferredSourceQualifier != null) {
+            Map<Coordinate, Optional<File>> preferredSourceJars = requestBatch(sourceCoordinates, artifactRequester,
+                    new ClassifierInformation(preferredSourceQualifier, true));
+            // artifacts not processed by the batch are probed later for both source classifiers
+            sourceCoordinates = sourceCoordinates.stream()
+                    .filter(coordinate -> preferredSourceJars.containsKey(coordinate) &&
+                            !preferredSourceJars.get(coordinate).isPresent())
+                    .collect(Collectors.toList());
         }
-        final Coordinate coordinate = oMavenPurl.get();
-        if (coordinate.getName() == null ||
-                coordinate.getNamespace() == null ||
-                ! (Coordinate.Types.MAVEN.equals(coordinate.getType()))) {
-            return;
+        requestBatch(sourceCoordinates, artifactRequester, ClassifierInformation.DEFAULT_SOURCE_JAR);
+        requestBatch(jarCoordinates, artifactRequester, ClassifierInformation.DEFAULT_JAR);
+    }
+
+    private Map<Coordinate, Optional<File>> requestBatch(List<Coordinate> coordinates, IArtifactRequester artifactRequester,
+                                                         ClassifierInformation classifierInformation) {
+        if (coordinates.isEmpty()) {
+            return Collections.emptyMap();
         }
+        Map<Coordinate, Optional<File>> files =
+                artifactRequester.requestFiles(coordinates, dependencyTargetDirectory, classifierInformation);
+        files.forEach((coordinate, file) ->
+                probeResults.putIfAbsent(probeKey(coordinate, classifierInformation), CompletableFuture.completedFuture(file)));
+        return files;
+    }
 
-        // Try to download source with preferred qualifier first
-        if (!artifact.getSourceFile().isPresent() && preferredSourceQualifier != null) {
-            Optional<File> sourceJar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, new ClassifierInformation(preferredSourceQualifier, true));
-            sourceJar.ifPresent(sourceJarFile -> artifact.addFact(new ArtifactSourceJar(sourceJarFile.toPath())));
+    /**
+     * Starts the tasks to probe the files of the given artifact. The source
+     * jars and the binary jar are looked up independently; probes for files
+     * the artifact already has are skipped.
+     *
+     * @param artifact          the artifact
+     * @param artifactRequester the requester for files
+     * @param executor          the executor for the probes
+     * @return an object with the running probes for this artifact
+     */
+    private ResolveTask startResolve(Artifact artifact, IArtifactRequester artifactRequester,
+                                     ExecutorService executor) {
+        final Coordinate coordinate = getMavenCoordinate(artifact).get();
+        Future<Optional<File>> sourceJar = artifact.getSourceFile().isPresent() ? null :
+                executor.submit(() -> requestSourceJar(coordinate, artifactRequester));
+        Future<Optional<File>> jar = artifact.getFile().isPresent() ? null :
+                executor.submit(() -> requestFile(coordinate, artifactRequester, ClassifierInformation.DEFAULT_JAR));
+        return new ResolveTask(artifact, sourceJar, jar);
+    }
+
+    /**
+     * Waits for the probes of an artifact to complete and adds the files
+     * found to the artifact. If no file could be resolved, this is reported.
+     *
+     * @param task the object with the probes of the artifact
+     */
+    private void completeResolve(ResolveTask task) {
+        Artifact artifact = task.artifact;
+        waitForFile(task.sourceJar)
+                .ifPresent(sourceJarFile -> artifact.addFact(new ArtifactSourceJar(sourceJarFile.toPath())));
+        waitForFile(task.jar)
+                .ifPresent(jarFile -> artifact.addFact(new ArtifactJar(jarFile.toPath())));
+
+        if (!artifact.getSourceFile().isPresent() && !artifact.getFile().isPresent()) {
+            processingReporter.add(artifact, MessageType.MISSING_SOURCES, "Maven Artifact Coordinates present but non resolvable sources.");
+        }
+    }
+
+    /**
+     * Requests the source jar of an artifact. The source jar with the
+     * preferred qualifier is tried first; if it is not found, the default
+     * source jar is requested.
+     *
+     * @param coordinate        the coordinate of the artifact
+     * @param artifactRequester the requester for files
+     * @return an {@code Optional} with the source jar
+     */
+    private Optional<File> requestSourceJar(Coordinate coordinate, IArtifactRequester artifactRequester) {
+        Optional<File> sourceJar = Optional.empty();
+        if (preferredSourceQualifier != null) {
+            sourceJar = requestFile(coordinate, artifactRequester,
+                    new ClassifierInformation(preferredSourceQualifier, true));
         }
+        return sourceJar.isPresent() ? sourceJar :
+                requestFile(coordinate, artifactRequester, ClassifierInformation.DEFAULT_SOURCE_JAR);
+    }
 
-        if (!artifact.getSourceFile().isPresent()) {
-            Optional<File> sourceJar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, ClassifierInformation.DEFAULT_SOURCE_JAR);
-            sourceJar.ifPresent(sourceJarFile -> artifact.addFact(new ArtifactSourceJar(sourceJarFile.toPath())));
+    /**
+     * Requests a single file using the cache of probe results. The file is
+     * only requested by the first caller; concurrent and later callers for
+     * the same coordinates and classifier obtain the cached result.
+     *
+     * @param coordinate            the coordinate of the artifact
+     * @param artifactRequester     the requester for files
+     * @param classifierInformation the classifier of the file
+     * @return an {@code Optional} with the file
+     */
+    private Optional<File> requestFile(Coordinate coordinate, IArtifactRequester artifactRequester,
+                                       ClassifierInformation classifierInformation) {
+        String key = probeKey(coordinate, classifierInformation);
+        CompletableFuture<Optional<File>> probe = new CompletableFuture<>();
+        CompletableFuture<Optional<File>> existingProbe = probeResults.putIfAbsent(key, probe);
+        if (existingProbe != null) {
+            return existingProbe.join();
         }
 
-        if (!artifact.getFile().isPresent()) {
-            Optional<File> jar = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, ClassifierInformation.DEFAULT_JAR);
-            jar.ifPresent(jarFile -> artifact.addFact(new ArtifactJar(jarFile.toPath())));
+        try {
+            Optional<File> file = artifactRequester.requestFile(coordinate, dependencyTargetDirectory, classifierInformation);
+            if (!file.isPresent()) {
+                LOGGER.debug("File with classifier '{}' is missing for {}.", classifierInformation.classifier, coordinate);
+            }
+            probe.complete(file);
+            return file;
+        } catch (RuntimeException e) {
+            probe.completeExceptionally(e);
+            throw e;
         }
+    }
 
-        if (!artifact.getSourceFile().isPresent() && !artifact.getFile().isPresent()) {
-            processingReporter.add(artifact, MessageType.MISSING_SOURCES, "Maven Artifact Coordinates present but non resolvable sources.");
+    /**
+     * Waits for the result of a probe. Unexpected exceptions are re-thrown,
+     * so that they abort the resolving in the same way as if the artifacts
+     * were processed sequentially.
+     *
+     * @param future the future for the probe; can be <strong>null</strong>
+     *               if no probe was necessary
+     * @return an {@code Optional} with the file found
+     */
+    private static Optional<File> waitForFile(Future<Optional<File>> future) {
+        if (future == null) {
+            return Optional.empty();
         }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while resolving Maven artifacts", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            Throwable cause = e.getCause() instanceof java.util.concurrent.CompletionException ?
+                    e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ExecutionException("Failed to resolve Maven artifact", cause);
+        }
+    }
+
+    private static String probeKey(Coordinate coordinate, ClassifierInformation classifierInformation) {
+        return coordinate.canonicalize() + "#" + classifierInformation.classifier;
+    }
+
+    private static Optional<Coordinate> getMavenCoordinate(Artifact artifact) {
+        return artifact.getCoordinateForType(Coordinate.Types.MAVEN)
+                .filter(coordinate -> coordinate.getName() != null &&
+                        coordinate.getNamespace() != null &&
+                        Coordinate.Types.MAVEN.equals(coordinate.getType()));
     }
 
     IArtifactRequester getArtifactRequester(){
@@ -166,4 +424,18 @@ public class MavenArtifactResolverImpl {
         return artifact -> !artifact.getFlag(Artifact.IS_PROPRIETARY_FLAG_KEY);
     }
 
+    /**
+     * A simple data class storing the probes running for an artifact.
+     */
+    private static final class ResolveTask {
+        private final Artifact artifact;
+        private final Future<Optional<File>> sourceJar;
+        private final Future<Optional<File>> jar;
+
+        private ResolveTask(Artifact artifact, Future<Optional<File>> sourceJar, Future<Optional<File>> jar) {
+            this.artifact = artifact;
+            this.sourceJar = sourceJar;
+            this.jar = jar;
+        }
+    }
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.maven;
+
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.ChecksumMismatchException;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ArtifactCacheTest {
+    private static final String URL = "https://repo.example.org/group/artifact/1.0/artifact-1.0.jar";
+
+    private static final String CONTENT = "jar content";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path cacheDirectory;
+
+    private Clock clock;
+
+    private ArtifactCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheDirectory = temporaryFolder.newFolder("cache").toPath();
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(System.currentTimeMillis());
+        cache = new ArtifactCache(cacheDirectory, new FileHashCache(null), clock, Duration.ofHours(1));
+    }
+
+    private Path createDownloadedFile(String content) throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String sha1(String content) {
+        return Checksum.calculate(Checksum.ALGORITHM_SHA1, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFileCanBeAddedAndRetrieved() throws IOException {
+        Path downloadedFile = createDownloadedFile(CONTENT);
+
+        Path cachedFile = cache.put(URL, downloadedFile, Checksum.sha1(sha1(CONTENT)));
+
+        assertThat(cachedFile.getFileName().toString()).isEqualTo(sha1(CONTENT));
+        assertThat(cachedFile).startsWith(cacheDirectory).hasContent(CONTENT);
+        assertThat(downloadedFile).doesNotExist();
+        assertThat(cache.get(URL)).contains(cachedFile);
+    }
+
+    @Test
+    public void testUnknownUrl() throws IOException {
+        assertThat(cache.get(URL)).isEmpty();
+    }
+
+    @Test
+    public void testSameContentIsStoredOnlyOnce() throws IOException {
+        String otherUrl = "https://other.example.org/artifact-1.0.jar";
+        Path cachedFile1 = cache.put(URL, createDownloadedFile(CONTENT), null);
+        Path cachedFile2 = cache.put(otherUrl, createDownloadedFile(CONTENT), null);
+
+        assertThat(cachedFile2).isEqualTo(cachedFile1);
+        assertThat(cache.get(otherUrl)).contains(cachedFile1);
+    }
+
+    @Test
+    public void testFileWithWrongChecksumIsRejected() throws IOException {
+        Path downloadedFile = createDownloadedFile(CONTENT);
+
+        assertThatThrownBy(() -> cache.put(URL, downloadedFile, Checksum.sha256(sha1("other"))))
+                .isInstanceOf(ChecksumMismatchException.class);
+        assertThat(downloadedFile).doesNotExist();
+        assertThat(cache.get(URL)).isEmpty();
+    }
+
+    @Test
+    public void testCorruptFileIsRemoved() throws IOException {
+        Path cachedFile = cache.put(URL, createDownloadedFile(CONTENT), null);
+        Files.write(cachedFile, "corrupted".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(cache.get(URL)).isEmpty();
+        assertThat(cachedFile).doesNotExist();
+    }
+
+    @Test
+    public void testMissingFilesAreRecorded() {
+        assertThat(cache.isMissing(URL)).isFalse();
+
+        cache.markMissing(URL);
+        assertThat(cache.isMissing(URL)).isTrue();
+        assertThat(cache.isMissing(URL + ".other")).isFalse();
+    }
+
+    @Test
+    public void testMissingEntriesExpire() {
+        long now = Instant.now().toEpochMilli();
+        when(clock.millis()).thenReturn(now);
+        cache.markMissing(URL);
+
+        when(clock.millis()).thenReturn(now + Duration.ofHours(1).toMillis() + 1000);
+        assertThat(cache.isMissing(URL)).isFalse();
+    }
+
+    @Test
+    public void testAddingFileRemovesMissingEntry() throws IOException {
+        cache.markMissing(URL);
+
+        cache.put(URL, createDownloadedFile(CONTENT), null);
+        assertThat(cache.isMissing(URL)).isFalse();
+    }
+
+    @Test
+    public void testStagingFileIsStable() throws IOException {
+        Path stagingFile = cache.stagingFile(URL);
+
+        assertThat(stagingFile.startsWith(cacheDirectory)).isTrue();
+        assertThat(cache.stagingFile(URL)).isEqualTo(stagingFile);
+        assertThat(cache.stagingFile(URL + ".sha1")).isNotEqualTo(stagingFile);
+    }
+
+    @Test
+    public void testWithLockSerializesAccessToUrl() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> cache.withLock(URL, () -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return active.decrementAndGet();
+                })));
+            }
+            for (Future<Integer> future : futures) {
+                assertThat(future.get()).isEqualTo(0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(maxActive.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDisabledCache() throws IOException {
+        ArtifactCache disabledCache = new ArtifactCache(null);
+        disabledCache.markMissing(URL);
+
+        assertThat(disabledCache.isEnabled()).isFalse();
+        assertThat(disabledCache.getCacheDirectory()).isEmpty();
+        assertThat(disabledCache.isMissing(URL)).isFalse();
+        assertThat(disabledCache.get(URL)).isEmpty();
+        assertThat(disabledCache.withLock(URL, () -> "result")).isEqualTo("result");
+        assertThatThrownBy(() -> disabledCache.put(URL, createDownloadedFile(CONTENT), null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testDefaultCacheIsDisabledIfPropertyIsNotSet() {
+        String oldValue = System.getProperty(ArtifactCache.PROP_CACHE_DIRECTORY);
+        System.clearProperty(ArtifactCache.PROP_CACHE_DIRECTORY);
+        try {
+            assertThat(ArtifactCache.defaultCacheDirectory()).isNull();
+        } finally {
+            if (oldValue != null) {
+                System.setProperty(ArtifactCache.PROP_CACHE_DIRECTORY, oldValue);
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultCacheDirectoryFromProperty() {
+        String oldValue = System.getProperty(ArtifactCache.PROP_CACHE_DIRECTORY);
+        Path directory = temporaryFolder.getRoot().toPath().resolve("defaultCache");
+        System.setProperty(ArtifactCache.PROP_CACHE_DIRECTORY, directory.toString());
+        try {
+            assertThat(ArtifactCache.defaultCacheDirectory()).isEqualTo(directory);
+        } finally {
+            if (oldValue == null) {
+                System.clearProperty(ArtifactCache.PROP_CACHE_DIRECTORY);
+            } else {
+                System.setProperty(ArtifactCache.PROP_CACHE_DIRECTORY, oldValue);
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultCacheDirectoryCanBeDisabled() {
+        String oldValue = System.getProperty(ArtifactCache.PROP_CACHE_DIRECTORY);
+        System.setProperty(ArtifactCache.PROP_CACHE_DIRECTORY, ArtifactCache.CACHE_NONE);
+        try {
+            assertThat(ArtifactCache.defaultCacheDirectory()).isNull();
+        } finally {
+            if (oldValue == null) {
+                System.clearProperty(ArtifactCache.PROP_CACHE_DIRECTORY);
+            } else {
+                System.setProperty(ArtifactCache.PROP_CACHE_DIRECTORY, oldValue);
+            }
+        }
+    }
+}
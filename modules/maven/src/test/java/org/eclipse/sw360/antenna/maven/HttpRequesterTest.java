@@ -12,6 +12,9 @@
 package org.eclipse.sw360.antenna.maven;
 
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.utils.FailedRequestException;
+import org.eclipse.sw360.antenna.http.utils.HttpConstants;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.testing.AntennaTestWithMockedContext;
 import org.eclipse.sw360.antenna.util.HttpHelper;
@@ -25,13 +28,17 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.sw360.antenna.testing.util.AntennaTestingUtils.setVariableValueInObject;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
@@ -41,7 +48,11 @@ import static org.mockito.Mockito.when;
 
 @RunWith(Parameterized.class)
 public class HttpRequesterTest extends AntennaTestWithMockedContext {
+    private static final String CENTRAL_URL = "https://repo.maven.apache.org/maven2/groupId/artifactId/version/";
+
     private HttpHelper httpHelperMock = Mockito.mock(HttpHelper.class);
+    private HttpClient httpClientMock;
+    private ArtifactCache artifactCache;
     private HttpRequester hr;
     private Coordinate mavenCoordinate;
     private ClassifierInformation classifierInformation;
@@ -60,18 +71,41 @@ public class HttpRequesterTest extends AntennaTestWithMockedContext {
         this.baseBefore();
         mavenCoordinate = new Coordinate(Coordinate.Types.MAVEN, "groupId", "artifactId", "version");
 
-        hr = new HttpRequester(mock(HttpClient.class), new URL("http://test.repo"));
+        httpClientMock = mock(HttpClient.class);
+        mockChecksum(Optional.empty());
+        artifactCache = new ArtifactCache(temporaryFolder.newFolder("cache").toPath());
+        hr = new HttpRequester(httpClientMock, Optional.of(new URL("http://test.repo")), artifactCache);
         setVariableValueInObject(hr, "httpHelper", httpHelperMock);
     }
 
+    private void mockChecksum(Optional<Checksum> checksum) {
+        when(httpClientMock.execute(any(), any())).thenReturn(CompletableFuture.completedFuture(checksum));
+    }
+
+    private String expectedFileName() {
+        return "artifactId-version" + (classifierInformation.isSource ? "-sources" : "") + ".jar";
+    }
+
+    /**
+     * Prepares the mock HTTP helper to simulate a successful download of a
+     * file with the given content.
+     */
+    private void mockDownload(String url, String content) throws IOException {
+        when(httpHelperMock.downloadFile(eq(url), any(Path.class), anyString())).thenAnswer(invocation -> {
+            Path file = invocation.<Path>getArgument(1).resolve(invocation.<String>getArgument(2));
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+            return file.toFile();
+        });
+    }
+
     @Test
     public void requestFileUsesTheCorrectUrl() throws Exception {
         Path targetDirectory = temporaryFolder.newFolder("target").toPath();
 
         hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation);
 
-        String filename = "artifactId-version" + (classifierInformation.isSource ? "-sources" : "") + ".jar";
-        verify(httpHelperMock).downloadFile("http://test.repo/groupId/artifactId/version/" + filename, targetDirectory, filename);
+        String filename = expectedFileName();
+        verify(httpHelperMock).downloadFile(eq("http://test.repo/groupId/artifactId/version/" + filename), any(Path.class), anyString());
     }
 
     @Test
@@ -95,4 +129,77 @@ public class HttpRequesterTest extends AntennaTestWithMockedContext {
 
         verify(httpHelperMock, never()).downloadFile(anyString(), eq(targetDirectory), anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void requestFileStoresDownloadedFileInCacheAndTarget() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        String url = "http://test.repo/groupId/artifactId/version/" + expectedFileName();
+        mockDownload(url, "content");
+        mockChecksum(Optional.of(Checksum.sha1(Checksum.calculate(Checksum.ALGORITHM_SHA1,
+                "content".getBytes(StandardCharsets.UTF_8)))));
+
+        Optional<File> file = hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation);
+
+        assertThat(file).contains(targetDirectory.resolve(expectedFileName()).toFile());
+        assertThat(new String(Files.readAllBytes(file.get().toPath()), StandardCharsets.UTF_8)).isEqualTo("content");
+        assertThat(artifactCache.get(url)).isPresent();
+    }
+
+    @Test
+    public void requestFileUsesCachedFile() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        String url = "http://test.repo/groupId/artifactId/version/" + expectedFileName();
+        Path cachedFile = temporaryFolder.newFile("cached.jar").toPath();
+        Files.write(cachedFile, "cached".getBytes(StandardCharsets.UTF_8));
+        artifactCache.put(url, cachedFile, null);
+
+        Optional<File> file = hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation);
+
+        assertThat(file).isPresent();
+        assertThat(new String(Files.readAllBytes(file.get().toPath()), StandardCharsets.UTF_8)).isEqualTo("cached");
+        verify(httpHelperMock, never()).downloadFile(anyString(), any(Path.class), anyString());
+    }
+
+    @Test
+    public void requestFileRejectsFileWithWrongChecksum() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        String url = "http://test.repo/groupId/artifactId/version/" + expectedFileName();
+        mockDownload(url, "corrupt");
+        mockDownload(CENTRAL_URL + expectedFileName(), "corrupt");
+        mockChecksum(Optional.of(Checksum.sha1("0123456789012345678901234567890123456789")));
+
+        Optional<File> file = hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation);
+
+        assertThat(file).isEmpty();
+        assertThat(targetDirectory.resolve(expectedFileName())).doesNotExist();
+        assertThat(artifactCache.get(url)).isEmpty();
+    }
+
+    @Test
+    public void requestFileRecordsMissingFilesPerRepository() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        String url = "http://test.repo/groupId/artifactId/version/" + expectedFileName();
+        when(httpHelperMock.downloadFile(eq(url), any(Path.class), anyString()))
+                .thenThrow(new FailedRequestException("Download", HttpConstants.STATUS_ERR_NOT_FOUND));
+        mockDownload(CENTRAL_URL + expectedFileName(), "central");
+
+        assertThat(hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation)).isPresent();
+        Files.delete(targetDirectory.resolve(expectedFileName()));
+        assertThat(hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation)).isPresent();
+
+        assertThat(artifactCache.isMissing(url)).isTrue();
+        assertThat(artifactCache.isMissing(CENTRAL_URL + expectedFileName())).isFalse();
+        verify(httpHelperMock).downloadFile(eq(url), any(Path.class), anyString());
+        verify(httpHelperMock).downloadFile(eq(CENTRAL_URL + expectedFileName()), any(Path.class), anyString());
+    }
+
+    @Test
+    public void requestFileDoesNotFetchChecksumForMissingFile() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        when(httpHelperMock.downloadFile(anyString(), any(Path.class), anyString()))
+                .thenThrow(new FailedRequestException("Download", HttpConstants.STATUS_ERR_NOT_FOUND));
+
+        assertThat(hr.requestFile(mavenCoordinate, targetDirectory, classifierInformation)).isEmpty();
+        verify(httpClientMock, never()).execute(any(), any());
+    }
+}
@@ -27,9 +27,20 @@ import org.mockito.stubbing.Answer;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -137,4 +148,158 @@ public class MavenInvokerRequesterTest extends AntennaTestWithMockedContext {
         Optional<File> requestResult = mir.requestFile(mavenCoordinate, targetDirectory, ClassifierInformation.DEFAULT_JAR);
         assertThat(requestResult).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void requestFilesResolvesAllArtifactsWithOneInvocation() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        Coordinate otherCoordinate = new Coordinate(Coordinate.Types.MAVEN, "groupId", "otherArtifactId", "1.0");
+        File expectedJarFile = new File(targetDirectory.toFile(),
+                mir.getExpectedJarBaseName(mavenCoordinate, ClassifierInformation.DEFAULT_SOURCE_JAR));
+        List<String> pomContents = new ArrayList<>();
+        Mockito.when(defaultInvokerMock.execute(ArgumentMatchers.any(InvocationRequest.class)))
+                .then((Answer<InvocationResult>) invocationOnMock -> {
+                    InvocationRequest request = invocationOnMock.getArgument(0);
+                    pomContents.add(new String(Files.readAllBytes(request.getPomFile().toPath()), StandardCharsets.UTF_8));
+                    new FileOutputStream(expectedJarFile).close();
+                    return getDummyInvocationResult(0);
+                });
+
+        Map<Coordinate, Optional<File>> files = mir.requestFiles(Arrays.asList(mavenCoordinate, otherCoordinate),
+                targetDirectory, ClassifierInformation.DEFAULT_SOURCE_JAR);
+
+        // the batch, plus an individual request for the file missing after the batch
+        Mockito.verify(defaultInvokerMock, Mockito.times(2)).execute(captor.capture());
+        assertThat(files).containsEntry(mavenCoordinate, Optional.of(expectedJarFile))
+                .containsEntry(otherCoordinate, Optional.empty());
+        assertThat(pomContents.get(0)).contains("<artifactId>artifactId</artifactId>",
+                "<artifactId>otherArtifactId</artifactId>", "<version>1.0</version>");
+        InvocationRequest batchRequest = captor.getAllValues().get(0);
+        Collection<String> goals = batchRequest.getGoals();
+        assertThat(goals).filteredOn(s -> s.contains("copy-dependencies")).hasSize(1);
+        assertThat(goals).filteredOn(s -> s.contains("-Dclassifier=sources")).hasSize(1);
+        assertThat(goals).filteredOn(s -> s.contains(targetDirectory.toString())).hasSize(1);
+        assertThat(batchRequest.getPomFile()).doesNotExist();
+        assertThat(captor.getAllValues().get(1).getGoals())
+                .filteredOn(s -> s.contains(otherCoordinate.getName())).hasSize(1);
+    }
+
+    @Test
+    public void requestFilesPassesAbsoluteTargetDirectoryForBatches() throws Exception {
+        Path absoluteTargetDirectory = temporaryFolder.newFolder("relativeTarget").toPath().toAbsolutePath();
+        Path targetDirectory = Paths.get("").toAbsolutePath().relativize(absoluteTargetDirectory);
+        File expectedJarFile = new File(absoluteTargetDirectory.toFile(),
+                mir.getExpectedJarBaseName(mavenCoordinate, ClassifierInformation.DEFAULT_JAR));
+        Mockito.when(defaultInvokerMock.execute(ArgumentMatchers.any(InvocationRequest.class)))
+                .then((Answer<InvocationResult>) invocationOnMock -> {
+                    InvocationRequest request = invocationOnMock.getArgument(0);
+                    if (request.getGoals().contains("\"-DoutputDirectory=" + absoluteTargetDirectory + "\"")) {
+                        new FileOutputStream(expectedJarFile).close();
+                    }
+                    return getDummyInvocationResult(0);
+                });
+
+        Map<Coordinate, Optional<File>> files = mir.requestFiles(Collections.singletonList(mavenCoordinate),
+                targetDirectory, ClassifierInformation.DEFAULT_JAR);
+
+        Mockito.verify(defaultInvokerMock).execute(ArgumentMatchers.any(InvocationRequest.class));
+        assertThat(targetDirectory.isAbsolute()).isFalse();
+        assertThat(files.get(mavenCoordinate)).isPresent();
+        assertThat(files.get(mavenCoordinate).get().getAbsoluteFile()).isEqualTo(expectedJarFile);
+    }
+
+    @Test
+    public void requestFilesLeavesOutArtifactsOfSmallFailedBatches() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        Coordinate otherCoordinate = new Coordinate(Coordinate.Types.MAVEN, "groupId", "otherArtifactId", "1.0");
+        Mockito.when(defaultInvokerMock.execute(ArgumentMatchers.any(InvocationRequest.class)))
+                .thenReturn(getDummyInvocationResult(1));
+
+        Map<Coordinate, Optional<File>> files = mir.requestFiles(Arrays.asList(mavenCoordinate, otherCoordinate),
+                targetDirectory, ClassifierInformation.DEFAULT_JAR);
+
+        Mockito.verify(defaultInvokerMock).execute(ArgumentMatchers.any(InvocationRequest.class));
+        assertThat(files).isEmpty();
+    }
+
+    @Test
+    public void requestFilesSplitsFailedBatches() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        List<Coordinate> coordinates = IntStream.range(0, 4 * MavenInvokerRequester.MIN_SPLIT_BATCH_SIZE)
+                .mapToObj(i -> new Coordinate(Coordinate.Types.MAVEN, "groupId", "artifact" + i, "version"))
+                .collect(Collectors.toList());
+        Coordinate failingCoordinate = coordinates.get(0);
+        Mockito.when(defaultInvokerMock.execute(ArgumentMatchers.any(InvocationRequest.class)))
+                .then((Answer<InvocationResult>) invocationOnMock -> {
+                    InvocationRequest request = invocationOnMock.getArgument(0);
+                    String pom = new String(Files.readAllBytes(request.getPomFile().toPath()), StandardCharsets.UTF_8);
+                    if (pom.contains("<artifactId>" + failingCoordinate.getName() + "</artifactId>")) {
+                        return getDummyInvocationResult(1);
+                    }
+                    for (Coordinate coordinate : coordinates) {
+                        if (pom.contains("<artifactId>" + coordinate.getName() + "</artifactId>")) {
+                            new FileOutputStream(new File(targetDirectory.toFile(),
+                                    mir.getExpectedJarBaseName(coordinate, ClassifierInformation.DEFAULT_JAR))).close();
+                        }
+                    }
+                    return getDummyInvocationResult(0);
+                });
+
+        Map<Coordinate, Optional<File>> files = mir.requestFiles(coordinates, targetDirectory,
+                ClassifierInformation.DEFAULT_JAR);
+
+        // the full batch, two halves, and two quarters
+        Mockito.verify(defaultInvokerMock, Mockito.times(5)).execute(ArgumentMatchers.any(InvocationRequest.class));
+        assertThat(files).hasSize(coordinates.size() - MavenInvokerRequester.MIN_SPLIT_BATCH_SIZE)
+                .doesNotContainKey(failingCoordinate);
+    }
+
+    @Test
+    public void requestFilesDoesNotInvokeMavenForExistingFiles() throws Exception {
+        Path targetDirectory = temporaryFolder.newFolder("target").toPath();
+        File expectedJarFile = new File(targetDirectory.toFile(),
+                mir.getExpectedJarBaseName(mavenCoordinate, ClassifierInformation.DEFAULT_JAR));
+        new FileOutputStream(expectedJarFile).close();
+
+        Map<Coordinate, Optional<File>> files = mir.requestFiles(Arrays.asList(mavenCoordinate, mavenCoordinate),
+                targetDirectory, ClassifierInformation.DEFAULT_JAR);
+
+        assertThat(files).containsOnlyKeys(mavenCoordinate).containsEntry(mavenCoordinate, Optional.of(expectedJarFile));
+        Mockito.verifyZeroInteractions(defaultInvokerMock);
+    }
+
+    @Test
+    public void createBatchesSeparatesVersionsOfTheSameArtifact() {
+        Coordinate otherVersion = new Coordinate(Coordinate.Types.MAVEN, "groupId", "artifactId", "otherVersion");
+        Coordinate otherArtifact = new Coordinate(Coordinate.Types.MAVEN, "groupId", "otherArtifactId", "version");
+
+        List<List<Coordinate>> batches = MavenInvokerRequester.createBatches(
+                Arrays.asList(mavenCoordinate, otherVersion, otherArtifact));
+
+        assertThat(batches).containsExactly(Arrays.asList(mavenCoordinate, otherArtifact),
+                Arrays.asList(otherVersion));
+    }
+
+    @Test
+    public void createBatchesLimitsBatchSize() {
+        List<Coordinate> coordinates = IntStream.range(0, MavenInvokerRequester.MAX_BATCH_SIZE + 1)
+                .mapToObj(i -> new Coordinate(Coordinate.Types.MAVEN, "groupId", "artifact" + i, "version"))
+                .collect(Collectors.toList());
+
+        List<List<Coordinate>> batches = MavenInvokerRequester.createBatches(coordinates);
+
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).hasSize(MavenInvokerRequester.MAX_BATCH_SIZE);
+    }
+
+    @Test
+    public void createBatchPomContainsSourcesRepository() throws Exception {
+        MavenInvokerRequester requester = new MavenInvokerRequester(temporaryFolder.getRoot(), defaultInvokerMock,
+                Optional.of(new URL("https://my.repo/maven?a=1&b=2")));
+
+        String pom = requester.createBatchPom(Arrays.asList(mavenCoordinate));
+
+        assertThat(pom).contains("<url>https://my.repo/maven?a=1&amp;b=2</url>",
+                "<groupId>groupId</groupId>", "<artifactId>artifactId</artifactId>",
+                "<exclusion>", "<groupId>*</groupId>");
+    }
+}
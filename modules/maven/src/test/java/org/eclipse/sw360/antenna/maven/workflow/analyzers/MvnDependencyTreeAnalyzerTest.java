@@ -15,25 +15,38 @@ import org.apache.maven.plugin.testing.stubs.ArtifactStub;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.apache.maven.shared.dependency.graph.internal.DefaultDependencyNode;
 import org.eclipse.sw360.antenna.api.configuration.AntennaContext;
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.api.workflow.WorkflowStepResult;
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
 import org.eclipse.sw360.antenna.maven.WrappedDependencyNodes;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFilename;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactMatchingMetadata;
 import org.eclipse.sw360.antenna.model.artifact.facts.java.ArtifactPathnames;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.xml.generated.MatchState;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -46,6 +59,9 @@ public class MvnDependencyTreeAnalyzerTest {
     @Rule
     public MockitoRule mockitoRule = MockitoJUnit.rule();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testProjectIsAnalyzedCorrectly() {
         MvnDependencyTreeAnalyzer analyzer = new MvnDependencyTreeAnalyzer();
@@ -84,6 +100,109 @@ public class MvnDependencyTreeAnalyzerTest {
         assertThat(result.getArtifacts()).hasSize(size);
     }
 
+    @Test
+    public void testHashesOfLocalFilesAreAdded() throws IOException {
+        FileHashCache fileHashCache = new FileHashCache(null);
+        MvnDependencyTreeAnalyzer analyzer = new MvnDependencyTreeAnalyzer(fileHashCache);
+        analyzer.setAntennaContext(antennaContextMock);
+        File file = createLocalFile("artifact-0.jar", "content");
+        when(antennaContextMock.getGeneric(WrappedDependencyNodes.class))
+                .thenReturn(Optional.of(new WrappedDependencyNodes(Collections.singletonList(getNode(0, file)))));
+
+        WorkflowStepResult result = analyzer.yield();
+
+        Set<ArtifactFilename.ArtifactFilenameEntry> entries = getFilenameEntries(result);
+        assertThat(entries).containsOnly(new ArtifactFilename.ArtifactFilenameEntry("artifact-0.jar",
+                sha(Checksum.ALGORITHM_SHA1, "content"), Checksum.ALGORITHM_SHA1));
+        assertThat(fileHashCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSha256CanBeEnabled() throws IOException {
+        MvnDependencyTreeAnalyzer analyzer = new MvnDependencyTreeAnalyzer(new FileHashCache(null));
+        analyzer.setAntennaContext(antennaContextMock);
+        analyzer.configure(Collections.singletonMap("calculateSha256", "true"));
+        File file = createLocalFile("artifact-0.jar", "content");
+        when(antennaContextMock.getGeneric(WrappedDependencyNodes.class))
+                .thenReturn(Optional.of(new WrappedDependencyNodes(Collections.singletonList(getNode(0, file)))));
+
+        WorkflowStepResult result = analyzer.yield();
+
+        Set<String> hashes = getFilenameEntries(result).stream()
+                .map(ArtifactFilename.ArtifactFilenameEntry::getHash)
+                .collect(Collectors.toSet());
+        assertThat(hashes).containsOnly(sha(Checksum.ALGORITHM_SHA1, "content"),
+                sha(Checksum.ALGORITHM_SHA256, "content"));
+    }
+
+    @Test
+    public void testHashingCanBeDisabled() throws IOException {
+        MvnDependencyTreeAnalyzer analyzer = new MvnDependencyTreeAnalyzer(new FileHashCache(null));
+        analyzer.setAntennaContext(antennaContextMock);
+        analyzer.configure(Collections.singletonMap("calculateHashes", "false"));
+        File file = createLocalFile("artifact-0.jar", "content");
+        when(antennaContextMock.getGeneric(WrappedDependencyNodes.class))
+                .thenReturn(Optional.of(new WrappedDependencyNodes(Collections.singletonList(getNode(0, file)))));
+
+        WorkflowStepResult result = analyzer.yield();
+
+        assertThat(result.getArtifacts().iterator().next().askFor(ArtifactFilename.class)).isEmpty();
+    }
+
+    @Test
+    public void testManyFilesAreHashed() throws IOException {
+        int count = 2 * MvnDependencyTreeAnalyzer.DEFAULT_MAX_CONCURRENCY + 1;
+        List<DependencyNode> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add(getNode(i, createLocalFile("artifact-" + i + ".jar", "content" + i)));
+        }
+        MvnDependencyTreeAnalyzer analyzer = new MvnDependencyTreeAnalyzer(new FileHashCache(null));
+        analyzer.setAntennaContext(antennaContextMock);
+        when(antennaContextMock.getGeneric(WrappedDependencyNodes.class))
+                .thenReturn(Optional.of(new WrappedDependencyNodes(nodes)));
+
+        Collection<Artifact> artifacts = analyzer.yield().getArtifacts();
+
+        assertThat(artifacts).hasSize(count);
+        for (Artifact artifact : artifacts) {
+            String index = artifact.getMainCoordinate().get().getVersion().substring("1.0.".length());
+            assertThat(artifact.askFor(ArtifactFilename.class).get().getArtifactFilenameEntries())
+                    .extracting(ArtifactFilename.ArtifactFilenameEntry::getHash)
+                    .containsOnly(sha(Checksum.ALGORITHM_SHA1, "content" + index));
+        }
+    }
+
+    @Test
+    public void testDefaultMaxConcurrency() {
+        MvnDependencyTreeAnalyzer analyzer = new MvnDependencyTreeAnalyzer();
+        analyzer.configure(Collections.emptyMap());
+
+        assertThat(analyzer.getMaxConcurrency()).isEqualTo(MvnDependencyTreeAnalyzer.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testInvalidMaxConcurrency() {
+        new MvnDependencyTreeAnalyzer().configure(Collections.singletonMap("maxConcurrency", "-1"));
+    }
+
+    private File createLocalFile(String name, String content) throws IOException {
+        File file = temporaryFolder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        return file;
+    }
+
+    private static String sha(String algorithm, String content) {
+        return Checksum.calculate(algorithm, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<ArtifactFilename.ArtifactFilenameEntry> getFilenameEntries(WorkflowStepResult result) {
+        return result.getArtifacts().iterator().next()
+                .askFor(ArtifactFilename.class)
+                .map(ArtifactFilename::getArtifactFilenameEntries)
+                .orElse(Collections.emptySet());
+    }
+
     private WrappedDependencyNodes getNodes(int count) {
         List<DependencyNode> projects = new ArrayList<>();
         for (int i = 0; i < count; i++) {
@@ -97,8 +216,12 @@ public class MvnDependencyTreeAnalyzerTest {
     }
 
     private DependencyNode getNode(int i) {
+        return getNode(i, getFilePathForI(i));
+    }
+
+    private DependencyNode getNode(int i, File file) {
         ArtifactStub artifact = new ArtifactStub();
-        artifact.setFile(getFilePathForI(i));
+        artifact.setFile(file);
         artifact.setGroupId("org.eclipse.sw360.antenna");
         artifact.setArtifactId("artifact-" + i);
         artifact.setVersion("1.0." + i);
@@ -12,10 +12,12 @@ package org.eclipse.sw360.antenna.maven.workflow.processors.enricher;
 
 import org.assertj.core.api.Assertions;
 import org.eclipse.sw360.antenna.api.IProject;
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.model.reporting.MessageType;
 import org.eclipse.sw360.antenna.testing.AntennaTestWithMockedContext;
 import org.eclipse.sw360.antenna.testing.util.JarCreator;
 import org.junit.After;
@@ -24,10 +26,17 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.mockito.Mockito.*;
 
@@ -46,6 +55,7 @@ public class ManifestResolverTest extends AntennaTestWithMockedContext {
         when(antennaContextMock.getProject()).thenReturn(iProject);
         when(antennaContextMock.getProject().getBasedir()).thenReturn(temporaryFolder.newFolder("project-basedir"));
         resolver.setAntennaContext(antennaContextMock);
+        ManifestResolver.clearCache();
     }
 
     @After
@@ -93,4 +103,99 @@ public class ManifestResolverTest extends AntennaTestWithMockedContext {
         Assertions.assertThat(artifacts.get(0).getCoordinateForType(Coordinate.Types.P2).isPresent())
                 .isFalse();
     }
+
+    @Test
+    public void testMultipleArtifactsAreResolved() throws IOException {
+        Path jarWithManifest = jarCreator.createJarWithManifest(JarCreator.jarWithManifestName);
+        Path jarWithoutManifest = jarCreator.createJarWithoutManifest();
+        List<Artifact> artifacts = new ArrayList<>();
+        artifacts.addAll(makeArtifacts(jarWithManifest));
+        artifacts.addAll(makeArtifacts(jarWithoutManifest));
+        artifacts.addAll(makeArtifacts(jarWithManifest));
+
+        resolver.process(artifacts);
+
+        assertManifestMetadata(artifacts.get(0));
+        Assertions.assertThat(artifacts.get(1).getCoordinateForType(Coordinate.Types.P2)).isEmpty();
+        assertManifestMetadata(artifacts.get(2));
+    }
+
+    @Test
+    public void testInvalidJarIsReported() throws IOException {
+        Path invalidJar = temporaryFolder.newFile("invalid.jar").toPath();
+        Files.write(invalidJar, "no zip".getBytes(StandardCharsets.UTF_8));
+        List<Artifact> artifacts = makeArtifacts(invalidJar);
+
+        resolver.process(artifacts);
+
+        Assertions.assertThat(artifacts.get(0).getCoordinateForType(Coordinate.Types.P2)).isEmpty();
+        verify(reporterMock).add(eq(artifacts.get(0)), eq(MessageType.PROCESSING_FAILURE), anyString());
+    }
+
+    @Test
+    public void testResultsAreCachedUntilFileChanges() throws IOException {
+        Path jarWithManifest = jarCreator.createJarWithManifest(JarCreator.jarWithManifestName);
+        Path jar = temporaryFolder.newFolder("cached").toPath().resolve("bundle.jar");
+        Files.copy(jarWithManifest, jar);
+        long lastModified = Files.getLastModifiedTime(jar).toMillis();
+
+        Assertions.assertThat(ManifestResolver.readBundleCoordinate(jar)).isPresent();
+
+        byte[] content = Files.readAllBytes(jarCreator.createJarWithoutManifest());
+        Files.write(jar, content);
+        if (content.length == Files.size(jarWithManifest)) {
+            Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModified + 2000));
+        }
+        Assertions.assertThat(ManifestResolver.readBundleCoordinate(jar)).isEmpty();
+    }
+
+    @Test
+    public void testUnchangedFileIsReadFromCache() throws IOException {
+        Path jarWithManifest = jarCreator.createJarWithManifest(JarCreator.jarWithManifestName);
+        Path jar = temporaryFolder.newFolder("unchanged").toPath().resolve("bundle.jar");
+        Files.copy(jarWithManifest, jar);
+        Optional<Coordinate> coordinate = ManifestResolver.readBundleCoordinate(jar);
+        long lastModified = Files.getLastModifiedTime(jar).toMillis();
+
+        byte[] content = Files.readAllBytes(jar);
+        Arrays.fill(content, (byte) 0);
+        Files.write(jar, content);
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModified));
+
+        Assertions.assertThat(ManifestResolver.readBundleCoordinate(jar)).isEqualTo(coordinate);
+    }
+
+    @Test
+    public void testManifestWithDifferentCaseIsFound() throws IOException {
+        Path jar = temporaryFolder.newFolder("lowercase").toPath().resolve("bundle.jar");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("meta-inf/manifest.mf"));
+            out.write(("Manifest-Version: 1.0\r\nBundle-SymbolicName: org.test.bundle\r\n" +
+                    "Bundle-Version: 1.2.3\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        Optional<Coordinate> coordinate = ManifestResolver.readBundleCoordinate(jar);
+        Assertions.assertThat(coordinate)
+                .contains(new Coordinate(Coordinate.Types.P2, "org.test.bundle", "1.2.3"));
+    }
+
+    @Test
+    public void testMaxConcurrencyCanBeConfigured() {
+        resolver.configure(Collections.singletonMap("maxConcurrency", "2"));
+
+        Assertions.assertThat(resolver.getMaxConcurrency()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDefaultMaxConcurrency() {
+        resolver.configure(Collections.emptyMap());
+
+        Assertions.assertThat(resolver.getMaxConcurrency()).isEqualTo(ManifestResolver.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testInvalidMaxConcurrency() {
+        resolver.configure(Collections.singletonMap("maxConcurrency", "0"));
+    }
 }
@@ -24,6 +24,7 @@ import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactMatchingMetadata;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.model.reporting.MessageType;
 import org.eclipse.sw360.antenna.model.xml.generated.MatchState;
 import org.eclipse.sw360.antenna.testing.AntennaTestWithMockedContext;
 import org.junit.After;
@@ -31,20 +32,26 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.atLeast;
@@ -142,6 +149,130 @@ public class MavenArtifactResolverImplTest extends AntennaTestWithMockedContext
                 .requestFile(any(Coordinate.class), any(Path.class), any(ClassifierInformation.class));
     }
 
+    @Test
+    public void testSourcesAndJarsAreRequestedInParallel() throws IOException {
+        File jarFile = temporaryFolder.newFile("parallel.jar");
+        CountDownLatch latch = new CountDownLatch(2);
+        MavenArtifactResolverImpl spiedMavenArtifactResolverImpl = spy(mavenArtifactResolverImpl);
+        doReturn(requester)
+                .when(spiedMavenArtifactResolverImpl).getArtifactRequester();
+        when(requester.requestFile(any(Coordinate.class), any(Path.class), any(ClassifierInformation.class)))
+                .thenAnswer(invocation -> {
+                    latch.countDown();
+                    return latch.await(10, TimeUnit.SECONDS) ? Optional.of(jarFile) : Optional.empty();
+                });
+
+        Collection<Artifact> result = spiedMavenArtifactResolverImpl.process(artifacts);
+
+        assertThat(result.stream()
+                .allMatch(a -> a.askFor(ArtifactFile.class).isPresent())).isTrue();
+        assertThat(result.stream()
+                .allMatch(a -> a.askFor(ArtifactSourceFile.class).isPresent())).isTrue();
+    }
+
+    @Test
+    public void testMissingFilesAreRequestedOnlyOnce() {
+        List<Artifact> duplicateArtifacts = Arrays.asList(mkArtifact("groupId", "artifactId", "version"),
+                mkArtifact("groupId", "artifactId", "version"));
+        MavenArtifactResolverImpl spiedMavenArtifactResolverImpl = spy(mavenArtifactResolverImpl);
+        doReturn(requester)
+                .when(spiedMavenArtifactResolverImpl).getArtifactRequester();
+        when(requester.requestFile(any(Coordinate.class), any(Path.class), any(ClassifierInformation.class)))
+                .thenReturn(Optional.empty());
+
+        spiedMavenArtifactResolverImpl.process(duplicateArtifacts);
+
+        verify(requester, times(1))
+                .requestFile(any(Coordinate.class), any(Path.class), eq(ClassifierInformation.DEFAULT_JAR));
+        verify(requester, times(1))
+                .requestFile(any(Coordinate.class), any(Path.class), eq(ClassifierInformation.DEFAULT_SOURCE_JAR));
+        for (Artifact artifact : duplicateArtifacts) {
+            verify(reporterMock, times(2)).add(eq(artifact), eq(MessageType.MISSING_SOURCES), any(String.class));
+        }
+    }
+
+    @Test
+    public void testPreferredSourceQualifierIsTriedFirst() throws IOException {
+        File preferredSourceJar = temporaryFolder.newFile("artifactId-version-sources-ext.jar");
+        MavenArtifactResolverImpl resolverWithQualifier = spy(new MavenArtifactResolverImpl(mock(HttpClient.class),
+                Optional.empty(), Optional.empty(), Optional.empty(), toolConfigMock.getDependenciesDirectory(),
+                Collections.emptyList(), "sources-ext", null, reporterMock, false,
+                temporaryFolder.getRoot(), 1));
+        doReturn(requester)
+                .when(resolverWithQualifier).getArtifactRequester();
+        when(requester.requestFile(any(Coordinate.class), any(Path.class), any(ClassifierInformation.class)))
+                .thenAnswer(invocation -> {
+                    ClassifierInformation classifier = invocation.getArgument(2);
+                    return "sources-ext".equals(classifier.classifier) ? Optional.of(preferredSourceJar) :
+                            Optional.empty();
+                });
+
+        Collection<Artifact> result = resolverWithQualifier.process(artifacts);
+
+        assertThat(result.iterator().next().getSourceFile()).contains(preferredSourceJar.toPath());
+        verify(requester, never())
+                .requestFile(any(Coordinate.class), any(Path.class), eq(ClassifierInformation.DEFAULT_SOURCE_JAR));
+    }
+
+    @Test
+    public void testFilesAreRequestedInBatchesIfSupported() throws IOException {
+        File jarFile = temporaryFolder.newFile("batch.jar");
+        File sourceJarFile = temporaryFolder.newFile("batch-sources.jar");
+        Coordinate coordinate = new Coordinate(Coordinate.Types.MAVEN, "groupId", "artifactId", "version");
+        MavenArtifactResolverImpl spiedMavenArtifactResolverImpl = spy(mavenArtifactResolverImpl);
+        doReturn(requester)
+                .when(spiedMavenArtifactResolverImpl).getArtifactRequester();
+        when(requester.supportsBatchRequests()).thenReturn(true);
+        when(requester.requestFiles(any(), any(Path.class), eq(ClassifierInformation.DEFAULT_JAR)))
+                .thenReturn(Collections.singletonMap(coordinate, Optional.of(jarFile)));
+        when(requester.requestFiles(any(), any(Path.class), eq(ClassifierInformation.DEFAULT_SOURCE_JAR)))
+                .thenReturn(Collections.singletonMap(coordinate, Optional.of(sourceJarFile)));
+
+        Collection<Artifact> result = spiedMavenArtifactResolverImpl.process(artifacts);
+
+        Artifact artifact = result.iterator().next();
+        assertThat(artifact.getFile()).contains(jarFile.toPath());
+        assertThat(artifact.getSourceFile()).contains(sourceJarFile.toPath());
+        verify(requester, never())
+                .requestFile(any(Coordinate.class), any(Path.class), any(ClassifierInformation.class));
+    }
+
+    @Test
+    public void testArtifactsNotProcessedInBatchesAreRequestedIndividually() throws IOException {
+        File jarFile = temporaryFolder.newFile("single.jar");
+        File sourceJarFile = temporaryFolder.newFile("single-sources.jar");
+        MavenArtifactResolverImpl spiedMavenArtifactResolverImpl = spy(mavenArtifactResolverImpl);
+        doReturn(requester)
+                .when(spiedMavenArtifactResolverImpl).getArtifactRequester();
+        when(requester.supportsBatchRequests()).thenReturn(true);
+        when(requester.requestFiles(any(), any(Path.class), any(ClassifierInformation.class)))
+                .thenReturn(Collections.emptyMap());
+        doReturn(Optional.of(jarFile))
+                .when(requester).requestFile(any(Coordinate.class), any(Path.class), eq(ClassifierInformation.DEFAULT_JAR));
+        doReturn(Optional.of(sourceJarFile))
+                .when(requester).requestFile(any(Coordinate.class), any(Path.class), eq(ClassifierInformation.DEFAULT_SOURCE_JAR));
+
+        Collection<Artifact> result = spiedMavenArtifactResolverImpl.process(artifacts);
+
+        Artifact artifact = result.iterator().next();
+        assertThat(artifact.getFile()).contains(jarFile.toPath());
+        assertThat(artifact.getSourceFile()).contains(sourceJarFile.toPath());
+    }
+
+    @Test
+    public void testDefaultMaxConcurrency() {
+        assertThat(mavenArtifactResolverImpl.getMaxConcurrency())
+                .isEqualTo(MavenArtifactResolverImpl.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    @Test
+    public void testInvalidMaxConcurrency() {
+        assertThatThrownBy(() -> new MavenArtifactResolverImpl(mock(HttpClient.class),
+                Optional.empty(), Optional.empty(), Optional.empty(), toolConfigMock.getDependenciesDirectory(),
+                Collections.emptyList(), null, null, reporterMock, false, temporaryFolder.getRoot(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private Artifact mkArtifact(String groupId, String name, String version) {
         Artifact artifact = new Artifact();
 
@@ -11,6 +11,7 @@
 package org.eclipse.sw360.antenna.policies;
 
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.policy.engine.ApplicabilityFilter;
 import org.eclipse.sw360.antenna.policy.engine.PolicyViolation;
 import org.eclipse.sw360.antenna.policy.engine.RuleSeverity;
 import org.eclipse.sw360.antenna.policy.engine.Ruleset;
@@ -42,6 +43,11 @@ public class ArtifactKnownRule implements SingleArtifactRule {
                 .anyMatch(purl -> !Coordinate.Types.GENERIC.equals(purl.getType()));
     }
 
+    @Override
+    public Optional<ApplicabilityFilter> getApplicabilityFilter() {
+        return Optional.of(ApplicabilityFilter.NON_PROPRIETARY);
+    }
+
     @Override
     public String getId() {
         return "ArtifactIdentified";
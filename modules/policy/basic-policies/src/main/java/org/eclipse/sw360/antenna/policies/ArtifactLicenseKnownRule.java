@@ -34,6 +34,11 @@ public class ArtifactLicenseKnownRule implements SingleArtifactRule {
         return artifactRaisesPolicyViolation(this, thirdPartyArtifact);
     }
 
+    @Override
+    public Optional<ApplicabilityFilter> getApplicabilityFilter() {
+        return Optional.of(ApplicabilityFilter.NON_PROPRIETARY);
+    }
+
     @Override
     public String getId() {
         return "ArtifactLicenseKnown";
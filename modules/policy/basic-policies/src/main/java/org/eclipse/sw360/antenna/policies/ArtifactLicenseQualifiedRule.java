@@ -39,6 +39,11 @@ public class ArtifactLicenseQualifiedRule implements SingleArtifactRule {
                 thirdPartyArtifact.getLicenseState() == LicenseState.EXPLICITLY_SET;
     }
 
+    @Override
+    public Optional<ApplicabilityFilter> getApplicabilityFilter() {
+        return Optional.of(ApplicabilityFilter.NON_PROPRIETARY);
+    }
+
     @Override
     public String getId() {
         return "ArtifactLicenseQualified";
@@ -10,6 +10,7 @@
  */
 package org.eclipse.sw360.antenna.policies;
 
+import org.eclipse.sw360.antenna.policy.engine.ApplicabilityFilter;
 import org.eclipse.sw360.antenna.policy.engine.PolicyViolation;
 import org.eclipse.sw360.antenna.policy.engine.RuleSeverity;
 import org.eclipse.sw360.antenna.policy.engine.Ruleset;
@@ -44,6 +45,11 @@ public class LicenseQualifiedRule implements SingleArtifactRule {
                 .count() == 0;
     }
 
+    @Override
+    public Optional<ApplicabilityFilter> getApplicabilityFilter() {
+        return Optional.of(ApplicabilityFilter.NON_PROPRIETARY);
+    }
+
     @Override
     public String getId() {
         return "LicenseQualified";
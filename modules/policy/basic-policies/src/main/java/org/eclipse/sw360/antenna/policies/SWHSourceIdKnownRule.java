@@ -10,6 +10,7 @@
  */
 package org.eclipse.sw360.antenna.policies;
 
+import org.eclipse.sw360.antenna.policy.engine.ApplicabilityFilter;
 import org.eclipse.sw360.antenna.policy.engine.PolicyViolation;
 import org.eclipse.sw360.antenna.policy.engine.RuleSeverity;
 import org.eclipse.sw360.antenna.policy.engine.Ruleset;
@@ -37,6 +38,11 @@ public class SWHSourceIdKnownRule implements SingleArtifactRule {
         return artifactRaisesPolicyViolation(this, thirdPartyArtifact);
     }
 
+    @Override
+    public Optional<ApplicabilityFilter> getApplicabilityFilter() {
+        return Optional.of(ApplicabilityFilter.NON_PROPRIETARY);
+    }
+
     @Override
     public String getId() {
         return "SWHAvailable";
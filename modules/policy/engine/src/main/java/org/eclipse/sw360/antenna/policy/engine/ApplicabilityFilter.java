@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.policy.engine;
+
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.policy.engine.model.LicenseState;
+import org.eclipse.sw360.antenna.policy.engine.model.ThirdPartyArtifact;
+
+/**
+ * A function that decides whether a {@link Rule} can apply to a {@link ThirdPartyArtifact} at all. A rule can declare
+ * such a filter if it never raises a policy violation for some artifacts, e.g. a rule checking Maven specific
+ * metadata. The executors then skip these artifacts without evaluating the rule; a {@link CompareArtifactRule} is
+ * only evaluated for pairs of artifacts that both pass the filter.
+ * <p>
+ * The filter is called once per rule and artifact, so it should be cheap compared to the evaluation of the rule.
+ */
+@FunctionalInterface
+public interface ApplicabilityFilter {
+    /**
+     * Accepts only artifacts with a Maven coordinate.
+     */
+    ApplicabilityFilter MAVEN_ARTIFACTS = withCoordinateType(Coordinate.Types.MAVEN);
+
+    /**
+     * Accepts only artifacts with declared license information.
+     */
+    ApplicabilityFilter DECLARED_LICENSES = artifact ->
+            artifact.getLicenseState() == LicenseState.DECLARED_ONLY ||
+                    artifact.getLicenseState() == LicenseState.DECLARED_AND_OBSERVED;
+
+    /**
+     * Accepts only artifacts that are not proprietary.
+     */
+    ApplicabilityFilter NON_PROPRIETARY = artifact -> !artifact.isProprietary();
+
+    /**
+     * @param artifact The {@link ThirdPartyArtifact} to check
+     * @return true, if the rule has to be evaluated for the artifact, false if the artifact can be skipped
+     */
+    boolean isApplicable(ThirdPartyArtifact artifact);
+
+    /**
+     * @param other The filter to combine with this filter
+     * @return A filter accepting only artifacts that are accepted by this filter and the given filter
+     */
+    default ApplicabilityFilter and(ApplicabilityFilter other) {
+        return artifact -> isApplicable(artifact) && other.isApplicable(artifact);
+    }
+
+    /**
+     * @param type The package type of the coordinates, e.g. {@link Coordinate.Types#MAVEN}
+     * @return A filter accepting only artifacts with a coordinate of the given type
+     */
+    static ApplicabilityFilter withCoordinateType(String type) {
+        return artifact -> artifact.getCoordinates().stream()
+                .anyMatch(coordinate -> type.equals(coordinate.getType()));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.policy.engine;
+
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.policy.engine.model.LicenseData;
+import org.eclipse.sw360.antenna.policy.engine.model.ThirdPartyArtifact;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A function that assigns blocking keys to a {@link ThirdPartyArtifact}. A {@link CompareArtifactRule} can declare
+ * such a function if it can only raise a policy violation for pairs of artifacts that have some property in common,
+ * e.g. the same coordinate name. The {@link CompareArtifactExecutor} then evaluates the rule only for pairs of
+ * artifacts that share at least one key, instead of comparing all pairs of artifacts.
+ * <p>
+ * Keys are compared with {@code equals()}. An artifact without keys is not compared with any other artifact.
+ * Implementations should be stateless; the constants provided by this interface can be shared by multiple rules, so
+ * that the blocks are computed only once.
+ */
+@FunctionalInterface
+public interface BlockingKey {
+    /**
+     * Blocks artifacts by the names of their coordinates.
+     */
+    BlockingKey COORDINATE_NAME = artifact -> artifact.getCoordinates().stream()
+            .map(Coordinate::getName)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+    /**
+     * Blocks artifacts by the package types of their coordinates.
+     */
+    BlockingKey PACKAGE_TYPE = artifact -> artifact.getCoordinates().stream()
+            .map(Coordinate::getType)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+    /**
+     * Blocks artifacts by the ids of their licenses.
+     */
+    BlockingKey LICENSE = artifact -> artifact.getLicenses().stream()
+            .map(LicenseData::getLicenseId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+    /**
+     * @param artifact The {@link ThirdPartyArtifact} for which the keys are determined
+     * @return The blocking keys of the artifact, an empty collection if the artifact has none
+     */
+    Collection<?> getKeys(ThirdPartyArtifact artifact);
+}
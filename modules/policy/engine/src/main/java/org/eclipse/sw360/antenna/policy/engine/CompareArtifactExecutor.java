@@ -12,12 +12,24 @@ package org.eclipse.sw360.antenna.policy.engine;
 
 import org.eclipse.sw360.antenna.policy.engine.model.ThirdPartyArtifact;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of the {@link RuleExecutor} for getRules of type {@link CompareArtifactRule}.
+ * <p>
+ * For rules that declare a {@link BlockingKey}, the artifacts are grouped into blocks by their keys, and each
+ * artifact is only compared with the artifacts of its blocks. The blocks for a key are computed once per execution
+ * and shared by all rules declaring this key. Rules without a key are evaluated on all pairs of artifacts. Pairs
+ * containing an artifact rejected by the {@link ApplicabilityFilter} of a rule are skipped.
  */
 class CompareArtifactExecutor implements RuleExecutor {
     private final Collection<CompareArtifactRule> rules;
@@ -27,38 +39,112 @@ class CompareArtifactExecutor implements RuleExecutor {
     }
 
     @Override
-    public Collection<PolicyViolation> executeRules(final Collection<ThirdPartyArtifact> thirdPartyArtifacts) {
+    public Collection<PolicyViolation> executeRules(final Collection<ThirdPartyArtifact> thirdPartyArtifacts,
+            final PolicyEngineMetrics metrics) {
+        final List<ThirdPartyArtifact> artifacts = new ArrayList<>(thirdPartyArtifacts);
+        final Map<BlockingKey, Blocks> blocksByKey = new ConcurrentHashMap<>();
         return rules.parallelStream()
-                .map(rule -> executeRuleOnArtifacts(rule, thirdPartyArtifacts))
+                .map(rule -> executeRuleOnArtifacts(rule, artifacts, blocksByKey, metrics.getRecorder(rule)))
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
     }
 
     private Collection<PolicyViolation> executeRuleOnArtifacts(final CompareArtifactRule rule,
-            final Collection<ThirdPartyArtifact> thirdPartyArtifacts) {
+            final List<ThirdPartyArtifact> thirdPartyArtifacts, final Map<BlockingKey, Blocks> blocksByKey,
+            final PolicyEngineMetrics.RuleRecorder recorder) {
+        final boolean[] applicable = findApplicableArtifacts(rule, thirdPartyArtifacts, recorder);
+        final Optional<BlockingKey> blockingKey = rule.getBlockingKey();
+        if (blockingKey.isPresent()) {
+            final Blocks blocks = blocksByKey.computeIfAbsent(blockingKey.get(),
+                    key -> new Blocks(key, thirdPartyArtifacts));
+            return IntStream.range(0, thirdPartyArtifacts.size())
+                    .filter(position -> applicable[position])
+                    .mapToObj(position -> findViolationsForLeftHandSide(rule, thirdPartyArtifacts.get(position),
+                            blocks.getCandidates(position, applicable), recorder))
+                    .flatMap(Collection::stream)
+                    .distinct()
+                    .collect(Collectors.toList());
+        }
 
-        return thirdPartyArtifacts.stream()
-                .map(artifact -> findViolationsForLeftHandSide(rule, artifact, thirdPartyArtifacts))
+        final List<ThirdPartyArtifact> applicableArtifacts = IntStream.range(0, thirdPartyArtifacts.size())
+                .filter(position -> applicable[position])
+                .mapToObj(thirdPartyArtifacts::get)
+                .collect(Collectors.toList());
+        return applicableArtifacts.stream()
+                .map(artifact -> findViolationsForLeftHandSide(rule, artifact, applicableArtifacts, recorder))
                 .flatMap(Collection::stream)
                 .distinct()
                 .collect(Collectors.toList());
     }
 
+    private static boolean[] findApplicableArtifacts(final CompareArtifactRule rule,
+            final List<ThirdPartyArtifact> thirdPartyArtifacts, final PolicyEngineMetrics.RuleRecorder recorder) {
+        final boolean[] applicable = new boolean[thirdPartyArtifacts.size()];
+        final Optional<ApplicabilityFilter> filter = rule.getApplicabilityFilter();
+        for (int i = 0; i < applicable.length; i++) {
+            applicable[i] = !filter.isPresent() || filter.get().isApplicable(thirdPartyArtifacts.get(i));
+            if (!applicable[i]) {
+                recorder.recordSkipped();
+            }
+        }
+        return applicable;
+    }
+
     private Collection<PolicyViolation> findViolationsForLeftHandSide(final CompareArtifactRule rule,
-            final ThirdPartyArtifact leftHandSide, final Collection<ThirdPartyArtifact> rightHandSides) {
+            final ThirdPartyArtifact leftHandSide, final Collection<ThirdPartyArtifact> rightHandSides,
+            final PolicyEngineMetrics.RuleRecorder recorder) {
 
         return rightHandSides.stream()
                 .filter(rightHandSide -> !rightHandSide.equals(leftHandSide))
-                .map(rightHandSide -> rule.evaluate(leftHandSide, rightHandSide))
+                .map(rightHandSide -> evaluate(rule, leftHandSide, rightHandSide, recorder))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
     }
 
+    private static Optional<PolicyViolation> evaluate(final CompareArtifactRule rule,
+            final ThirdPartyArtifact leftHandSide, final ThirdPartyArtifact rightHandSide,
+            final PolicyEngineMetrics.RuleRecorder recorder) {
+        final long start = System.nanoTime();
+        final Optional<PolicyViolation> violation = rule.evaluate(leftHandSide, rightHandSide);
+        recorder.recordEvaluation(System.nanoTime() - start, violation.isPresent());
+        return violation;
+    }
+
     @Override
     public Collection<Ruleset> getRulesets() {
         return rules.stream()
                 .map(Rule::getRuleset)
                 .collect(Collectors.toSet());
     }
+
+    /**
+     * The artifacts grouped into blocks by a {@link BlockingKey}. Blocks are stored as positions in the list of
+     * artifacts, so that candidates are returned in the original order of the artifacts.
+     */
+    private static final class Blocks {
+        private final List<ThirdPartyArtifact> artifacts;
+        private final List<Collection<?>> keysByPosition;
+        private final Map<Object, List<Integer>> positionsByKey = new HashMap<>();
+
+        private Blocks(final BlockingKey blockingKey, final List<ThirdPartyArtifact> artifacts) {
+            this.artifacts = artifacts;
+            this.keysByPosition = new ArrayList<>(artifacts.size());
+            for (int i = 0; i < artifacts.size(); i++) {
+                final int position = i;
+                final Collection<?> keys = blockingKey.getKeys(artifacts.get(i));
+                keysByPosition.add(keys);
+                keys.forEach(key -> positionsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(position));
+            }
+        }
+
+        private Collection<ThirdPartyArtifact> getCandidates(final int position, final boolean[] applicable) {
+            final TreeSet<Integer> positions = new TreeSet<>();
+            keysByPosition.get(position).forEach(key -> positions.addAll(positionsByKey.get(key)));
+            return positions.stream()
+                    .filter(candidate -> applicable[candidate])
+                    .map(artifacts::get)
+                    .collect(Collectors.toList());
+        }
+    }
 }
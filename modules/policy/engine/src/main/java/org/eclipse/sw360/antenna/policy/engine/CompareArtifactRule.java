@@ -25,4 +25,16 @@ public interface CompareArtifactRule extends Rule {
      * @return {@link PolicyViolation} as {@link Optional}, if a policy violation is found an empty Optional if not
      */
     Optional<PolicyViolation> evaluate(ThirdPartyArtifact leftArtifact, ThirdPartyArtifact rightArtifact);
+
+    /**
+     * Rules that can only be violated by artifacts with a common property can declare a {@link BlockingKey} for
+     * this property. The rule is then only evaluated for pairs of artifacts that share at least one key. Rules that
+     * do not declare a key are evaluated for all pairs of artifacts.
+     *
+     * @return The {@link BlockingKey} of the rule as {@link Optional}, an empty Optional if all pairs of artifacts
+     * have to be compared
+     */
+    default Optional<BlockingKey> getBlockingKey() {
+        return Optional.empty();
+    }
 }
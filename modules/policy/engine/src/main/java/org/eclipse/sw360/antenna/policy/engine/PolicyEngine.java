@@ -20,12 +20,23 @@ import java.util.stream.Collectors;
 
 /**
  * Policy engine that executes all rules on the given data by calling the different {@link RuleExecutor} instances.
+ * <p>
+ * Every evaluation records {@link PolicyEngineMetrics} with the evaluation time and the number of violations per rule
+ * and rule set. The slowest rules are logged after the evaluation, the full metrics of the last evaluation can be
+ * queried with {@link #getLastMetrics()}.
  */
 public class PolicyEngine {
     private static final Logger LOGGER = LoggerFactory.getLogger(PolicyEngine.class);
 
+    /**
+     * The number of the slowest rules that are logged after an evaluation.
+     */
+    static final int SLOWEST_RULES_LOGGED = 5;
+
     private final Collection<RuleExecutor> executors;
 
+    private volatile PolicyEngineMetrics lastMetrics = new PolicyEngineMetrics();
+
     public PolicyEngine(final Collection<RuleExecutor> executors) {
         this.executors = executors;
     }
@@ -37,10 +48,13 @@ public class PolicyEngine {
                 .map(Coordinate::canonicalize)
                 .collect(Collectors.joining(",", "[", "]")));
 
+        final PolicyEngineMetrics metrics = new PolicyEngineMetrics();
         Collection<PolicyViolation> violations =  executors.parallelStream()
-                .map(executor -> executor.executeRules(thirdPartyArtifacts))
+                .map(executor -> executor.executeRules(thirdPartyArtifacts, metrics))
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
+        lastMetrics = metrics;
+        logMetrics(metrics);
 
         if (violations.size() > 0) {
             LOGGER.warn("Number of violations found: " + violations.size());
@@ -51,6 +65,23 @@ public class PolicyEngine {
         return violations;
     }
 
+    /**
+     * @return The {@link PolicyEngineMetrics} of the last call of {@link #evaluate(Collection)}, empty metrics if
+     * there was no evaluation yet
+     */
+    public PolicyEngineMetrics getLastMetrics() {
+        return lastMetrics;
+    }
+
+    private static void logMetrics(final PolicyEngineMetrics metrics) {
+        if (LOGGER.isDebugEnabled()) {
+            metrics.getRulesetStatistics().forEach(statistics -> LOGGER.debug("Rule set " + statistics));
+            LOGGER.debug("Slowest rules are " + metrics.getSlowestRules(SLOWEST_RULES_LOGGED).stream()
+                    .map(PolicyEngineMetrics.Statistics::toString)
+                    .collect(Collectors.joining(", ", "[", "]")));
+        }
+    }
+
     public Collection<Ruleset> getRulesets() {
         return executors.stream()
                 .map(RuleExecutor::getRulesets)
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.policy.engine;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * The metrics of one run of the {@link PolicyEngine}. For every {@link Rule} the number of evaluations, the number
+ * of artifacts skipped by the {@link ApplicabilityFilter} of the rule, the number of policy violations raised, and
+ * the time spent in evaluating the rule are recorded. These values are also aggregated per {@link Ruleset}, so that
+ * authors of rule sets can find out which rules are expensive.
+ * <p>
+ * The executors record their data concurrently; the statistics should be queried after the evaluation is complete.
+ */
+public class PolicyEngineMetrics {
+    private final Map<Rule, RuleRecorder> recorders = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the object recording the metrics of the given rule. Executors should obtain the recorder once per rule
+     * and execution.
+     *
+     * @param rule The {@link Rule} whose metrics are recorded
+     * @return The {@link RuleRecorder} for this rule
+     */
+    RuleRecorder getRecorder(final Rule rule) {
+        return recorders.computeIfAbsent(rule, key -> new RuleRecorder());
+    }
+
+    /**
+     * @return The {@link Statistics} of all rules evaluated in this run, sorted by rule id
+     */
+    public List<Statistics> getRuleStatistics() {
+        return recorders.entrySet().stream()
+                .map(entry -> entry.getValue().toStatistics(entry.getKey().getId()))
+                .sorted(Comparator.comparing(Statistics::getName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The {@link Statistics} of all rule sets evaluated in this run, aggregated over their rules and sorted
+     * by rule set name
+     */
+    public List<Statistics> getRulesetStatistics() {
+        final Map<String, List<Statistics>> statisticsByRuleset = recorders.entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> rulesetName(entry.getKey().getRuleset()),
+                        LinkedHashMap::new,
+                        Collectors.mapping(entry -> entry.getValue().toStatistics(entry.getKey().getId()),
+                                Collectors.toList())));
+        return statisticsByRuleset.entrySet().stream()
+                .map(entry -> Statistics.sum(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(Statistics::getName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param limit The maximum number of rules to return
+     * @return The {@link Statistics} of the rules with the longest evaluation time, the slowest rule first
+     */
+    public List<Statistics> getSlowestRules(final int limit) {
+        return getRuleStatistics().stream()
+                .sorted(Comparator.comparing(Statistics::getEvaluationTime).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static String rulesetName(final Ruleset ruleset) {
+        return ruleset == null ? "<none>" : String.format("%s [%s]", ruleset.getName(), ruleset.getVersion());
+    }
+
+    /**
+     * Records the metrics of a single rule. Instances can be used by multiple threads.
+     */
+    static final class RuleRecorder {
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder violations = new LongAdder();
+        private final LongAdder evaluationNanos = new LongAdder();
+
+        /**
+         * Records an evaluation of the rule.
+         *
+         * @param nanos     The time the evaluation took in nanoseconds
+         * @param violation Whether the evaluation raised a policy violation
+         */
+        void recordEvaluation(final long nanos, final boolean violation) {
+            evaluations.increment();
+            evaluationNanos.add(nanos);
+            if (violation) {
+                violations.increment();
+            }
+        }
+
+        /**
+         * Records an artifact that was skipped because the rule does not apply to it.
+         */
+        void recordSkipped() {
+            skipped.increment();
+        }
+
+        private Statistics toStatistics(final String name) {
+            return new Statistics(name, evaluations.sum(), skipped.sum(), violations.sum(),
+                    Duration.ofNanos(evaluationNanos.sum()));
+        }
+    }
+
+    /**
+     * The metrics recorded for a rule or a rule set.
+     */
+    public static final class Statistics {
+        private final String name;
+        private final long evaluations;
+        private final long skipped;
+        private final long violations;
+        private final Duration evaluationTime;
+
+        Statistics(final String name, final long evaluations, final long skipped, final long violations,
+                final Duration evaluationTime) {
+            this.name = name;
+            this.evaluations = evaluations;
+            this.skipped = skipped;
+            this.violations = violations;
+            this.evaluationTime = evaluationTime;
+        }
+
+        private static Statistics sum(final String name, final Collection<Statistics> statistics) {
+            return new Statistics(name,
+                    statistics.stream().mapToLong(Statistics::getEvaluations).sum(),
+                    statistics.stream().mapToLong(Statistics::getSkipped).sum(),
+                    statistics.stream().mapToLong(Statistics::getViolations).sum(),
+                    statistics.stream().map(Statistics::getEvaluationTime).reduce(Duration.ZERO, Duration::plus));
+        }
+
+        /**
+         * @return The id of the rule or the name and version of the rule set
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The number of times a rule was evaluated, for a {@link CompareArtifactRule} the number of pairs
+         */
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        /**
+         * @return The number of artifacts skipped because of the {@link ApplicabilityFilter} of a rule
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return The number of evaluations that raised a policy violation
+         */
+        public long getViolations() {
+            return violations;
+        }
+
+        /**
+         * @return The total time spent in evaluating the rule or the rules of the rule set
+         */
+        public Duration getEvaluationTime() {
+            return evaluationTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d evaluations, %d skipped, %d violations in %d ms", name, evaluations,
+                    skipped, violations, evaluationTime.toMillis());
+        }
+    }
+}
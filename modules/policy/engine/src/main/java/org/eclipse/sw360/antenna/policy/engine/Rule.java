@@ -10,6 +10,8 @@
  */
 package org.eclipse.sw360.antenna.policy.engine;
 
+import java.util.Optional;
+
 /**
  * Interface for a generic rule with the standard fields relevant for all policy rules.
  */
@@ -38,4 +40,16 @@ public interface Rule {
      * @return The associated {@link Ruleset} from which the rule originates
      */
     Ruleset getRuleset();
+
+    /**
+     * Rules that can only apply to some artifacts can declare an {@link ApplicabilityFilter}. The rule is then not
+     * evaluated for artifacts rejected by the filter. Rules that do not declare a filter are evaluated for all
+     * artifacts.
+     *
+     * @return The {@link ApplicabilityFilter} of the rule as {@link Optional}, an empty Optional if the rule applies
+     * to all artifacts
+     */
+    default Optional<ApplicabilityFilter> getApplicabilityFilter() {
+        return Optional.empty();
+    }
 }
@@ -21,7 +21,17 @@ import java.util.Collection;
  * {@link PolicyViolation} that allows the executor to identify failing artifacts.
  */
 interface RuleExecutor {
-    Collection<PolicyViolation> executeRules(Collection<ThirdPartyArtifact> thirdPartyArtifacts);
+    default Collection<PolicyViolation> executeRules(Collection<ThirdPartyArtifact> thirdPartyArtifacts) {
+        return executeRules(thirdPartyArtifacts, new PolicyEngineMetrics());
+    }
+
+    /**
+     * @param thirdPartyArtifacts The artifacts to evaluate the rules on
+     * @param metrics             The {@link PolicyEngineMetrics} to record the evaluations of the rules
+     * @return The policy violations raised by the rules of this executor
+     */
+    Collection<PolicyViolation> executeRules(Collection<ThirdPartyArtifact> thirdPartyArtifacts,
+            PolicyEngineMetrics metrics);
 
     Collection<Ruleset> getRulesets();
 }
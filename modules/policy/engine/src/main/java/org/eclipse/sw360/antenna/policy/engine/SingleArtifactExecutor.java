@@ -17,7 +17,8 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
- * Implementation of the {@link RuleExecutor} for rules of type {@link SingleArtifactRule}.
+ * Implementation of the {@link RuleExecutor} for rules of type {@link SingleArtifactRule}. Artifacts rejected by the
+ * {@link ApplicabilityFilter} of a rule are skipped.
  */
 class SingleArtifactExecutor implements RuleExecutor {
     private final Collection<SingleArtifactRule> rules;
@@ -27,22 +28,42 @@ class SingleArtifactExecutor implements RuleExecutor {
     }
 
     @Override
-    public Collection<PolicyViolation> executeRules(final Collection<ThirdPartyArtifact> thirdPartyArtifacts) {
+    public Collection<PolicyViolation> executeRules(final Collection<ThirdPartyArtifact> thirdPartyArtifacts,
+            final PolicyEngineMetrics metrics) {
         return rules.parallelStream()
-                .map(rule -> executeRuleOnElements(rule, thirdPartyArtifacts))
+                .map(rule -> executeRuleOnElements(rule, thirdPartyArtifacts, metrics.getRecorder(rule)))
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
     }
 
     private Collection<PolicyViolation> executeRuleOnElements(final SingleArtifactRule rule,
-            final Collection<ThirdPartyArtifact> thirdPartyArtifacts) {
+            final Collection<ThirdPartyArtifact> thirdPartyArtifacts, final PolicyEngineMetrics.RuleRecorder recorder) {
+        final Optional<ApplicabilityFilter> filter = rule.getApplicabilityFilter();
         return thirdPartyArtifacts.stream()
-                .map(artifact -> rule.evaluate(artifact))
+                .filter(artifact -> isApplicable(filter, artifact, recorder))
+                .map(artifact -> evaluate(rule, artifact, recorder))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
     }
 
+    private static boolean isApplicable(final Optional<ApplicabilityFilter> filter,
+            final ThirdPartyArtifact artifact, final PolicyEngineMetrics.RuleRecorder recorder) {
+        if (filter.isPresent() && !filter.get().isApplicable(artifact)) {
+            recorder.recordSkipped();
+            return false;
+        }
+        return true;
+    }
+
+    private static Optional<PolicyViolation> evaluate(final SingleArtifactRule rule,
+            final ThirdPartyArtifact artifact, final PolicyEngineMetrics.RuleRecorder recorder) {
+        final long start = System.nanoTime();
+        final Optional<PolicyViolation> violation = rule.evaluate(artifact);
+        recorder.recordEvaluation(System.nanoTime() - start, violation.isPresent());
+        return violation;
+    }
+
     @Override
     public Collection<Ruleset> getRulesets() {
         return rules.stream().map(Rule::getRuleset).collect(Collectors.toSet());
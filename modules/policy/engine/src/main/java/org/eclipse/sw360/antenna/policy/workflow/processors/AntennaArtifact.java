@@ -12,6 +12,7 @@
 package org.eclipse.sw360.antenna.policy.workflow.processors;
 
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactFact;
 import org.eclipse.sw360.antenna.model.artifact.facts.*;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.license.LicenseInformation;
@@ -23,17 +24,40 @@ import org.eclipse.sw360.antenna.policy.engine.model.ThirdPartyArtifact;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * The facade of the {@link ThirdPartyArtifact} used in the {@link org.eclipse.sw360.antenna.policy.engine.PolicyEngine}
  * for retrieving metadata towards the Antenna data model.
+ * <p>
+ * The views derived from the facts of the artifact, like the final licenses or the source link, are computed lazily
+ * on first access and then reused for all rules evaluated on this wrapper. The facts they are derived from are
+ * tracked by identity; if one of them is added or replaced on the underlying artifact, the views are computed again.
+ * <p>
+ * As rules are evaluated in parallel, the views are published through a volatile field. Checking whether they are
+ * still current does not require a lock; the lock is only held while new views are created.
  */
 class AntennaArtifact implements ThirdPartyArtifact {
+    /**
+     * The fact classes the cached views of an artifact are derived from.
+     */
+    private static final List<Class<? extends ArtifactFact>> VIEW_FACT_CLASSES = Arrays.asList(
+            ConfiguredLicenseInformation.class,
+            OverriddenLicenseInformation.class,
+            DeclaredLicenseInformation.class,
+            ObservedLicenseInformation.class,
+            ArtifactSourceFile.class,
+            ArtifactSourceUrl.class);
+
     private final Artifact artifact;
 
+    private volatile Views views;
+
     AntennaArtifact(Artifact artifact) {
         this.artifact = artifact;
     }
@@ -49,6 +73,148 @@ class AntennaArtifact implements ThirdPartyArtifact {
 
     @Override
     public LicenseState getLicenseState() {
+        return getViews().getLicenseState();
+    }
+
+    @Override
+    public Collection<LicenseData> getLicenses() {
+        return getViews().getLicenses();
+    }
+
+    @Override
+    public Optional<String> getLicenseExpression() {
+        return getViews().getLicenseExpression();
+    }
+
+    @Override
+    public Optional<URL> getSourceFileOrLink() {
+        return getViews().getSourceFileOrLink();
+    }
+
+    @Override
+    public Optional<String> getSWHSourceId() {
+        return artifact.askForGet(ArtifactSoftwareHeritageID.class);
+    }
+
+    @Override
+    public Collection<Coordinate> getCoordinates() {
+        return artifact.getCoordinates();
+    }
+
+    /**
+     * Returns the views of the current facts of the artifact. The views are created anew only if one of the facts
+     * they are derived from is not the same object as on the last call. The check is done without locking; only if
+     * new views are needed, the lock is acquired, and the check is repeated, so that concurrent callers do not create
+     * the views multiple times.
+     *
+     * @return The {@link Views} matching the current facts of the artifact
+     */
+    private Views getViews() {
+        Views currentViews = views;
+        if (currentViews != null && currentViews.isCurrent()) {
+            return currentViews;
+        }
+
+        synchronized (this) {
+            currentViews = views;
+            if (currentViews == null || !currentViews.isCurrent()) {
+                currentViews = new Views(currentFacts());
+                views = currentViews;
+            }
+            return currentViews;
+        }
+    }
+
+    /**
+     * Returns the facts of the artifact the views are derived from, in the order of {@link #VIEW_FACT_CLASSES}.
+     * Facts that are not present are represented by <strong>null</strong> elements.
+     *
+     * @return An array with the current facts of the artifact
+     */
+    private ArtifactFact[] currentFacts() {
+        ArtifactFact[] facts = new ArtifactFact[VIEW_FACT_CLASSES.size()];
+        for (int i = 0; i < facts.length; i++) {
+            facts[i] = artifact.askFor(VIEW_FACT_CLASSES.get(i)).orElse(null);
+        }
+        return facts;
+    }
+
+    /**
+     * The lazily computed views of the facts of the artifact. An instance stores the facts it has been created for.
+     * As instances are shared between threads without a lock, the single views are stored in volatile fields; if
+     * multiple threads request a view that has not been computed yet, it may be computed more than once, but all
+     * results are equal.
+     */
+    private final class Views {
+        private final ArtifactFact[] facts;
+        private volatile LicenseState licenseState;
+        private volatile LicenseInformation finalLicenses;
+        private volatile Collection<LicenseData> licenses;
+        private volatile Optional<String> licenseExpression;
+        private volatile Optional<URL> sourceFileOrLink;
+
+        Views(ArtifactFact[] facts) {
+            this.facts = facts;
+        }
+
+        /**
+         * Checks whether this instance still matches the facts of the artifact, i.e. whether all the facts the
+         * views are derived from are the same objects as on creation of this instance.
+         *
+         * @return A flag whether these views are current
+         */
+        boolean isCurrent() {
+            for (int i = 0; i < facts.length; i++) {
+                if (artifact.askFor(VIEW_FACT_CLASSES.get(i)).orElse(null) != facts[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        LicenseState getLicenseState() {
+            if (licenseState == null) {
+                licenseState = computeLicenseState();
+            }
+            return licenseState;
+        }
+
+        Collection<LicenseData> getLicenses() {
+            if (licenses == null) {
+                licenses = Collections.unmodifiableList(getFinalLicenses()
+                        .getLicenses()
+                        .stream()
+                        .map(AntennaLicenseData::new)
+                        .collect(Collectors.toList()));
+            }
+            return licenses;
+        }
+
+        Optional<String> getLicenseExpression() {
+            if (licenseExpression == null) {
+                LicenseInformation licenseInformation = getFinalLicenses();
+                licenseExpression = licenseInformation.isEmpty() ?
+                        Optional.empty() : Optional.of(licenseInformation.evaluate());
+            }
+            return licenseExpression;
+        }
+
+        Optional<URL> getSourceFileOrLink() {
+            if (sourceFileOrLink == null) {
+                sourceFileOrLink = computeSourceFileOrLink();
+            }
+            return sourceFileOrLink;
+        }
+
+        private LicenseInformation getFinalLicenses() {
+            if (finalLicenses == null) {
+                finalLicenses = ArtifactLicenseUtils.getFinalLicenses(artifact);
+            }
+            return finalLicenses;
+        }
+    }
+
+    private LicenseState computeLicenseState() {
         if (artifact.askForGet(ConfiguredLicenseInformation.class).isPresent()) {
             return LicenseState.EXPLICITLY_SET;
         }
@@ -75,26 +241,7 @@ class AntennaArtifact implements ThirdPartyArtifact {
         return LicenseState.NO_LICENSE;
     }
 
-    @Override
-    public Collection<LicenseData> getLicenses() {
-        return ArtifactLicenseUtils.getFinalLicenses(artifact)
-                .getLicenses()
-                .stream()
-                .map(AntennaLicenseData::new)
-                .collect(Collectors.toList());
-    }
-
-    @Override
-    public Optional<String> getLicenseExpression() {
-        LicenseInformation licenseInformation = ArtifactLicenseUtils.getFinalLicenses(artifact);
-        if (licenseInformation.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(licenseInformation.evaluate());
-    }
-
-    @Override
-    public Optional<URL> getSourceFileOrLink() {
+    private Optional<URL> computeSourceFileOrLink() {
         Optional<Path> sourcePath = artifact.askForGet(ArtifactSourceFile.class);
         if (sourcePath.isPresent()) {
             try {
@@ -114,14 +261,4 @@ class AntennaArtifact implements ThirdPartyArtifact {
 
         return Optional.empty();
     }
-
-    @Override
-    public Optional<String> getSWHSourceId() {
-        return artifact.askForGet(ArtifactSoftwareHeritageID.class);
-    }
-
-    @Override
-    public Collection<Coordinate> getCoordinates() {
-        return artifact.getCoordinates();
-    }
 }
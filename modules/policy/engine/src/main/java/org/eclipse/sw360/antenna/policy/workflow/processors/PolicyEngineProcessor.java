@@ -24,6 +24,7 @@ import org.eclipse.sw360.antenna.workflow.stubs.AbstractComplianceChecker;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -34,6 +35,13 @@ import java.util.stream.Collectors;
 public class PolicyEngineProcessor extends AbstractComplianceChecker {
     private PolicyEngine policyEngine;
 
+    /**
+     * The wrappers created for the artifacts of the last evaluation, keyed by identity. If the processor runs
+     * several times within one workflow, the wrappers and the views they have computed are reused for the artifacts
+     * that are still part of the evaluation. Only the wrappers of the last evaluation are kept.
+     */
+    private Map<Artifact, AntennaArtifact> artifactWrappers = new IdentityHashMap<>();
+
     private static final String RULESET_PROP = "ruleset.classes";
 
     public PolicyEngineProcessor() {
@@ -65,12 +73,24 @@ public class PolicyEngineProcessor extends AbstractComplianceChecker {
 
     @Override
     public IPolicyEvaluation evaluate(final Collection<Artifact> artifacts) {
+        final Collection<ThirdPartyArtifact> polengArtifacts = wrapArtifacts(artifacts);
+
+        return new PolicyEvaluation(policyEngine.evaluate(polengArtifacts));
+    }
+
+    private synchronized Collection<ThirdPartyArtifact> wrapArtifacts(final Collection<Artifact> artifacts) {
+        final Map<Artifact, AntennaArtifact> wrappers = new IdentityHashMap<>();
         final Collection<ThirdPartyArtifact> polengArtifacts = artifacts
                 .stream()
-                .map(AntennaArtifact::new)
+                .map(artifact -> wrappers.computeIfAbsent(artifact, this::getWrapper))
                 .collect(Collectors.toList());
+        artifactWrappers = wrappers;
+        return polengArtifacts;
+    }
 
-        return new PolicyEvaluation(policyEngine.evaluate(polengArtifacts));
+    AntennaArtifact getWrapper(final Artifact artifact) {
+        final AntennaArtifact wrapper = artifactWrappers.get(artifact);
+        return wrapper != null ? wrapper : new AntennaArtifact(artifact);
     }
 
     @Override
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.policy.engine;
+
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.policy.engine.model.LicenseData;
+import org.eclipse.sw360.antenna.policy.engine.model.LicenseState;
+import org.eclipse.sw360.antenna.policy.engine.model.ThirdPartyArtifact;
+import org.eclipse.sw360.antenna.policy.engine.testdata.TestArtifact;
+import org.eclipse.sw360.antenna.policy.engine.testdata.TestRuleset;
+import org.junit.Test;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompareArtifactExecutorTest {
+    private static final Ruleset RULESET = new TestRuleset();
+
+    private static List<ThirdPartyArtifact> createArtifacts() {
+        List<ThirdPartyArtifact> artifacts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            artifacts.add(new NamedArtifact("artifact-" + (i % 3), "1.0." + i));
+        }
+        artifacts.add(new NamedArtifact(null, "1.0"));
+        return artifacts;
+    }
+
+    @Test
+    public void testRuleWithoutBlockingKeyComparesAllPairs() {
+        SameNameRule rule = new SameNameRule(null);
+        List<ThirdPartyArtifact> artifacts = createArtifacts();
+
+        Collection<PolicyViolation> violations =
+                new CompareArtifactExecutor(Collections.singletonList(rule)).executeRules(artifacts);
+
+        assertThat(rule.evaluations.get()).isEqualTo(artifacts.size() * (artifacts.size() - 1));
+        assertThat(violations).hasSize((4 * 3 + 3 * 2 + 3 * 2) / 2);
+    }
+
+    @Test
+    public void testRuleWithBlockingKeyComparesOnlyArtifactsInTheSameBlock() {
+        SameNameRule rule = new SameNameRule(BlockingKey.COORDINATE_NAME);
+        List<ThirdPartyArtifact> artifacts = createArtifacts();
+        SameNameRule unblockedRule = new SameNameRule(null);
+        Collection<PolicyViolation> expectedViolations =
+                new CompareArtifactExecutor(Collections.singletonList(unblockedRule)).executeRules(artifacts);
+
+        Collection<PolicyViolation> violations =
+                new CompareArtifactExecutor(Collections.singletonList(rule)).executeRules(artifacts);
+
+        assertThat(rule.evaluations.get()).isEqualTo(4 * 3 + 3 * 2 + 3 * 2);
+        assertThat(violations).containsExactlyElementsOf(expectedViolations);
+    }
+
+    @Test
+    public void testArtifactsSharingMultipleKeysAreComparedOnce() {
+        SameNameRule rule = new SameNameRule(artifact -> Arrays.asList("a", "b"));
+        List<ThirdPartyArtifact> artifacts = createArtifacts();
+
+        new CompareArtifactExecutor(Collections.singletonList(rule)).executeRules(artifacts);
+
+        assertThat(rule.evaluations.get()).isEqualTo(artifacts.size() * (artifacts.size() - 1));
+    }
+
+    @Test
+    public void testArtifactsWithoutKeysAreNotCompared() {
+        SameNameRule rule = new SameNameRule(BlockingKey.LICENSE);
+
+        Collection<PolicyViolation> violations =
+                new CompareArtifactExecutor(Collections.singletonList(rule)).executeRules(createArtifacts());
+
+        assertThat(rule.evaluations.get()).isEqualTo(0);
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    public void testPackageTypeBlockingKey() {
+        assertThat(BlockingKey.PACKAGE_TYPE.getKeys(new TestArtifact())).containsOnly("generic");
+        assertThat(BlockingKey.COORDINATE_NAME.getKeys(new TestArtifact())).containsOnly("unknown");
+    }
+
+    @Test
+    public void testArtifactsRejectedByFilterAreSkipped() {
+        ApplicabilityFilter filter = artifact -> artifact.getCoordinates().stream()
+                .anyMatch(coordinate -> "artifact-0".equals(coordinate.getName()));
+        SameNameRule rule = new SameNameRule(null, filter);
+        SameNameRule blockedRule = new SameNameRule(BlockingKey.COORDINATE_NAME, filter);
+        List<ThirdPartyArtifact> artifacts = createArtifacts();
+        PolicyEngineMetrics metrics = new PolicyEngineMetrics();
+
+        Collection<PolicyViolation> violations =
+                new CompareArtifactExecutor(Collections.singletonList(rule)).executeRules(artifacts, metrics);
+        Collection<PolicyViolation> blockedViolations =
+                new CompareArtifactExecutor(Collections.singletonList(blockedRule)).executeRules(artifacts);
+
+        assertThat(rule.evaluations.get()).isEqualTo(4 * 3);
+        assertThat(blockedRule.evaluations.get()).isEqualTo(4 * 3);
+        assertThat(violations).hasSize(4 * 3 / 2);
+        assertThat(blockedViolations).containsExactlyElementsOf(violations);
+        PolicyEngineMetrics.Statistics statistics = metrics.getRuleStatistics().get(0);
+        assertThat(statistics.getEvaluations()).isEqualTo(4 * 3);
+        assertThat(statistics.getSkipped()).isEqualTo(7);
+        assertThat(statistics.getViolations()).isEqualTo(4 * 3);
+    }
+
+    private static final class SameNameRule implements CompareArtifactRule {
+        private final BlockingKey blockingKey;
+        private final ApplicabilityFilter filter;
+        private final AtomicInteger evaluations = new AtomicInteger();
+
+        private SameNameRule(BlockingKey blockingKey) {
+            this(blockingKey, null);
+        }
+
+        private SameNameRule(BlockingKey blockingKey, ApplicabilityFilter filter) {
+            this.blockingKey = blockingKey;
+            this.filter = filter;
+        }
+
+        @Override
+        public Optional<PolicyViolation> evaluate(ThirdPartyArtifact leftArtifact, ThirdPartyArtifact rightArtifact) {
+            evaluations.incrementAndGet();
+            Optional<String> leftName = leftArtifact.getCoordinates().stream().map(Coordinate::getName).findFirst();
+            Optional<String> rightName = rightArtifact.getCoordinates().stream().map(Coordinate::getName).findFirst();
+            if (leftName.isPresent() && leftName.equals(rightName)) {
+                return RuleUtils.artifactRaisesPolicyViolation(this, leftArtifact, rightArtifact);
+            }
+            return RuleUtils.artifactAppliesToRule(this, leftArtifact, rightArtifact);
+        }
+
+        @Override
+        public Optional<BlockingKey> getBlockingKey() {
+            return Optional.ofNullable(blockingKey);
+        }
+
+        @Override
+        public Optional<ApplicabilityFilter> getApplicabilityFilter() {
+            return Optional.ofNullable(filter);
+        }
+
+        @Override
+        public String getId() {
+            return "SameName";
+        }
+
+        @Override
+        public String getName() {
+            return "Same name rule";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Artifacts have the same name";
+        }
+
+        @Override
+        public RuleSeverity getSeverity() {
+            return RuleSeverity.WARN;
+        }
+
+        @Override
+        public Ruleset getRuleset() {
+            return RULESET;
+        }
+    }
+
+    private static final class NamedArtifact implements ThirdPartyArtifact {
+        private final Collection<Coordinate> coordinates;
+
+        private NamedArtifact(String name, String version) {
+            coordinates = name == null ? Collections.emptyList() :
+                    Collections.singletonList(new Coordinate(Coordinate.Types.MAVEN, "org.test", name, version));
+        }
+
+        @Override
+        public boolean isProprietary() {
+            return false;
+        }
+
+        @Override
+        public LicenseState getLicenseState() {
+            return LicenseState.EXPLICITLY_SET;
+        }
+
+        @Override
+        public Collection<LicenseData> getLicenses() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Optional<String> getLicenseExpression() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<URL> getSourceFileOrLink() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<String> getSWHSourceId() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Collection<Coordinate> getCoordinates() {
+            return coordinates;
+        }
+    }
+}
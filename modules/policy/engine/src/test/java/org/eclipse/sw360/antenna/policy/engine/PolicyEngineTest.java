@@ -10,10 +10,16 @@
  */
 package org.eclipse.sw360.antenna.policy.engine;
 
+import org.eclipse.sw360.antenna.policy.engine.testdata.AlwaysViolationRule;
 import org.eclipse.sw360.antenna.policy.engine.testdata.PolicyEngineTestdata;
+import org.eclipse.sw360.antenna.policy.engine.testdata.TestArtifact;
+import org.eclipse.sw360.antenna.policy.engine.testdata.TestRuleset;
 import org.junit.Test;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,4 +38,56 @@ public class PolicyEngineTest {
         ruleIds.forEach(ruleId -> assertThat(ruleId).isEqualTo(PolicyEngineTestdata.ALWAYS_VIOLATED_ID));
         result.stream().forEach(hashbase -> assertThat(hashbase.getViolationHash()).isEqualTo("msVGMmZSMtsiR8fbvd31Sw=="));
     }
+
+    @Test
+    public void testMetricsAreRecorded() {
+        testee.evaluate(PolicyEngineTestdata.ARTIFACTS);
+
+        PolicyEngineMetrics metrics = testee.getLastMetrics();
+        List<PolicyEngineMetrics.Statistics> ruleStatistics = metrics.getRuleStatistics();
+        assertThat(ruleStatistics).extracting(PolicyEngineMetrics.Statistics::getName)
+                .containsExactly(PolicyEngineTestdata.ALWAYS_VIOLATED_ID, PolicyEngineTestdata.NEVER_VIOLATED_ID);
+        assertThat(ruleStatistics).extracting(PolicyEngineMetrics.Statistics::getEvaluations).containsExactly(2L, 2L);
+        assertThat(ruleStatistics).extracting(PolicyEngineMetrics.Statistics::getViolations).containsExactly(2L, 0L);
+
+        List<PolicyEngineMetrics.Statistics> rulesetStatistics = metrics.getRulesetStatistics();
+        assertThat(rulesetStatistics).hasSize(1);
+        assertThat(rulesetStatistics.get(0).getName()).isEqualTo("TestRuleset [1.0.0]");
+        assertThat(rulesetStatistics.get(0).getEvaluations()).isEqualTo(4);
+        assertThat(rulesetStatistics.get(0).getViolations()).isEqualTo(2);
+        assertThat(rulesetStatistics.get(0).getEvaluationTime())
+                .isEqualTo(ruleStatistics.get(0).getEvaluationTime().plus(ruleStatistics.get(1).getEvaluationTime()));
+
+        assertThat(metrics.getSlowestRules(1)).hasSize(1);
+        assertThat(metrics.getSlowestRules(5)).hasSize(2);
+    }
+
+    @Test
+    public void testSingleArtifactRulesSkipArtifactsRejectedByFilter() {
+        AlwaysViolationRule rule = new AlwaysViolationRule(new TestRuleset()) {
+            @Override
+            public Optional<ApplicabilityFilter> getApplicabilityFilter() {
+                return Optional.of(ApplicabilityFilter.MAVEN_ARTIFACTS);
+            }
+        };
+        PolicyEngine engine = new PolicyEngine(Collections.singletonList(
+                new SingleArtifactExecutor(Collections.singletonList(rule))));
+
+        Collection<PolicyViolation> result = engine.evaluate(PolicyEngineTestdata.ARTIFACTS);
+
+        assertThat(result).isEmpty();
+        PolicyEngineMetrics.Statistics statistics = engine.getLastMetrics().getRuleStatistics().get(0);
+        assertThat(statistics.getEvaluations()).isEqualTo(0);
+        assertThat(statistics.getSkipped()).isEqualTo(2);
+    }
+
+    @Test
+    public void testApplicabilityFilters() {
+        TestArtifact artifact = new TestArtifact();
+
+        assertThat(ApplicabilityFilter.withCoordinateType("generic").isApplicable(artifact)).isTrue();
+        assertThat(ApplicabilityFilter.MAVEN_ARTIFACTS.isApplicable(artifact)).isFalse();
+        assertThat(ApplicabilityFilter.NON_PROPRIETARY.and(ApplicabilityFilter.MAVEN_ARTIFACTS).isApplicable(artifact))
+                .isFalse();
+    }
 }
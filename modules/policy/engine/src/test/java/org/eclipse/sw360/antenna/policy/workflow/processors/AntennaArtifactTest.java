@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.policy.workflow.processors;
+
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceUrl;
+import org.eclipse.sw360.antenna.model.artifact.facts.ConfiguredLicenseInformation;
+import org.eclipse.sw360.antenna.model.artifact.facts.DeclaredLicenseInformation;
+import org.eclipse.sw360.antenna.policy.engine.model.LicenseData;
+import org.eclipse.sw360.antenna.policy.engine.model.LicenseState;
+import org.eclipse.sw360.antenna.util.LicenseSupport;
+import org.junit.Test;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AntennaArtifactTest {
+    private static Artifact createArtifact(String license) {
+        Artifact artifact = new Artifact("Testdata");
+        artifact.addFact(new DeclaredLicenseInformation(
+                LicenseSupport.mapLicenses(Collections.singletonList(license))));
+        return artifact;
+    }
+
+    private static Collection<String> licenseIds(AntennaArtifact artifact) {
+        return artifact.getLicenses().stream()
+                .map(LicenseData::getLicenseId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testLicenseViewsAreComputedOnce() {
+        AntennaArtifact artifact = new AntennaArtifact(createArtifact("EPL-2.0"));
+
+        Collection<LicenseData> licenses = artifact.getLicenses();
+
+        assertThat(licenseIds(artifact)).containsExactly("EPL-2.0");
+        assertThat(artifact.getLicenses()).isSameAs(licenses);
+        assertThat(artifact.getLicenseExpression()).isSameAs(artifact.getLicenseExpression()).contains("EPL-2.0");
+        assertThat(artifact.getLicenseState()).isEqualTo(LicenseState.DECLARED_ONLY);
+    }
+
+    @Test
+    public void testLicenseViewsAreUpdatedWhenFactsChange() {
+        Artifact antennaArtifact = createArtifact("EPL-2.0");
+        AntennaArtifact artifact = new AntennaArtifact(antennaArtifact);
+        Collection<LicenseData> licenses = artifact.getLicenses();
+
+        antennaArtifact.addFact(new ConfiguredLicenseInformation(
+                LicenseSupport.mapLicenses(Collections.singletonList("Apache-2.0"))));
+
+        assertThat(artifact.getLicenses()).isNotSameAs(licenses);
+        assertThat(licenseIds(artifact)).containsExactly("Apache-2.0");
+        assertThat(artifact.getLicenseExpression()).contains("Apache-2.0");
+        assertThat(artifact.getLicenseState()).isEqualTo(LicenseState.EXPLICITLY_SET);
+    }
+
+    @Test
+    public void testArtifactWithoutLicenses() {
+        AntennaArtifact artifact = new AntennaArtifact(new Artifact("Testdata"));
+
+        assertThat(artifact.getLicenses()).isEmpty();
+        assertThat(artifact.getLicenseExpression()).isEmpty();
+        assertThat(artifact.getLicenseState()).isEqualTo(LicenseState.NO_LICENSE);
+    }
+
+    @Test
+    public void testSourceLinkIsUpdatedWhenFactsChange() throws Exception {
+        Artifact antennaArtifact = new Artifact("Testdata");
+        AntennaArtifact artifact = new AntennaArtifact(antennaArtifact);
+        assertThat(artifact.getSourceFileOrLink()).isEmpty();
+
+        antennaArtifact.addFact(new ArtifactSourceUrl("https://www.example.org/source.zip"));
+
+        assertThat(artifact.getSourceFileOrLink()).contains(new URL("https://www.example.org/source.zip"));
+    }
+}
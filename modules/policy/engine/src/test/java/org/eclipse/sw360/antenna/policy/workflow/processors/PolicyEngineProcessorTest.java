@@ -21,6 +21,7 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -100,4 +101,22 @@ public class PolicyEngineProcessorTest {
         assertThat(description).contains(TestSingleRuleset.class.getSimpleName());
         assertThat(description).contains(TestCompareRuleset.class.getSimpleName());
     }
+
+    @Test
+    public void testArtifactWrappersAreReusedAcrossEvaluations() {
+        PolicyEngineProcessor testee = new PolicyEngineProcessor();
+        Map<String, String> configMap = new HashMap<>();
+        configMap.put(RULESETCONFIGKEY, AntennaTestdata.COMPARE_RULESET_CLASS);
+        testee.configure(configMap);
+
+        Artifact a1 = new Artifact("Source 1");
+        Artifact a2 = new Artifact("Source 2");
+        testee.evaluate(Arrays.asList(a1, a2));
+        AntennaArtifact wrapper1 = testee.getWrapper(a1);
+        AntennaArtifact wrapper2 = testee.getWrapper(a2);
+
+        testee.evaluate(Collections.singletonList(a1));
+        assertThat(testee.getWrapper(a1)).isSameAs(wrapper1);
+        assertThat(testee.getWrapper(a2)).isNotSameAs(wrapper2);
+    }
 }
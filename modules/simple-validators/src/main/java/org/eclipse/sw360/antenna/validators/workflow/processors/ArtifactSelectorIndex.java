@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.validators.workflow.processors;
+
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * An internally used helper class that allows finding the values associated
+ * with artifact selectors that match a given artifact efficiently.
+ * </p>
+ * <p>
+ * Configuration data often consists of a large map from artifact selectors to
+ * arbitrary values. To find the values for an artifact, all selectors would
+ * have to be checked. This class avoids this for the most common kind of
+ * selectors: selectors based on coordinates that define the type, the name,
+ * and the version literally, without wildcards. Such selectors are stored in
+ * a map keyed by these components, so that the candidates for an artifact can
+ * be looked up directly from the coordinates of the artifact. All other
+ * selectors are checked one by one. The candidates found are always
+ * confirmed by calling the {@code matches()} method of the selector; so the
+ * index does not change the semantics of selectors.
+ * </p>
+ * <p>
+ * The values returned for an artifact are ordered in the same way as the
+ * entries of the map passed to the constructor. Instances are immutable and
+ * can be shared between threads.
+ * </p>
+ *
+ * @param <T> the type of the values associated with selectors
+ */
+final class ArtifactSelectorIndex<T> {
+    /**
+     * A pattern matching strings that contain characters with a special
+     * meaning when selectors are compared. Components containing such
+     * characters cannot be used as index keys.
+     */
+    private static final Pattern SPECIAL_CHARACTERS = Pattern.compile("[*?+\\[\\](){}|^$\\\\]");
+
+    /**
+     * The entries of this index in their original order.
+     */
+    private final List<IndexEntry<T>> entries;
+
+    /**
+     * The indices of entries that can be looked up by a coordinate key.
+     */
+    private final Map<String, List<Integer>> entriesByKey;
+
+    /**
+     * The indices of entries whose selectors must be checked one by one.
+     */
+    private final List<Integer> unindexedEntries;
+
+    /**
+     * Creates a new instance of {@code ArtifactSelectorIndex} with the
+     * content of the given map. A <strong>null</strong> map is treated as an
+     * empty map.
+     *
+     * @param selectorMap the map with selectors and their values
+     */
+    ArtifactSelectorIndex(Map<? extends ArtifactSelector, ? extends T> selectorMap) {
+        List<IndexEntry<T>> indexEntries = new ArrayList<>();
+        Map<String, List<Integer>> keyIndex = new HashMap<>();
+        List<Integer> unindexed = new ArrayList<>();
+        if (selectorMap != null) {
+            selectorMap.forEach((selector, value) -> {
+                int position = indexEntries.size();
+                indexEntries.add(new IndexEntry<>(selector, value));
+                List<String> keys = indexKeys(selector);
+                if (keys.isEmpty()) {
+                    unindexed.add(position);
+                } else {
+                    keys.forEach(key -> keyIndex.computeIfAbsent(key, k -> new ArrayList<>()).add(position));
+                }
+            });
+        }
+
+        entries = Collections.unmodifiableList(indexEntries);
+        entriesByKey = Collections.unmodifiableMap(keyIndex);
+        unindexedEntries = Collections.unmodifiableList(unindexed);
+    }
+
+    /**
+     * Returns a list with the values of all selectors matching the given
+     * artifact.
+     *
+     * @param artifact the artifact
+     * @return a list with the values of all matching selectors
+     */
+    List<T> getMatchingValues(Artifact artifact) {
+        TreeSet<Integer> candidates = new TreeSet<>(unindexedEntries);
+        for (Coordinate coordinate : artifact.getCoordinates()) {
+            List<Integer> keyEntries = entriesByKey.get(coordinateKey(coordinate));
+            if (keyEntries != null) {
+                candidates.addAll(keyEntries);
+            }
+        }
+
+        List<T> values = new ArrayList<>();
+        for (Integer candidate : candidates) {
+            IndexEntry<T> entry = entries.get(candidate);
+            if (entry.selector.matches(artifact)) {
+                values.add(entry.value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the number of selectors contained in this index.
+     *
+     * @return the number of selectors
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of selectors in this index that cannot be looked up
+     * by a key and have to be checked one by one.
+     *
+     * @return the number of unindexed selectors
+     */
+    int unindexedSize() {
+        return unindexedEntries.size();
+    }
+
+    /**
+     * Determines the keys under which the given selector is stored in the
+     * index. A selector that matches an artifact if one of its coordinates
+     * matches is stored under the key of each coordinate. If one of the
+     * coordinates cannot be used as key, the selector is not indexed, and
+     * result is an empty list.
+     *
+     * @param selector the selector
+     * @return a list with the index keys of this selector
+     */
+    private static List<String> indexKeys(ArtifactSelector selector) {
+        if (!(selector instanceof ArtifactCoordinates)) {
+            return Collections.emptyList();
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (Coordinate coordinate : ((ArtifactCoordinates) selector).getCoordinates()) {
+            if (!isLiteral(coordinate.getType()) || !isLiteral(coordinate.getName()) ||
+                    !isLiteral(coordinate.getVersion())) {
+                return Collections.emptyList();
+            }
+            keys.add(coordinateKey(coordinate));
+        }
+        return keys;
+    }
+
+    /**
+     * Checks whether the given component of a selector coordinate matches
+     * only the exact same value. Surrounding whitespace is ignored, as it is
+     * when selectors are compared.
+     *
+     * @param component the component
+     * @return a flag whether this component is a literal
+     */
+    private static boolean isLiteral(String component) {
+        String trimmed = trim(component);
+        return trimmed != null && !trimmed.isEmpty() && !SPECIAL_CHARACTERS.matcher(trimmed).find();
+    }
+
+    /**
+     * Generates the key for the given coordinate. The components are trimmed,
+     * so that selectors whose components contain surrounding whitespace are
+     * found under the same key as the coordinates they match.
+     *
+     * @param coordinate the coordinate
+     * @return the key for this coordinate
+     */
+    private static String coordinateKey(Coordinate coordinate) {
+        return trim(coordinate.getType()) + ':' + trim(coordinate.getName()) + ':' +
+                trim(coordinate.getVersion());
+    }
+
+    /**
+     * Removes surrounding whitespace from the given component.
+     *
+     * @param component the component (may be <strong>null</strong>)
+     * @return the trimmed component
+     */
+    private static String trim(String component) {
+        return component != null ? component.trim() : null;
+    }
+
+    /**
+     * A class representing an entry of the index.
+     *
+     * @param <T> the type of the value
+     */
+    private static final class IndexEntry<T> {
+        private final ArtifactSelector selector;
+        private final T value;
+
+        private IndexEntry(ArtifactSelector selector, T value) {
+            this.selector = Objects.requireNonNull(selector, "Selector must not be null");
+            this.value = value;
+        }
+    }
+}
@@ -28,6 +28,23 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * <p>
+ * A validator checking the security issues of artifacts.
+ * </p>
+ * <p>
+ * The issues of an artifact are combined with the issues that are configured
+ * for it. Issues with a forbidden status and a severity above the limit are
+ * reported unless they are ignored or suppressed for the artifact.
+ * </p>
+ * <p>
+ * As the configuration can contain a large number of issues and
+ * suppressions, it is indexed when the validator is configured: issues and
+ * suppressions are found via {@link ArtifactSelectorIndex} objects, and
+ * suppressions are grouped by issue reference. The dates until which issues
+ * are suppressed are converted to epoch milliseconds in advance.
+ * </p>
+ */
 public class SecurityIssueValidator extends AbstractComplianceChecker {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SecurityIssueValidator.class);
@@ -37,20 +54,18 @@ public class SecurityIssueValidator extends AbstractComplianceChecker {
     static final String SECURITY_ISSUE_SEVERITY_LIMIT_KEY = "securityIssueSeverityLimit";
     private static final String IGNORE_SECURITY_ISSUE_REFERENCES_KEY = "ignoreSecurityIssueReferences";
     private IEvaluationResult.Severity forbiddenSecurityIssueStatusSeverity = IEvaluationResult.Severity.FAIL;
-    private List<SecurityIssueStatus> forbiddenSecurityIssueStatusesList;
-    private List<String> ignoreSecurityIssueReferences;
+    private Set<SecurityIssueStatus> forbiddenSecurityIssueStatuses;
+    private Set<String> ignoreSecurityIssueReferences;
     private double securityIssueSeverityLimit;
-    private Map<ArtifactSelector, Issues> configuredSecurityIssues;
-    private Map<String, Map<ArtifactSelector, GregorianCalendar>> suppressedSecurityIssues;
+    private ArtifactSelectorIndex<Issues> configuredSecurityIssues;
+    private Map<String, ArtifactSelectorIndex<Long>> suppressedSecurityIssues;
 
     public SecurityIssueValidator() {
         this.workflowStepOrder = VALIDATOR_BASE_ORDER + 400;
     }
 
     public List<IEvaluationResult> validate(Artifact artifact) {
-        List<Issue> configuredIssueList = configuredSecurityIssues.entrySet().stream()
-                .filter(entry -> entry.getKey().matches(artifact))
-                .map(Map.Entry::getValue)
+        List<Issue> configuredIssueList = configuredSecurityIssues.getMatchingValues(artifact).stream()
                 .map(Issues::getIssue)
                 .flatMap(Collection::stream)
                 .collect(Collectors.toList());
@@ -69,23 +84,17 @@ public class SecurityIssueValidator extends AbstractComplianceChecker {
 
     private List<IEvaluationResult> checkSecurityIssue(Artifact artifact, List<Issue> issuesList) {
         List<IEvaluationResult> results = new ArrayList<>();
+        long now = System.currentTimeMillis();
         for (Issue issue : issuesList) {
             if (ignoreSecurityIssueReferences.contains(issue.getReference())) {
                 LOGGER.debug("Do not validate security issue=[{}], since it is ignored for validation",
                         issue.getReference());
                 continue;
             }
-            if (suppressedSecurityIssues != null && suppressedSecurityIssues.containsKey(issue.getReference())) {
-                final Map<ArtifactSelector, GregorianCalendar> issueSuppressors = suppressedSecurityIssues.get(issue.getReference());
-                final Optional<GregorianCalendar> suppressedUntil = issueSuppressors.entrySet().stream()
-                        .filter(e -> e.getKey().matches(artifact))
-                        .map(Map.Entry::getValue)
-                        .max(Comparator.naturalOrder());
-                if (suppressedUntil.isPresent() && new GregorianCalendar().compareTo(suppressedUntil.get()) < 0) {
-                    continue;
-                }
+            if (isSuppressed(artifact, issue, now)) {
+                continue;
             }
-            if (forbiddenSecurityIssueStatusesList.contains(issue.getStatus())
+            if (forbiddenSecurityIssueStatuses.contains(issue.getStatus())
                     && issue.getSeverity() >= securityIssueSeverityLimit) {
                 results.add(new DefaultPolicyEvaluation.DefaultEvaluationResult(
                         "SecurityIssueValidator::forbiddenSecurityIssueStatus",
@@ -98,6 +107,25 @@ public class SecurityIssueValidator extends AbstractComplianceChecker {
         return results;
     }
 
+    /**
+     * Checks whether the given issue is suppressed for the artifact at the
+     * given point in time.
+     *
+     * @param artifact the artifact
+     * @param issue    the issue
+     * @param now      the current time in epoch milliseconds
+     * @return a flag whether the issue is suppressed
+     */
+    private boolean isSuppressed(Artifact artifact, Issue issue, long now) {
+        final ArtifactSelectorIndex<Long> issueSuppressors = suppressedSecurityIssues.get(issue.getReference());
+        if (issueSuppressors == null) {
+            return false;
+        }
+        final Optional<Long> suppressedUntil = issueSuppressors.getMatchingValues(artifact).stream()
+                .max(Comparator.naturalOrder());
+        return suppressedUntil.isPresent() && now < suppressedUntil.get();
+    }
+
     @Override
     public IPolicyEvaluation evaluate(Collection<Artifact> artifacts) {
         DefaultPolicyEvaluation policyEvaluation = new DefaultPolicyEvaluation();
@@ -117,17 +145,40 @@ public class SecurityIssueValidator extends AbstractComplianceChecker {
     public void configure(Map<String, String> configMap) {
         super.configure(configMap);
 
-        configuredSecurityIssues = context.getConfiguration().getSecurityIssues();
-        suppressedSecurityIssues = context.getConfiguration().getSuppressedSecurityIssues();
+        configuredSecurityIssues = new ArtifactSelectorIndex<>(context.getConfiguration().getSecurityIssues());
+        suppressedSecurityIssues = indexSuppressions(context.getConfiguration().getSuppressedSecurityIssues());
 
         List<String> statusStrList = getCommaSeparatedConfigValue(FORBIDDEN_SECURITY_ISSUE_STATUSES_KEY, configMap);
-        forbiddenSecurityIssueStatusesList = statusStrList.stream()
+        forbiddenSecurityIssueStatuses = statusStrList.stream()
                 .map(SecurityIssueStatus::fromValue)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(SecurityIssueStatus.class)));
 
         forbiddenSecurityIssueStatusSeverity = getSeverityFromConfig(FORBIDDEN_SECURITY_ISSUE_STATUS_SEVERITY_KEY, configMap, IEvaluationResult.Severity.FAIL);
         securityIssueSeverityLimit = Double
                 .valueOf(getConfigValue(SECURITY_ISSUE_SEVERITY_LIMIT_KEY, configMap, "0.0"));
-        ignoreSecurityIssueReferences = getCommaSeparatedConfigValue(IGNORE_SECURITY_ISSUE_REFERENCES_KEY, configMap);
+        ignoreSecurityIssueReferences =
+                new HashSet<>(getCommaSeparatedConfigValue(IGNORE_SECURITY_ISSUE_REFERENCES_KEY, configMap));
+    }
+
+    /**
+     * Creates an index for the suppressions of security issues. The dates
+     * of the suppressions are converted to epoch milliseconds.
+     *
+     * @param suppressions the suppressions from the configuration
+     * @return a map with indexed suppressions keyed by issue reference
+     */
+    private static Map<String, ArtifactSelectorIndex<Long>> indexSuppressions(
+            Map<String, Map<ArtifactSelector, GregorianCalendar>> suppressions) {
+        if (suppressions == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, ArtifactSelectorIndex<Long>> index = new HashMap<>();
+        suppressions.forEach((reference, selectors) -> {
+            Map<ArtifactSelector, Long> suppressedUntil = new LinkedHashMap<>();
+            selectors.forEach((selector, date) -> suppressedUntil.put(selector, date.getTimeInMillis()));
+            index.put(reference, new ArtifactSelectorIndex<>(suppressedUntil));
+        });
+        return index;
     }
 }
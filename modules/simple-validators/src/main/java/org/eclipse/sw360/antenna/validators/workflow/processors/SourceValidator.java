@@ -14,6 +14,7 @@ package org.eclipse.sw360.antenna.validators.workflow.processors;
 import org.eclipse.sw360.antenna.api.IEvaluationResult;
 import org.eclipse.sw360.antenna.api.IPolicyEvaluation;
 import org.eclipse.sw360.antenna.api.IProcessingReporter;
+import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
@@ -23,10 +24,18 @@ import org.eclipse.sw360.antenna.workflow.stubs.DefaultPolicyEvaluation;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Validates the sources of the given artifacts. An artifact is not valid if : -
@@ -36,9 +45,31 @@ import java.util.jar.JarFile;
  * With the IArtifactFilter validForMissingSources and validForIncomplete
  * Sources can be specified if an artifact shall be handled as valid even if it
  * has no source jar an incomplete source jar.
+ * <p>
+ * The artifacts are validated in parallel, with at most {@code maxConcurrency}
+ * artifacts at a time. Each archive is read in a single pass over its central
+ * directory, and the relevant entry names are collected in a set; no entry is
+ * inflated. These entry indexes are cached based on the path, the size, and
+ * the last modification time of the archive, so archives that are referenced
+ * multiple times are read only once.
+ * The evaluation results are collected in the order of the artifacts.
  */
 public class SourceValidator extends AbstractComplianceChecker {
+    /**
+     * The default maximum number of artifacts that are validated in parallel.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String JAVA_SUFFIX = ".java";
+
+    /**
+     * A cache for the entry indexes of archives.
+     */
+    private final ConcurrentMap<ArchiveKey, Set<String>> entryIndexes = new ConcurrentHashMap<>();
+
     private IProcessingReporter reporter;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
     private int threshold = 80;
     private Collection<ArtifactSelector> missingSourcesWhiteList = Collections.emptySet();
     private Collection<ArtifactSelector> incompleteSourcesWhiteList = Collections.emptySet();
@@ -59,7 +90,7 @@ public class SourceValidator extends AbstractComplianceChecker {
                 .anyMatch(artifactSelector -> artifactSelector.matches(artifact));
     }
 
-    private List<IEvaluationResult> validateSources(Artifact artifact) {
+    private List<IEvaluationResult> validateSources(Artifact artifact) throws IOException {
         final Optional<Path> artifactSourceFile = artifact.getSourceFile();
         if (!artifactSourceFile.isPresent()){
             if (! isArtifactAllowedToHaveNoSourceJar(artifact)){
@@ -89,84 +120,125 @@ public class SourceValidator extends AbstractComplianceChecker {
             return Collections.emptyList();
         }
 
-        try {
-            return validateArtifactWithJars(artifact, artifactSourceFile.get(), artifactFile.get());
-        } catch (IOException e) {
-            String message = "An exception occured during source validation: " + e.getMessage();
-            reporter.add(artifact, MessageType.PROCESSING_FAILURE, message);
-            return Collections.singletonList(new DefaultPolicyEvaluation.DefaultEvaluationResult(
-                    "SourceValidator::noJar", message, IEvaluationResult.Severity.FAIL, artifact));
-        }
+        return validate(artifact, artifactFile.get(), artifactSourceFile.get().toFile());
     }
 
-    private List<IEvaluationResult> validateArtifactWithJars(Artifact artifact, Path artifactSourceFile, Path artifactFile) throws IOException {
-        JarFile jar = new JarFile(artifactFile.toFile());
-        return validate(artifact, jar, artifactSourceFile.toFile());
+    /**
+     * Waits for the validation of an artifact to complete. If the artifact
+     * could not be processed, this is reported, and a failed result is
+     * returned.
+     *
+     * @param artifact the artifact
+     * @param future   the future for the validation results
+     * @return the evaluation results for this artifact
+     */
+    private List<IEvaluationResult> waitForValidation(Artifact artifact, Future<List<IEvaluationResult>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while validating sources", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                String message = "An exception occured during source validation: " + e.getCause().getMessage();
+                reporter.add(artifact, MessageType.PROCESSING_FAILURE, message);
+                return Collections.singletonList(new DefaultPolicyEvaluation.DefaultEvaluationResult(
+                        "SourceValidator::noJar", message, IEvaluationResult.Severity.FAIL, artifact));
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExecutionException("Failed to validate sources", e.getCause());
+        }
     }
 
-
-    private List<IEvaluationResult> validate(Artifact artifact, JarFile jar, File sourceJar) throws IOException {
+    private List<IEvaluationResult> validate(Artifact artifact, Path jar, File sourceJar) throws IOException {
         if (0 == sourceJar.length()) {
             return Collections.singletonList(new DefaultPolicyEvaluation.DefaultEvaluationResult(
                     "SourceValidator::jarIsEmpty", "Source jar '" + sourceJar.getName() + "' is an empty file", missingSourcesSeverity, artifact));
         }
 
-        try (JarFile source = new JarFile(sourceJar)) {
-            List<String> missingClasses = new ArrayList<>();
-
-            int numberOfClassFiles = 0;
-            int numberOfMatchingJavaFiles = 0;
-            Enumeration<JarEntry> jarEntries = jar.entries();
-            while (jarEntries.hasMoreElements()) {
-                JarEntry entry = jarEntries.nextElement();
-                String name = entry.getName();
-                if (name.contains(".class") && !name.contains("$")) {
-                    numberOfClassFiles++;
-                    if (checkIfJavaFileExists(name, source, missingClasses)) {
-                        numberOfMatchingJavaFiles++;
-                    }
-                }
-            }
-            if (numberOfClassFiles > 0 && numberOfMatchingJavaFiles <= (numberOfClassFiles * threshold / 100)) {
-                return Collections.singletonList(new DefaultPolicyEvaluation.DefaultEvaluationResult(
-                        "SourceValidator::incompleteJar", "The sources are incomplete (only " + numberOfMatchingJavaFiles + " of " + numberOfClassFiles + " could be matched)", incompleteSourcesSeverity, artifact));
-            }
+        Set<String> expectedJavaFiles = getEntryIndex(jar, EntryKind.CLASS);
+        Set<String> javaFiles = getEntryIndex(sourceJar.toPath(), EntryKind.SOURCE);
+        int numberOfClassFiles = expectedJavaFiles.size();
+        int numberOfMatchingJavaFiles = (int) expectedJavaFiles.stream()
+                .filter(javaFiles::contains)
+                .count();
+        if (numberOfClassFiles > 0 && numberOfMatchingJavaFiles <= (numberOfClassFiles * threshold / 100)) {
+            return Collections.singletonList(new DefaultPolicyEvaluation.DefaultEvaluationResult(
+                    "SourceValidator::incompleteJar", "The sources are incomplete (only " + numberOfMatchingJavaFiles + " of " + numberOfClassFiles + " could be matched)", incompleteSourcesSeverity, artifact));
         }
         return Collections.emptyList();
     }
 
     /**
-     * Checks for the given class file if a corresponding java file exists in
-     * the specified source jar.
+     * Returns the index of the relevant entries of the given archive. The
+     * index is taken from the cache if the archive has already been processed
+     * and has not changed since then.
      *
-     * @param className
-     *            Name of the class for which the corresponding java file will
-     *            be searched.
-     * @param source
-     *            Source file in which is looked after the java file.
-     * @param missingClasses
-     *            List of all missing Classes of an Artifact.
-     * @return True if a corresponding java file exists, false otherwise.
+     * @param archive the path to the archive
+     * @param kind    the kind of the index
+     * @return the set with the names of the relevant entries
+     * @throws IOException if the archive cannot be read
      */
-    private boolean checkIfJavaFileExists(String className, JarFile source, List<String> missingClasses) {
-        className = className.replace(".class", ".java");
-        JarEntry temp = source.getJarEntry(className);
-        if (null == temp) {
-            missingClasses.add(className);
-            return false;
+    private Set<String> getEntryIndex(Path archive, EntryKind kind) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+        ArchiveKey key = new ArchiveKey(archive.toAbsolutePath().normalize(), attributes.size(),
+                attributes.lastModifiedTime().toMillis(), kind);
+        Set<String> index = entryIndexes.get(key);
+        if (index == null) {
+            index = createEntryIndex(archive, kind);
+            entryIndexes.putIfAbsent(key, index);
+        }
+        return index;
+    }
+
+    /**
+     * Reads the central directory of the given archive and collects the
+     * names of the relevant entries. For a binary archive, these are the
+     * names of the java files corresponding to the top-level class files;
+     * for a source archive, the names of the java files.
+     *
+     * @param archive the path to the archive
+     * @param kind    the kind of the index
+     * @return the set with the names of the relevant entries
+     * @throws IOException if the archive cannot be read
+     */
+    static Set<String> createEntryIndex(Path archive, EntryKind kind) throws IOException {
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            return Collections.unmodifiableSet(zipFile.stream()
+                    .map(ZipEntry::getName)
+                    .filter(kind::isRelevant)
+                    .map(kind::toJavaFileName)
+                    .collect(Collectors.toSet()));
         }
-        return true;
     }
 
     @Override
     public IPolicyEvaluation evaluate(Collection<Artifact> artifacts) {
         DefaultPolicyEvaluation policyEvaluation = new DefaultPolicyEvaluation();
 
-        artifacts.stream()
+        List<Artifact> artifactsToValidate = artifacts.stream()
                 .filter(artifact -> ! artifact.getFlag(Artifact.IS_PROPRIETARY_FLAG_KEY))
                 .filter(artifact ->  artifact.getCoordinateForType(Coordinate.Types.MAVEN).isPresent())
-                .forEach(artifact -> validateSources(artifact)
-                        .forEach(policyEvaluation::addEvaluationResult));
+                .collect(Collectors.toList());
+        if (artifactsToValidate.isEmpty()) {
+            return policyEvaluation;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, artifactsToValidate.size()));
+        try {
+            List<Future<List<IEvaluationResult>>> futures = new ArrayList<>(artifactsToValidate.size());
+            for (Artifact artifact : artifactsToValidate) {
+                futures.add(executor.submit(() -> validateSources(artifact)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                waitForValidation(artifactsToValidate.get(i), futures.get(i))
+                        .forEach(policyEvaluation::addEvaluationResult);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
 
         return policyEvaluation;
     }
@@ -191,5 +263,91 @@ public class SourceValidator extends AbstractComplianceChecker {
         incompleteSourcesSeverity = getSeverityFromConfig(INCOMPLETE_SOURCES_KEY, configMap, IEvaluationResult.Severity.WARN);
 
         reporter = context.getProcessingReporter();
+        maxConcurrency = parseMaxConcurrency(configMap, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * An enumeration for the kinds of entry indexes. It defines which entries
+     * of an archive are relevant and how they are mapped to the names of java
+     * files, so that the indexes of binary and source archives can be
+     * compared.
+     */
+    enum EntryKind {
+        /**
+         * The index of a binary archive, containing the top-level classes.
+         */
+        CLASS {
+            @Override
+            boolean isRelevant(String name) {
+                return name.contains(CLASS_SUFFIX) && !name.contains("$");
+            }
+
+            @Override
+            String toJavaFileName(String name) {
+                return name.replace(CLASS_SUFFIX, JAVA_SUFFIX);
+            }
+        },
+
+        /**
+         * The index of a source archive, containing the java files.
+         */
+        SOURCE {
+            @Override
+            boolean isRelevant(String name) {
+                return name.contains(JAVA_SUFFIX);
+            }
+
+            @Override
+            String toJavaFileName(String name) {
+                return name;
+            }
+        };
+
+        abstract boolean isRelevant(String name);
+
+        abstract String toJavaFileName(String name);
+    }
+
+    /**
+     * The key for cached entry indexes. An archive is identified by its path,
+     * its size, and its last modification time, so that modified archives are
+     * indexed again.
+     */
+    private static final class ArchiveKey {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+        private final EntryKind kind;
+
+        ArchiveKey(Path path, long size, long lastModified, EntryKind kind) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ArchiveKey that = (ArchiveKey) o;
+            return size == that.size &&
+                    lastModified == that.lastModified &&
+                    path.equals(that.path) &&
+                    kind == that.kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, lastModified, kind);
+        }
     }
 }
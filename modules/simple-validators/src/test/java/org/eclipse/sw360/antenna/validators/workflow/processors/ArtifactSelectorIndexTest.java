@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.validators.workflow.processors;
+
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactSelector;
+import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFilename;
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArtifactSelectorIndexTest {
+    private static Coordinate mavenCoordinate(String name, String version) {
+        return new Coordinate(Coordinate.Types.MAVEN, "org.test", name, version);
+    }
+
+    private static ArtifactCoordinates selector(Coordinate... coordinates) {
+        return new ArtifactCoordinates(coordinates);
+    }
+
+    private static Artifact artifact(Coordinate... coordinates) {
+        Artifact artifact = new Artifact();
+        for (Coordinate coordinate : coordinates) {
+            artifact.addCoordinate(coordinate);
+        }
+        return artifact;
+    }
+
+    @Test
+    public void testLiteralSelectorsAreIndexed() {
+        Map<ArtifactSelector, String> selectors = new LinkedHashMap<>();
+        selectors.put(selector(mavenCoordinate("a", "1.0")), "a-1.0");
+        selectors.put(selector(mavenCoordinate("a", "2.0")), "a-2.0");
+        selectors.put(selector(mavenCoordinate("b", "1.0")), "b-1.0");
+
+        ArtifactSelectorIndex<String> index = new ArtifactSelectorIndex<>(selectors);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.unindexedSize()).isEqualTo(0);
+        assertThat(index.getMatchingValues(artifact(mavenCoordinate("a", "2.0")))).containsExactly("a-2.0");
+        assertThat(index.getMatchingValues(artifact(mavenCoordinate("c", "1.0")))).isEmpty();
+    }
+
+    @Test
+    public void testWildcardSelectorsAreCheckedOneByOne() {
+        Map<ArtifactSelector, String> selectors = new LinkedHashMap<>();
+        selectors.put(selector(mavenCoordinate("a", "1.*")), "a-1.x");
+        selectors.put(selector(new Coordinate(Coordinate.Types.MAVEN, "org.test", "a", null)), "a-any");
+        selectors.put(new ArtifactFilename("a.jar"), "filename");
+
+        ArtifactSelectorIndex<String> index = new ArtifactSelectorIndex<>(selectors);
+
+        assertThat(index.unindexedSize()).isEqualTo(3);
+        assertThat(index.getMatchingValues(artifact(mavenCoordinate("a", "1.5")))).containsExactly("a-1.x", "a-any");
+    }
+
+    @Test
+    public void testOrderOfValuesIsPreserved() {
+        Map<ArtifactSelector, String> selectors = new LinkedHashMap<>();
+        selectors.put(selector(mavenCoordinate("a", "1.*")), "first");
+        selectors.put(selector(mavenCoordinate("a", "1.0")), "second");
+        selectors.put(selector(mavenCoordinate("*", "1.0")), "third");
+        selectors.put(selector(new Coordinate(Coordinate.Types.P2, "a", "1.0")), "fourth");
+
+        ArtifactSelectorIndex<String> index = new ArtifactSelectorIndex<>(selectors);
+        Artifact artifact = artifact(mavenCoordinate("a", "1.0"), new Coordinate(Coordinate.Types.P2, "a", "1.0"));
+
+        assertThat(index.getMatchingValues(artifact)).containsExactly("first", "second", "third", "fourth");
+    }
+
+    @Test
+    public void testCandidatesAreConfirmedBySelector() {
+        Map<ArtifactSelector, String> selectors = new LinkedHashMap<>();
+        selectors.put(selector(new Coordinate(Coordinate.Types.MAVEN, "org.other", "a", "1.0")), "other");
+
+        ArtifactSelectorIndex<String> index = new ArtifactSelectorIndex<>(selectors);
+
+        assertThat(index.unindexedSize()).isEqualTo(0);
+        assertThat(index.getMatchingValues(artifact(mavenCoordinate("a", "1.0")))).isEmpty();
+    }
+
+    @Test
+    public void testSelectorWithMultipleCoordinates() {
+        Map<ArtifactSelector, String> selectors = new LinkedHashMap<>();
+        selectors.put(selector(mavenCoordinate("a", "1.0"), new Coordinate(Coordinate.Types.P2, "b", "2.0")), "value");
+
+        ArtifactSelectorIndex<String> index = new ArtifactSelectorIndex<>(selectors);
+
+        assertThat(index.getMatchingValues(artifact(new Coordinate(Coordinate.Types.P2, "b", "2.0"))))
+                .containsExactly("value");
+        assertThat(index.getMatchingValues(artifact(mavenCoordinate("a", "1.0")))).containsExactly("value");
+    }
+
+    @Test
+    public void testSelectorsWithSurroundingWhitespaceAreIndexed() {
+        Map<ArtifactSelector, String> selectors = new LinkedHashMap<>();
+        selectors.put(selector(mavenCoordinate(" a ", "1.0 ")), "a-1.0");
+
+        ArtifactSelectorIndex<String> index = new ArtifactSelectorIndex<>(selectors);
+
+        assertThat(index.unindexedSize()).isEqualTo(0);
+        assertThat(index.getMatchingValues(artifact(mavenCoordinate("a", "1.0")))).containsExactly("a-1.0");
+    }
+
+    @Test
+    public void testNullMap() {
+        ArtifactSelectorIndex<String> index = new ArtifactSelectorIndex<>(null);
+
+        assertThat(index.size()).isEqualTo(0);
+        assertThat(index.getMatchingValues(artifact(mavenCoordinate("a", "1.0")))).isEmpty();
+    }
+}
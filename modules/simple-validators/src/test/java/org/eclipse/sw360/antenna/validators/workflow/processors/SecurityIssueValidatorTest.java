@@ -223,4 +223,83 @@ public class SecurityIssueValidatorTest extends AntennaTestWithMockedContext {
         assertThat(validator.validate(artifact)).hasSize(1);
 
     }
+
+    private Map<String, Map<ArtifactSelector, GregorianCalendar>> suppress(String reference, long untilOffsetMillis) {
+        GregorianCalendar until = new GregorianCalendar();
+        until.setTimeInMillis(System.currentTimeMillis() + untilOffsetMillis);
+        return Collections.singletonMap(reference,
+                Collections.singletonMap(new ArtifactCoordinates(mkArtifactIdentifier()), until));
+    }
+
+    @Test
+    public void validateIgnoresSuppressedIssues() {
+        openIssue.setReference("CVE-1");
+        Artifact artifact = mkArtifact(openIssue);
+
+        when(configMock.getSuppressedSecurityIssues()).thenReturn(suppress("CVE-1", 60000));
+        validator.configure(configMap);
+
+        assertThat(validator.validate(artifact)).isEmpty();
+    }
+
+    @Test
+    public void validateReportsIssuesWithExpiredSuppression() {
+        openIssue.setReference("CVE-1");
+        Artifact artifact = mkArtifact(openIssue);
+
+        when(configMock.getSuppressedSecurityIssues()).thenReturn(suppress("CVE-1", -60000));
+        validator.configure(configMap);
+
+        assertThat(validator.validate(artifact)).hasSize(1);
+    }
+
+    @Test
+    public void validateSuppressionOnlyAppliesToMatchingArtifacts() {
+        openIssue.setReference("CVE-1");
+        Artifact otherArtifact = new Artifact();
+        otherArtifact.addCoordinate(new Coordinate(Coordinate.Types.MAVEN, "com.test", "other-artifact", "1.0"));
+        Issues issues = new Issues();
+        issues.getIssue().add(openIssue);
+        otherArtifact.addFact(new ArtifactIssues(issues));
+
+        when(configMock.getSuppressedSecurityIssues()).thenReturn(suppress("CVE-1", 60000));
+        validator.configure(configMap);
+
+        assertThat(validator.validate(otherArtifact)).hasSize(1);
+    }
+
+    @Test
+    public void validateIgnoresConfiguredReferences() {
+        openIssue.setReference("CVE-1");
+        Artifact artifact = mkArtifact(openIssue);
+
+        configMap.put("ignoreSecurityIssueReferences", "CVE-0,CVE-1");
+        validator.configure(configMap);
+
+        assertThat(validator.validate(artifact)).isEmpty();
+    }
+
+    @Test
+    public void validateManyConfiguredIssues() {
+        Map<ArtifactSelector, Issues> configuredSecurityIssues = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            Issue issue = new Issue();
+            issue.setStatus(SecurityIssueStatus.OPEN);
+            issue.setSeverity(7.0);
+            issue.setReference("CVE-" + i);
+            Issues issues = new Issues();
+            issues.getIssue().add(issue);
+            configuredSecurityIssues.put(new ArtifactCoordinates(
+                    new Coordinate(Coordinate.Types.MAVEN, "com.test", "artifact-" + i, "1.0")), issues);
+        }
+        Artifact artifact = new Artifact();
+        artifact.addCoordinate(new Coordinate(Coordinate.Types.MAVEN, "com.test", "artifact-42", "1.0"));
+
+        when(configMock.getSecurityIssues()).thenReturn(configuredSecurityIssues);
+        validator.configure(configMap);
+
+        List<IEvaluationResult> results = validator.validate(artifact);
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getDescription()).contains("CVE-42");
+    }
 }
@@ -12,11 +12,13 @@ package org.eclipse.sw360.antenna.validators.workflow.processors;
 
 import org.eclipse.sw360.antenna.api.IEvaluationResult;
 import org.eclipse.sw360.antenna.api.IPolicyEvaluation;
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactFile;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
 import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
+import org.eclipse.sw360.antenna.model.reporting.MessageType;
 import org.eclipse.sw360.antenna.testing.AntennaTestWithMockedContext;
 import org.junit.After;
 import org.junit.Before;
@@ -28,12 +30,19 @@ import org.mockito.Mockito;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 public class SourceValidatorTest extends AntennaTestWithMockedContext {
@@ -277,4 +286,81 @@ public class SourceValidatorTest extends AntennaTestWithMockedContext {
                 .get()
                 .getSeverity()).isEqualTo(IEvaluationResult.Severity.FAIL);
     }
+
+    @Test
+    public void testManyArtifactsAreValidated() throws IOException {
+        configure(Collections.emptyMap());
+        File completeSourceJar = tmpFolder.newFile("complete-sources.jar");
+        Files.copy(sourceValidatorTestTools.writeSourceJar(100).toPath(), completeSourceJar.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        File incompleteSourceJar = sourceValidatorTestTools.writeSourceJar(0);
+        List<Artifact> artifacts = new ArrayList<>();
+        for (int i = 0; i < 2 * SourceValidator.DEFAULT_MAX_CONCURRENCY; i++) {
+            artifacts.add(mkArtifact(i % 2 == 0 ? completeSourceJar : incompleteSourceJar));
+        }
+
+        final IPolicyEvaluation evaluate = validator.evaluate(artifacts);
+
+        assertThat(evaluate.getEvaluationResults()).hasSize(SourceValidator.DEFAULT_MAX_CONCURRENCY);
+        assertThat(evaluate.getEvaluationResults())
+                .allMatch(result -> result.getSeverity() == IEvaluationResult.Severity.WARN);
+    }
+
+    @Test
+    public void testInvalidJarIsReported() throws IOException {
+        configure(Collections.emptyMap());
+        File invalidSourceJar = tmpFolder.newFile("invalid-sources.jar");
+        Files.write(invalidSourceJar.toPath(), "no zip".getBytes(StandardCharsets.UTF_8));
+        Artifact artifact = mkArtifact(invalidSourceJar);
+
+        final IPolicyEvaluation evaluate = validator.evaluate(Collections.singleton(artifact));
+
+        assertThat(evaluate.getEvaluationResults()).hasSize(1);
+        assertThat(evaluate.getEvaluationResults().iterator().next().getSeverity())
+                .isEqualTo(IEvaluationResult.Severity.FAIL);
+        Mockito.verify(reporterMock).add(eq(artifact), eq(MessageType.PROCESSING_FAILURE), anyString());
+    }
+
+    @Test
+    public void testModifiedSourceJarIsIndexedAgain() throws IOException {
+        Artifact artifact = setupForTest(0);
+        assertThat(validator.evaluate(Collections.singleton(artifact)).getEvaluationResults()).hasSize(1);
+
+        sourceValidatorTestTools.writeSourceJar(100);
+
+        assertThat(validator.evaluate(Collections.singleton(artifact)).getEvaluationResults()).isEmpty();
+    }
+
+    @Test
+    public void testEntryIndexOfBinaryJar() throws IOException {
+        configure(Collections.emptyMap());
+        Set<String> index = SourceValidator.createEntryIndex(jar.toPath(), SourceValidator.EntryKind.CLASS);
+
+        assertThat(index).hasSize(1000);
+        assertThat(index).allMatch(name -> name.endsWith(".java"));
+    }
+
+    @Test
+    public void testEntryIndexOfSourceJar() throws IOException {
+        configure(Collections.emptyMap());
+        File sourceJar = sourceValidatorTestTools.writeSourceJar(50);
+
+        Set<String> index = SourceValidator.createEntryIndex(sourceJar.toPath(), SourceValidator.EntryKind.SOURCE);
+
+        assertThat(index).hasSize(500);
+        assertThat(SourceValidator.createEntryIndex(jar.toPath(), SourceValidator.EntryKind.CLASS))
+                .containsAll(index);
+    }
+
+    @Test
+    public void testDefaultMaxConcurrency() {
+        configure(Collections.emptyMap());
+
+        assertThat(validator.getMaxConcurrency()).isEqualTo(SourceValidator.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testInvalidMaxConcurrency() {
+        configure(Collections.singletonMap("maxConcurrency", "none"));
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.adapter;
+
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestCoalescer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * A helper class for constructing the keys under which the client adapters
+ * register read requests at the {@link RequestCoalescer} and the filters to
+ * invalidate them after write operations.
+ * </p>
+ * <p>
+ * A key is a list whose first element is the name of the operation, followed
+ * by the parameters of the request. Write operations can therefore select
+ * the results they affect either by exact key or by operation.
+ * </p>
+ */
+final class RequestKeys {
+    static final String COMPONENT_BY_ID = "componentById";
+    static final String COMPONENT_BY_NAME = "componentByName";
+    static final String RELEASE_BY_ID = "releaseById";
+    static final String RELEASE_BY_EXTERNAL_IDS = "releaseByExternalIds";
+    static final String LICENSES = "licenses";
+    static final String LICENSE_BY_NAME = "licenseByName";
+    static final String PROJECT_BY_NAME_AND_VERSION = "projectByNameAndVersion";
+
+    private RequestKeys() {
+    }
+
+    /**
+     * Returns the key for a request.
+     *
+     * @param operation  the name of the operation
+     * @param parameters the parameters of the request
+     * @return the key for this request
+     */
+    static List<Object> key(String operation, Object... parameters) {
+        List<Object> key = new ArrayList<>(parameters.length + 1);
+        key.add(operation);
+        key.addAll(Arrays.asList(parameters));
+        return key;
+    }
+
+    /**
+     * Returns a filter matching exactly the given keys.
+     *
+     * @param keys the keys to match
+     * @return the filter for these keys
+     */
+    static Predicate<Object> keys(Collection<?> keys) {
+        Set<Object> keySet = new HashSet<>(keys);
+        return keySet::contains;
+    }
+
+    /**
+     * Returns a filter matching all keys of the given operations, regardless
+     * of their parameters.
+     *
+     * @param operations the names of the operations
+     * @return the filter for the keys of these operations
+     */
+    static Predicate<Object> operations(String... operations) {
+        Set<String> operationSet = new HashSet<>(Arrays.asList(operations));
+        return key -> key instanceof List && !((List<?>) key).isEmpty() &&
+                operationSet.contains(((List<?>) key).get(0));
+    }
+}
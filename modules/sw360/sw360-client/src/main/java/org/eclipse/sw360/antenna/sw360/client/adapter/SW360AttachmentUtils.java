@@ -12,6 +12,10 @@ package org.eclipse.sw360.antenna.sw360.client.adapter;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.DownloadFiles;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360AttachmentAwareClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360HalResource;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360SparseAttachment;
@@ -28,11 +32,11 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.optionalFuture;
 
@@ -52,11 +56,6 @@ public class SW360AttachmentUtils {
      */
     private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
-    /**
-     * Name of the SHA-1 algorithm to calculate hashes.
-     */
-    private static final String ALG_SHA1 = "SHA-1";
-
     private static final Logger LOGGER = LoggerFactory.getLogger(SW360AttachmentUtils.class);
 
     private SW360AttachmentUtils() {
@@ -67,6 +66,16 @@ public class SW360AttachmentUtils {
      * referenced by the passed in request are uploaded to the target entity. A
      * result object is returned with information about the single upload
      * operations.
+     * <p>
+     * Attachments whose file names are already present on the target entity
+     * or occur multiple times in the request are rejected as duplicates
+     * before any upload is started. The remaining uploads are executed one
+     * after the other, each on the entity returned by the previous upload.
+     * They must not run in parallel: the server updates the attachments of
+     * the entity for each upload, so that concurrent uploads to the same
+     * entity could overwrite each other. The target of the result is the
+     * entity returned by the last successful upload.
+     * </p>
      *
      * @param client             the client that handles a single upload operation
      * @param uploadRequest      the request to upload attachments
@@ -78,23 +87,24 @@ public class SW360AttachmentUtils {
     public static <T extends SW360HalResource<?, ?>> CompletableFuture<AttachmentUploadResult<T>>
     uploadAttachments(SW360AttachmentAwareClient<T> client, AttachmentUploadRequest<T> uploadRequest,
                       Function<? super T, Set<SW360SparseAttachment>> getAttachmentsFunc) {
+        Set<String> fileNames = getAttachmentsFunc.apply(uploadRequest.getTarget()).stream()
+                .map(SW360SparseAttachment::getFilename)
+                .collect(Collectors.toSet());
         CompletableFuture<AttachmentUploadResult<T>> futResult =
                 CompletableFuture.completedFuture(new AttachmentUploadResult<>(uploadRequest.getTarget()));
 
         for (AttachmentUploadRequest.Item item : uploadRequest.getItems()) {
-            futResult = futResult.thenCompose(result -> {
-                if (attachmentIsPotentialDuplicate(item.getPath(), getAttachmentsFunc.apply(result.getTarget()))) {
-                    return CompletableFuture.completedFuture(result.addFailedUpload(item,
-                            new SW360ClientException("Duplicate attachment file name: " +
-                                    item.getPath().getFileName())));
-                }
-
-                return client
+            if (!fileNames.add(item.getPath().getFileName().toString())) {
+                futResult = futResult.thenApply(result -> result.addFailedUpload(item,
+                        new SW360ClientException("Duplicate attachment file name: " +
+                                item.getPath().getFileName())));
+            } else {
+                futResult = futResult.thenCompose(result -> client
                         .uploadAndAttachAttachment(result.getTarget(), item.getPath(), item.getAttachmentType())
                         .handle((updatedEntity, ex) -> (updatedEntity != null) ?
                                 result.addSuccessfulUpload(updatedEntity, item) :
-                                result.addFailedUpload(item, ex));
-            });
+                                result.addFailedUpload(item, ex)));
+            }
         }
 
         return futResult;
@@ -129,13 +139,40 @@ public class SW360AttachmentUtils {
                 .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
     }
 
+    /**
+     * Downloads a specific attachment file assigned to an entity to a local
+     * folder on the hard disk under the control of a {@link DownloadManager}.
+     * This method works like
+     * {@link #downloadAttachment(SW360AttachmentAwareClient, SW360HalResource, SW360SparseAttachment, Path)},
+     * but the download is submitted to the manager, so that the limits for
+     * parallel downloads from the SW360 host are respected.
+     *
+     * @param client          the client that handles the download operation
+     * @param entity          the entity to which the attachment belongs
+     * @param attachment      the attachment that is to be downloaded
+     * @param downloadPath    the path where to store the downloaded file
+     * @param downloadManager the manager controlling parallel downloads
+     * @param <T>             the type of the entity that owns the attachment
+     * @return a future with the {@code Optional} containing the path to the
+     * file that was downloaded
+     */
+    public static <T extends SW360HalResource<?, ?>> CompletableFuture<Optional<Path>>
+    downloadAttachment(SW360AttachmentAwareClient<? extends T> client, T entity, SW360SparseAttachment attachment,
+                       Path downloadPath, DownloadManager downloadManager) {
+        return Optional.ofNullable(entity.getSelfLink())
+                .map(self -> downloadManager.submit(DownloadManager.hostOf(self.getHref()),
+                        () -> downloadAttachment(client, entity, attachment, downloadPath)))
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+    }
+
     /**
      * Returns an {@link SW360AttachmentAwareClient.AttachmentProcessor} to
      * download the given attachment to a specific download folder. The
      * processor is configured with default options: it creates a non-existing
      * download folder (but not any missing parent directories) and overrides
      * an already existing local file. The file name is obtained from the
-     * attachment object.
+     * attachment object. If the attachment has a SHA-1 hash, the downloaded
+     * file is verified against it.
      *
      * @param attachment   the attachment to be downloaded
      * @param downloadPath the download path
@@ -143,7 +180,12 @@ public class SW360AttachmentUtils {
      */
     public static AttachmentDownloadProcessor defaultAttachmentDownloadProcessor(SW360SparseAttachment attachment,
                                                                                  Path downloadPath) {
-        return defaultAttachmentDownloadProcessor(attachment.getFilename(), downloadPath);
+        Checksum checksum = Optional.ofNullable(attachment.getSha1())
+                .filter(sha1 -> !sha1.isEmpty())
+                .map(Checksum::sha1)
+                .orElse(null);
+        return new AttachmentDownloadProcessorCreateDownloadFolder(downloadPath, attachment.getFilename(),
+                checksum, StandardCopyOption.REPLACE_EXISTING);
     }
 
     /**
@@ -185,21 +227,35 @@ public class SW360AttachmentUtils {
 
     /**
      * Calculates a SHA1 hash value on the content of the file specified. This
-     * is a specialization to the {@link #calculateHash(Path, MessageDigest)}
-     * method, which uses a {@code MessageDigest} for SHA1 calculation. This
      * algorithm is used by SW360 per default to calculate hashes on uploaded
-     * attachments.
+     * attachments. As source attachments can be large and are typically
+     * hashed again in each run, the calculation is delegated to the default
+     * {@link FileHashCache}; so the hash is only calculated if the file has
+     * been changed since it was hashed the last time.
      *
      * @param file the path to the file for which the hash should be computed
      * @return the (Hex-encoded) hash value for this file
      * @throws SW360ClientException if an error occurs
      */
     public static String calculateSha1Hash(Path file) {
+        return calculateSha1Hash(file, FileHashCache.getDefault());
+    }
+
+    /**
+     * Calculates a SHA1 hash value on the content of the file specified using
+     * the given {@link FileHashCache}. This variant can be used by callers
+     * that have been configured with a persistent cache.
+     *
+     * @param file      the path to the file for which the hash should be computed
+     * @param hashCache the cache to obtain the hash from
+     * @return the (Hex-encoded) hash value for this file
+     * @throws SW360ClientException if an error occurs
+     */
+    public static String calculateSha1Hash(Path file, FileHashCache hashCache) {
         try {
-            return calculateHash(file, MessageDigest.getInstance(ALG_SHA1));
-        } catch (NoSuchAlgorithmException e) {
-            // This cannot happen as every implementation of the Java platform must support this algorithm
-            throw new AssertionError("SHA-1 algorithm not supported");
+            return hashCache.sha1(file);
+        } catch (IOException e) {
+            throw new SW360ClientException("Could not calculate hash for file " + file, e);
         }
     }
 
@@ -231,19 +287,6 @@ public class SW360AttachmentUtils {
         return path;
     }
 
-    /**
-     * Checks whether an attachment with a specific name already exists for the
-     * target entity.
-     *
-     * @param attachment  the path to the local attachment file
-     * @param attachments the attachments assigned to the target entity
-     * @return a flag whether the attachment is duplicate
-     */
-    private static boolean attachmentIsPotentialDuplicate(Path attachment, Set<SW360SparseAttachment> attachments) {
-        return attachments.stream()
-                .anyMatch(attachment1 -> attachment1.getFilename().equals(attachment.getFileName().toString()));
-    }
-
     /**
      * Converts the given byte array to a string with hexadecimal digits.
      *
@@ -274,6 +317,13 @@ public class SW360AttachmentUtils {
      * constructor are taken into account.
      * </p>
      * <p>
+     * The data is written to a temporary file first, which is renamed to the
+     * target file when the download is complete. So a failed download never
+     * leaves a partial file under the target name. Optionally, an expected
+     * {@link Checksum} can be provided; then the downloaded data is verified
+     * before it is moved to its final location.
+     * </p>
+     * <p>
      * The class may be extended to offer more flexibility with regards to the
      * download folder. For instance, a derived class may create the folder if
      * it does not exist yet.
@@ -295,6 +345,12 @@ public class SW360AttachmentUtils {
          */
         private final CopyOption[] copyOptions;
 
+        /**
+         * The checksum to verify the downloaded file; can be
+         * <strong>null</strong>.
+         */
+        private final Checksum checksum;
+
         /**
          * Creates a new instance of {@code AttachmentDownloadProcessor} and
          * initializes it with all the properties required for a download
@@ -305,8 +361,23 @@ public class SW360AttachmentUtils {
          * @param options      an arbitrary number of {@code CopyOption} flags
          */
         public AttachmentDownloadProcessor(Path downloadPath, String fileName, CopyOption... options) {
+            this(downloadPath, fileName, null, options);
+        }
+
+        /**
+         * Creates a new instance of {@code AttachmentDownloadProcessor} that
+         * verifies the downloaded file against the given checksum.
+         *
+         * @param downloadPath the path where to store the attachment
+         * @param fileName     the file name to be used
+         * @param checksum     the expected checksum (may be <strong>null</strong>)
+         * @param options      an arbitrary number of {@code CopyOption} flags
+         */
+        public AttachmentDownloadProcessor(Path downloadPath, String fileName, Checksum checksum,
+                                           CopyOption... options) {
             this.downloadPath = downloadPath;
             this.fileName = fileName;
+            this.checksum = checksum;
             copyOptions = options;
         }
 
@@ -339,12 +410,22 @@ public class SW360AttachmentUtils {
             return copyOptions.clone();
         }
 
+        /**
+         * Returns an {@code Optional} with the checksum the downloaded file
+         * is verified against.
+         *
+         * @return an {@code Optional} with the expected checksum
+         */
+        public Optional<Checksum> getChecksum() {
+            return Optional.ofNullable(checksum);
+        }
+
         @Override
         public Path processAttachmentStream(InputStream stream) throws IOException {
             Path target = getTargetPath();
             LOGGER.info("Downloading attachment to {}.", target);
-            long size = Files.copy(stream, target, copyOptions);
-            LOGGER.debug("Downloaded {} bytes to {}", size, target);
+            DownloadFiles.storeAtomically(stream, target, checksum, copyOptions);
+            LOGGER.debug("Downloaded {} bytes to {}", Files.size(target), target);
             return target;
         }
 
@@ -394,6 +475,21 @@ public class SW360AttachmentUtils {
             super(downloadPath, fileName, options);
         }
 
+        /**
+         * Creates a new instance of
+         * {@code AttachmentDownloadProcessorCreateDownloadFolder} that
+         * verifies the downloaded file against the given checksum.
+         *
+         * @param downloadPath the path where to store the attachment
+         * @param fileName     the file name to be used
+         * @param checksum     the expected checksum (may be <strong>null</strong>)
+         * @param options      an arbitrary number of {@code CopyOption} flags
+         */
+        public AttachmentDownloadProcessorCreateDownloadFolder(Path downloadPath, String fileName, Checksum checksum,
+                                                               CopyOption... options) {
+            super(downloadPath, fileName, checksum, options);
+        }
+
         @Override
         protected Path getTargetPath() throws IOException {
             safeCreateDirectory(getDownloadPath(), false);
@@ -430,6 +526,22 @@ public class SW360AttachmentUtils {
             super(downloadPath, fileName, options);
         }
 
+        /**
+         * Creates a new instance of
+         * {@code AttachmentDownloadProcessorCreateDownloadFolderWithParents}
+         * that verifies the downloaded file against the given checksum.
+         *
+         * @param downloadPath the path where to store the attachment
+         * @param fileName     the file name to be used
+         * @param checksum     the expected checksum (may be <strong>null</strong>)
+         * @param options      an arbitrary number of {@code CopyOption} flags
+         */
+        public AttachmentDownloadProcessorCreateDownloadFolderWithParents(Path downloadPath, String fileName,
+                                                                          Checksum checksum,
+                                                                          CopyOption... options) {
+            super(downloadPath, fileName, checksum, options);
+        }
+
         @Override
         protected Path getTargetPath() throws IOException {
             safeCreateDirectory(getDownloadPath(), true);
@@ -19,8 +19,11 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.Component
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
 import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestCoalescer;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -30,8 +33,19 @@ import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.optionalF
 class SW360ComponentClientAdapterAsyncImpl implements SW360ComponentClientAdapterAsync {
     private final SW360ComponentClient componentClient;
 
+    /**
+     * The object to merge identical lookups of components.
+     */
+    private final RequestCoalescer<Object> requestCoalescer;
+
     public SW360ComponentClientAdapterAsyncImpl(SW360ComponentClient client) {
+        this(client, RequestCoalescer.disabled());
+    }
+
+    public SW360ComponentClientAdapterAsyncImpl(SW360ComponentClient client,
+                                                RequestCoalescer<Object> requestCoalescer) {
         componentClient = client;
+        this.requestCoalescer = requestCoalescer;
     }
 
     @Override
@@ -39,20 +53,44 @@ class SW360ComponentClientAdapterAsyncImpl implements SW360ComponentClientAdapte
         return componentClient;
     }
 
+    /**
+     * Returns the {@code RequestCoalescer} used by this adapter.
+     *
+     * @return the {@code RequestCoalescer}
+     */
+    public RequestCoalescer<Object> getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     @Override
     public CompletableFuture<SW360Component> createComponent(SW360Component component) {
         return FutureUtils.wrapInFuture(() -> SW360ComponentAdapterUtils.validateComponent(component),
                 "Cannot create invalid component for " + component.getName())
-                .thenCompose(getComponentClient()::createComponent);
+                .thenCompose(comp -> requestCoalescer.invalidateAfter(getComponentClient().createComponent(comp),
+                        RequestKeys.keys(Collections.singleton(
+                                RequestKeys.key(RequestKeys.COMPONENT_BY_NAME, comp.getName())))));
     }
 
     @Override
     public CompletableFuture<Optional<SW360Component>> getComponentById(String componentId) {
-        return optionalFuture(getComponentClient().getComponent(componentId));
+        return requestCoalescer.execute(RequestKeys.key(RequestKeys.COMPONENT_BY_ID, componentId),
+                () -> optionalFuture(getComponentClient().getComponent(componentId)));
     }
 
     @Override
     public CompletableFuture<Optional<SW360Component>> getComponentByName(String componentName) {
+        return requestCoalescer.execute(RequestKeys.key(RequestKeys.COMPONENT_BY_NAME, componentName),
+                () -> searchComponentByName(componentName));
+    }
+
+    /**
+     * Searches for a component with the given name. This method sends the
+     * actual requests for {@link #getComponentByName(String)}.
+     *
+     * @param componentName the name of the component
+     * @return a future with the component that was found
+     */
+    private CompletableFuture<Optional<SW360Component>> searchComponentByName(String componentName) {
         ComponentSearchParams searchParams = ComponentSearchParams.builder()
                 .withName(componentName)
                 .build();
@@ -82,17 +120,22 @@ class SW360ComponentClientAdapterAsyncImpl implements SW360ComponentClientAdapte
     public CompletableFuture<SW360Component> updateComponent(SW360Component component) {
         return FutureUtils.wrapInFuture(() -> SW360ComponentAdapterUtils.validateComponent(component),
                 "Cannot update invalid component for " + component.getName())
-                .thenCompose(getComponentClient()::patchComponent);
+                .thenCompose(comp -> requestCoalescer.invalidateAfter(getComponentClient().patchComponent(comp),
+                        RequestKeys.keys(Arrays.asList(RequestKeys.key(RequestKeys.COMPONENT_BY_ID, comp.getId()),
+                                RequestKeys.key(RequestKeys.COMPONENT_BY_NAME, comp.getName())))));
     }
 
     @Override
     public CompletableFuture<MultiStatusResponse> deleteComponents(Collection<String> idsToDelete) {
-        return SW360DeleteUtils.deleteEntities(getComponentClient()::deleteComponents, idsToDelete);
+        return requestCoalescer.invalidateAfter(
+                SW360DeleteUtils.deleteEntities(getComponentClient()::deleteComponents, idsToDelete),
+                RequestKeys.operations(RequestKeys.COMPONENT_BY_ID, RequestKeys.COMPONENT_BY_NAME));
     }
 
     @Override
     public CompletableFuture<Void> deleteComponent(String componentId) {
-        return SW360DeleteUtils.deleteEntity(getComponentClient()::deleteComponents,
-                componentId, "component");
+        return requestCoalescer.invalidateAfter(SW360DeleteUtils.deleteEntity(getComponentClient()::deleteComponents,
+                componentId, "component"),
+                RequestKeys.operations(RequestKeys.COMPONENT_BY_ID, RequestKeys.COMPONENT_BY_NAME));
     }
 }
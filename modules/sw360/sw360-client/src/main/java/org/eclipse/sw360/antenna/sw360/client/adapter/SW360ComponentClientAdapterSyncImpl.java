@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.adapter;
+
+import org.eclipse.sw360.antenna.sw360.client.rest.MultiStatusResponse;
+import org.eclipse.sw360.antenna.sw360.client.rest.PagingResult;
+import org.eclipse.sw360.antenna.sw360.client.rest.SW360ComponentClient;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.ComponentSearchParams;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.block;
+
+/**
+ * <p>
+ * A direct implementation of {@link SW360ComponentClientAdapter} that
+ * delegates to an asynchronous adapter and blocks until the results are
+ * available.
+ * </p>
+ * <p>
+ * This class is an alternative to the dynamic proxy created by
+ * {@link SyncClientAdapterHandler}. It does not need any reflection, and the
+ * compiler checks that all the methods of the interface are mapped.
+ * </p>
+ */
+final class SW360ComponentClientAdapterSyncImpl implements SW360ComponentClientAdapter {
+    /**
+     * The asynchronous adapter to delegate to.
+     */
+    private final SW360ComponentClientAdapterAsync delegate;
+
+    /**
+     * Creates a new instance of {@code SW360ComponentClientAdapterSyncImpl}
+     * with the asynchronous adapter to delegate to.
+     *
+     * @param delegate the asynchronous delegate adapter
+     */
+    SW360ComponentClientAdapterSyncImpl(SW360ComponentClientAdapterAsync delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SW360ComponentClient getComponentClient() {
+        return delegate.getComponentClient();
+    }
+
+    @Override
+    public SW360Component createComponent(SW360Component component) {
+        return block(delegate.createComponent(component));
+    }
+
+    @Override
+    public Optional<SW360Component> getComponentById(String componentId) {
+        return block(delegate.getComponentById(componentId));
+    }
+
+    @Override
+    public Optional<SW360Component> getComponentByName(String componentName) {
+        return block(delegate.getComponentByName(componentName));
+    }
+
+    @Override
+    public List<SW360SparseComponent> search(ComponentSearchParams searchParams) {
+        return block(delegate.search(searchParams));
+    }
+
+    @Override
+    public PagingResult<SW360SparseComponent> searchWithPaging(ComponentSearchParams searchParams) {
+        return block(delegate.searchWithPaging(searchParams));
+    }
+
+    @Override
+    public SW360Component updateComponent(SW360Component component) {
+        return block(delegate.updateComponent(component));
+    }
+
+    @Override
+    public MultiStatusResponse deleteComponents(Collection<String> idsToDelete) {
+        return block(delegate.deleteComponents(idsToDelete));
+    }
+
+    @Override
+    public void deleteComponent(String componentId) {
+        block(delegate.deleteComponent(componentId));
+    }
+}
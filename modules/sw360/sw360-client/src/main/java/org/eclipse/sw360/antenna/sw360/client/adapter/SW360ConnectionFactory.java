@@ -10,6 +10,7 @@
  */
 package org.eclipse.sw360.antenna.sw360.client.adapter;
 
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.sw360.client.auth.AccessTokenProvider;
 import org.eclipse.sw360.antenna.sw360.client.auth.SW360AuthenticationClient;
 import org.eclipse.sw360.antenna.sw360.client.config.SW360ClientConfig;
@@ -17,6 +18,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.SW360ComponentClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360LicenseClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360ProjectClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360ReleaseClient;
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestCoalescer;
 
 /**
  * <p>
@@ -28,6 +30,14 @@ import org.eclipse.sw360.antenna.sw360.client.rest.SW360ReleaseClient;
  * instance. From this connection instance the adapter objects can be obtained
  * that allow the actual interaction with an SW360 server.
  * </p>
+ * <p>
+ * The synchronous adapters are implemented on top of the asynchronous ones.
+ * Per default, they are dynamic proxies created by
+ * {@link SyncClientAdapterHandler}. If the configuration enables
+ * {@link SW360ClientConfig#isDirectSyncAdapters() direct synchronous adapters},
+ * classes implementing the synchronous adapter interfaces are used instead,
+ * which avoid the overhead of reflective method invocations.
+ * </p>
  */
 public class SW360ConnectionFactory {
     /**
@@ -42,30 +52,38 @@ public class SW360ConnectionFactory {
     public SW360Connection newConnection(SW360ClientConfig config) {
         SW360AuthenticationClient authClient = new SW360AuthenticationClient(config);
         AccessTokenProvider tokenProvider = new AccessTokenProvider(authClient);
+        RequestCoalescer<Object> requestCoalescer = createRequestCoalescer(config);
 
         SW360ComponentClient componentClient = new SW360ComponentClient(config, tokenProvider);
         SW360ComponentClientAdapterAsync componentAdapterAsync =
-                new SW360ComponentClientAdapterAsyncImpl(componentClient);
-        SW360ComponentClientAdapter componentAdapterSync =
+                new SW360ComponentClientAdapterAsyncImpl(componentClient, requestCoalescer);
+        SW360ComponentClientAdapter componentAdapterSync = config.isDirectSyncAdapters() ?
+                new SW360ComponentClientAdapterSyncImpl(componentAdapterAsync) :
                 SyncClientAdapterHandler.newHandler(SW360ComponentClientAdapter.class,
                         SW360ComponentClientAdapterAsync.class, componentAdapterAsync);
 
         SW360ReleaseClient releaseClient = new SW360ReleaseClient(config, tokenProvider);
         SW360ReleaseClientAdapterAsyncImpl releaseAdapterAsync =
-                new SW360ReleaseClientAdapterAsyncImpl(releaseClient, componentAdapterAsync);
-        SW360ReleaseClientAdapter releaseAdapterSync =
+                new SW360ReleaseClientAdapterAsyncImpl(releaseClient, componentAdapterAsync,
+                        getDownloadManager(config), requestCoalescer);
+        SW360ReleaseClientAdapter releaseAdapterSync = config.isDirectSyncAdapters() ?
+                new SW360ReleaseClientAdapterSyncImpl(releaseAdapterAsync) :
                 SyncClientAdapterHandler.newHandler(SW360ReleaseClientAdapter.class,
                         SW360ReleaseClientAdapterAsync.class, releaseAdapterAsync);
 
         SW360LicenseClient licenseClient = new SW360LicenseClient(config, tokenProvider);
-        SW360LicenseClientAdapterAsync licenseAdapterAsync = new SW360LicenseClientAdapterAsyncImpl(licenseClient);
-        SW360LicenseClientAdapter licenseAdapterSync =
+        SW360LicenseClientAdapterAsync licenseAdapterAsync = new SW360LicenseClientAdapterAsyncImpl(licenseClient,
+                requestCoalescer);
+        SW360LicenseClientAdapter licenseAdapterSync = config.isDirectSyncAdapters() ?
+                new SW360LicenseClientAdapterSyncImpl(licenseAdapterAsync) :
                 SyncClientAdapterHandler.newHandler(SW360LicenseClientAdapter.class,
                         SW360LicenseClientAdapterAsync.class, licenseAdapterAsync);
 
         SW360ProjectClient projectClient = new SW360ProjectClient(config, tokenProvider);
-        SW360ProjectClientAdapterAsync projectAdapterAsync = new SW360ProjectClientAdapterAsyncImpl(projectClient);
-        SW360ProjectClientAdapter projectAdapterSync =
+        SW360ProjectClientAdapterAsync projectAdapterAsync = new SW360ProjectClientAdapterAsyncImpl(projectClient,
+                requestCoalescer);
+        SW360ProjectClientAdapter projectAdapterSync = config.isDirectSyncAdapters() ?
+                new SW360ProjectClientAdapterSyncImpl(projectAdapterAsync) :
                 SyncClientAdapterHandler.newHandler(SW360ProjectClientAdapter.class,
                         SW360ProjectClientAdapterAsync.class, projectAdapterAsync);
 
@@ -111,4 +129,31 @@ public class SW360ConnectionFactory {
             }
         };
     }
+
+    /**
+     * Creates the {@code RequestCoalescer} to be used by the adapters of a
+     * new connection based on the configuration settings. All adapters share
+     * the same instance, so that a write operation of one adapter invalidates
+     * the results of all.
+     *
+     * @param config the configuration of the client
+     * @return the {@code RequestCoalescer} for the new connection
+     */
+    private static RequestCoalescer<Object> createRequestCoalescer(SW360ClientConfig config) {
+        return config.isRequestCoalescing() || !config.getCacheTtl().isZero() ?
+                new RequestCoalescer<>(config.getCacheTtl()) : RequestCoalescer.disabled();
+    }
+
+    /**
+     * Returns the {@code DownloadManager} to be used by the adapters of a new
+     * connection. This is the shared manager from the configuration if
+     * defined; otherwise, a new manager with default limits is created.
+     *
+     * @param config the configuration of the client
+     * @return the {@code DownloadManager} for the new connection
+     */
+    private static DownloadManager getDownloadManager(SW360ClientConfig config) {
+        return config.getDownloadManager()
+                .orElseGet(() -> new DownloadManager(config.getHttpClient()));
+    }
 }
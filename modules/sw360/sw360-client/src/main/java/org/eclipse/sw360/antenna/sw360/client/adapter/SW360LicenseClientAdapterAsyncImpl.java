@@ -14,7 +14,9 @@ package org.eclipse.sw360.antenna.sw360.client.adapter;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360LicenseClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360License;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360SparseLicense;
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestCoalescer;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -27,8 +29,18 @@ import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.optionalF
 class SW360LicenseClientAdapterAsyncImpl implements SW360LicenseClientAdapterAsync {
     private final SW360LicenseClient licenseClient;
 
+    /**
+     * The object to merge identical lookups of licenses.
+     */
+    private final RequestCoalescer<Object> requestCoalescer;
+
     public SW360LicenseClientAdapterAsyncImpl(SW360LicenseClient client) {
+        this(client, RequestCoalescer.disabled());
+    }
+
+    public SW360LicenseClientAdapterAsyncImpl(SW360LicenseClient client, RequestCoalescer<Object> requestCoalescer) {
         licenseClient = client;
+        this.requestCoalescer = requestCoalescer;
     }
 
     @Override
@@ -36,14 +48,25 @@ class SW360LicenseClientAdapterAsyncImpl implements SW360LicenseClientAdapterAsy
         return licenseClient;
     }
 
+    /**
+     * Returns the {@code RequestCoalescer} used by this adapter.
+     *
+     * @return the {@code RequestCoalescer}
+     */
+    public RequestCoalescer<Object> getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     @Override
     public CompletableFuture<List<SW360SparseLicense>> getLicenses() {
-        return getLicenseClient().getLicenses();
+        return requestCoalescer.execute(RequestKeys.key(RequestKeys.LICENSES),
+                () -> getLicenseClient().getLicenses());
     }
 
     @Override
     public CompletableFuture<Optional<SW360License>> getLicenseByName(String license) {
-        return optionalFuture(getLicenseClient().getLicenseByName(license));
+        return requestCoalescer.execute(RequestKeys.key(RequestKeys.LICENSE_BY_NAME, license),
+                () -> optionalFuture(getLicenseClient().getLicenseByName(license)));
     }
 
     @Override
@@ -53,6 +76,8 @@ class SW360LicenseClientAdapterAsyncImpl implements SW360LicenseClientAdapterAsy
 
     @Override
     public CompletableFuture<SW360License> createLicense(SW360License license) {
-        return getLicenseClient().createLicense(license);
+        return requestCoalescer.invalidateAfter(getLicenseClient().createLicense(license),
+                RequestKeys.keys(Arrays.asList(RequestKeys.key(RequestKeys.LICENSES),
+                        RequestKeys.key(RequestKeys.LICENSE_BY_NAME, license.getShortName()))));
     }
 }
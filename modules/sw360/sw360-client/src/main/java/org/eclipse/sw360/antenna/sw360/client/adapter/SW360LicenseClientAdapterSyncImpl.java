@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.adapter;
+
+import org.eclipse.sw360.antenna.sw360.client.rest.SW360LicenseClient;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360License;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360SparseLicense;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.block;
+
+/**
+ * <p>
+ * A direct implementation of {@link SW360LicenseClientAdapter} that
+ * delegates to an asynchronous adapter and blocks until the results are
+ * available.
+ * </p>
+ */
+final class SW360LicenseClientAdapterSyncImpl implements SW360LicenseClientAdapter {
+    /**
+     * The asynchronous adapter to delegate to.
+     */
+    private final SW360LicenseClientAdapterAsync delegate;
+
+    /**
+     * Creates a new instance of {@code SW360LicenseClientAdapterSyncImpl}
+     * with the asynchronous adapter to delegate to.
+     *
+     * @param delegate the asynchronous delegate adapter
+     */
+    SW360LicenseClientAdapterSyncImpl(SW360LicenseClientAdapterAsync delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SW360LicenseClient getLicenseClient() {
+        return delegate.getLicenseClient();
+    }
+
+    @Override
+    public List<SW360SparseLicense> getLicenses() {
+        return block(delegate.getLicenses());
+    }
+
+    @Override
+    public Optional<SW360License> getLicenseByName(String license) {
+        return block(delegate.getLicenseByName(license));
+    }
+
+    @Override
+    public SW360License enrichSparseLicense(SW360SparseLicense sparseLicense) {
+        return block(delegate.enrichSparseLicense(sparseLicense));
+    }
+
+    @Override
+    public SW360License createLicense(SW360License license) {
+        return block(delegate.createLicense(license));
+    }
+}
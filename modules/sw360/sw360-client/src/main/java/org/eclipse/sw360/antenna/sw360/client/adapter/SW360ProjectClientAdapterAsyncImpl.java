@@ -20,14 +20,17 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.projects.SW360Projec
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
 import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestCoalescer;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
 
+import java.util.Collections;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -36,8 +39,18 @@ import java.util.stream.Collectors;
 class SW360ProjectClientAdapterAsyncImpl implements SW360ProjectClientAdapterAsync {
     private final SW360ProjectClient projectClient;
 
+    /**
+     * The object to merge identical lookups of projects.
+     */
+    private final RequestCoalescer<Object> requestCoalescer;
+
     public SW360ProjectClientAdapterAsyncImpl(SW360ProjectClient client) {
+        this(client, RequestCoalescer.disabled());
+    }
+
+    public SW360ProjectClientAdapterAsyncImpl(SW360ProjectClient client, RequestCoalescer<Object> requestCoalescer) {
         projectClient = client;
+        this.requestCoalescer = requestCoalescer;
     }
 
     @Override
@@ -45,8 +58,32 @@ class SW360ProjectClientAdapterAsyncImpl implements SW360ProjectClientAdapterAsy
         return projectClient;
     }
 
+    /**
+     * Returns the {@code RequestCoalescer} used by this adapter.
+     *
+     * @return the {@code RequestCoalescer}
+     */
+    public RequestCoalescer<Object> getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     @Override
     public CompletableFuture<Optional<SW360Project>> getProjectByNameAndVersion(String projectName, String projectVersion) {
+        return requestCoalescer.execute(RequestKeys.key(RequestKeys.PROJECT_BY_NAME_AND_VERSION, projectName, projectVersion),
+                () -> searchProjectByNameAndVersion(projectName, projectVersion));
+    }
+
+    /**
+     * Searches for a project with the given name and version. This method
+     * sends the actual request for
+     * {@link #getProjectByNameAndVersion(String, String)}.
+     *
+     * @param projectName    the project name
+     * @param projectVersion the project version
+     * @return a future with the project that was found
+     */
+    private CompletableFuture<Optional<SW360Project>> searchProjectByNameAndVersion(String projectName,
+                                                                                   String projectVersion) {
         ProjectSearchParams nameSearchParams = ProjectSearchParams.builder()
                 .withName(projectName)
                 .build();
@@ -63,12 +100,14 @@ class SW360ProjectClientAdapterAsyncImpl implements SW360ProjectClientAdapterAsy
 
     @Override
     public CompletableFuture<SW360Project> createProject(SW360Project project) {
-        return validateProjectAndProcess(project, getProjectClient()::createProject);
+        return requestCoalescer.invalidateAfter(validateProjectAndProcess(project, getProjectClient()::createProject),
+                projectKeys(project));
     }
 
     @Override
     public CompletableFuture<SW360Project> updateProject(SW360Project project) {
-        return validateProjectAndProcess(project, getProjectClient()::updateProject);
+        return requestCoalescer.invalidateAfter(validateProjectAndProcess(project, getProjectClient()::updateProject),
+                projectKeys(project));
     }
 
     @Override
@@ -80,7 +119,8 @@ class SW360ProjectClientAdapterAsyncImpl implements SW360ProjectClientAdapterAsy
                 .filter(Objects::nonNull)
                 .map(Self::getHref)
                 .collect(Collectors.toList());
-        return getProjectClient().addReleasesToProject(id, releaseLinks);
+        return requestCoalescer.invalidateAfter(getProjectClient().addReleasesToProject(id, releaseLinks),
+                RequestKeys.operations(RequestKeys.PROJECT_BY_NAME_AND_VERSION));
     }
 
     @Override
@@ -106,4 +146,16 @@ class SW360ProjectClientAdapterAsyncImpl implements SW360ProjectClientAdapterAsy
         }
         return func.apply(project);
     }
+
+    /**
+     * Returns a filter for the request keys affected by a write operation on
+     * the given project.
+     *
+     * @param project the project that is written
+     * @return the filter for the affected keys
+     */
+    private static Predicate<Object> projectKeys(SW360Project project) {
+        return RequestKeys.keys(Collections.singleton(
+                RequestKeys.key(RequestKeys.PROJECT_BY_NAME_AND_VERSION, project.getName(), project.getVersion())));
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.adapter;
+
+import org.eclipse.sw360.antenna.sw360.client.rest.SW360ProjectClient;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.projects.ProjectSearchParams;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.projects.SW360Project;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.block;
+
+/**
+ * <p>
+ * A direct implementation of {@link SW360ProjectClientAdapter} that
+ * delegates to an asynchronous adapter and blocks until the results are
+ * available.
+ * </p>
+ */
+final class SW360ProjectClientAdapterSyncImpl implements SW360ProjectClientAdapter {
+    /**
+     * The asynchronous adapter to delegate to.
+     */
+    private final SW360ProjectClientAdapterAsync delegate;
+
+    /**
+     * Creates a new instance of {@code SW360ProjectClientAdapterSyncImpl}
+     * with the asynchronous adapter to delegate to.
+     *
+     * @param delegate the asynchronous delegate adapter
+     */
+    SW360ProjectClientAdapterSyncImpl(SW360ProjectClientAdapterAsync delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SW360ProjectClient getProjectClient() {
+        return delegate.getProjectClient();
+    }
+
+    @Override
+    public Optional<SW360Project> getProjectByNameAndVersion(String projectName, String projectVersion) {
+        return block(delegate.getProjectByNameAndVersion(projectName, projectVersion));
+    }
+
+    @Override
+    public List<SW360Project> search(ProjectSearchParams params) {
+        return block(delegate.search(params));
+    }
+
+    @Override
+    public SW360Project createProject(SW360Project project) {
+        return block(delegate.createProject(project));
+    }
+
+    @Override
+    public SW360Project updateProject(SW360Project project) {
+        return block(delegate.updateProject(project));
+    }
+
+    @Override
+    public void addSW360ReleasesToSW360Project(String projectId, Collection<SW360Release> releases) {
+        block(delegate.addSW360ReleasesToSW360Project(projectId, releases));
+    }
+
+    @Override
+    public List<SW360SparseRelease> getLinkedReleases(String projectId, boolean transitive) {
+        return block(delegate.getLinkedReleases(projectId, transitive));
+    }
+}
@@ -86,6 +86,23 @@ public interface SW360ReleaseClientAdapterAsync {
      */
     CompletableFuture<Optional<SW360SparseRelease>> getSparseReleaseByExternalIds(Map<String, ?> externalIds);
 
+    /**
+     * Searches for releases that have an external ID with the given key and
+     * one of the values provided. This is a bulk variant of
+     * {@link #getSparseReleaseByExternalIds(Map)} that is intended to look up
+     * the releases for many artifacts at once, e.g. by their package URLs.
+     * The values are split into batches; for each batch only a single request
+     * is sent to the server. Result is a map that assigns the values that
+     * could be matched to the sparse releases found. Values for which no
+     * release or multiple releases exist are not contained in the map.
+     *
+     * @param externalIdKey the key of the external ID to search for
+     * @param values        a collection with the values to be matched
+     * @return a future with a map with the releases found for the values
+     */
+    CompletableFuture<Map<String, SW360SparseRelease>> getSparseReleasesByExternalIdValues(String externalIdKey,
+                                                                                          Collection<String> values);
+
     /**
      * Searches for a release based on the component name and the release
      * version. This method obtains the component associated with this release
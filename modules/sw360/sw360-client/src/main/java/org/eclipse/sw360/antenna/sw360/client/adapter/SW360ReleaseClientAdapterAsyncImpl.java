@@ -11,6 +11,7 @@
  */
 package org.eclipse.sw360.antenna.sw360.client.adapter;
 
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.sw360.client.rest.MultiStatusResponse;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360AttachmentAwareClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360ReleaseClient;
@@ -21,14 +22,25 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Comp
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
 import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestCoalescer;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.optionalFuture;
 
@@ -36,13 +48,55 @@ import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.optionalF
  * Adapter implementation for the SW360 releases endpoint.
  */
 class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsync {
+    /**
+     * The maximum number of external ID values that are passed to the server
+     * in a single search request. This limit makes sure that the URLs of
+     * bulk searches do not get too long.
+     */
+    static final int MAX_EXTERNAL_ID_VALUES_PER_REQUEST = 50;
+
     private final SW360ReleaseClient releaseClient;
     private final SW360ComponentClientAdapterAsync sw360ComponentClientAdapter;
 
+    /**
+     * The manager to limit parallel attachment downloads; can be
+     * <strong>null</strong>, then downloads are not limited.
+     */
+    private final DownloadManager downloadManager;
+
+    /**
+     * The object to merge identical lookups of releases.
+     */
+    private final RequestCoalescer<Object> requestCoalescer;
+
+    /**
+     * Stores the last pending creation of a release per component name. The
+     * creation of a release looks up its component and creates it if it does
+     * not exist. As this is not atomic, releases of the same component that
+     * are created in parallel could otherwise create the component multiple
+     * times. Therefore, creations are chained per component name.
+     */
+    private final ConcurrentMap<String, CompletableFuture<?>> pendingCreations = new ConcurrentHashMap<>();
+
     public SW360ReleaseClientAdapterAsyncImpl(SW360ReleaseClient client,
                                               SW360ComponentClientAdapterAsync componentClientAdapter) {
+        this(client, componentClientAdapter, null);
+    }
+
+    public SW360ReleaseClientAdapterAsyncImpl(SW360ReleaseClient client,
+                                              SW360ComponentClientAdapterAsync componentClientAdapter,
+                                              DownloadManager downloadManager) {
+        this(client, componentClientAdapter, downloadManager, RequestCoalescer.disabled());
+    }
+
+    public SW360ReleaseClientAdapterAsyncImpl(SW360ReleaseClient client,
+                                              SW360ComponentClientAdapterAsync componentClientAdapter,
+                                              DownloadManager downloadManager,
+                                              RequestCoalescer<Object> requestCoalescer) {
         releaseClient = client;
         sw360ComponentClientAdapter = componentClientAdapter;
+        this.downloadManager = downloadManager;
+        this.requestCoalescer = requestCoalescer;
     }
 
     @Override
@@ -54,6 +108,25 @@ class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsy
         return sw360ComponentClientAdapter;
     }
 
+    /**
+     * Returns the {@code DownloadManager} used by this adapter to download
+     * attachments.
+     *
+     * @return the {@code DownloadManager}
+     */
+    DownloadManager getDownloadManager() {
+        return downloadManager;
+    }
+
+    /**
+     * Returns the {@code RequestCoalescer} used by this adapter.
+     *
+     * @return the {@code RequestCoalescer}
+     */
+    public RequestCoalescer<Object> getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
     @Override
     public CompletableFuture<SW360Release> createRelease(SW360Release release) {
         return FutureUtils.wrapInFuture(() -> {
@@ -62,8 +135,35 @@ class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsy
             }
             return SW360ReleaseAdapterUtils.validateRelease(release);
         }, "Cannot create release for " + release.getName())
-                .thenCompose(this::assignReleaseToComponent)
-                .thenCompose(getReleaseClient()::createRelease);
+                .thenCompose(rel -> serializePerComponent(rel.getName(), () ->
+                        assignReleaseToComponent(rel)
+                                .thenCompose(assigned -> requestCoalescer.invalidateAfter(
+                                        getReleaseClient().createRelease(assigned), createdReleaseKeys(assigned)))));
+    }
+
+    /**
+     * Executes an operation affecting the component with the given name after
+     * all other operations on this component started via this method have
+     * completed (successfully or not). Operations on different components
+     * still run in parallel.
+     *
+     * @param componentName the name of the component
+     * @param operation     the operation to execute
+     * @param <T>           the result type of the operation
+     * @return a future with the result of the operation
+     */
+    private <T> CompletableFuture<T> serializePerComponent(String componentName,
+                                                           Supplier<? extends CompletableFuture<T>> operation) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<?> predecessor = pendingCreations.put(componentName, done);
+        CompletableFuture<T> result = (predecessor != null ? predecessor : CompletableFuture.completedFuture(null))
+                .handle((r, ex) -> null)
+                .thenCompose(v -> operation.get());
+        result.whenComplete((r, ex) -> {
+            pendingCreations.remove(componentName, done);
+            done.complete(null);
+        });
+        return result;
     }
 
     /**
@@ -117,13 +217,15 @@ class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsy
     @Override
     public CompletableFuture<AttachmentUploadResult<SW360Release>>
     uploadAttachments(AttachmentUploadRequest<SW360Release> uploadRequest) {
-        return SW360AttachmentUtils.uploadAttachments(getReleaseClient(), uploadRequest,
-                release -> release.getEmbedded().getAttachments());
+        return requestCoalescer.invalidateAfter(SW360AttachmentUtils.uploadAttachments(getReleaseClient(),
+                uploadRequest, release -> release.getEmbedded().getAttachments()),
+                releaseKeys(Collections.singleton(uploadRequest.getTarget().getId())));
     }
 
     @Override
     public CompletableFuture<Optional<SW360Release>> getReleaseById(String releaseId) {
-        return optionalFuture(getReleaseClient().getRelease(releaseId));
+        return requestCoalescer.execute(RequestKeys.key(RequestKeys.RELEASE_BY_ID, releaseId),
+                () -> optionalFuture(getReleaseClient().getRelease(releaseId)));
     }
 
     @Override
@@ -133,6 +235,18 @@ class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsy
 
     @Override
     public CompletableFuture<Optional<SW360SparseRelease>> getSparseReleaseByExternalIds(Map<String, ?> externalIds) {
+        return requestCoalescer.execute(RequestKeys.key(RequestKeys.RELEASE_BY_EXTERNAL_IDS, new HashMap<>(externalIds)),
+                () -> searchReleaseByExternalIds(externalIds));
+    }
+
+    /**
+     * Searches for a release with the given external IDs. This method sends
+     * the actual request for {@link #getSparseReleaseByExternalIds(Map)}.
+     *
+     * @param externalIds the external IDs to search for
+     * @return a future with the release that was found
+     */
+    private CompletableFuture<Optional<SW360SparseRelease>> searchReleaseByExternalIds(Map<String, ?> externalIds) {
         return getReleaseClient().getReleasesByExternalIds(externalIds)
                 .thenApply(releases -> {
                     if (releases.isEmpty()) {
@@ -146,6 +260,67 @@ class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsy
                 });
     }
 
+    @Override
+    public CompletableFuture<Map<String, SW360SparseRelease>>
+    getSparseReleasesByExternalIdValues(String externalIdKey, Collection<String> values) {
+        List<String> distinctValues = new ArrayList<>(new LinkedHashSet<>(values));
+        List<CompletableFuture<Map<String, SW360SparseRelease>>> futures = new ArrayList<>();
+        for (int i = 0; i < distinctValues.size(); i += MAX_EXTERNAL_ID_VALUES_PER_REQUEST) {
+            List<String> batch = distinctValues.subList(i,
+                    Math.min(i + MAX_EXTERNAL_ID_VALUES_PER_REQUEST, distinctValues.size()));
+            futures.add(getReleaseClient().getReleasesByExternalIdValues(externalIdKey, batch)
+                    .thenApply(releases -> assignReleasesToValues(externalIdKey, batch, releases)));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> {
+                    Map<String, SW360SparseRelease> result = new HashMap<>();
+                    futures.forEach(future -> result.putAll(future.join()));
+                    return result;
+                });
+    }
+
+    /**
+     * Determines which of the searched external ID values are matched by the
+     * releases returned by the server. A value is assigned to a release if
+     * the release has an external ID with this value. If the server does not
+     * return the external IDs of releases, an assignment is only possible
+     * for a search with a single value. Values matched by multiple releases
+     * are ambiguous and thus dropped.
+     *
+     * @param externalIdKey the key of the external ID
+     * @param values        the values that have been searched for
+     * @param releases      the releases returned by the server
+     * @return a map assigning the matched values to their releases
+     */
+    private static Map<String, SW360SparseRelease> assignReleasesToValues(String externalIdKey, List<String> values,
+                                                                       List<SW360SparseRelease> releases) {
+        Map<String, List<SW360SparseRelease>> matches = new HashMap<>();
+        for (SW360SparseRelease release : releases) {
+            String value = release.getExternalIds() != null ? release.getExternalIds().get(externalIdKey) :
+                    singleValue(values, releases);
+            if (value != null && values.contains(value)) {
+                matches.computeIfAbsent(value, key -> new ArrayList<>()).add(release);
+            }
+        }
+
+        return matches.entrySet().stream()
+                .filter(e -> e.getValue().size() == 1)
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get(0)));
+    }
+
+    /**
+     * Returns the single value of a search if the search yielded exactly one
+     * release; otherwise, result is <strong>null</strong>.
+     *
+     * @param values   the values that have been searched for
+     * @param releases the releases returned by the server
+     * @return the single value to assign or <strong>null</strong>
+     */
+    private static String singleValue(List<String> values, List<SW360SparseRelease> releases) {
+        return values.size() == 1 && releases.size() == 1 ? values.get(0) : null;
+    }
+
     @Override
     public CompletableFuture<Optional<SW360SparseRelease>> getSparseReleaseByNameAndVersion(String componentName,
                                                                                             String version) {
@@ -180,7 +355,10 @@ class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsy
     @Override
     public CompletableFuture<Optional<Path>> downloadAttachment(SW360Release release, SW360SparseAttachment attachment,
                                                                 Path downloadPath) {
-        return SW360AttachmentUtils.downloadAttachment(getReleaseClient(), release, attachment, downloadPath);
+        return downloadManager != null ?
+                SW360AttachmentUtils.downloadAttachment(getReleaseClient(), release, attachment, downloadPath,
+                        downloadManager) :
+                SW360AttachmentUtils.downloadAttachment(getReleaseClient(), release, attachment, downloadPath);
     }
 
     @Override
@@ -192,7 +370,8 @@ class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsy
     @Override
     public CompletableFuture<SW360Release> deleteAttachments(SW360Release release, Collection<String> attachmentIds) {
         return attachmentIds.isEmpty() ? CompletableFuture.completedFuture(release) :
-                getReleaseClient().deleteAttachments(release, attachmentIds);
+                requestCoalescer.invalidateAfter(getReleaseClient().deleteAttachments(release, attachmentIds),
+                        releaseKeys(Collections.singleton(release.getId())));
     }
 
     @Override
@@ -203,16 +382,63 @@ class SW360ReleaseClientAdapterAsyncImpl implements SW360ReleaseClientAdapterAsy
             }
             return SW360ReleaseAdapterUtils.validateRelease(release);
         }, "Cannot update release for " + release.getName())
-                .thenCompose(getReleaseClient()::patchRelease);
+                .thenCompose(rel -> requestCoalescer.invalidateAfter(getReleaseClient().patchRelease(rel),
+                        releaseKeys(Collections.singleton(rel.getId()))
+                                .or(RequestKeys.operations(RequestKeys.RELEASE_BY_EXTERNAL_IDS))));
     }
 
     @Override
     public CompletableFuture<MultiStatusResponse> deleteReleases(Collection<String> idsToDelete) {
-        return SW360DeleteUtils.deleteEntities(getReleaseClient()::deleteReleases, idsToDelete);
+        return requestCoalescer.invalidateAfter(
+                SW360DeleteUtils.deleteEntities(getReleaseClient()::deleteReleases, idsToDelete),
+                deletedReleaseKeys(idsToDelete));
     }
 
     @Override
     public CompletableFuture<Void> deleteRelease(String releaseId) {
-        return SW360DeleteUtils.deleteEntity(getReleaseClient()::deleteReleases, releaseId, "release");
+        return requestCoalescer.invalidateAfter(
+                SW360DeleteUtils.deleteEntity(getReleaseClient()::deleteReleases, releaseId, "release"),
+                deletedReleaseKeys(Collections.singleton(releaseId)));
+    }
+
+    /**
+     * Returns a filter for the request keys that query the releases with the
+     * given IDs.
+     *
+     * @param releaseIds the IDs of the affected releases
+     * @return the filter for the affected keys
+     */
+    private static Predicate<Object> releaseKeys(Collection<String> releaseIds) {
+        return RequestKeys.keys(releaseIds.stream()
+                .map(id -> RequestKeys.key(RequestKeys.RELEASE_BY_ID, id))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns a filter for the request keys affected by the creation of a
+     * release. The component the release is assigned to changes, and
+     * searches by external IDs may now find the new release.
+     *
+     * @param release the release that is created
+     * @return the filter for the affected keys
+     */
+    private static Predicate<Object> createdReleaseKeys(SW360Release release) {
+        return RequestKeys.keys(Arrays.asList(RequestKeys.key(RequestKeys.COMPONENT_BY_ID, release.getComponentId()),
+                RequestKeys.key(RequestKeys.COMPONENT_BY_NAME, release.getName())))
+                .or(RequestKeys.operations(RequestKeys.RELEASE_BY_EXTERNAL_IDS));
+    }
+
+    /**
+     * Returns a filter for the request keys affected by the deletion of
+     * releases. As the components of the releases are not known, all
+     * component lookups are affected.
+     *
+     * @param releaseIds the IDs of the releases to delete
+     * @return the filter for the affected keys
+     */
+    private static Predicate<Object> deletedReleaseKeys(Collection<String> releaseIds) {
+        return releaseKeys(releaseIds)
+                .or(RequestKeys.operations(RequestKeys.RELEASE_BY_EXTERNAL_IDS, RequestKeys.COMPONENT_BY_ID,
+                        RequestKeys.COMPONENT_BY_NAME));
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.adapter;
+
+import org.eclipse.sw360.antenna.sw360.client.rest.MultiStatusResponse;
+import org.eclipse.sw360.antenna.sw360.client.rest.SW360AttachmentAwareClient;
+import org.eclipse.sw360.antenna.sw360.client.rest.SW360ReleaseClient;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360SparseAttachment;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Component;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.block;
+
+/**
+ * <p>
+ * A direct implementation of {@link SW360ReleaseClientAdapter} that
+ * delegates to an asynchronous adapter and blocks until the results are
+ * available.
+ * </p>
+ */
+final class SW360ReleaseClientAdapterSyncImpl implements SW360ReleaseClientAdapter {
+    /**
+     * The asynchronous adapter to delegate to.
+     */
+    private final SW360ReleaseClientAdapterAsync delegate;
+
+    /**
+     * Creates a new instance of {@code SW360ReleaseClientAdapterSyncImpl}
+     * with the asynchronous adapter to delegate to.
+     *
+     * @param delegate the asynchronous delegate adapter
+     */
+    SW360ReleaseClientAdapterSyncImpl(SW360ReleaseClientAdapterAsync delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public SW360ReleaseClient getReleaseClient() {
+        return delegate.getReleaseClient();
+    }
+
+    @Override
+    public SW360Release createRelease(SW360Release release) {
+        return block(delegate.createRelease(release));
+    }
+
+    @Override
+    public Optional<SW360Release> getReleaseById(String releaseId) {
+        return block(delegate.getReleaseById(releaseId));
+    }
+
+    @Override
+    public Optional<SW360Release> enrichSparseRelease(SW360SparseRelease sparseRelease) {
+        return block(delegate.enrichSparseRelease(sparseRelease));
+    }
+
+    @Override
+    public Optional<SW360SparseRelease> getSparseReleaseByExternalIds(Map<String, ?> externalIds) {
+        return block(delegate.getSparseReleaseByExternalIds(externalIds));
+    }
+
+    @Override
+    public Map<String, SW360SparseRelease> getSparseReleasesByExternalIdValues(String externalIdKey,
+                                                                               Collection<String> values) {
+        return block(delegate.getSparseReleasesByExternalIdValues(externalIdKey, values));
+    }
+
+    @Override
+    public Optional<SW360SparseRelease> getSparseReleaseByNameAndVersion(String componentName, String version) {
+        return block(delegate.getSparseReleaseByNameAndVersion(componentName, version));
+    }
+
+    @Override
+    public Optional<SW360Release> getReleaseByVersion(SW360Component component, String releaseVersion) {
+        return block(delegate.getReleaseByVersion(component, releaseVersion));
+    }
+
+    @Override
+    public AttachmentUploadResult<SW360Release> uploadAttachments(
+            AttachmentUploadRequest<SW360Release> uploadRequest) {
+        return block(delegate.uploadAttachments(uploadRequest));
+    }
+
+    @Override
+    public Optional<Path> downloadAttachment(SW360Release release, SW360SparseAttachment attachment,
+                                             Path downloadPath) {
+        return block(delegate.downloadAttachment(release, attachment, downloadPath));
+    }
+
+    @Override
+    public <T> T processAttachment(SW360Release release, String attachmentId,
+                                   SW360AttachmentAwareClient.AttachmentProcessor<? extends T> processor) {
+        return block(delegate.processAttachment(release, attachmentId, processor));
+    }
+
+    @Override
+    public SW360Release deleteAttachments(SW360Release release, Collection<String> attachmentIds) {
+        return block(delegate.deleteAttachments(release, attachmentIds));
+    }
+
+    @Override
+    public SW360Release updateRelease(SW360Release release) {
+        return block(delegate.updateRelease(release));
+    }
+
+    @Override
+    public MultiStatusResponse deleteReleases(Collection<String> idsToDelete) {
+        return block(delegate.deleteReleases(idsToDelete));
+    }
+
+    @Override
+    public void deleteRelease(String releaseId) {
+        block(delegate.deleteRelease(releaseId));
+    }
+}
@@ -16,7 +16,14 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>
@@ -32,6 +39,16 @@ import java.util.concurrent.CompletableFuture;
  * correspond to each other and only differ in the return types of their
  * methods.
  * </p>
+ * <p>
+ * The mapping from the methods of the synchronous interface to the ones of
+ * the asynchronous interface is determined once when a handler is created
+ * and then stored in a dispatch table; so there is no reflective method
+ * lookup on each invocation. As part of this step, the mapping is validated:
+ * if a method of the synchronous interface has no counterpart in the
+ * asynchronous interface, handler creation fails immediately. Dispatch
+ * tables are cached, so creating multiple handlers for the same pair of
+ * interfaces is cheap.
+ * </p>
  */
 final class SyncClientAdapterHandler implements InvocationHandler {
     /**
@@ -40,9 +57,17 @@ final class SyncClientAdapterHandler implements InvocationHandler {
     private static final String METHOD_EQUALS = "equals";
 
     /**
-     * The class of the asynchronous delegate.
+     * A cache for the dispatch tables that have already been computed. Keys
+     * are lists with the synchronous and the asynchronous interface class.
+     */
+    private static final ConcurrentMap<List<Class<?>>, Map<Method, Method>> DISPATCH_TABLES =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The table mapping the methods of the synchronous interface to the ones
+     * of the asynchronous delegate.
      */
-    private final Class<?> asyncIfcClass;
+    private final Map<Method, Method> dispatchTable;
 
     /**
      * The object to delegate calls to.
@@ -53,11 +78,11 @@ final class SyncClientAdapterHandler implements InvocationHandler {
      * Creates a new implementation of {@code SyncClientAdapterHandler} that
      * delegates to the specified object.
      *
-     * @param asyncIfcClass the asynchronous class of the delegate
+     * @param dispatchTable the table with the methods to invoke
      * @param delegate      the delegate object
      */
-    private SyncClientAdapterHandler(Class<?> asyncIfcClass, Object delegate) {
-        this.asyncIfcClass = asyncIfcClass;
+    private SyncClientAdapterHandler(Map<Method, Method> dispatchTable, Object delegate) {
+        this.dispatchTable = dispatchTable;
         this.delegate = delegate;
     }
 
@@ -72,10 +97,12 @@ final class SyncClientAdapterHandler implements InvocationHandler {
      * @param <S>             the type of the synchronous interface to be implemented
      * @param <A>             the type of the asynchronous delegate adapter
      * @return the newly created {@code BlockingClientAdapterHandler}
+     * @throws IllegalArgumentException if the interfaces do not match
      */
     public static <S, A> S newHandler(Class<? extends S> syncIfcClass, Class<? super A> asyncIfcClass,
                                       A delegateAdapter) {
-        SyncClientAdapterHandler handler = new SyncClientAdapterHandler(asyncIfcClass, delegateAdapter);
+        SyncClientAdapterHandler handler =
+                new SyncClientAdapterHandler(dispatchTable(syncIfcClass, asyncIfcClass), delegateAdapter);
         Class<?>[] ifcClasses = new Class<?>[]{syncIfcClass};
         return syncIfcClass.cast(Proxy.newProxyInstance(syncIfcClass.getClassLoader(), ifcClasses, handler));
     }
@@ -93,7 +120,7 @@ final class SyncClientAdapterHandler implements InvocationHandler {
             return handleMethodFromObject(method, args);
         }
 
-        Method asyncMethod = asyncIfcClass.getMethod(method.getName(), method.getParameterTypes());
+        Method asyncMethod = dispatchTable.get(method);
         Object result = asyncMethod.invoke(delegate, args);
         if (result instanceof CompletableFuture) {
             CompletableFuture<?> futResult = (CompletableFuture<?>) result;
@@ -102,6 +129,66 @@ final class SyncClientAdapterHandler implements InvocationHandler {
         return result;
     }
 
+    /**
+     * Returns the dispatch table for the given pair of interfaces. The table
+     * is obtained from the cache or computed if necessary.
+     *
+     * @param syncIfcClass  the synchronous interface class
+     * @param asyncIfcClass the asynchronous interface class
+     * @return the dispatch table for these interfaces
+     * @throws IllegalArgumentException if the interfaces do not match
+     */
+    static Map<Method, Method> dispatchTable(Class<?> syncIfcClass, Class<?> asyncIfcClass) {
+        return DISPATCH_TABLES.computeIfAbsent(Arrays.asList(syncIfcClass, asyncIfcClass),
+                key -> createDispatchTable(syncIfcClass, asyncIfcClass));
+    }
+
+    /**
+     * Computes the dispatch table for the given pair of interfaces. For each
+     * method of the synchronous interface, the method of the asynchronous
+     * interface with the same signature is looked up. This method must
+     * either return a {@code CompletableFuture} or a result compatible with
+     * the return type of the synchronous method.
+     *
+     * @param syncIfcClass  the synchronous interface class
+     * @param asyncIfcClass the asynchronous interface class
+     * @return the dispatch table for these interfaces
+     * @throws IllegalArgumentException if the interfaces do not match
+     */
+    private static Map<Method, Method> createDispatchTable(Class<?> syncIfcClass, Class<?> asyncIfcClass) {
+        Map<Method, Method> table = new HashMap<>();
+        for (Method method : syncIfcClass.getMethods()) {
+            if (!method.getDeclaringClass().equals(Object.class)) {
+                Method asyncMethod = findAsyncMethod(asyncIfcClass, method);
+                if (!CompletableFuture.class.isAssignableFrom(asyncMethod.getReturnType()) &&
+                        !method.getReturnType().isAssignableFrom(asyncMethod.getReturnType())) {
+                    throw new IllegalArgumentException("Incompatible return type of method " + asyncMethod +
+                            " for synchronous method " + method);
+                }
+                table.put(method, asyncMethod);
+            }
+        }
+        return Collections.unmodifiableMap(table);
+    }
+
+    /**
+     * Finds the method of the asynchronous interface corresponding to the
+     * given synchronous method.
+     *
+     * @param asyncIfcClass the asynchronous interface class
+     * @param method        the synchronous method
+     * @return the corresponding asynchronous method
+     * @throws IllegalArgumentException if no such method exists
+     */
+    private static Method findAsyncMethod(Class<?> asyncIfcClass, Method method) {
+        try {
+            return asyncIfcClass.getMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No counterpart for method " + method + " in " +
+                    asyncIfcClass.getName(), e);
+        }
+    }
+
     /**
      * Handles a method that is declared by the Object class. Such methods
      * typically also need to be delegated to the delegate object; however,
@@ -14,7 +14,9 @@ import org.apache.commons.lang3.Validate;
 import org.eclipse.sw360.antenna.http.RequestBuilder;
 import org.eclipse.sw360.antenna.http.utils.HttpConstants;
 
+import java.time.Instant;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
@@ -25,6 +27,10 @@ import java.util.function.Consumer;
  * In addition to giving some semantics to a plain string, this class offers
  * som convenience methods to add a token to a request.
  * </p>
+ * <p>
+ * If known, an access token also stores the point in time when it expires.
+ * This allows refreshing tokens before they become invalid.
+ * </p>
  */
 public final class AccessToken {
     /**
@@ -32,17 +38,38 @@ public final class AccessToken {
      */
     private final String token;
 
+    /**
+     * Stores the expiration time of the token; <strong>null</strong> if
+     * unknown.
+     */
+    private final Instant expiresAt;
+
     /**
      * Creates a new instance of {@code AccessToken} and initializes it with
      * the given token string. It is checked whether the token is actually
-     * defined.
+     * defined. The expiration time of this token is unknown.
      *
      * @param token the token string
      * @throws NullPointerException     if the token is <strong>null</strong>
      * @throws IllegalArgumentException if the token is empty
      */
     public AccessToken(String token) {
+        this(token, null);
+    }
+
+    /**
+     * Creates a new instance of {@code AccessToken} and initializes it with
+     * the given token string and the time when it expires. It is checked
+     * whether the token is actually defined.
+     *
+     * @param token     the token string
+     * @param expiresAt the expiration time (<strong>null</strong> if unknown)
+     * @throws NullPointerException     if the token is <strong>null</strong>
+     * @throws IllegalArgumentException if the token is empty
+     */
+    public AccessToken(String token, Instant expiresAt) {
         this.token = Validate.notEmpty(token, "Undefined access token");
+        this.expiresAt = expiresAt;
     }
 
     /**
@@ -54,6 +81,17 @@ public final class AccessToken {
         return token;
     }
 
+    /**
+     * Returns an {@code Optional} with the point in time when this token
+     * expires. If the expiration time is unknown, the {@code Optional} is
+     * empty.
+     *
+     * @return an {@code Optional} with the expiration time
+     */
+    public Optional<Instant> getExpiresAt() {
+        return Optional.ofNullable(expiresAt);
+    }
+
     /**
      * Adds the token managed by this object to a corresponding request header
      * using the builder specified.
@@ -89,11 +127,12 @@ public final class AccessToken {
             return false;
         }
         AccessToken that = (AccessToken) o;
-        return getToken().equals(that.getToken());
+        return getToken().equals(that.getToken()) &&
+                Objects.equals(expiresAt, that.expiresAt);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getToken());
+        return Objects.hash(getToken(), expiresAt);
     }
 }
@@ -15,6 +15,9 @@ import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
@@ -35,6 +38,16 @@ import java.util.function.Function;
  * a new token to be requested the next time a client asks for one.
  * </p>
  * <p>
+ * If the expiration time of the token is known, the class does not wait for
+ * such errors. When a token is requested and the current token is going to
+ * expire soon, a new token is fetched in the background; until it arrives,
+ * clients are still served the current token. The refresh is started a
+ * minute before the token expires, but not before half of its lifetime has
+ * passed (which is relevant for tokens with a very short lifetime). A token that is (almost) expired is never handed out;
+ * clients then have to wait for a new one. That way, requests do not fail
+ * because of expired tokens, even under parallel load.
+ * </p>
+ * <p>
  * Instances of this class are thread-safe; so requests requiring an access
  * token can be triggered from multiple threads. If multiple threads ask for an
  * access token concurrently, the class ensures that only a single token
@@ -42,6 +55,24 @@ import java.util.function.Function;
  * </p>
  */
 public class AccessTokenProvider {
+    /**
+     * The maximum time before the expiration of a token when a refresh is
+     * started.
+     */
+    static final Duration REFRESH_MARGIN = Duration.ofMinutes(1);
+
+    /**
+     * The time before the expiration of a token when it is considered as
+     * expired. This takes the duration of a request into account.
+     */
+    static final Duration EXPIRATION_MARGIN = Duration.ofSeconds(5);
+
+    /**
+     * The time to wait before another refresh attempt is made if a refresh
+     * failed.
+     */
+    static final Duration REFRESH_RETRY_DELAY = Duration.ofSeconds(10);
+
     private static final Logger LOG = LoggerFactory.getLogger(AccessTokenProvider.class);
 
     /**
@@ -49,6 +80,11 @@ public class AccessTokenProvider {
      */
     private final SW360AuthenticationClient authClient;
 
+    /**
+     * The clock to check the expiration of tokens.
+     */
+    private final Clock clock;
+
     /**
      * Stores the future with the current access token. Once a token request
      * has been initiated, all requesting clients can be passed this object;
@@ -64,6 +100,24 @@ public class AccessTokenProvider {
      */
     private AccessToken accessToken;
 
+    /**
+     * Stores the future of a background refresh operation that is currently
+     * in progress; <strong>null</strong> if there is none.
+     */
+    private CompletableFuture<AccessToken> refreshFuture;
+
+    /**
+     * The time when the current token should be refreshed; <strong>null</strong>
+     * if unknown.
+     */
+    private Instant refreshTime;
+
+    /**
+     * The time after which the current token must no longer be used;
+     * <strong>null</strong> if unknown.
+     */
+    private Instant expirationTime;
+
     /**
      * Creates a new instance of {@code AccessTokenProvider} that uses the
      * provided {@code SW360AuthenticationClient} to obtain access tokens.
@@ -71,7 +125,20 @@ public class AccessTokenProvider {
      * @param authClient the underlying authentication client
      */
     public AccessTokenProvider(SW360AuthenticationClient authClient) {
+        this(authClient, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new instance of {@code AccessTokenProvider} with the
+     * {@code SW360AuthenticationClient} and the clock to check for expired
+     * tokens. This constructor is used for testing purposes.
+     *
+     * @param authClient the underlying authentication client
+     * @param clock      the clock
+     */
+    AccessTokenProvider(SW360AuthenticationClient authClient, Clock clock) {
         this.authClient = authClient;
+        this.clock = clock;
     }
 
     /**
@@ -105,19 +172,34 @@ public class AccessTokenProvider {
      * client is asked to fetch a new token. A successful token result is
      * cached and passed directly to clients asking later. In case of an error,
      * the result is not cached, so that a subsequent token request causes
-     * another invocation of the {@code SW360AuthenticationClient}.
+     * another invocation of the {@code SW360AuthenticationClient}. If the
+     * cached token is about to expire, a refresh is triggered in the
+     * background; if it is already expired, it is discarded.
      *
      * @return a future with the {@code AccessToken}
      */
     protected synchronized CompletableFuture<AccessToken> obtainAccessToken() {
+        Instant now = clock.instant();
+        if (accessToken != null && expirationTime != null && !now.isBefore(expirationTime)) {
+            LOG.debug("Access token for SW360 has expired.");
+            clearCache();
+        }
+
         // The variable is needed to make sure that always a non-null result is
         // returned; even if whenComplete() runs in the same thread.
         CompletableFuture<AccessToken> result = tokenFuture;
         if (tokenFuture == null) {
-            LOG.debug("Obtaining a new access token for SW360.");
-            tokenFuture = result = getAuthClient().getOAuth2AccessToken()
-                    .thenApply(AccessToken::new);
-            tokenFuture.whenComplete(this::handleTokenResult);
+            if (refreshFuture != null) {
+                tokenFuture = result = refreshFuture;
+            } else {
+                LOG.debug("Obtaining a new access token for SW360.");
+                CompletableFuture<AccessToken> request = getAuthClient().requestAccessToken();
+                tokenFuture = result = request;
+                request.whenComplete((token, error) -> handleTokenResult(request, token, error));
+            }
+        } else if (accessToken != null && refreshTime != null && !now.isBefore(refreshTime) &&
+                refreshFuture == null) {
+            startRefresh();
         }
 
         return result;
@@ -144,23 +226,70 @@ public class AccessTokenProvider {
         }
     }
 
+    /**
+     * Starts a background request for a new access token. Note that this
+     * method must be called from a synchronized block.
+     */
+    private void startRefresh() {
+        LOG.debug("Refreshing access token for SW360 in background.");
+        CompletableFuture<AccessToken> request = getAuthClient().requestAccessToken();
+        refreshFuture = request;
+        request.whenComplete((token, error) -> handleTokenResult(request, token, error));
+    }
+
     /**
      * Handles the result of a request for a new access token. Depending on the
-     * outcome, the new token is either cached or the cache is cleared.
+     * outcome, the new token is either cached or the cache is cleared. Failed
+     * background refreshes do not affect the current token; another attempt
+     * is made after a delay.
      *
-     * @param token the token that was received
-     * @param error an exception if the operation failed
+     * @param request the future of the request
+     * @param token   the token that was received
+     * @param error   an exception if the operation failed
      */
-    private synchronized void handleTokenResult(AccessToken token, Throwable error) {
+    private synchronized void handleTokenResult(CompletableFuture<AccessToken> request, AccessToken token,
+                                                Throwable error) {
+        boolean refresh = request == refreshFuture;
+        if (refresh) {
+            refreshFuture = null;
+        }
+
         if (error != null) {
-            clearCache();
+            if (request == tokenFuture) {
+                clearCache();
+            } else if (refresh && refreshTime != null) {
+                refreshTime = clock.instant().plus(REFRESH_RETRY_DELAY);
+            }
             LOG.warn("Could not obtain an access token for SW360.");
             LOG.debug("Stacktrace:", error);
-        } else {
+        } else if (request == tokenFuture || refresh) {
+            tokenFuture = request;
             accessToken = token;
+            initExpiration(token);
         }
     }
 
+    /**
+     * Calculates the times when the given token should be refreshed and when
+     * it expires. Note that this method must be called from a synchronized
+     * block.
+     *
+     * @param token the new access token
+     */
+    private void initExpiration(AccessToken token) {
+        Instant now = clock.instant();
+        expirationTime = token.getExpiresAt()
+                .map(expiresAt -> expiresAt.minus(EXPIRATION_MARGIN))
+                .orElse(null);
+        refreshTime = token.getExpiresAt()
+                .map(expiresAt -> {
+                    Instant halfLife = now.plus(Duration.between(now, expiresAt).dividedBy(2));
+                    Instant latestRefresh = expiresAt.minus(REFRESH_MARGIN);
+                    return halfLife.isAfter(latestRefresh) ? halfLife : latestRefresh;
+                })
+                .orElse(null);
+    }
+
     /**
      * An action that is called for each request after its completion. It
      * checks whether the request failed with an exception indicating that the
@@ -183,5 +312,7 @@ public class AccessTokenProvider {
     private void clearCache() {
         tokenFuture = null;
         accessToken = null;
+        refreshTime = null;
+        expirationTime = null;
     }
 }
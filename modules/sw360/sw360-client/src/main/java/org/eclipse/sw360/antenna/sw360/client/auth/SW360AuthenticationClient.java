@@ -22,6 +22,8 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360Attributes;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Locale;
 import java.util.Map;
@@ -41,11 +43,37 @@ import static org.eclipse.sw360.antenna.http.utils.HttpConstants.HEADER_AUTHORIZ
  * for this are obtained from a client configuration object. Requests are sent
  * asynchronously.
  * </p>
+ * <p>
+ * In addition to the token itself, this class tries to determine when the
+ * token expires. This information is taken from the {@code expires_in}
+ * property of the token response. If this property is missing, but the token
+ * is a JSON Web Token, the {@code exp} claim of the token is evaluated.
+ * </p>
  */
 public class SW360AuthenticationClient {
     private static final String GRANT_TYPE_VALUE = "password";
     private static final String JSON_TOKEN_KEY = "access_token";
 
+    /**
+     * The key of the property with the lifetime of the token in seconds.
+     */
+    private static final String JSON_EXPIRES_IN_KEY = "expires_in";
+
+    /**
+     * The name of the JWT claim with the expiration time of the token.
+     */
+    private static final String JWT_EXPIRATION_CLAIM = "exp";
+
+    /**
+     * The separator between the parts of a JSON Web Token.
+     */
+    private static final String JWT_SEPARATOR = "\\.";
+
+    /**
+     * The number of parts of a JSON Web Token.
+     */
+    private static final int JWT_PARTS = 3;
+
     /**
      * Template to generate the request body with multiple form params.
      */
@@ -61,6 +89,11 @@ public class SW360AuthenticationClient {
      */
     private final SW360ClientConfig clientConfig;
 
+    /**
+     * The clock to calculate expiration times.
+     */
+    private final Clock clock;
+
     /**
      * Creates a new instance of {@code SW360AuthenticationClient} and
      * initializes it with the current configuration.
@@ -68,7 +101,20 @@ public class SW360AuthenticationClient {
      * @param clientConfig the SW360 client configuration
      */
     public SW360AuthenticationClient(SW360ClientConfig clientConfig) {
+        this(clientConfig, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new instance of {@code SW360AuthenticationClient} with the
+     * current configuration and the clock to calculate expiration times.
+     * This constructor is used for testing purposes.
+     *
+     * @param clientConfig the SW360 client configuration
+     * @param clock        the clock
+     */
+    SW360AuthenticationClient(SW360ClientConfig clientConfig, Clock clock) {
         this.clientConfig = clientConfig;
+        this.clock = clock;
     }
 
     /**
@@ -88,9 +134,23 @@ public class SW360AuthenticationClient {
      * @return a future with the access token received from the server
      */
     public CompletableFuture<String> getOAuth2AccessToken() {
+        return requestAccessToken().thenApply(AccessToken::getToken);
+    }
+
+    /**
+     * Requests a new access token from the authorization server and returns
+     * a future with an {@code AccessToken} object. Other than
+     * {@link #getOAuth2AccessToken()}, the resulting object also contains
+     * the expiration time of the token if it could be determined. If a user
+     * token is configured, it is returned directly; its expiration time is
+     * unknown.
+     *
+     * @return a future with the {@code AccessToken} received from the server
+     */
+    public CompletableFuture<AccessToken> requestAccessToken() {
         String tokenCheck = getClientConfig().getToken();
         if (!StringUtils.isEmpty(tokenCheck)){
-            return CompletableFuture.completedFuture(tokenCheck);
+            return CompletableFuture.completedFuture(new AccessToken(tokenCheck));
         }
         return getClientConfig().getHttpClient()
                 .execute(this::initTokenRequest, HttpUtils.checkResponse(this::extractToken, TAG));
@@ -136,7 +196,8 @@ public class SW360AuthenticationClient {
      * @throws IOException if JSON processing fails or the response has an
      *                     unexpected format
      */
-    private String extractToken(Response response) throws IOException {
+    private AccessToken extractToken(Response response) throws IOException {
+        Instant now = clock.instant();
         Map<?, ?> json = getClientConfig().getObjectMapper().readValue(response.bodyStream(), Map.class);
         Object token = json.get(JSON_TOKEN_KEY);
         if (!(token instanceof String)) {
@@ -144,7 +205,53 @@ public class SW360AuthenticationClient {
                     "The attribute '" + JSON_TOKEN_KEY + "' is not present or has an unexpected value.");
         }
 
-        return (String) token;
+        String tokenStr = (String) token;
+        Instant expiresAt = expiresInTime(json.get(JSON_EXPIRES_IN_KEY), now);
+        return new AccessToken(tokenStr, expiresAt != null ? expiresAt : jwtExpirationTime(tokenStr));
+    }
+
+    /**
+     * Calculates the expiration time of a token from the value of the
+     * {@code expires_in} property of the token response.
+     *
+     * @param expiresIn the value of the property (may be <strong>null</strong>)
+     * @param now       the time when the response was received
+     * @return the expiration time or <strong>null</strong> if it cannot be
+     * determined
+     */
+    private static Instant expiresInTime(Object expiresIn, Instant now) {
+        if (expiresIn instanceof Number) {
+            return now.plusSeconds(((Number) expiresIn).longValue());
+        }
+        if (expiresIn instanceof String && StringUtils.isNumeric((String) expiresIn)) {
+            return now.plusSeconds(Long.parseLong((String) expiresIn));
+        }
+        return null;
+    }
+
+    /**
+     * Tries to obtain the expiration time from the {@code exp} claim of a
+     * token in the format of a JSON Web Token. Tokens in other formats are
+     * ignored.
+     *
+     * @param token the token string
+     * @return the expiration time or <strong>null</strong> if it cannot be
+     * determined
+     */
+    private Instant jwtExpirationTime(String token) {
+        String[] parts = token.split(JWT_SEPARATOR);
+        if (parts.length != JWT_PARTS) {
+            return null;
+        }
+
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            Map<?, ?> claims = getClientConfig().getObjectMapper().readValue(payload, Map.class);
+            Object exp = claims != null ? claims.get(JWT_EXPIRATION_CLAIM) : null;
+            return exp instanceof Number ? Instant.ofEpochSecond(((Number) exp).longValue()) : null;
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
     }
 
     /**
@@ -14,10 +14,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.http.utils.HttpConstants;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * <p>
@@ -38,6 +41,16 @@ import java.util.Objects;
  * library can request the mandatory access tokens.
  * </p>
  * <p>
+ * Some optional settings control how read requests are handled: Identical
+ * lookups that are executed concurrently can be merged to a single request,
+ * and their results can be cached for a short time. Downloads of attachments
+ * can be scheduled by a {@code DownloadManager} shared with other components,
+ * so that its limits apply to all downloads of an application. Another
+ * setting selects how the synchronous adapters are implemented. These settings
+ * can be changed using the {@code withXXX()} methods, which return a modified
+ * copy of the configuration.
+ * </p>
+ * <p>
  * Implementation note: Instances are immutable and can be shared between
  * multiple components.
  * </p>
@@ -88,8 +101,30 @@ public final class SW360ClientConfig {
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * Flag whether identical concurrent read requests are merged.
+     */
+    private final boolean requestCoalescing;
+
+    /**
+     * The time to live for cached results of read requests.
+     */
+    private final Duration cacheTtl;
+
+    /**
+     * The download manager for attachment downloads; can be null.
+     */
+    private final DownloadManager downloadManager;
+
+    /**
+     * Flag whether synchronous adapters are direct implementations.
+     */
+    private final boolean directSyncAdapters;
+
     private SW360ClientConfig(URI baseURI, String authURL, String user, String password, String clientId,
-                              String clientPassword, String token, HttpClient httpClient, ObjectMapper objectMapper) {
+                              String clientPassword, String token, HttpClient httpClient, ObjectMapper objectMapper,
+                              boolean requestCoalescing, Duration cacheTtl, DownloadManager downloadManager,
+                              boolean directSyncAdapters) {
         this.baseURI = baseURI;
         this.authURL = authURL;
         this.user = user;
@@ -99,6 +134,10 @@ public final class SW360ClientConfig {
         this.token = token;
         this.httpClient = httpClient;
         this.objectMapper = objectMapper;
+        this.requestCoalescing = requestCoalescing;
+        this.cacheTtl = cacheTtl;
+        this.downloadManager = downloadManager;
+        this.directSyncAdapters = directSyncAdapters;
     }
 
     /**
@@ -132,7 +171,11 @@ public final class SW360ClientConfig {
                     Validate.notEmpty(clientPassword, "Undefined client password"),
                     Validate.notEmpty(token, "Undefined token"),
                     Validate.notNull(httpClient),
-                    Validate.notNull(mapper));
+                    Validate.notNull(mapper),
+                    false,
+                    Duration.ZERO,
+                    null,
+                    false);
         }
         return new SW360ClientConfig(
                 URI.create(stripTrailingSeparator(Validate.notEmpty(restURL, "Undefined REST URL"))),
@@ -143,7 +186,11 @@ public final class SW360ClientConfig {
                 Validate.notEmpty(clientPassword, "Undefined client password"),
                 token,
                 Validate.notNull(httpClient),
-                Validate.notNull(mapper));
+                Validate.notNull(mapper),
+                false,
+                Duration.ZERO,
+                null,
+                false);
     }
 
     /**
@@ -246,6 +293,118 @@ public final class SW360ClientConfig {
         return objectMapper;
     }
 
+    /**
+     * Returns a flag whether identical read requests that are executed
+     * concurrently should be merged into a single request. This reduces the
+     * load on the SW360 server if many lookups are done in parallel. Note
+     * that callers then share the entity objects returned by such requests.
+     * Per default, this flag is <strong>false</strong>.
+     *
+     * @return a flag whether concurrent identical requests are merged
+     */
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * Returns a copy of this configuration with the given flag for request
+     * coalescing.
+     *
+     * @param requestCoalescing flag whether identical concurrent requests
+     *                          are merged
+     * @return the modified configuration
+     * @see #isRequestCoalescing()
+     */
+    public SW360ClientConfig withRequestCoalescing(boolean requestCoalescing) {
+        return new SW360ClientConfig(baseURI, authURL, user, password, clientId, clientPassword, token,
+                httpClient, objectMapper, requestCoalescing, cacheTtl, downloadManager, directSyncAdapters);
+    }
+
+    /**
+     * Returns the time to live for cached results of read requests. If this
+     * is greater than zero, results of lookups are cached for this duration,
+     * and identical lookups in this time frame are answered from the cache.
+     * (Caching implies request coalescing.) Write operations invalidate the
+     * cache. As other clients may change data on the server, the time should
+     * be kept short. Per default, the value is zero, which disables caching.
+     *
+     * @return the time to live for cached results
+     */
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * Returns a copy of this configuration with the given time to live for
+     * cached results.
+     *
+     * @param cacheTtl the time to live for cached results
+     * @return the modified configuration
+     * @throws IllegalArgumentException if the duration is negative
+     * @see #getCacheTtl()
+     */
+    public SW360ClientConfig withCacheTtl(Duration cacheTtl) {
+        Validate.isTrue(!cacheTtl.isNegative(), "Cache time to live must not be negative: %s", cacheTtl);
+        return new SW360ClientConfig(baseURI, authURL, user, password, clientId, clientPassword, token,
+                httpClient, objectMapper, requestCoalescing, cacheTtl, downloadManager, directSyncAdapters);
+    }
+
+    /**
+     * Returns an {@code Optional} with the {@code DownloadManager} to be used
+     * for downloading attachments. If no manager has been set, the client
+     * library creates its own one based on the HTTP client with default
+     * limits. Applications that download files from other sources as well
+     * should set a shared manager, so that its limits apply to all
+     * downloads.
+     *
+     * @return an {@code Optional} with the shared {@code DownloadManager}
+     */
+    public Optional<DownloadManager> getDownloadManager() {
+        return Optional.ofNullable(downloadManager);
+    }
+
+    /**
+     * Returns a copy of this configuration with the given
+     * {@code DownloadManager}.
+     *
+     * @param downloadManager the manager for downloading attachments (may
+     *                        be <strong>null</strong> to use a default one)
+     * @return the modified configuration
+     * @see #getDownloadManager()
+     */
+    public SW360ClientConfig withDownloadManager(DownloadManager downloadManager) {
+        return new SW360ClientConfig(baseURI, authURL, user, password, clientId, clientPassword, token,
+                httpClient, objectMapper, requestCoalescing, cacheTtl, downloadManager, directSyncAdapters);
+    }
+
+    /**
+     * Returns a flag whether the synchronous adapters of a connection should
+     * be direct implementations rather than dynamic proxies. Both variants
+     * delegate to the asynchronous adapters and block until the results are
+     * available; the direct implementations avoid the reflective method
+     * invocation of a proxy. Per default, this flag is
+     * <strong>false</strong>.
+     *
+     * @return a flag whether direct synchronous adapters are used
+     */
+    public boolean isDirectSyncAdapters() {
+        return directSyncAdapters;
+    }
+
+    /**
+     * Returns a copy of this configuration with the given flag for direct
+     * synchronous adapters.
+     *
+     * @param directSyncAdapters flag whether direct synchronous adapters are
+     *                           used
+     * @return the modified configuration
+     * @see #isDirectSyncAdapters()
+     */
+    public SW360ClientConfig withDirectSyncAdapters(boolean directSyncAdapters) {
+        return new SW360ClientConfig(baseURI, authURL, user, password, clientId, clientPassword, token,
+                httpClient, objectMapper, requestCoalescing, cacheTtl, downloadManager, directSyncAdapters);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -263,13 +422,18 @@ public final class SW360ClientConfig {
                 getClientPassword().equals(that.getClientPassword()) &&
                 getToken().equals(that.getToken()) &&
                 getHttpClient().equals(that.getHttpClient()) &&
-                getObjectMapper().equals(that.getObjectMapper());
+                getObjectMapper().equals(that.getObjectMapper()) &&
+                isRequestCoalescing() == that.isRequestCoalescing() &&
+                getCacheTtl().equals(that.getCacheTtl()) &&
+                getDownloadManager().equals(that.getDownloadManager()) &&
+                isDirectSyncAdapters() == that.isDirectSyncAdapters();
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(getRestURL(), getAuthURL(), getUser(), getPassword(), getClientId(), getClientPassword(),
-                getToken(), getHttpClient(), getObjectMapper());
+                getToken(), getHttpClient(), getObjectMapper(), isRequestCoalescing(), getCacheTtl(),
+                getDownloadManager(), isDirectSyncAdapters());
     }
 
     /**
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.rest;
+
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.Paging;
+import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ * An iterator implementation that lazily iterates over all the entities
+ * returned by a paged search endpoint of SW360.
+ * </p>
+ * <p>
+ * Large SW360 instances can contain many thousands of components or releases.
+ * Loading them all with a single request yields large responses that must be
+ * kept completely in memory. This class instead requests the result page by
+ * page. The pages are obtained from a function that is passed the (0-based)
+ * index of the page to load and returns a future with the corresponding
+ * {@link PagingResult}. When a page has been received, the request for the
+ * next page is started immediately, so that it can be processed by the server
+ * while the caller consumes the current page. So at most two pages are kept
+ * in memory at the same time.
+ * </p>
+ * <p>
+ * The iteration ends after the last page as indicated by the paging
+ * information of the server, or if a page without entities is received. If
+ * the server does not return any paging information - which is the case for
+ * endpoints that do not support paging -, the result is assumed to be
+ * complete, and no further pages are requested.
+ * </p>
+ * <p>
+ * Requests for pages are sent asynchronously, but the methods of this
+ * iterator block until the page they need is available. If a request fails,
+ * they throw a {@link org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException}.
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <T> the type of the entities returned by this iterator
+ */
+public final class PagingIterator<T> implements Iterator<T> {
+    /**
+     * A page size that can be used by callers that do not have specific
+     * requirements. It keeps the number of requests low while the size of
+     * single responses remains moderate.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * The function for loading a page with a specific index.
+     */
+    private final IntFunction<? extends CompletableFuture<PagingResult<T>>> pageLoader;
+
+    /**
+     * The future for the next page to be processed; <strong>null</strong> if
+     * there are no more pages.
+     */
+    private CompletableFuture<PagingResult<T>> nextPage;
+
+    /**
+     * An iterator over the entities of the current page.
+     */
+    private Iterator<T> currentPage;
+
+    /**
+     * The index of the page that is currently requested.
+     */
+    private int nextPageIndex;
+
+    /**
+     * Creates a new instance of {@code PagingIterator} that uses the function
+     * provided to load the pages of the result. The first page is requested
+     * when the iterator is accessed for the first time.
+     *
+     * @param pageLoader the function to load a page by its index
+     */
+    public PagingIterator(IntFunction<? extends CompletableFuture<PagingResult<T>>> pageLoader) {
+        this.pageLoader = Objects.requireNonNull(pageLoader, "Page loader function must not be null");
+        currentPage = Collections.emptyIterator();
+        nextPageIndex = -1;
+    }
+
+    /**
+     * Returns a sequential {@code Stream} over the entities of all the pages
+     * provided by the given function. This is a convenience method that wraps
+     * a new {@code PagingIterator}.
+     *
+     * @param pageLoader the function to load a page by its index
+     * @param <T>        the type of the entities
+     * @return a stream over the entities of all pages
+     */
+    public static <T> Stream<T> stream(IntFunction<? extends CompletableFuture<PagingResult<T>>> pageLoader) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PagingIterator<>(pageLoader),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Checks whether the page size requested by a caller is valid.
+     *
+     * @param pageSize the page size
+     * @return the page size
+     * @throws IllegalArgumentException if the page size is less than 1
+     */
+    static int checkPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Invalid page size: " + pageSize);
+        }
+        return pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPageIndex < 0) {
+            nextPageIndex = 0;
+            nextPage = pageLoader.apply(nextPageIndex);
+        }
+
+        while (!currentPage.hasNext() && nextPage != null) {
+            PagingResult<T> page = FutureUtils.block(nextPage);
+            nextPageIndex++;
+            nextPage = hasMorePages(page, nextPageIndex) ? pageLoader.apply(nextPageIndex) : null;
+            currentPage = page.getResult().iterator();
+        }
+        return currentPage.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more entities available.");
+        }
+        return currentPage.next();
+    }
+
+    /**
+     * Checks whether there are more pages after the given one.
+     *
+     * @param page          the page that has been received
+     * @param nextPageIndex the index of the next page
+     * @return a flag whether the next page should be requested
+     */
+    private static boolean hasMorePages(PagingResult<?> page, int nextPageIndex) {
+        Paging paging = page.getPaging();
+        return paging != null && !page.getResult().isEmpty() && nextPageIndex < paging.getTotalPages();
+    }
+}
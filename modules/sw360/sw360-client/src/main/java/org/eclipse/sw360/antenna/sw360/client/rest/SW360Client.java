@@ -24,6 +24,8 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -52,6 +54,16 @@ public abstract class SW360Client {
      */
     private static final String URI_SEPARATOR = "/";
 
+    /**
+     * URL query parameter for the page index of paged search results.
+     */
+    protected static final String PARAM_PAGE = "page";
+
+    /**
+     * URL query parameter for the page size of paged search results.
+     */
+    protected static final String PARAM_PAGE_SIZE = "page_entries";
+
     private static final Logger LOG = LoggerFactory.getLogger(SW360Client.class);
 
     /**
@@ -200,6 +212,22 @@ public abstract class SW360Client {
         return getClientConfig().getRestURL() + URL_PATH_SEPARATOR + String.join(URL_PATH_SEPARATOR, paths);
     }
 
+    /**
+     * Generates a map with the query parameters to request a specific page of
+     * a paged search result. Derived classes can add further parameters to
+     * this map.
+     *
+     * @param pageIndex the (0-based) index of the page
+     * @param pageSize  the number of entities per page
+     * @return a (modifiable) map with the paging-related query parameters
+     */
+    protected static Map<String, Object> pagingParameters(int pageIndex, int pageSize) {
+        Map<String, Object> params = new HashMap<>();
+        params.put(PARAM_PAGE, pageIndex);
+        params.put(PARAM_PAGE_SIZE, pageSize);
+        return params;
+    }
+
     /**
      * Returns a URI with the same path as the given URI, but that is relative
      * to the configured REST base URI. This method should be used to deal with
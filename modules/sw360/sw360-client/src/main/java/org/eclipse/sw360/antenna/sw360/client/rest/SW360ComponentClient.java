@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -72,16 +73,6 @@ public class SW360ComponentClient extends SW360Client {
      */
     private static final String PARAM_TYPE = "type";
 
-    /**
-     * URL query parameter for the page index.
-     */
-    private static final String PARAM_PAGE = "page";
-
-    /**
-     * URL query parameter for the page size.
-     */
-    private static final String PARAM_PAGE_SIZE = "page_entries";
-
     /**
      * URL query parameter for the sort order.
      */
@@ -128,7 +119,42 @@ public class SW360ComponentClient extends SW360Client {
      * @return a future with an object holding the search results
      */
     public CompletableFuture<PagingResult<SW360SparseComponent>> search(ComponentSearchParams searchParams) {
+        return search(createSearchQueryParameters(searchParams));
+    }
+
+    /**
+     * Returns a stream over all the components matched by the given search
+     * parameters that loads the result lazily page by page. The paging
+     * settings of the parameters object are ignored; instead, the pages are
+     * requested with the size specified. While the entities of one page are
+     * consumed, the next page is already fetched in the background. Failed
+     * requests cause the stream to throw a
+     * {@link org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException}.
+     *
+     * @param searchParams the object with search parameters
+     * @param pageSize     the number of components to request per page
+     * @return a stream over all the components matched by the search
+     * @throws IllegalArgumentException if the page size is less than 1
+     * @see PagingIterator
+     */
+    public Stream<SW360SparseComponent> streamComponents(ComponentSearchParams searchParams, int pageSize) {
+        PagingIterator.checkPageSize(pageSize);
         Map<String, Object> params = createSearchQueryParameters(searchParams);
+        params.put(PARAM_PAGE_SIZE, pageSize);
+        return PagingIterator.stream(pageIndex -> {
+            Map<String, Object> pageParams = new HashMap<>(params);
+            pageParams.put(PARAM_PAGE, pageIndex);
+            return search(pageParams);
+        });
+    }
+
+    /**
+     * Executes a search query with the query parameters provided.
+     *
+     * @param params the map with query parameters
+     * @return a future with an object holding the search results
+     */
+    private CompletableFuture<PagingResult<SW360SparseComponent>> search(Map<String, Object> params) {
         String url = HttpUtils.addQueryParameters(resourceUrl(COMPONENTS_ENDPOINT), params, true);
         return executeJsonRequestWithDefault(HttpUtils.get(url), SW360ComponentList.class,
                 TAG_GET_COMPONENTS, SW360ComponentList::new)
@@ -23,6 +23,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360Sparse
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -71,6 +72,42 @@ public class SW360LicenseClient extends SW360Client {
                 .thenApply(SW360ResourceUtils::getSw360SparseLicenses);
     }
 
+    /**
+     * Returns a future with a page of the licenses available in SW360. If the
+     * server does not support paging for licenses, it returns all licenses,
+     * and the paging information of the result is <strong>null</strong>.
+     *
+     * @param pageIndex the (0-based) index of the page to retrieve
+     * @param pageSize  the number of licenses per page
+     * @return a future with the requested page of licenses
+     */
+    public CompletableFuture<PagingResult<SW360SparseLicense>> getLicenses(int pageIndex, int pageSize) {
+        String url = HttpUtils.addQueryParameters(resourceUrl(LICENSES_ENDPOINT),
+                pagingParameters(pageIndex, pageSize));
+        return executeJsonRequestWithDefault(HttpUtils.get(url), SW360LicenseList.class,
+                TAG_GET_LICENSES, SW360LicenseList::new)
+                .thenApply(licenseList -> new PagingResult<>(SW360ResourceUtils.getSw360SparseLicenses(licenseList),
+                        licenseList.getPage(), licenseList.getLinks()));
+    }
+
+    /**
+     * Returns a stream over all the licenses available in SW360 that loads
+     * the licenses lazily page by page. While the licenses of one page are
+     * consumed, the next page is already fetched in the background. If the
+     * server does not support paging for licenses, the stream is backed by a
+     * single request. Failed requests cause the stream to throw a
+     * {@link org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException}.
+     *
+     * @param pageSize the number of licenses to request per page
+     * @return a stream over all licenses
+     * @throws IllegalArgumentException if the page size is less than 1
+     * @see PagingIterator
+     */
+    public Stream<SW360SparseLicense> streamLicenses(int pageSize) {
+        PagingIterator.checkPageSize(pageSize);
+        return PagingIterator.stream(pageIndex -> getLicenses(pageIndex, pageSize));
+    }
+
     /**
      * Returns a future with detail information of a license selected by its
      * name. If the name provided cannot be resolved, the future fails with a
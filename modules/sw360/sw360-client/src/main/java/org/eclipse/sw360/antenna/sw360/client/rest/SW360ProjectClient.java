@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -90,6 +91,46 @@ public class SW360ProjectClient extends SW360Client {
                 .thenApply(SW360ResourceUtils::getSw360Projects);
     }
 
+    /**
+     * Executes a search for projects based on the given parameters and returns
+     * a future with the requested page of the result. The result contains the
+     * projects on this page and the paging information returned by the
+     * server.
+     *
+     * @param searchParams the object with search parameters
+     * @param pageIndex    the (0-based) index of the page to retrieve
+     * @param pageSize     the number of projects per page
+     * @return a future with the requested page of matched projects
+     */
+    public CompletableFuture<PagingResult<SW360Project>> search(ProjectSearchParams searchParams, int pageIndex,
+                                                                int pageSize) {
+        Map<String, Object> params = pagingParameters(pageIndex, pageSize);
+        params.putAll(parametersMap(searchParams));
+        String queryUrl = HttpUtils.addQueryParameters(resourceUrl(PROJECTS_ENDPOINT), params, true);
+        return executeJsonRequestWithDefault(HttpUtils.get(queryUrl), SW360ProjectList.class,
+                TAG_SEARCH_PROJECTS, SW360ProjectList::new)
+                .thenApply(projectList -> new PagingResult<>(SW360ResourceUtils.getSw360Projects(projectList),
+                        projectList.getPage(), projectList.getLinks()));
+    }
+
+    /**
+     * Returns a stream over all the projects matched by the given search
+     * parameters that loads the result lazily page by page. While the
+     * projects of one page are consumed, the next page is already fetched in
+     * the background. Failed requests cause the stream to throw a
+     * {@link org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException}.
+     *
+     * @param searchParams the object with search parameters
+     * @param pageSize     the number of projects to request per page
+     * @return a stream over all the projects matched by the search
+     * @throws IllegalArgumentException if the page size is less than 1
+     * @see PagingIterator
+     */
+    public Stream<SW360Project> streamProjects(ProjectSearchParams searchParams, int pageSize) {
+        PagingIterator.checkPageSize(pageSize);
+        return PagingIterator.stream(pageIndex -> search(searchParams, pageIndex, pageSize));
+    }
+
     /**
      * Creates a new project in SW360 based on the given data object and
      * returns a future with the resulting entity.
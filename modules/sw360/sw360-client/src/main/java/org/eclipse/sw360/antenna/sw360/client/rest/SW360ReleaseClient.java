@@ -22,9 +22,12 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Releas
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -38,6 +41,11 @@ public class SW360ReleaseClient extends SW360AttachmentAwareClient<SW360Release>
      */
     static final String TAG_GET_RELEASE = "get_release";
 
+    /**
+     * Tag for the query that returns a page of all releases in the system.
+     */
+    static final String TAG_GET_RELEASES = "get_releases";
+
     /**
      * Tag for the query that searches for releases by external IDs.
      */
@@ -91,6 +99,41 @@ public class SW360ReleaseClient extends SW360AttachmentAwareClient<SW360Release>
                 SW360Release.class, TAG_GET_RELEASE);
     }
 
+    /**
+     * Returns a future with a page of the releases available in SW360. The
+     * result contains the releases on the requested page and the paging
+     * information returned by the server.
+     *
+     * @param pageIndex the (0-based) index of the page to retrieve
+     * @param pageSize  the number of releases per page
+     * @return a future with the requested page of releases
+     */
+    public CompletableFuture<PagingResult<SW360SparseRelease>> getReleases(int pageIndex, int pageSize) {
+        String url = HttpUtils.addQueryParameters(resourceUrl(RELEASES_ENDPOINT_APPENDIX),
+                pagingParameters(pageIndex, pageSize));
+        return executeJsonRequestWithDefault(HttpUtils.get(url), SW360ReleaseList.class,
+                TAG_GET_RELEASES, SW360ReleaseList::new)
+                .thenApply(releaseList -> new PagingResult<>(SW360ResourceUtils.getSw360SparseReleases(releaseList),
+                        releaseList.getPage(), releaseList.getLinks()));
+    }
+
+    /**
+     * Returns a stream over all the releases available in SW360 that loads
+     * the releases lazily page by page. While the releases of one page are
+     * consumed, the next page is already fetched in the background. Failed
+     * requests cause the stream to throw a
+     * {@link org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException}.
+     *
+     * @param pageSize the number of releases to request per page
+     * @return a stream over all releases
+     * @throws IllegalArgumentException if the page size is less than 1
+     * @see PagingIterator
+     */
+    public Stream<SW360SparseRelease> streamReleases(int pageSize) {
+        PagingIterator.checkPageSize(pageSize);
+        return PagingIterator.stream(pageIndex -> getReleases(pageIndex, pageSize));
+    }
+
     /**
      * Returns a future with a list of releases that match the external IDs
      * passed to this method.
@@ -113,6 +156,36 @@ public class SW360ReleaseClient extends SW360AttachmentAwareClient<SW360Release>
                 externalIds);
     }
 
+    /**
+     * Returns a future with a list of releases that have an external ID with
+     * the given key and one of the values provided. This is a bulk variant of
+     * {@link #getReleasesByExternalIds(Map)}: the server matches all the
+     * values passed in with a single request (by repeating the query
+     * parameter for the key), so the releases for many artifacts can be
+     * looked up at once. The releases returned by the server contain their
+     * external IDs; so callers can find out which value has been matched by
+     * which release.
+     *
+     * @param externalIdKey the key of the external ID to search for
+     * @param values        a collection with the values to be matched
+     * @return a future with a list of the releases that could be matched
+     */
+    public CompletableFuture<List<SW360SparseRelease>> getReleasesByExternalIdValues(String externalIdKey,
+                                                                                    Collection<String> values) {
+        if (values.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        String encodedKey = HttpUtils.urlEncode(externalIdKey);
+        String url = resourceUrl(RELEASES_ENDPOINT_APPENDIX, PATH_SEARCH_EXT_IDS) + "?" +
+                values.stream()
+                        .map(value -> encodedKey + "=" + HttpUtils.urlEncode(value))
+                        .collect(Collectors.joining("&"));
+        return executeJsonRequestWithDefault(HttpUtils.get(url), SW360ReleaseList.class,
+                TAG_GET_RELEASES_BY_EXTERNAL_IDS, SW360ReleaseList::new)
+                .thenApply(SW360ResourceUtils::getSw360SparseReleases);
+    }
+
     /**
      * Creates a new release resource based on the data object passed in and
      * returns a future with the result.
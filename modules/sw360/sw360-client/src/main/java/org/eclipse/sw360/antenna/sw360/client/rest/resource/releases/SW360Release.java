@@ -342,7 +342,7 @@ public final class SW360Release extends SW360HalResource<SW360ReleaseLinkObjects
         final Set<SW360SparseAttachment> releaseWithPrecedenceAttachments = releaseWithPrecedence.getEmbedded().getAttachments();
         if (!releaseWithPrecedenceAttachments.isEmpty()) {
             if (getEmbedded().getAttachments().isEmpty()) {
-                getEmbedded().setAttachments(releaseWithPrecedenceAttachments);
+                getEmbedded().setAttachments(new HashSet<>(releaseWithPrecedenceAttachments));
             } else {
                 getEmbedded().setAttachments(mergeAttachments(getEmbedded().getAttachments(), releaseWithPrecedenceAttachments));
             }
@@ -353,6 +353,45 @@ public final class SW360Release extends SW360HalResource<SW360ReleaseLinkObjects
         return this;
     }
 
+    /**
+     * Returns a copy of this release. The copy does not share any mutable
+     * state with this object; so it can be modified, e.g. by
+     * {@link #mergeWith(SW360Release)}, without affecting this release. This
+     * is needed for releases that are shared between multiple consumers,
+     * such as the results of coalesced requests.
+     *
+     * @return a copy of this release
+     */
+    public SW360Release copy() {
+        SW360Release copy = new SW360Release();
+        copy.isProprietary = isProprietary;
+        copy.name = name;
+        copy.version = version;
+        copy.createdOn = createdOn;
+        copy.cpeId = cpeId;
+        copy.downloadurl = downloadurl;
+        copy.sw360ClearingState = sw360ClearingState;
+        copy.externalIds.putAll(externalIds);
+        copy.additionalData.putAll(additionalData);
+
+        copy.getLinks().setSelf(copyLink(getLinks().getSelf()));
+        copy.getLinks().setSelfComponent(copyLink(getLinks().getSelfComponent()));
+
+        Set<SW360SparseLicense> licenses = getEmbedded().getLicenses();
+        if (!licenses.isEmpty()) {
+            copy.getEmbedded().setLicenses(new ArrayList<>(licenses));
+        }
+        Set<SW360SparseAttachment> attachments = getEmbedded().getAttachments();
+        if (!attachments.isEmpty()) {
+            copy.getEmbedded().setAttachments(attachments);
+        }
+        return copy;
+    }
+
+    private static Self copyLink(Self link) {
+        return link != null ? new Self(link.getHref()) : null;
+    }
+
     private Set<SW360SparseAttachment> mergeAttachments(Set<SW360SparseAttachment> attachments, Set<SW360SparseAttachment> releaseWithPrecedenceAttachments) {
         attachments.addAll(releaseWithPrecedenceAttachments);
         return attachments;
@@ -10,14 +10,24 @@
  */
 package org.eclipse.sw360.antenna.sw360.client.rest.resource.releases;
 
-import org.eclipse.sw360.antenna.sw360.client.rest.resource.LinkObjects;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.Paging;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.PagingLinkObjects;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360HalResource;
 
-public class SW360ReleaseList extends SW360HalResource<LinkObjects, SW360ReleaseListEmbedded> {
+public class SW360ReleaseList extends SW360HalResource<PagingLinkObjects, SW360ReleaseListEmbedded> {
+    private Paging page;
+
+    public Paging getPage() {
+        return page;
+    }
+
+    public void setPage(Paging page) {
+        this.page = page;
+    }
 
     @Override
-    public LinkObjects createEmptyLinks() {
-        return new LinkObjects();
+    public PagingLinkObjects createEmptyLinks() {
+        return new PagingLinkObjects();
     }
 
     @Override
@@ -12,10 +12,12 @@
 package org.eclipse.sw360.antenna.sw360.client.rest.resource.releases;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360SimpleHalResource;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.LinkObjects;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360HalResourceUtility;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -26,6 +28,7 @@ public final class SW360SparseRelease extends SW360SimpleHalResource {
     private String version;
     private String cpeid;
     private Set<String> mainLicenseIds;
+    private Map<String, String> externalIds;
 
     @JsonIgnore
     public String getReleaseId() {
@@ -80,6 +83,23 @@ public final class SW360SparseRelease extends SW360SimpleHalResource {
         return this;
     }
 
+    /**
+     * Returns a map with the external IDs of this release. This information
+     * is only available if the release has been obtained from a search for
+     * external IDs; otherwise, result is <strong>null</strong>.
+     *
+     * @return a map with the external IDs of this release
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Map<String, String> getExternalIds() {
+        return externalIds;
+    }
+
+    public SW360SparseRelease setExternalIds(Map<String, String> externalIds) {
+        this.externalIds = externalIds;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -89,12 +109,13 @@ public final class SW360SparseRelease extends SW360SimpleHalResource {
                 Objects.equals(name, that.name) &&
                 Objects.equals(version, that.version) &&
                 Objects.equals(cpeid, that.cpeid) &&
-                Objects.equals(mainLicenseIds, that.mainLicenseIds);
+                Objects.equals(mainLicenseIds, that.mainLicenseIds) &&
+                Objects.equals(externalIds, that.externalIds);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), componentId, name, version, cpeid, mainLicenseIds);
+        return Objects.hash(super.hashCode(), componentId, name, version, cpeid, mainLicenseIds, externalIds);
     }
 
     @Override
@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.utils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A class that avoids sending identical read requests to the SW360 server
+ * multiple times.
+ * </p>
+ * <p>
+ * When many artifacts are processed in parallel, it is likely that some of
+ * them trigger the same lookup operations, e.g. if they belong to the same
+ * component. This class implements a <em>single-flight</em> mechanism: a
+ * request is identified by a key; if a request with the same key is already
+ * in progress, the caller is served the result of this request rather than
+ * sending another one.
+ * </p>
+ * <p>
+ * Optionally, results can also be cached for a (short) time to live. Within
+ * this time, further requests with the same key are answered from the cache.
+ * Only successful results are cached. As a cache can hold outdated data after
+ * changes on the server, it is disabled per default. After a write operation,
+ * the in-flight requests and cached results affected by this operation have
+ * to be dropped by calling {@link #invalidate(Predicate)} with a filter
+ * matching their keys; unrelated results remain valid, so that coalescing
+ * stays effective while many writes are done in parallel.
+ * {@link #invalidateAll()} drops everything.
+ * </p>
+ * <p>
+ * An instance obtained via {@link #disabled()} does neither merge requests
+ * nor cache results, but just passes all requests through. This simplifies
+ * the code of clients that support coalescing as an optional feature.
+ * </p>
+ * <p>
+ * Note that the objects produced by a request are shared between all callers
+ * that requested them. Callers must therefore not modify them.
+ * </p>
+ * <p>
+ * Implementation note: This class is thread-safe.
+ * </p>
+ *
+ * @param <K> the type of the keys identifying requests
+ */
+public final class RequestCoalescer<K> {
+    /**
+     * A map storing the requests that are currently in progress.
+     */
+    private final ConcurrentMap<K, CompletableFuture<?>> inFlightRequests = new ConcurrentHashMap<>();
+
+    /**
+     * A map storing cached results. As all results have the same time to
+     * live, the insertion order of this map is also the order in which the
+     * results expire. Access to this map must be synchronized on this object.
+     */
+    private final Map<K, CachedResult> cache = new ExpiringCache();
+
+    /**
+     * Flag whether this object is active. If <strong>false</strong>, all
+     * requests are simply passed through.
+     */
+    private final boolean enabled;
+
+    /**
+     * The time to live of cached results.
+     */
+    private final Duration cacheTtl;
+
+    /**
+     * The clock for checking the expiration of cached results.
+     */
+    private final Clock clock;
+
+    /**
+     * Creates a new instance of {@code RequestCoalescer} with all settings.
+     *
+     * @param enabled  flag whether requests are merged
+     * @param cacheTtl the time to live for cached results; a value of zero
+     *                 disables caching
+     * @param clock    the clock
+     * @throws IllegalArgumentException if the time to live is negative
+     */
+    private RequestCoalescer(boolean enabled, Duration cacheTtl, Clock clock) {
+        if (cacheTtl.isNegative()) {
+            throw new IllegalArgumentException("Time to live must not be negative: " + cacheTtl);
+        }
+        this.enabled = enabled;
+        this.cacheTtl = cacheTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a new instance of {@code RequestCoalescer} with the time to
+     * live for cached results and the clock to use.
+     *
+     * @param cacheTtl the time to live for cached results; a value of zero
+     *                 disables caching
+     * @param clock    the clock
+     * @throws IllegalArgumentException if the time to live is negative
+     */
+    RequestCoalescer(Duration cacheTtl, Clock clock) {
+        this(true, cacheTtl, clock);
+    }
+
+    /**
+     * Creates a new instance of {@code RequestCoalescer} with the time to
+     * live for cached results.
+     *
+     * @param cacheTtl the time to live for cached results; a value of zero
+     *                 disables caching
+     * @throws IllegalArgumentException if the time to live is negative
+     */
+    public RequestCoalescer(Duration cacheTtl) {
+        this(cacheTtl, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new instance of {@code RequestCoalescer} that only merges
+     * identical concurrent requests, but does not cache any results.
+     */
+    public RequestCoalescer() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * Returns an instance that is disabled. It passes all requests through,
+     * without merging or caching them.
+     *
+     * @param <K> the type of the keys identifying requests
+     * @return the disabled instance
+     */
+    public static <K> RequestCoalescer<K> disabled() {
+        return new RequestCoalescer<>(false, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Returns a flag whether this object is enabled. A disabled instance
+     * just passes all requests through.
+     *
+     * @return <strong>true</strong> if this object is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the time to live for cached results. A value of zero means
+     * that caching is disabled.
+     *
+     * @return the time to live for cached results
+     */
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * Executes a request identified by the given key. If there is a cached
+     * result for this key, it is returned directly. If a request with this
+     * key is currently in progress, a future for its result is returned.
+     * Otherwise, the passed in supplier is invoked to start a new request.
+     * The key should uniquely identify the request and its parameters; so
+     * callers typically use a combination of the operation name and the
+     * parameter values.
+     *
+     * @param key     the key identifying the request
+     * @param request the supplier for starting the request
+     * @param <T>     the result type of the request
+     * @return a future with the result of the request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(K key, Supplier<? extends CompletableFuture<T>> request) {
+        Objects.requireNonNull(key, "Request key must not be null");
+        if (!enabled) {
+            return startRequest(request);
+        }
+
+        CachedResult cachedResult = getFromCache(key);
+        if (cachedResult != null) {
+            return CompletableFuture.completedFuture((T) cachedResult.getValue());
+        }
+
+        CompletableFuture<T> newRequest = new CompletableFuture<>();
+        CompletableFuture<T> existingRequest = (CompletableFuture<T>) inFlightRequests.putIfAbsent(key, newRequest);
+        if (existingRequest != null) {
+            return copy(existingRequest);
+        }
+
+        startRequest(request).whenComplete((result, exception) -> {
+            synchronized (this) {
+                // if the request is no longer in flight, it has been invalidated, and its result is outdated
+                boolean current = inFlightRequests.remove(key, newRequest);
+                if (current && exception == null && isCaching()) {
+                    storeInCache(key, result);
+                }
+            }
+            if (exception != null) {
+                newRequest.completeExceptionally(exception);
+            } else {
+                newRequest.complete(result);
+            }
+        });
+        return copy(newRequest);
+    }
+
+    /**
+     * Drops all cached results and forgets about the requests that are
+     * currently in progress whose keys are matched by the given filter, so
+     * that subsequent calls of {@link #execute(Object, Supplier)} for these
+     * keys send new requests. Results of the dropped in-flight requests are
+     * not cached. This method should be called after data on the server has
+     * been changed, with a filter selecting the requests affected by the
+     * change.
+     *
+     * @param affectedKeys the filter for the keys to invalidate
+     */
+    public synchronized void invalidate(Predicate<? super K> affectedKeys) {
+        inFlightRequests.keySet().removeIf(affectedKeys);
+        cache.keySet().removeIf(affectedKeys);
+    }
+
+    /**
+     * Drops all cached results and forgets about all requests that are
+     * currently in progress. This is equivalent to calling
+     * {@link #invalidate(Predicate)} with a filter accepting all keys.
+     */
+    public void invalidateAll() {
+        invalidate(key -> true);
+    }
+
+    /**
+     * Returns a future that completes with the passed in future, but
+     * invalidates the keys matched by the given filter before. This is a
+     * convenience method for write operations, which should invalidate the
+     * results they affect when they are done.
+     *
+     * @param future       the future for a write operation
+     * @param affectedKeys the filter for the keys to invalidate
+     * @param <T>          the result type of the future
+     * @return a future that invalidates the affected keys on completion
+     */
+    public <T> CompletableFuture<T> invalidateAfter(CompletableFuture<T> future,
+                                                    Predicate<? super K> affectedKeys) {
+        return future.whenComplete((result, exception) -> invalidate(affectedKeys));
+    }
+
+    /**
+     * Returns a future that completes with the passed in future, but
+     * invalidates this object completely before.
+     *
+     * @param future the future for a write operation
+     * @param <T>    the result type of the future
+     * @return a future that invalidates this object on completion
+     * @see #invalidateAfter(CompletableFuture, Predicate)
+     */
+    public <T> CompletableFuture<T> invalidateAfter(CompletableFuture<T> future) {
+        return invalidateAfter(future, key -> true);
+    }
+
+    /**
+     * Returns the number of results that are currently stored in the cache.
+     * This is mainly used for testing purposes.
+     *
+     * @return the number of cached results
+     */
+    synchronized int getCachedResultCount() {
+        return cache.size();
+    }
+
+    /**
+     * Returns a flag whether results are cached.
+     *
+     * @return <strong>true</strong> if caching is enabled
+     */
+    private boolean isCaching() {
+        return !cacheTtl.isZero();
+    }
+
+    /**
+     * Returns the cached result for the given key if it exists and is not
+     * expired. An expired result is removed from the cache.
+     *
+     * @param key the key of the result
+     * @return the cached result or <strong>null</strong>
+     */
+    private synchronized CachedResult getFromCache(K key) {
+        CachedResult cachedResult = cache.get(key);
+        if (cachedResult != null && cachedResult.isExpired(clock.instant())) {
+            cache.remove(key);
+            return null;
+        }
+        return cachedResult;
+    }
+
+    /**
+     * Adds a result to the cache. An existing result for this key is removed
+     * first, so that the new result is placed at the end of the expiration
+     * order. Expired results are removed by the cache itself, so that it does
+     * not grow without bounds. This method must be called while holding the
+     * lock of this object.
+     *
+     * @param key    the key of the result
+     * @param result the result to be cached
+     */
+    private void storeInCache(K key, Object result) {
+        cache.remove(key);
+        cache.put(key, new CachedResult(result, clock.instant().plus(cacheTtl)));
+    }
+
+    /**
+     * Invokes the supplier to start a request. Exceptions thrown by the
+     * supplier are converted to a failed future.
+     *
+     * @param request the supplier for the request
+     * @param <T>     the result type of the request
+     * @return the future for the request
+     */
+    private static <T> CompletableFuture<T> startRequest(Supplier<? extends CompletableFuture<T>> request) {
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            return FutureUtils.failedFuture(e);
+        }
+    }
+
+    /**
+     * Returns a future that completes with the same result as the given one.
+     * This prevents callers from completing the shared future.
+     *
+     * @param future the shared future
+     * @param <T>    the result type
+     * @return a dependent future
+     */
+    private static <T> CompletableFuture<T> copy(CompletableFuture<T> future) {
+        return future.thenApply(Function.identity());
+    }
+
+    /**
+     * The map implementation used as cache. It removes expired results from
+     * its head whenever a new result is added. As the results are ordered by
+     * their expiration time, only expired results have to be visited.
+     */
+    private final class ExpiringCache extends LinkedHashMap<K, CachedResult> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, CachedResult> eldest) {
+            Instant now = clock.instant();
+            Iterator<CachedResult> it = values().iterator();
+            while (it.hasNext() && it.next().isExpired(now)) {
+                it.remove();
+            }
+            // the map has been modified directly, as allowed by the contract of this method
+            return false;
+        }
+    }
+
+    /**
+     * A class representing a cached result together with its expiration
+     * time.
+     */
+    private static final class CachedResult {
+        /**
+         * The cached value.
+         */
+        private final Object value;
+
+        /**
+         * The point in time when this result expires.
+         */
+        private final Instant expiration;
+
+        CachedResult(Object value, Instant expiration) {
+            this.value = value;
+            this.expiration = expiration;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        /**
+         * Checks whether this result is expired at the given time.
+         *
+         * @param now the current time
+         * @return <strong>true</strong> if this result is expired
+         */
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiration);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.utils;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A class that limits the number of asynchronous requests to the SW360
+ * server that are in progress at the same time.
+ * </p>
+ * <p>
+ * The asynchronous client adapters allow sending an arbitrary number of
+ * requests in parallel. When processing large amounts of data, e.g. all the
+ * components and releases of an SW360 instance, starting all requests at once
+ * would overload both the server and the local HTTP client. Therefore, such
+ * requests can be passed to an instance of this class, which starts at most
+ * the configured number of requests in parallel. Further requests are queued
+ * and started as soon as running requests complete. No threads are blocked
+ * while requests are waiting in the queue.
+ * </p>
+ * <p>
+ * Implementation note: This class is thread-safe.
+ * </p>
+ */
+public final class RequestLimiter {
+    /**
+     * The queue with requests that have not yet been started.
+     */
+    private final Queue<PendingRequest<?>> queue = new ArrayDeque<>();
+
+    /**
+     * A flag whether the current thread is dispatching requests. This is
+     * used to prevent deep recursion if requests complete synchronously.
+     */
+    private final ThreadLocal<Boolean> dispatching = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * The maximum number of requests running in parallel.
+     */
+    private final int maxConcurrentRequests;
+
+    /**
+     * The number of requests currently in progress.
+     */
+    private int activeCount;
+
+    /**
+     * Creates a new instance of {@code RequestLimiter} with the maximum
+     * number of requests that can be in progress at the same time.
+     *
+     * @param maxConcurrentRequests the maximum number of parallel requests
+     * @throws IllegalArgumentException if the limit is less than 1
+     */
+    public RequestLimiter(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Maximum number of concurrent requests must be positive: " +
+                    maxConcurrentRequests);
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Returns the maximum number of requests that can be in progress at the
+     * same time.
+     *
+     * @return the concurrency limit
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Schedules a request under the control of this limiter. The supplier is
+     * invoked to start the request when there is a free slot; the slot is
+     * occupied until the future returned by the supplier completes. The
+     * resulting future completes with the same result. Exceptions thrown by
+     * the supplier are converted to a failed future.
+     *
+     * @param request the supplier for starting the request
+     * @param <T>     the result type of the request
+     * @return a future with the result of the request
+     */
+    public <T> CompletableFuture<T> submit(Supplier<? extends CompletableFuture<T>> request) {
+        PendingRequest<T> pendingRequest = new PendingRequest<>(request);
+        synchronized (this) {
+            queue.add(pendingRequest);
+        }
+        dispatch();
+        return pendingRequest.result;
+    }
+
+    /**
+     * Returns the number of requests that are currently in progress.
+     *
+     * @return the number of active requests
+     */
+    public synchronized int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Returns the number of requests waiting to be started.
+     *
+     * @return the number of queued requests
+     */
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Starts queued requests as long as there are free slots. The requests
+     * are removed from the queue under the lock, but they are started outside
+     * of it. If a request completes directly when it is started, the slot it
+     * frees is reused by the loop that is already active on this thread.
+     */
+    private void dispatch() {
+        if (dispatching.get()) {
+            return;
+        }
+
+        dispatching.set(Boolean.TRUE);
+        try {
+            PendingRequest<?> request;
+            while ((request = nextRequest()) != null) {
+                request.start(this::release);
+            }
+        } finally {
+            dispatching.remove();
+        }
+    }
+
+    /**
+     * Returns the next request to be started if there is a free slot. In this
+     * case, the slot is occupied. Otherwise, result is <strong>null</strong>.
+     *
+     * @return the next request to start or <strong>null</strong>
+     */
+    private synchronized PendingRequest<?> nextRequest() {
+        if (activeCount >= maxConcurrentRequests || queue.isEmpty()) {
+            return null;
+        }
+        activeCount++;
+        return queue.poll();
+    }
+
+    /**
+     * Frees the slot occupied by a completed request and starts further
+     * requests if possible.
+     */
+    private void release() {
+        synchronized (this) {
+            activeCount--;
+        }
+        dispatch();
+    }
+
+    /**
+     * A class representing a request waiting for its execution.
+     *
+     * @param <T> the result type of the request
+     */
+    private static final class PendingRequest<T> {
+        /**
+         * The supplier for starting the request.
+         */
+        private final Supplier<? extends CompletableFuture<T>> request;
+
+        /**
+         * The future with the result of the request.
+         */
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private PendingRequest(Supplier<? extends CompletableFuture<T>> request) {
+            this.request = request;
+        }
+
+        /**
+         * Starts this request and propagates its result. When the request is
+         * done, the given callback is invoked to free the slot.
+         *
+         * @param releaseCallback the callback to release the slot
+         */
+        private void start(Runnable releaseCallback) {
+            CompletableFuture<T> future;
+            try {
+                future = request.get();
+            } catch (RuntimeException e) {
+                future = FutureUtils.failedFuture(e);
+            }
+
+            future.whenComplete((value, ex) -> {
+                releaseCallback.run();
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                } else {
+                    result.complete(value);
+                }
+            });
+        }
+    }
+}
@@ -10,6 +10,10 @@
  */
 package org.eclipse.sw360.antenna.sw360.client.adapter;
 
+import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.Checksum;
+import org.eclipse.sw360.antenna.http.download.ChecksumMismatchException;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360ReleaseClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.Self;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360SparseAttachment;
@@ -39,6 +43,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -155,6 +160,75 @@ public class SW360AttachmentUtilsTest {
         }
     }
 
+    @Test
+    public void testAttachmentDownloadProcessorValidChecksum() throws URISyntaxException, IOException {
+        Path downloadPath = folder.getRoot().toPath();
+        SW360AttachmentUtils.AttachmentDownloadProcessor downloadProcessor =
+                new SW360AttachmentUtils.AttachmentDownloadProcessor(downloadPath, "verified.dat",
+                        Checksum.sha1(TEST_FILE_SHA1));
+
+        try (InputStream stream = Files.newInputStream(testFile())) {
+            checkFileDownloaded(downloadProcessor.processAttachmentStream(stream));
+        }
+    }
+
+    @Test
+    public void testAttachmentDownloadProcessorInvalidChecksum() throws URISyntaxException, IOException {
+        Path downloadPath = folder.getRoot().toPath();
+        String fileName = "corrupt.dat";
+        SW360AttachmentUtils.AttachmentDownloadProcessor downloadProcessor =
+                new SW360AttachmentUtils.AttachmentDownloadProcessor(downloadPath, fileName,
+                        Checksum.sha1(TEST_FILE_SHA1.replace('a', 'b')));
+
+        try (InputStream stream = Files.newInputStream(testFile())) {
+            downloadProcessor.processAttachmentStream(stream);
+            fail("Checksum mismatch not detected!");
+        } catch (ChecksumMismatchException e) {
+            assertThat(downloadPath.resolve(fileName)).doesNotExist();
+        }
+    }
+
+    @Test
+    public void testDefaultAttachmentDownloadProcessorUsesSha1OfAttachment() {
+        SW360SparseAttachment attachment = new SW360SparseAttachment();
+        attachment.setFilename("test.zip");
+        attachment.setSha1(TEST_FILE_SHA1);
+
+        SW360AttachmentUtils.AttachmentDownloadProcessor processor =
+                SW360AttachmentUtils.defaultAttachmentDownloadProcessor(attachment, folder.getRoot().toPath());
+        assertThat(processor.getChecksum()).contains(Checksum.sha1(TEST_FILE_SHA1));
+    }
+
+    @Test
+    public void testDownloadAttachmentWithDownloadManager() {
+        String attachmentId = "attach-0123456789";
+        String releaseLink = "https://sw360.org/releases/1234567890";
+        Path downloadPath = folder.getRoot().toPath();
+        Path target = downloadPath.resolve("test.zip");
+        SW360Release release = new SW360Release();
+        release.getLinks().setSelf(new Self(releaseLink));
+        SW360SparseAttachment attachment = new SW360SparseAttachment();
+        attachment.setFilename("test.zip");
+        attachment.getLinks().setSelf(new Self("https://sw360.org/attachments/" + attachmentId));
+        SW360ReleaseClient releaseClient = mock(SW360ReleaseClient.class);
+        CompletableFuture<Path> downloadFuture = new CompletableFuture<>();
+        when(releaseClient.processAttachment(eq(releaseLink), eq(attachmentId),
+                any(SW360AttachmentUtils.AttachmentDownloadProcessor.class)))
+                .thenReturn(downloadFuture);
+        DownloadManager downloadManager = new DownloadManager(mock(HttpClient.class), 1, 1);
+
+        CompletableFuture<Optional<Path>> result = SW360AttachmentUtils.downloadAttachment(releaseClient,
+                release, attachment, downloadPath, downloadManager);
+        CompletableFuture<String> otherTask =
+                downloadManager.submit("sw360.org", () -> CompletableFuture.completedFuture("other"));
+        assertThat(downloadManager.getActiveCount()).isEqualTo(1);
+        assertThat(otherTask).isNotDone();
+
+        downloadFuture.complete(target);
+        assertThat(FutureUtils.block(result)).contains(target);
+        assertThat(otherTask).isCompletedWithValue("other");
+    }
+
     @Test
     public void testDownloadAttachment() {
         String attachmentId = "attach-0123456789";
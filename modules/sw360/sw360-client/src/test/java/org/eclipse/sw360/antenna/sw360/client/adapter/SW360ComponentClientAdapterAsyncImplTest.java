@@ -19,6 +19,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.Paging;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.PagingLinkObjects;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.ComponentSearchParams;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360ComponentType;
+import org.eclipse.sw360.antenna.sw360.client.utils.RequestCoalescer;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.LinkObjects;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.Self;
@@ -26,6 +27,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Comp
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360SparseComponent;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -36,11 +38,15 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.block;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -181,6 +187,39 @@ public class SW360ComponentClientAdapterAsyncImplTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    public void testGetComponentByNameConcurrentRequestsAreMerged() {
+        componentClientAdapter = new SW360ComponentClientAdapterAsyncImpl(componentClient, new RequestCoalescer<>());
+        CompletableFuture<PagingResult<SW360SparseComponent>> searchFuture = new CompletableFuture<>();
+        when(componentClient.search(NAME_SEARCH_PARAMS)).thenReturn(searchFuture);
+
+        CompletableFuture<Optional<SW360Component>> future1 = componentClientAdapter.getComponentByName(COMPONENT_NAME);
+        CompletableFuture<Optional<SW360Component>> future2 = componentClientAdapter.getComponentByName(COMPONENT_NAME);
+        searchFuture.complete(createSearchResult(Collections.emptyList()).join());
+        assertThat(block(future1)).isEmpty();
+        assertThat(block(future2)).isEmpty();
+        verify(componentClient, times(1)).search(NAME_SEARCH_PARAMS);
+    }
+
+    @Test
+    public void testCreateComponentInvalidatesRequestCoalescer() {
+        RequestCoalescer<Object> requestCoalescer = mock(RequestCoalescer.class);
+        when(requestCoalescer.invalidateAfter(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        componentClientAdapter = new SW360ComponentClientAdapterAsyncImpl(componentClient, requestCoalescer);
+        component.setName(COMPONENT_NAME);
+        component.setCategories(Collections.singleton("Antenna"));
+        CompletableFuture<SW360Component> createFuture = CompletableFuture.completedFuture(component);
+        when(componentClient.createComponent(component)).thenReturn(createFuture);
+
+        block(componentClientAdapter.createComponent(component));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Predicate<Object>> captor = ArgumentCaptor.forClass(Predicate.class);
+        verify(requestCoalescer).invalidateAfter(eq(createFuture), captor.capture());
+        assertThat(captor.getValue().test(RequestKeys.key(RequestKeys.COMPONENT_BY_NAME, COMPONENT_NAME))).isTrue();
+        assertThat(captor.getValue().test(RequestKeys.key(RequestKeys.COMPONENT_BY_NAME, "other"))).isFalse();
+        assertThat(captor.getValue().test(RequestKeys.key(RequestKeys.RELEASE_BY_ID, "r1"))).isFalse();
+    }
+
     @Test
     public void testSearch() {
         ComponentSearchParams searchParams = ComponentSearchParams.builder()
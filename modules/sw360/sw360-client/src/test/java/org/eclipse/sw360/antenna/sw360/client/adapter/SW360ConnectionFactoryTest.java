@@ -12,17 +12,24 @@ package org.eclipse.sw360.antenna.sw360.client.adapter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.sw360.client.auth.SW360AuthenticationClient;
 import org.eclipse.sw360.antenna.sw360.client.config.SW360ClientConfig;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360Client;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class SW360ConnectionFactoryTest {
     /**
@@ -80,6 +87,148 @@ public class SW360ConnectionFactoryTest {
         assertThat(syncAdapter.hashCode()).isEqualTo(asyncAdapter.hashCode());
     }
 
+    /**
+     * Checks whether a synchronous adapter has been created as a direct
+     * implementation.
+     *
+     * @param syncAdapter   the synchronous adapter
+     * @param expectedClass the expected implementation class
+     */
+    private static void checkDirectSyncAdapter(Object syncAdapter, Class<?> expectedClass) {
+        assertThat(Proxy.isProxyClass(syncAdapter.getClass())).isFalse();
+        assertThat(syncAdapter).isInstanceOf(expectedClass);
+    }
+
+    /**
+     * Checks whether a direct synchronous adapter delegates all the methods
+     * of its interface to the corresponding methods of the asynchronous
+     * adapter.
+     *
+     * @param syncIfc  the interface of the synchronous adapter
+     * @param asyncIfc the interface of the asynchronous adapter
+     * @param factory  the function to create the direct adapter
+     * @param <S>      the type of the synchronous adapter
+     * @param <A>      the type of the asynchronous adapter
+     * @throws Exception if a reflective operation fails
+     */
+    private static <S, A> void checkDirectSyncAdapterDelegation(Class<S> syncIfc, Class<A> asyncIfc,
+                                                                Function<A, S> factory) throws Exception {
+        A asyncAdapter = mock(asyncIfc, invocation ->
+                CompletableFuture.class.equals(invocation.getMethod().getReturnType()) ?
+                        CompletableFuture.completedFuture(null) : null);
+        S syncAdapter = factory.apply(asyncAdapter);
+
+        for (Method method : syncIfc.getMethods()) {
+            Object[] args = new Object[method.getParameterCount()];
+            for (int i = 0; i < args.length; i++) {
+                Class<?> type = method.getParameterTypes()[i];
+                args[i] = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+            }
+            method.invoke(syncAdapter, args);
+
+            Method asyncMethod = asyncIfc.getMethod(method.getName(), method.getParameterTypes());
+            asyncMethod.invoke(verify(asyncAdapter), args);
+        }
+    }
+
+    @Test
+    public void testDirectSyncAdaptersAreDisabledPerDefault() {
+        assertThat(CONFIG.isDirectSyncAdapters()).isFalse();
+    }
+
+    @Test
+    public void testDirectSyncAdapters() {
+        SW360Connection connection = connectionFactory.newConnection(CONFIG.withDirectSyncAdapters(true));
+
+        checkDirectSyncAdapter(connection.getComponentAdapter(), SW360ComponentClientAdapterSyncImpl.class);
+        checkDirectSyncAdapter(connection.getReleaseAdapter(), SW360ReleaseClientAdapterSyncImpl.class);
+        checkDirectSyncAdapter(connection.getLicenseAdapter(), SW360LicenseClientAdapterSyncImpl.class);
+        checkDirectSyncAdapter(connection.getProjectAdapter(), SW360ProjectClientAdapterSyncImpl.class);
+        assertThat(connection.getReleaseAdapter().getReleaseClient())
+                .isSameAs(connection.getReleaseAdapterAsync().getReleaseClient());
+    }
+
+    @Test
+    public void testDirectComponentAdapterDelegatesAllMethods() throws Exception {
+        checkDirectSyncAdapterDelegation(SW360ComponentClientAdapter.class, SW360ComponentClientAdapterAsync.class,
+                SW360ComponentClientAdapterSyncImpl::new);
+    }
+
+    @Test
+    public void testDirectReleaseAdapterDelegatesAllMethods() throws Exception {
+        checkDirectSyncAdapterDelegation(SW360ReleaseClientAdapter.class, SW360ReleaseClientAdapterAsync.class,
+                SW360ReleaseClientAdapterSyncImpl::new);
+    }
+
+    @Test
+    public void testDirectLicenseAdapterDelegatesAllMethods() throws Exception {
+        checkDirectSyncAdapterDelegation(SW360LicenseClientAdapter.class, SW360LicenseClientAdapterAsync.class,
+                SW360LicenseClientAdapterSyncImpl::new);
+    }
+
+    @Test
+    public void testDirectProjectAdapterDelegatesAllMethods() throws Exception {
+        checkDirectSyncAdapterDelegation(SW360ProjectClientAdapter.class, SW360ProjectClientAdapterAsync.class,
+                SW360ProjectClientAdapterSyncImpl::new);
+    }
+
+    @Test
+    public void testRequestCoalescingIsDisabledPerDefault() {
+        SW360Connection connection = newConnection();
+        SW360ComponentClientAdapterAsyncImpl componentAdapter =
+                (SW360ComponentClientAdapterAsyncImpl) connection.getComponentAdapterAsync();
+
+        assertThat(componentAdapter.getRequestCoalescer().isEnabled()).isFalse();
+    }
+
+    @Test
+    public void testAdaptersShareRequestCoalescer() {
+        Duration ttl = Duration.ofSeconds(5);
+        SW360Connection connection = connectionFactory.newConnection(CONFIG.withCacheTtl(ttl));
+        SW360ComponentClientAdapterAsyncImpl componentAdapter =
+                (SW360ComponentClientAdapterAsyncImpl) connection.getComponentAdapterAsync();
+        SW360ReleaseClientAdapterAsyncImpl releaseAdapter =
+                (SW360ReleaseClientAdapterAsyncImpl) connection.getReleaseAdapterAsync();
+        SW360LicenseClientAdapterAsyncImpl licenseAdapter =
+                (SW360LicenseClientAdapterAsyncImpl) connection.getLicenseAdapterAsync();
+        SW360ProjectClientAdapterAsyncImpl projectAdapter =
+                (SW360ProjectClientAdapterAsyncImpl) connection.getProjectAdapterAsync();
+
+        assertThat(componentAdapter.getRequestCoalescer().isEnabled()).isTrue();
+        assertThat(componentAdapter.getRequestCoalescer().getCacheTtl()).isEqualTo(ttl);
+        assertThat(releaseAdapter.getRequestCoalescer()).isSameAs(componentAdapter.getRequestCoalescer());
+        assertThat(licenseAdapter.getRequestCoalescer()).isSameAs(componentAdapter.getRequestCoalescer());
+        assertThat(projectAdapter.getRequestCoalescer()).isSameAs(componentAdapter.getRequestCoalescer());
+    }
+
+    @Test
+    public void testRequestCoalescingWithoutCache() {
+        SW360Connection connection = connectionFactory.newConnection(CONFIG.withRequestCoalescing(true));
+        SW360ComponentClientAdapterAsyncImpl componentAdapter =
+                (SW360ComponentClientAdapterAsyncImpl) connection.getComponentAdapterAsync();
+
+        assertThat(componentAdapter.getRequestCoalescer().isEnabled()).isTrue();
+        assertThat(componentAdapter.getRequestCoalescer().getCacheTtl()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void testSharedDownloadManagerIsUsed() {
+        DownloadManager downloadManager = mock(DownloadManager.class);
+        SW360Connection connection = connectionFactory.newConnection(CONFIG.withDownloadManager(downloadManager));
+        SW360ReleaseClientAdapterAsyncImpl releaseAdapter =
+                (SW360ReleaseClientAdapterAsyncImpl) connection.getReleaseAdapterAsync();
+
+        assertThat(releaseAdapter.getDownloadManager()).isSameAs(downloadManager);
+    }
+
+    @Test
+    public void testDefaultDownloadManagerIsCreated() {
+        SW360ReleaseClientAdapterAsyncImpl releaseAdapter =
+                (SW360ReleaseClientAdapterAsyncImpl) newConnection().getReleaseAdapterAsync();
+
+        assertThat(releaseAdapter.getDownloadManager().getHttpClient()).isEqualTo(CONFIG.getHttpClient());
+    }
+
     @Test
     public void testComponentAdapter() {
         SW360Connection sw360Connection = newConnection();
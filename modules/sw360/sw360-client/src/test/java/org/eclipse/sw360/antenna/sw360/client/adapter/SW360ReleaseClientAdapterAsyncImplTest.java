@@ -13,6 +13,7 @@ package org.eclipse.sw360.antenna.sw360.client.adapter;
 import com.github.packageurl.MalformedPackageURLException;
 import com.github.packageurl.PackageURL;
 import org.eclipse.sw360.antenna.sw360.client.rest.SW360AttachmentAwareClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.http.utils.FailedRequestException;
 import org.eclipse.sw360.antenna.http.utils.HttpConstants;
 import org.eclipse.sw360.antenna.sw360.client.rest.MultiStatusResponse;
@@ -33,6 +34,7 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
@@ -40,18 +42,22 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.fail;
 import static org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils.block;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -68,6 +74,7 @@ public class SW360ReleaseClientAdapterAsyncImplTest {
     private static final String RELEASE_CHANGESTATUS = "AS_IS";
     private static final String RELEASE_COPYRIGHT = "Copyright xxxx Some Copyright Enterprise";
     private static final String ID = "12345";
+    private static final String EXTERNAL_ID_KEY = "maven";
     private static final String RELEASE_VERSION1 = "1.0.0";
     private static final String RELEASE_HREF = "https://sw360.eclipse.org/api/releases/" + ID;
 
@@ -180,6 +187,32 @@ public class SW360ReleaseClientAdapterAsyncImplTest {
         assertThat(result).isEqualTo(releaseCreated);
     }
 
+    @Test
+    public void testCreateReleasesOfSameComponentAreSerialized() throws MalformedPackageURLException {
+        SW360Release release2 = mkSW360Release("releaseName");
+        release2.setVersion(release.getVersion() + ".1");
+        SW360Component componentCreated = new SW360Component();
+        componentCreated.setName(release.getName());
+        componentCreated.getLinks().setSelf(new Self("https://components.org/" + ID));
+        CompletableFuture<Optional<SW360Component>> firstLookup = new CompletableFuture<>();
+        when(componentClientAdapter.getComponentByName(release.getName()))
+                .thenReturn(firstLookup, CompletableFuture.completedFuture(Optional.of(componentCreated)));
+        when(componentClientAdapter.createComponent(any()))
+                .thenReturn(CompletableFuture.completedFuture(componentCreated));
+        when(releaseClient.createRelease(any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        CompletableFuture<SW360Release> future1 = releaseClientAdapter.createRelease(release);
+        CompletableFuture<SW360Release> future2 = releaseClientAdapter.createRelease(release2);
+        verify(componentClientAdapter, times(1)).getComponentByName(release.getName());
+        firstLookup.complete(Optional.empty());
+
+        assertThat(block(future1).getComponentId()).isEqualTo(ID);
+        assertThat(block(future2).getComponentId()).isEqualTo(ID);
+        verify(componentClientAdapter, times(1)).createComponent(any());
+        verify(componentClientAdapter, times(2)).getComponentByName(release.getName());
+    }
+
     private static SW360SparseAttachment createAttachment(String file) {
         SW360SparseAttachment attachment = new SW360SparseAttachment();
         attachment.setFilename(file);
@@ -208,6 +241,7 @@ public class SW360ReleaseClientAdapterAsyncImplTest {
         Path uploadPath2 = Paths.get("sources.zip");
         SW360AttachmentType attachmentType2 = SW360AttachmentType.SOURCE;
         release.setEmbedded(createEmbeddedReleaseWithAttachments());
+        addSelfLink(release);
         SW360Release updatedRelease1 = createReleaseWithAttachments("attach1");
         SW360Release updatedRelease2 = createReleaseWithAttachments("attach1", "attach2");
 
@@ -284,6 +318,59 @@ public class SW360ReleaseClientAdapterAsyncImplTest {
         verifyZeroInteractions(releaseClient);
     }
 
+    @Test
+    public void testUploadAttachmentsAreExecutedSequentially() {
+        Path uploadPath1 = Paths.get("file1.doc");
+        Path uploadPath2 = Paths.get("file2.doc");
+        SW360AttachmentType attachmentType = SW360AttachmentType.DOCUMENT;
+        release.setEmbedded(createEmbeddedReleaseWithAttachments());
+        addSelfLink(release);
+        SW360Release updatedRelease1 = createReleaseWithAttachments("file1.doc");
+        SW360Release updatedRelease2 = createReleaseWithAttachments("file1.doc", "file2.doc");
+        CompletableFuture<SW360Release> upload1 = new CompletableFuture<>();
+        AttachmentUploadRequest<SW360Release> uploadRequest = AttachmentUploadRequest.builder(release)
+                .addAttachment(uploadPath1, attachmentType)
+                .addAttachment(uploadPath2, attachmentType)
+                .build();
+        when(releaseClient.uploadAndAttachAttachment(release, uploadPath1, attachmentType))
+                .thenReturn(upload1);
+        when(releaseClient.uploadAndAttachAttachment(updatedRelease1, uploadPath2, attachmentType))
+                .thenReturn(CompletableFuture.completedFuture(updatedRelease2));
+
+        CompletableFuture<AttachmentUploadResult<SW360Release>> futResult =
+                releaseClientAdapter.uploadAttachments(uploadRequest);
+        verify(releaseClient).uploadAndAttachAttachment(release, uploadPath1, attachmentType);
+        verify(releaseClient, never()).uploadAndAttachAttachment(any(), eq(uploadPath2), any());
+        assertThat(futResult).isNotDone();
+
+        upload1.complete(updatedRelease1);
+        AttachmentUploadResult<SW360Release> result = block(futResult);
+        assertThat(result.getTarget()).isEqualTo(updatedRelease2);
+        assertThat(result.successfulUploads()).hasSize(2);
+    }
+
+    @Test
+    public void testUploadAttachmentsDuplicateInRequest() {
+        Path uploadPath1 = Paths.get("dir1", "file.doc");
+        Path uploadPath2 = Paths.get("dir2", "file.doc");
+        SW360AttachmentType attachmentType = SW360AttachmentType.DOCUMENT;
+        release.setEmbedded(createEmbeddedReleaseWithAttachments());
+        SW360Release updatedRelease = createReleaseWithAttachments("file.doc");
+        AttachmentUploadRequest<SW360Release> uploadRequest = AttachmentUploadRequest.builder(release)
+                .addAttachment(uploadPath1, attachmentType)
+                .addAttachment(uploadPath2, attachmentType)
+                .build();
+        when(releaseClient.uploadAndAttachAttachment(release, uploadPath1, attachmentType))
+                .thenReturn(CompletableFuture.completedFuture(updatedRelease));
+
+        AttachmentUploadResult<SW360Release> result = block(releaseClientAdapter.uploadAttachments(uploadRequest));
+        assertThat(result.getTarget()).isEqualTo(updatedRelease);
+        assertThat(result.successfulUploads())
+                .containsOnly(new AttachmentUploadRequest.Item(uploadPath1, attachmentType));
+        assertThat(result.failedUploads().get(new AttachmentUploadRequest.Item(uploadPath2, attachmentType)))
+                .isInstanceOf(SW360ClientException.class);
+    }
+
     @Test
     public void testGetReleaseByExternalIds() {
         SW360SparseRelease sparseRelease = new SW360SparseRelease();
@@ -326,6 +413,89 @@ public class SW360ReleaseClientAdapterAsyncImplTest {
         }
     }
 
+    /**
+     * Creates a sparse release with an external ID for the test key.
+     *
+     * @param value the value of the external ID
+     * @return the sparse release
+     */
+    private static SW360SparseRelease sparseReleaseWithExternalId(String value) {
+        return new SW360SparseRelease()
+                .setName(value)
+                .setExternalIds(Collections.singletonMap(EXTERNAL_ID_KEY, value));
+    }
+
+    @Test
+    public void testGetReleasesByExternalIdValues() {
+        SW360SparseRelease release1 = sparseReleaseWithExternalId("v1");
+        SW360SparseRelease release2 = sparseReleaseWithExternalId("v2");
+        List<String> values = Arrays.asList("v1", "v2", "v3", "v1");
+        when(releaseClient.getReleasesByExternalIdValues(EXTERNAL_ID_KEY, Arrays.asList("v1", "v2", "v3")))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(release2, release1)));
+
+        Map<String, SW360SparseRelease> releases =
+                block(releaseClientAdapter.getSparseReleasesByExternalIdValues(EXTERNAL_ID_KEY, values));
+        assertThat(releases).hasSize(2)
+                .containsEntry("v1", release1)
+                .containsEntry("v2", release2);
+    }
+
+    @Test
+    public void testGetReleasesByExternalIdValuesIgnoresAmbiguousMatches() {
+        SW360SparseRelease release1 = sparseReleaseWithExternalId("v1");
+        SW360SparseRelease release2 = sparseReleaseWithExternalId("v2");
+        SW360SparseRelease release3 = sparseReleaseWithExternalId("v2").setVersion("other");
+        List<String> values = Arrays.asList("v1", "v2");
+        when(releaseClient.getReleasesByExternalIdValues(EXTERNAL_ID_KEY, values))
+                .thenReturn(CompletableFuture.completedFuture(Arrays.asList(release1, release2, release3)));
+
+        Map<String, SW360SparseRelease> releases =
+                block(releaseClientAdapter.getSparseReleasesByExternalIdValues(EXTERNAL_ID_KEY, values));
+        assertThat(releases).containsOnly(entry("v1", release1));
+    }
+
+    @Test
+    public void testGetReleasesByExternalIdValuesWithoutExternalIdsInResult() {
+        SW360SparseRelease release = new SW360SparseRelease().setName("noExternalIds");
+        List<String> values = Collections.singletonList("v1");
+        when(releaseClient.getReleasesByExternalIdValues(EXTERNAL_ID_KEY, values))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(release)));
+
+        Map<String, SW360SparseRelease> releases =
+                block(releaseClientAdapter.getSparseReleasesByExternalIdValues(EXTERNAL_ID_KEY, values));
+        assertThat(releases).containsOnly(entry("v1", release));
+    }
+
+    @Test
+    public void testGetReleasesByExternalIdValuesInBatches() {
+        int valueCount = SW360ReleaseClientAdapterAsyncImpl.MAX_EXTERNAL_ID_VALUES_PER_REQUEST + 1;
+        List<String> values = IntStream.range(0, valueCount)
+                .mapToObj(i -> "v" + i)
+                .collect(Collectors.toList());
+        List<String> batch1 = values.subList(0, valueCount - 1);
+        List<String> batch2 = values.subList(valueCount - 1, valueCount);
+        SW360SparseRelease release1 = sparseReleaseWithExternalId(batch1.get(0));
+        SW360SparseRelease release2 = sparseReleaseWithExternalId(batch2.get(0));
+        when(releaseClient.getReleasesByExternalIdValues(EXTERNAL_ID_KEY, batch1))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(release1)));
+        when(releaseClient.getReleasesByExternalIdValues(EXTERNAL_ID_KEY, batch2))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(release2)));
+
+        Map<String, SW360SparseRelease> releases =
+                block(releaseClientAdapter.getSparseReleasesByExternalIdValues(EXTERNAL_ID_KEY, values));
+        assertThat(releases).containsOnly(entry(batch1.get(0), release1), entry(batch2.get(0), release2));
+    }
+
+    @Test
+    public void testGetReleasesByExternalIdValuesNoValues() {
+        Map<String, SW360SparseRelease> releases =
+                block(releaseClientAdapter.getSparseReleasesByExternalIdValues(EXTERNAL_ID_KEY,
+                        Collections.emptyList()));
+
+        assertThat(releases).isEmpty();
+        verifyZeroInteractions(releaseClient);
+    }
+
     @Test
     public void testGetReleaseByNameAndVersion() {
         SW360SparseRelease sparseRelease = new SW360SparseRelease()
@@ -410,6 +580,26 @@ public class SW360ReleaseClientAdapterAsyncImplTest {
         assertThat(processor.getCopyOptions()).contains(StandardCopyOption.REPLACE_EXISTING);
     }
 
+    @Test
+    public void testDownloadAttachmentWithDownloadManager() {
+        addSelfLink(release);
+        String attachmentId = "attach-9383764983";
+        SW360SparseAttachment sparseAttachment = new SW360SparseAttachment();
+        sparseAttachment.getLinks().setSelf(new Self("https://attachments.org/attachments/" + attachmentId));
+        sparseAttachment.setFilename("theAttachmentFile.tst");
+        Path resultPath = Paths.get("downloadResult");
+        DownloadManager downloadManager = mock(DownloadManager.class);
+        when(downloadManager.submit(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(resultPath)));
+        releaseClientAdapter =
+                new SW360ReleaseClientAdapterAsyncImpl(releaseClient, componentClientAdapter, downloadManager);
+
+        Optional<Path> downloadPath =
+                block(releaseClientAdapter.downloadAttachment(release, sparseAttachment, Paths.get("download")));
+        assertThat(downloadPath).hasValue(resultPath);
+        verify(downloadManager).submit(eq(URI.create(RELEASE_HREF).getHost()), any());
+    }
+
     @Test
     public void testProcessAttachment() {
         final String attachmentId = "attach-test-id";
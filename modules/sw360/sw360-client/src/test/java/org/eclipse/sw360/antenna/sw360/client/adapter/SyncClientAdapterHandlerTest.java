@@ -12,10 +12,12 @@ package org.eclipse.sw360.antenna.sw360.client.adapter;
 
 import org.junit.Test;
 
-import java.lang.reflect.UndeclaredThrowableException;
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.fail;
 
 public class SyncClientAdapterHandlerTest {
@@ -49,16 +51,41 @@ public class SyncClientAdapterHandlerTest {
 
     @Test
     public void testHandleUnexpectedMethod() {
-        DeepThoughtSync sync = SyncClientAdapterHandler.newHandler(DeepThoughtSync.class, Object.class, new Object());
-
         try {
-            sync.answerQuestionOfLifeUniverseAndEverything();
+            SyncClientAdapterHandler.newHandler(DeepThoughtSync.class, Object.class, new Object());
             fail("No exception thrown.");
-        } catch (UndeclaredThrowableException e) {
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("answerQuestionOfLifeUniverseAndEverything");
             assertThat(e.getCause()).isInstanceOf(NoSuchMethodException.class);
         }
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testHandleIncompatibleReturnType() {
+        DeepThoughtString stringDelegate = () -> "42";
+        SyncClientAdapterHandler.newHandler(DeepThoughtSync.class, DeepThoughtString.class, stringDelegate);
+    }
+
+    @Test
+    public void testDispatchTable() throws NoSuchMethodException {
+        Method syncMethod = DeepThoughtSync.class.getMethod("answerQuestionOfLifeUniverseAndEverything");
+        Method asyncMethod = DeepThoughtAsync.class.getMethod("answerQuestionOfLifeUniverseAndEverything");
+
+        Map<Method, Method> table =
+                SyncClientAdapterHandler.dispatchTable(DeepThoughtSync.class, DeepThoughtAsync.class);
+        assertThat(table).containsOnly(entry(syncMethod, asyncMethod));
+    }
+
+    @Test
+    public void testDispatchTablesAreCached() {
+        Map<Method, Method> table1 =
+                SyncClientAdapterHandler.dispatchTable(DeepThoughtSync.class, DeepThoughtAsync.class);
+        Map<Method, Method> table2 =
+                SyncClientAdapterHandler.dispatchTable(DeepThoughtSync.class, DeepThoughtAsync.class);
+
+        assertThat(table2).isSameAs(table1);
+    }
+
     @Test
     public void testHandleMethodFromObject() {
         DeepThoughtAsync async = createAsync();
@@ -111,4 +138,11 @@ public class SyncClientAdapterHandlerTest {
     interface DeepThoughtSync {
         int answerQuestionOfLifeUniverseAndEverything();
     }
-}
\ No newline at end of file
+
+    /**
+     * A test interface with a method that has an incompatible return type.
+     */
+    interface DeepThoughtString {
+        String answerQuestionOfLifeUniverseAndEverything();
+    }
+}
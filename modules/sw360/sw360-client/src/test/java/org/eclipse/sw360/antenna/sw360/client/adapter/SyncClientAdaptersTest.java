@@ -32,7 +32,9 @@ import java.util.concurrent.CompletableFuture;
  * synchronous interfaces of the different client adapters. The methods in the
  * asynchronous adapters returning a future are iterated over, and it is
  * checked that there is a corresponding method in the synchronous interface
- * with the same name, method parameters, and return type.
+ * with the same name, method parameters, and return type. In addition, it is
+ * checked that {@link SyncClientAdapterHandler} can create a dispatch table
+ * for the interfaces.
  */
 public class SyncClientAdaptersTest {
     /**
@@ -47,6 +49,7 @@ public class SyncClientAdaptersTest {
         Arrays.stream(asyncIfc.getDeclaredMethods())
                 .filter(method -> CompletableFuture.class.equals(method.getReturnType()))
                 .forEach(method -> checkMethod(syncIfc, method));
+        SyncClientAdapterHandler.dispatchTable(syncIfc, asyncIfc);
     }
 
     /**
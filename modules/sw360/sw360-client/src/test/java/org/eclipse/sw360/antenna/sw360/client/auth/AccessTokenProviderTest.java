@@ -16,6 +16,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.function.Function;
@@ -23,6 +27,7 @@ import java.util.function.Function;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +37,16 @@ public class AccessTokenProviderTest {
      */
     private static final String TOKEN = "a_test_access_token";
 
+    /**
+     * The time when the test token is obtained.
+     */
+    private static final Instant NOW = Instant.parse("2020-06-10T08:00:00Z");
+
+    /**
+     * The lifetime of tokens with an expiration time.
+     */
+    private static final Duration LIFETIME = Duration.ofHours(1);
+
     /**
      * Mock for the authentication client.
      */
@@ -42,10 +57,26 @@ public class AccessTokenProviderTest {
      */
     private AccessTokenProvider tokenProvider;
 
+    /**
+     * Mock for the clock used by the token provider.
+     */
+    private Clock clock;
+
     @Before
     public void setUp() {
         authClient = mock(SW360AuthenticationClient.class);
-        tokenProvider = new AccessTokenProvider(authClient);
+        clock = mock(Clock.class);
+        setTime(NOW);
+        tokenProvider = new AccessTokenProvider(authClient, clock);
+    }
+
+    /**
+     * Sets the current time returned by the clock mock.
+     *
+     * @param time the current time
+     */
+    private void setTime(Instant time) {
+        when(clock.instant()).thenReturn(time);
     }
 
     /**
@@ -57,7 +88,35 @@ public class AccessTokenProviderTest {
      */
     @SafeVarargs
     private final void expectTokenRequest(CompletableFuture<String> result, CompletableFuture<String>... moreResults) {
-        when(authClient.getOAuth2AccessToken()).thenReturn(result, moreResults);
+        CompletableFuture<AccessToken>[] moreTokens = Arrays.stream(moreResults)
+                .map(future -> future.thenApply(AccessToken::new))
+                .toArray(CompletableFuture[]::new);
+        expectAccessTokenRequest(result.thenApply(AccessToken::new), moreTokens);
+    }
+
+    /**
+     * Prepares the mock for the authentication client to expect requests for
+     * access tokens and sets the {@code AccessToken} results to be returned.
+     *
+     * @param result      the first result
+     * @param moreResults an arbitrary number of further results
+     */
+    @SafeVarargs
+    private final void expectAccessTokenRequest(CompletableFuture<AccessToken> result,
+                                                CompletableFuture<AccessToken>... moreResults) {
+        when(authClient.requestAccessToken()).thenReturn(result, moreResults);
+    }
+
+    /**
+     * Returns a completed future with a token that expires after the test
+     * lifetime.
+     *
+     * @param token    the token string
+     * @param obtained the time when the token was obtained
+     * @return the future with the token
+     */
+    private static CompletableFuture<AccessToken> expiringToken(String token, Instant obtained) {
+        return CompletableFuture.completedFuture(new AccessToken(token, obtained.plus(LIFETIME)));
     }
 
     @Test
@@ -77,7 +136,7 @@ public class AccessTokenProviderTest {
 
         AccessToken accessToken2 = tokenProvider.obtainAccessToken().join();
         assertThat(accessToken2).isSameAs(accessToken1);
-        verify(authClient).getOAuth2AccessToken();  // exactly once
+        verify(authClient).requestAccessToken();  // exactly once
     }
 
     @Test
@@ -102,7 +161,97 @@ public class AccessTokenProviderTest {
         tokenProvider.invalidate(new AccessToken("some other token"));
         AccessToken accessToken = tokenProvider.obtainAccessToken().join();
         assertThat(accessToken.getToken()).isEqualTo(TOKEN);
-        verify(authClient).getOAuth2AccessToken();  // exactly once
+        verify(authClient).requestAccessToken();  // exactly once
+    }
+
+    @Test
+    public void testTokenIsNotRefreshedBeforeRefreshTime() {
+        expectAccessTokenRequest(expiringToken(TOKEN, NOW));
+        tokenProvider.obtainAccessToken().join();
+
+        setTime(NOW.plus(LIFETIME).minus(AccessTokenProvider.REFRESH_MARGIN).minusMillis(1));
+        assertThat(tokenProvider.obtainAccessToken().join().getToken()).isEqualTo(TOKEN);
+        verify(authClient).requestAccessToken();
+    }
+
+    @Test
+    public void testTokenIsRefreshedInBackground() {
+        final String freshToken = "refreshed_access_token";
+        Instant refreshTime = NOW.plus(LIFETIME).minus(AccessTokenProvider.REFRESH_MARGIN);
+        CompletableFuture<AccessToken> refreshFuture = new CompletableFuture<>();
+        expectAccessTokenRequest(expiringToken(TOKEN, NOW), refreshFuture);
+        tokenProvider.obtainAccessToken().join();
+
+        setTime(refreshTime);
+        assertThat(tokenProvider.obtainAccessToken().join().getToken()).isEqualTo(TOKEN);
+        assertThat(tokenProvider.obtainAccessToken().join().getToken()).isEqualTo(TOKEN);
+        verify(authClient, times(2)).requestAccessToken();
+
+        refreshFuture.complete(new AccessToken(freshToken, refreshTime.plus(LIFETIME)));
+        assertThat(tokenProvider.obtainAccessToken().join().getToken()).isEqualTo(freshToken);
+        verify(authClient, times(2)).requestAccessToken();
+    }
+
+    @Test
+    public void testExpiredTokenIsNotHandedOut() {
+        final String freshToken = "refreshed_access_token";
+        Instant expiredTime = NOW.plus(LIFETIME).minus(AccessTokenProvider.EXPIRATION_MARGIN);
+        CompletableFuture<AccessToken> refreshFuture = new CompletableFuture<>();
+        expectAccessTokenRequest(expiringToken(TOKEN, NOW), refreshFuture);
+        tokenProvider.obtainAccessToken().join();
+
+        setTime(expiredTime);
+        CompletableFuture<AccessToken> tokenResult = tokenProvider.obtainAccessToken();
+        assertThat(tokenResult).isNotDone();
+        refreshFuture.complete(new AccessToken(freshToken, expiredTime.plus(LIFETIME)));
+        assertThat(tokenResult.join().getToken()).isEqualTo(freshToken);
+    }
+
+    @Test
+    public void testPendingRefreshIsReusedWhenTokenExpires() {
+        final String freshToken = "refreshed_access_token";
+        Instant refreshTime = NOW.plus(LIFETIME).minus(AccessTokenProvider.REFRESH_MARGIN);
+        CompletableFuture<AccessToken> refreshFuture = new CompletableFuture<>();
+        expectAccessTokenRequest(expiringToken(TOKEN, NOW), refreshFuture);
+        tokenProvider.obtainAccessToken().join();
+        setTime(refreshTime);
+        tokenProvider.obtainAccessToken().join();
+
+        setTime(NOW.plus(LIFETIME));
+        CompletableFuture<AccessToken> tokenResult = tokenProvider.obtainAccessToken();
+        refreshFuture.complete(new AccessToken(freshToken, refreshTime.plus(LIFETIME)));
+        assertThat(tokenResult.join().getToken()).isEqualTo(freshToken);
+        verify(authClient, times(2)).requestAccessToken();
+    }
+
+    @Test
+    public void testFailedRefreshKeepsCurrentToken() {
+        final String freshToken = "refreshed_access_token";
+        Instant refreshTime = NOW.plus(LIFETIME).minus(AccessTokenProvider.REFRESH_MARGIN);
+        CompletableFuture<AccessToken> failedFuture = new CompletableFuture<>();
+        failedFuture.completeExceptionally(new IOException("Refresh failed"));
+        expectAccessTokenRequest(expiringToken(TOKEN, NOW), failedFuture, expiringToken(freshToken, refreshTime));
+        tokenProvider.obtainAccessToken().join();
+
+        setTime(refreshTime);
+        assertThat(tokenProvider.obtainAccessToken().join().getToken()).isEqualTo(TOKEN);
+        assertThat(tokenProvider.obtainAccessToken().join().getToken()).isEqualTo(TOKEN);
+        verify(authClient, times(2)).requestAccessToken();
+
+        setTime(refreshTime.plus(AccessTokenProvider.REFRESH_RETRY_DELAY));
+        tokenProvider.obtainAccessToken().join();
+        assertThat(tokenProvider.obtainAccessToken().join().getToken()).isEqualTo(freshToken);
+    }
+
+    @Test
+    public void testShortLivedTokenIsNotRefreshedBeforeHalfOfItsLifetime() {
+        Duration shortLifetime = Duration.ofSeconds(30);
+        expectAccessTokenRequest(CompletableFuture.completedFuture(new AccessToken(TOKEN, NOW.plus(shortLifetime))));
+        tokenProvider.obtainAccessToken().join();
+
+        setTime(NOW.plus(shortLifetime.dividedBy(2)).minusMillis(1));
+        tokenProvider.obtainAccessToken().join();
+        verify(authClient).requestAccessToken();
     }
 
     @Test
@@ -15,6 +15,7 @@ import org.eclipse.sw360.antenna.http.RequestBuilder;
 import org.eclipse.sw360.antenna.http.utils.HttpConstants;
 import org.junit.Test;
 
+import java.time.Instant;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -70,6 +71,21 @@ public class AccessTokenTest {
         verify(wrappedProducer).accept(builderResult);
     }
 
+    @Test
+    public void testExpirationTimeUndefined() {
+        AccessToken token = new AccessToken(TOKEN);
+
+        assertThat(token.getExpiresAt()).isNotPresent();
+    }
+
+    @Test
+    public void testExpirationTime() {
+        Instant expiresAt = Instant.parse("2020-06-10T09:00:00Z");
+        AccessToken token = new AccessToken(TOKEN, expiresAt);
+
+        assertThat(token.getExpiresAt()).contains(expiresAt);
+    }
+
     @Test
     public void testEquals() {
         EqualsVerifier.forClass(AccessToken.class)
@@ -24,6 +24,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.concurrent.CompletableFuture;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.containing;
@@ -110,4 +113,65 @@ public class SW360AuthenticationClientIT extends AbstractMockServerTest {
         CompletableFuture<String> futToken = authenticationClient.getOAuth2AccessToken();
         extractException(futToken, JsonProcessingException.class);
     }
+
+    /**
+     * Prepares the mock server to answer a token request with the given JSON
+     * response body.
+     *
+     * @param body the body of the response
+     */
+    private void stubTokenResponse(String body) {
+        wireMockRule.stubFor(post(urlPathEqualTo(TOKEN_ENDPOINT))
+                .willReturn(aJsonResponse(STATUS_OK)
+                        .withBody(body)));
+    }
+
+    @Test
+    public void testRequestAccessTokenWithExpiresIn() throws IOException {
+        stubTokenResponse("{\"access_token\": \"" + ACCESS_TOKEN + "\", \"expires_in\": 3600}");
+        Instant before = Instant.now();
+
+        AccessToken accessToken = HttpUtils.waitFor(authenticationClient.requestAccessToken());
+        assertThat(accessToken.getToken()).isEqualTo(ACCESS_TOKEN);
+        assertThat(accessToken.getExpiresAt()).isPresent();
+        assertThat(accessToken.getExpiresAt().get())
+                .isBetween(before.plusSeconds(3600), Instant.now().plusSeconds(3600));
+    }
+
+    @Test
+    public void testRequestAccessTokenWithExpiresInAsString() throws IOException {
+        stubTokenResponse("{\"access_token\": \"" + ACCESS_TOKEN + "\", \"expires_in\": \"60\"}");
+        Instant before = Instant.now();
+
+        AccessToken accessToken = HttpUtils.waitFor(authenticationClient.requestAccessToken());
+        assertThat(accessToken.getExpiresAt().get()).isAfterOrEqualTo(before.plusSeconds(60));
+    }
+
+    @Test
+    public void testRequestAccessTokenWithExpirationFromJwt() throws IOException {
+        long exp = 1591776000L;
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("{\"sub\":\"" + USER + "\",\"exp\":" + exp + "}").getBytes(StandardCharsets.UTF_8));
+        String jwt = "eyJhbGciOiJIUzI1NiJ9." + payload + ".signature";
+        stubTokenResponse("{\"access_token\": \"" + jwt + "\"}");
+
+        AccessToken accessToken = HttpUtils.waitFor(authenticationClient.requestAccessToken());
+        assertThat(accessToken.getToken()).isEqualTo(jwt);
+        assertThat(accessToken.getExpiresAt()).contains(Instant.ofEpochSecond(exp));
+    }
+
+    @Test
+    public void testRequestAccessTokenWithoutExpiration() throws IOException {
+        stubTokenResponse("{\"access_token\": \"" + ACCESS_TOKEN + "\"}");
+
+        AccessToken accessToken = HttpUtils.waitFor(authenticationClient.requestAccessToken());
+        assertThat(accessToken.getExpiresAt()).isNotPresent();
+    }
+
+    @Test
+    public void testRequestAccessTokenForUserTokenHasNoExpiration() throws IOException {
+        AccessToken accessToken = HttpUtils.waitFor(authenticationClientForUserToken.requestAccessToken());
+        assertThat(accessToken.getToken()).isEqualTo(USER_TOKEN);
+        assertThat(accessToken.getExpiresAt()).isNotPresent();
+    }
 }
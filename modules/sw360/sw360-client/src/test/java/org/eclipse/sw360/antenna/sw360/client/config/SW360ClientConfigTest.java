@@ -14,9 +14,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -168,6 +171,63 @@ public class SW360ClientConfigTest {
         assertThat(config.getAuthURL()).isEqualTo(AUTH_URL);
     }
 
+    @Test
+    public void testDefaultRequestHandlingSettings() {
+        SW360ClientConfig config =
+                SW360ClientConfig.createConfig(REST_URL, AUTH_URL, USER, PASSWORD, CLIENT_ID, CLIENT_PASS,
+                        USER_TOKEN, httpClient, mapper);
+
+        assertThat(config.isRequestCoalescing()).isFalse();
+        assertThat(config.getCacheTtl()).isEqualTo(Duration.ZERO);
+        assertThat(config.getDownloadManager()).isEmpty();
+    }
+
+    @Test
+    public void testWithDownloadManager() {
+        DownloadManager downloadManager = mock(DownloadManager.class);
+        SW360ClientConfig orgConfig =
+                SW360ClientConfig.createConfig(REST_URL, AUTH_URL, USER, PASSWORD, CLIENT_ID, CLIENT_PASS,
+                        USER_TOKEN, httpClient, mapper);
+
+        SW360ClientConfig config = orgConfig.withDownloadManager(downloadManager);
+        assertThat(config.getDownloadManager()).contains(downloadManager);
+        assertThat(config.getRestURL()).isEqualTo(REST_URL);
+        assertThat(orgConfig.getDownloadManager()).isEmpty();
+    }
+
+    @Test
+    public void testWithRequestHandlingSettings() {
+        Duration ttl = Duration.ofSeconds(30);
+        SW360ClientConfig orgConfig =
+                SW360ClientConfig.createConfig(REST_URL, AUTH_URL, USER, PASSWORD, CLIENT_ID, CLIENT_PASS,
+                        USER_TOKEN, httpClient, mapper);
+
+        SW360ClientConfig config = orgConfig.withRequestCoalescing(true).withCacheTtl(ttl);
+        assertThat(config.isRequestCoalescing()).isTrue();
+        assertThat(config.getCacheTtl()).isEqualTo(ttl);
+        assertThat(config.getRestURL()).isEqualTo(REST_URL);
+        assertThat(config.getHttpClient()).isEqualTo(httpClient);
+        assertThat(orgConfig.isRequestCoalescing()).isFalse();
+    }
+
+    @Test
+    public void testWithDirectSyncAdapters() {
+        SW360ClientConfig orgConfig =
+                SW360ClientConfig.createConfig(REST_URL, AUTH_URL, USER, PASSWORD, CLIENT_ID, CLIENT_PASS,
+                        USER_TOKEN, httpClient, mapper);
+
+        SW360ClientConfig config = orgConfig.withDirectSyncAdapters(true);
+        assertThat(config.isDirectSyncAdapters()).isTrue();
+        assertThat(config.getRestURL()).isEqualTo(REST_URL);
+        assertThat(orgConfig.isDirectSyncAdapters()).isFalse();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCacheTtlIsRejected() {
+        SW360ClientConfig.createConfig(REST_URL, AUTH_URL, USER, PASSWORD, CLIENT_ID, CLIENT_PASS,
+                USER_TOKEN, httpClient, mapper).withCacheTtl(Duration.ofMillis(-1));
+    }
+
     @Test
     public void testEquals() {
         EqualsVerifier.forClass(SW360ClientConfig.class)
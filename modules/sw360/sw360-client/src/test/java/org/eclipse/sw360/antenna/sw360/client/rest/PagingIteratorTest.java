@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.rest;
+
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.Paging;
+import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
+import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PagingIteratorTest {
+    /**
+     * The size of the pages used by tests.
+     */
+    private static final int PAGE_SIZE = 3;
+
+    /**
+     * Creates a page with test entities.
+     *
+     * @param pageIndex  the index of the page
+     * @param count      the number of entities on this page
+     * @param totalPages the total number of pages
+     * @return the page
+     */
+    private static PagingResult<String> createPage(int pageIndex, int count, int totalPages) {
+        List<String> entities = IntStream.range(0, count)
+                .mapToObj(i -> entity(pageIndex * PAGE_SIZE + i))
+                .collect(Collectors.toList());
+        return new PagingResult<>(entities, new Paging(PAGE_SIZE, pageIndex, PAGE_SIZE * totalPages, totalPages),
+                null);
+    }
+
+    private static String entity(int index) {
+        return "entity" + index;
+    }
+
+    @Test
+    public void testAllPagesAreIterated() {
+        List<Integer> requestedPages = new ArrayList<>();
+        IntFunction<CompletableFuture<PagingResult<String>>> loader = index -> {
+            requestedPages.add(index);
+            return CompletableFuture.completedFuture(createPage(index, index < 2 ? PAGE_SIZE : 1, 3));
+        };
+
+        List<String> entities = PagingIterator.stream(loader).collect(Collectors.toList());
+        assertThat(entities).containsExactlyElementsOf(IntStream.rangeClosed(0, 2 * PAGE_SIZE)
+                .mapToObj(PagingIteratorTest::entity)
+                .collect(Collectors.toList()));
+        assertThat(requestedPages).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    public void testFirstPageIsLoadedLazily() {
+        List<Integer> requestedPages = new ArrayList<>();
+        PagingIterator<String> iterator = new PagingIterator<>(index -> {
+            requestedPages.add(index);
+            return CompletableFuture.completedFuture(createPage(index, PAGE_SIZE, 1));
+        });
+
+        assertThat(requestedPages).isEmpty();
+        assertThat(iterator.next()).isEqualTo(entity(0));
+        assertThat(requestedPages).containsExactly(0);
+    }
+
+    @Test
+    public void testNextPageIsPrefetched() {
+        List<CompletableFuture<PagingResult<String>>> pageFutures = Arrays.asList(new CompletableFuture<>(),
+                new CompletableFuture<>());
+        List<Integer> requestedPages = new ArrayList<>();
+        PagingIterator<String> iterator = new PagingIterator<>(index -> {
+            requestedPages.add(index);
+            return pageFutures.get(index);
+        });
+        pageFutures.get(0).complete(createPage(0, PAGE_SIZE, 2));
+
+        assertThat(iterator.next()).isEqualTo(entity(0));
+        assertThat(requestedPages).containsExactly(0, 1);
+        assertThat(pageFutures.get(1)).isNotDone();
+        pageFutures.get(1).complete(createPage(1, 1, 2));
+        List<String> remaining = new ArrayList<>();
+        iterator.forEachRemaining(remaining::add);
+        assertThat(remaining).containsExactly(entity(1), entity(2), entity(PAGE_SIZE));
+        assertThat(requestedPages).containsExactly(0, 1);
+    }
+
+    @Test
+    public void testResultWithoutPagingIsSinglePage() {
+        List<Integer> requestedPages = new ArrayList<>();
+        Iterator<String> iterator = new PagingIterator<>(index -> {
+            requestedPages.add(index);
+            return CompletableFuture.completedFuture(new PagingResult<>(Arrays.asList("a", "b"), null, null));
+        });
+
+        List<String> entities = new ArrayList<>();
+        iterator.forEachRemaining(entities::add);
+        assertThat(entities).containsExactly("a", "b");
+        assertThat(requestedPages).containsExactly(0);
+    }
+
+    @Test
+    public void testIterationStopsAtEmptyPage() {
+        List<Integer> requestedPages = new ArrayList<>();
+        IntFunction<CompletableFuture<PagingResult<String>>> loader = index -> {
+            requestedPages.add(index);
+            return CompletableFuture.completedFuture(createPage(index, index == 0 ? PAGE_SIZE : 0, 10));
+        };
+
+        assertThat(PagingIterator.stream(loader).count()).isEqualTo(PAGE_SIZE);
+        assertThat(requestedPages).containsExactly(0, 1);
+    }
+
+    @Test
+    public void testEmptyResult() {
+        PagingIterator<String> iterator = new PagingIterator<>(index ->
+                CompletableFuture.completedFuture(new PagingResult<>(Collections.emptyList(),
+                        new Paging(PAGE_SIZE, 0, 0, 0), null)));
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void testFailedPageRequest() {
+        IOException exception = new IOException("Server error");
+        PagingIterator<String> iterator = new PagingIterator<>(index -> index == 0 ?
+                CompletableFuture.completedFuture(createPage(0, PAGE_SIZE, 2)) :
+                FutureUtils.failedFuture(exception));
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            assertThat(iterator.next()).isEqualTo(entity(i));
+        }
+        assertThatThrownBy(iterator::hasNext)
+                .isInstanceOf(SW360ClientException.class)
+                .hasCause(exception);
+    }
+
+    @Test
+    public void testInvalidPageSize() {
+        assertThatThrownBy(() -> PagingIterator.checkPageSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("0");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPageLoader() {
+        new PagingIterator<String>(null);
+    }
+}
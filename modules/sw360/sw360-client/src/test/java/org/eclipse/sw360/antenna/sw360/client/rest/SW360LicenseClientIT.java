@@ -24,8 +24,10 @@ import java.util.stream.Collectors;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,6 +92,29 @@ public class SW360LicenseClientIT extends AbstractMockServerTest {
         assertThat(exception.getTag()).isEqualTo(SW360LicenseClient.TAG_GET_LICENSES);
     }
 
+    @Test
+    public void testStreamLicensesWithoutPagingSupport() {
+        final int pageSize = 2;
+        wireMockRule.stubFor(get(urlPathEqualTo("/licenses"))
+                .withQueryParam("page", equalTo("0"))
+                .withQueryParam("page_entries", equalTo(String.valueOf(pageSize)))
+                .willReturn(aJsonResponse(HttpConstants.STATUS_OK)
+                        .withBodyFile("all_licenses.json")));
+
+        List<SW360SparseLicense> licenses = licenseClient.streamLicenses(pageSize)
+                .collect(Collectors.toList());
+        checkLicenses(licenses);
+        wireMockRule.verify(1, getRequestedFor(urlPathEqualTo("/licenses")));
+    }
+
+    @Test
+    public void testStreamLicensesStatusNoContent() {
+        wireMockRule.stubFor(get(urlPathEqualTo("/licenses"))
+                .willReturn(aResponse().withStatus(HttpConstants.STATUS_NO_CONTENT)));
+
+        assertThat(licenseClient.streamLicenses(10)).isEmpty();
+    }
+
     @Test
     public void testGetLicenseByName() throws IOException {
         final String licenseName = "tst";
@@ -12,6 +12,7 @@ package org.eclipse.sw360.antenna.sw360.client.rest;
 
 import org.eclipse.sw360.antenna.http.utils.FailedRequestException;
 import org.eclipse.sw360.antenna.http.utils.HttpConstants;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.Paging;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360AttachmentType;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360SparseAttachment;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
@@ -37,6 +38,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.delete;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.patch;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
@@ -127,6 +129,30 @@ public class SW360ReleaseClientIT extends AbstractMockServerTest {
         checkReleaseData(releases);
     }
 
+    @Test
+    public void testGetReleasesByExternalIdValues() throws IOException {
+        wireMockRule.stubFor(get(urlEqualTo("/releases/searchByExternalIds?npm=pkg%3Anpm%2Fhandlebars%404.0.1" +
+                "&npm=pkg%3Anpm%2Fjackson-module-kotlin%402.9.8&npm=pkg%3Anpm%2Funknown%401.0"))
+                .willReturn(aJsonResponse(HttpConstants.STATUS_OK)
+                        .withBodyFile("releases_by_external_ids.json")));
+
+        List<SW360SparseRelease> releases = waitFor(releaseClient.getReleasesByExternalIdValues("npm",
+                Arrays.asList("pkg:npm/handlebars@4.0.1", "pkg:npm/jackson-module-kotlin@2.9.8",
+                        "pkg:npm/unknown@1.0")));
+        assertThat(releases).hasSize(2);
+        assertThat(releases.get(0).getExternalIds()).containsEntry("npm", "pkg:npm/handlebars@4.0.1");
+        assertThat(releases.get(1).getName()).isEqualTo("jackson-module-kotlin");
+    }
+
+    @Test
+    public void testGetReleasesByExternalIdValuesNoValues() throws IOException {
+        List<SW360SparseRelease> releases = waitFor(releaseClient.getReleasesByExternalIdValues("npm",
+                Collections.emptyList()));
+
+        assertThat(releases).isEmpty();
+        wireMockRule.verify(0, getRequestedFor(anyUrl()));
+    }
+
     @Test
     public void testGetReleasesByExternalIdsStatusNoContent() throws IOException {
         wireMockRule.stubFor(get(urlPathEqualTo("/releases/searchByExternalIds"))
@@ -221,4 +247,44 @@ public class SW360ReleaseClientIT extends AbstractMockServerTest {
                         HttpConstants.STATUS_ERR_SERVER);
         assertThat(exception.getTag()).isEqualTo(SW360ReleaseClient.TAG_DELETE_RELEASES);
     }
+
+    @Test
+    public void testStreamReleases() {
+        final int pageSize = 4;
+        for (int page = 0; page < 2; page++) {
+            wireMockRule.stubFor(get(urlPathEqualTo("/releases"))
+                    .withQueryParam("page", equalTo(String.valueOf(page)))
+                    .withQueryParam("page_entries", equalTo(String.valueOf(pageSize)))
+                    .willReturn(aJsonResponse(HttpConstants.STATUS_OK)
+                            .withBodyFile("releases_page" + page + ".json")));
+        }
+
+        List<SW360SparseRelease> releases = releaseClient.streamReleases(pageSize)
+                .collect(Collectors.toList());
+        checkReleaseData(releases);
+        wireMockRule.verify(2, getRequestedFor(urlPathEqualTo("/releases")));
+    }
+
+    @Test
+    public void testGetReleasesPage() throws IOException {
+        wireMockRule.stubFor(get(urlPathEqualTo("/releases"))
+                .willReturn(aJsonResponse(HttpConstants.STATUS_OK)
+                        .withBodyFile("releases_page1.json")));
+
+        PagingResult<SW360SparseRelease> result = waitFor(releaseClient.getReleases(1, 4));
+        assertThat(result.getResult()).hasSize(2);
+        assertThat(result.getPaging()).isEqualTo(new Paging(4, 1, 6, 2));
+        assertThat(result.getPagingLinkObjects().getPrevious()).isNotNull();
+        assertThat(result.getPagingLinkObjects().getNext()).isNull();
+    }
+
+    @Test
+    public void testGetReleasesPageError() {
+        wireMockRule.stubFor(get(urlPathEqualTo("/releases"))
+                .willReturn(aJsonResponse(HttpConstants.STATUS_ERR_SERVER)));
+
+        FailedRequestException exception =
+                expectFailedRequest(releaseClient.getReleases(0, 10), HttpConstants.STATUS_ERR_SERVER);
+        assertThat(exception.getTag()).isEqualTo(SW360ReleaseClient.TAG_GET_RELEASES);
+    }
 }
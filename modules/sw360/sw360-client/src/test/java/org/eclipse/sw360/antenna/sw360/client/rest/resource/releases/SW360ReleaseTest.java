@@ -234,4 +234,26 @@ public class SW360ReleaseTest extends SW360ResourcesTestUtils<SW360Release> {
 
         assertThat(emptyLicenses).containsExactly(some_license);
     }
+
+    @Test
+    public void testCopyIsEqualToOriginal() {
+        SW360Release release = prepareItem();
+
+        SW360Release copy = release.copy();
+        assertThat(copy).isNotSameAs(release);
+        assertThat(copy).isEqualTo(release);
+    }
+
+    @Test
+    public void testMergeIntoCopyDoesNotModifyOriginal() {
+        SW360Release release = prepareItem();
+        SW360Release other = new SW360Release()
+                .setName("Other Name")
+                .setCopyrights("Copyright 2020 OtherCorp")
+                .setComponentId("OTHER_COMPONENT_ID");
+        other.getEmbedded().setAttachments(Collections.singleton(makeSparseAttachment("other")));
+
+        release.copy().mergeWith(other);
+        assertThat(release).isEqualTo(prepareItem());
+    }
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestCoalescerTest {
+    private static final String KEY = "testKey";
+
+    private static final Duration TTL = Duration.ofSeconds(10);
+
+    private static final Instant NOW = Instant.parse("2020-06-08T10:00:00Z");
+
+    /**
+     * A mock for the clock used by the test instance.
+     */
+    private Clock clock;
+
+    /**
+     * Counts the requests that have been started.
+     */
+    private AtomicInteger requestCount;
+
+    @Before
+    public void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        requestCount = new AtomicInteger();
+    }
+
+    /**
+     * Returns a supplier for a request that returns the given future and
+     * counts its invocations.
+     *
+     * @param future the future to return
+     * @return the supplier for the request
+     */
+    private Supplier<CompletableFuture<String>> request(CompletableFuture<String> future) {
+        return () -> {
+            requestCount.incrementAndGet();
+            return future;
+        };
+    }
+
+    @Test
+    public void testConcurrentRequestsAreMerged() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        CompletableFuture<String> result1 = coalescer.execute(KEY, request(future));
+        CompletableFuture<String> result2 = coalescer.execute(KEY, request(new CompletableFuture<>()));
+        future.complete("result");
+        assertThat(result1).isCompletedWithValue("result");
+        assertThat(result2).isCompletedWithValue("result");
+        assertThat(requestCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRequestsWithDifferentKeysAreNotMerged() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        coalescer.execute(KEY, request(future));
+        coalescer.execute(KEY + "_other", request(future));
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCompletedRequestsAreNotReusedWithoutCache() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("r1")));
+        CompletableFuture<String> result = coalescer.execute(KEY, request(CompletableFuture.completedFuture("r2")));
+        assertThat(result).isCompletedWithValue("r2");
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCallersCannotCompleteTheSharedFuture() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        CompletableFuture<String> result1 = coalescer.execute(KEY, request(future));
+        CompletableFuture<String> result2 = coalescer.execute(KEY, request(future));
+        result1.complete("manipulated");
+        future.complete("result");
+        assertThat(result2).isCompletedWithValue("result");
+    }
+
+    @Test
+    public void testFailedRequestsAreNotCached() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(new IOException("Test exception"));
+
+        CompletableFuture<String> result1 = coalescer.execute(KEY, request(future));
+        CompletableFuture<String> result2 =
+                coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        assertThat(result1).isCompletedExceptionally();
+        assertThat(result2).isCompletedWithValue("result");
+    }
+
+    @Test
+    public void testExceptionsThrownByRequestsAreHandled() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+
+        CompletableFuture<String> result = coalescer.execute(KEY, () -> {
+            throw new IllegalStateException("Test exception");
+        });
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testResultsAreCached() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        when(clock.instant()).thenReturn(NOW.plus(TTL).minusMillis(1));
+        CompletableFuture<String> result = coalescer.execute(KEY, request(new CompletableFuture<>()));
+        assertThat(result).isCompletedWithValue("result");
+        assertThat(requestCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCachedResultsExpire() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+        CompletableFuture<String> result =
+                coalescer.execute(KEY, request(CompletableFuture.completedFuture("newResult")));
+        assertThat(result).isCompletedWithValue("newResult");
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testExpiredResultsAreRemovedFromCache() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+        coalescer.execute(KEY + "1", request(CompletableFuture.completedFuture("result1")));
+        coalescer.execute(KEY + "2", request(CompletableFuture.completedFuture("result2")));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(5));
+        coalescer.execute(KEY + "3", request(CompletableFuture.completedFuture("result3")));
+        assertThat(coalescer.getCachedResultCount()).isEqualTo(3);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+        coalescer.execute(KEY + "4", request(CompletableFuture.completedFuture("result4")));
+        assertThat(coalescer.getCachedResultCount()).isEqualTo(2);
+        CompletableFuture<String> result = coalescer.execute(KEY + "3", request(new CompletableFuture<>()));
+        assertThat(result).isCompletedWithValue("result3");
+        assertThat(requestCount.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        coalescer.execute(KEY + "_pending", request(new CompletableFuture<>()));
+
+        coalescer.invalidateAll();
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        coalescer.execute(KEY + "_pending", request(new CompletableFuture<>()));
+        assertThat(requestCount.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void testResultsOfRequestsStartedBeforeInvalidationAreNotCached() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+        CompletableFuture<String> future = new CompletableFuture<>();
+        coalescer.execute(KEY, request(future));
+
+        coalescer.invalidateAll();
+        future.complete("outdated");
+        CompletableFuture<String> result =
+                coalescer.execute(KEY, request(CompletableFuture.completedFuture("current")));
+        assertThat(result).isCompletedWithValue("current");
+    }
+
+    @Test
+    public void testInvalidateAfter() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        CompletableFuture<String> writeFuture = new CompletableFuture<>();
+
+        CompletableFuture<String> writeResult = coalescer.invalidateAfter(writeFuture);
+        writeFuture.complete("written");
+        assertThat(writeResult).isCompletedWithValue("written");
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidateOnlyAffectsMatchingKeys() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+        String otherKey = KEY + "_other";
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        coalescer.execute(otherKey, request(CompletableFuture.completedFuture("otherResult")));
+
+        coalescer.invalidate(KEY::equals);
+        assertThat(coalescer.execute(otherKey, request(CompletableFuture.completedFuture("new"))))
+                .isCompletedWithValue("otherResult");
+        assertThat(coalescer.execute(KEY, request(CompletableFuture.completedFuture("new"))))
+                .isCompletedWithValue("new");
+        assertThat(requestCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testInvalidateDropsMatchingInFlightRequests() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> otherFuture = new CompletableFuture<>();
+        String otherKey = KEY + "_other";
+        coalescer.execute(KEY, request(future));
+        coalescer.execute(otherKey, request(otherFuture));
+
+        coalescer.invalidate(KEY::equals);
+        coalescer.execute(otherKey, request(new CompletableFuture<>()));
+        future.complete("outdated");
+        otherFuture.complete("otherResult");
+        assertThat(requestCount.get()).isEqualTo(2);
+        assertThat(coalescer.execute(KEY, request(CompletableFuture.completedFuture("current"))))
+                .isCompletedWithValue("current");
+        assertThat(coalescer.execute(otherKey, request(CompletableFuture.completedFuture("new"))))
+                .isCompletedWithValue("otherResult");
+    }
+
+    @Test
+    public void testInvalidateAfterWithFilter() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(TTL, clock);
+        String otherKey = KEY + "_other";
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("result")));
+        coalescer.execute(otherKey, request(CompletableFuture.completedFuture("otherResult")));
+        CompletableFuture<String> writeFuture = new CompletableFuture<>();
+
+        CompletableFuture<String> writeResult = coalescer.invalidateAfter(writeFuture, otherKey::equals);
+        coalescer.execute(otherKey, request(CompletableFuture.completedFuture("new")));
+        assertThat(requestCount.get()).isEqualTo(2);
+        writeFuture.complete("written");
+        assertThat(writeResult).isCompletedWithValue("written");
+        coalescer.execute(KEY, request(CompletableFuture.completedFuture("new")));
+        coalescer.execute(otherKey, request(CompletableFuture.completedFuture("new")));
+        assertThat(requestCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testDisabledInstancePassesRequestsThrough() {
+        RequestCoalescer<String> coalescer = RequestCoalescer.disabled();
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        assertThat(coalescer.isEnabled()).isFalse();
+        assertThat(coalescer.execute(KEY, request(future))).isSameAs(future);
+        coalescer.execute(KEY, request(future));
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDefaultSettings() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>();
+
+        assertThat(coalescer.isEnabled()).isTrue();
+        assertThat(coalescer.getCacheTtl()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTtlIsRejected() {
+        new RequestCoalescer<>(Duration.ofSeconds(-1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+}
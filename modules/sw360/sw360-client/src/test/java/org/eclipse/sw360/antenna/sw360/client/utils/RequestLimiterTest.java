@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360.client.utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestLimiterTest {
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLimitIsRejected() {
+        new RequestLimiter(0);
+    }
+
+    @Test
+    public void testLimitIsApplied() {
+        RequestLimiter limiter = new RequestLimiter(2);
+        List<CompletableFuture<String>> requests = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            requests.add(request);
+            results.add(limiter.submit(() -> request));
+        }
+        assertThat(limiter.getActiveCount()).isEqualTo(2);
+        assertThat(limiter.getQueuedCount()).isEqualTo(1);
+
+        requests.get(1).complete("r1");
+        assertThat(results.get(1)).isCompletedWithValue("r1");
+        assertThat(limiter.getActiveCount()).isEqualTo(2);
+        assertThat(limiter.getQueuedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testRequestsAreStartedInOrder() {
+        RequestLimiter limiter = new RequestLimiter(1);
+        List<Integer> startedRequests = new ArrayList<>();
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        limiter.submit(() -> blocker);
+        for (int i = 0; i < 3; i++) {
+            int index = i;
+            limiter.submit(() -> {
+                startedRequests.add(index);
+                return CompletableFuture.completedFuture("r" + index);
+            });
+        }
+        assertThat(startedRequests).isEmpty();
+
+        blocker.complete("done");
+        assertThat(startedRequests).containsExactly(0, 1, 2);
+        assertThat(limiter.getActiveCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFailedRequestsReleaseTheirSlot() {
+        RequestLimiter limiter = new RequestLimiter(1);
+        CompletableFuture<String> request = new CompletableFuture<>();
+        CompletableFuture<String> result = limiter.submit(() -> request);
+
+        request.completeExceptionally(new IOException("Test exception"));
+        assertThat(result).isCompletedExceptionally();
+        assertThat(limiter.getActiveCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testExceptionsThrownBySuppliersAreHandled() {
+        RequestLimiter limiter = new RequestLimiter(1);
+
+        CompletableFuture<String> result = limiter.submit(() -> {
+            throw new IllegalStateException("Test exception");
+        });
+        assertThat(result).isCompletedExceptionally();
+        assertThat(limiter.getActiveCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testManySynchronouslyCompletingRequests() {
+        final int count = 50000;
+        RequestLimiter limiter = new RequestLimiter(1);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        AtomicInteger completedCount = new AtomicInteger();
+        limiter.submit(() -> blocker);
+        for (int i = 0; i < count; i++) {
+            limiter.submit(() -> CompletableFuture.completedFuture("r"))
+                    .thenRun(completedCount::incrementAndGet);
+        }
+
+        blocker.complete("done");
+        assertThat(completedCount.get()).isEqualTo(count);
+    }
+
+    @Test
+    public void testRequestsSubmittedByCallbacksAreStarted() {
+        RequestLimiter limiter = new RequestLimiter(1);
+        CompletableFuture<String> request = new CompletableFuture<>();
+
+        CompletableFuture<String> result = limiter.submit(() -> request)
+                .thenCompose(r -> limiter.submit(() -> CompletableFuture.completedFuture(r + "_next")));
+        request.complete("r");
+        assertThat(result).isCompletedWithValue("r_next");
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) Bosch.IO GmbH 2020.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.antenna.sw360;
+
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapter;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
+import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * An internally used helper class that looks up the SW360 releases for many
+ * artifacts in bulk based on their coordinates.
+ * </p>
+ * <p>
+ * Coordinates are stored in SW360 as external IDs of releases; the key is the
+ * type of the coordinates, the value the package URL. Rather than searching
+ * for the release of each artifact separately, this class collects the
+ * coordinates of all artifacts and looks them up with a few bulk requests,
+ * one batch per coordinate type. The sparse releases found are stored in an
+ * index. So when processing an artifact later, its release can be obtained
+ * from the index, and only a single request to fetch the release details is
+ * needed.
+ * </p>
+ * <p>
+ * The index is only an optimization: artifacts whose coordinates cannot be
+ * found have to be looked up in the usual way. Failures of bulk requests are
+ * therefore only logged. This class is thread-safe.
+ * </p>
+ */
+class ReleasesByCoordinates {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReleasesByCoordinates.class);
+
+    /**
+     * The adapter for looking up releases.
+     */
+    private final SW360ReleaseClientAdapter releaseClientAdapter;
+
+    /**
+     * The index of releases found; keys are package URLs.
+     */
+    private final Map<String, SW360SparseRelease> releases = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of {@code ReleasesByCoordinates} that uses the
+     * given adapter to look up releases.
+     *
+     * @param releaseClientAdapter the release adapter
+     */
+    ReleasesByCoordinates(SW360ReleaseClientAdapter releaseClientAdapter) {
+        this.releaseClientAdapter = releaseClientAdapter;
+    }
+
+    /**
+     * Looks up the releases for all the coordinates provided and adds the
+     * ones that could be found to the index. Each element of the passed in
+     * collection is a map with the coordinates of an artifact, as it is
+     * stored in the external IDs of a release.
+     *
+     * @param coordinates a collection with the coordinates to look up
+     */
+    void prefetch(Collection<? extends Map<String, String>> coordinates) {
+        Map<String, Set<String>> coordinatesByType = new HashMap<>();
+        coordinates.forEach(map -> map.forEach((type, packageUrl) ->
+                coordinatesByType.computeIfAbsent(type, key -> new HashSet<>()).add(packageUrl)));
+
+        coordinatesByType.forEach((type, packageUrls) -> {
+            try {
+                releases.putAll(releaseClientAdapter.getSparseReleasesByExternalIdValues(type, packageUrls));
+            } catch (SW360ClientException e) {
+                LOGGER.warn("Bulk lookup of releases with coordinates of type {} failed. " +
+                        "Releases are looked up individually.", type);
+                LOGGER.debug("Error: ", e);
+            }
+        });
+        LOGGER.debug("Found {} releases by their coordinates.", releases.size());
+    }
+
+    /**
+     * Returns an {@code Optional} with the sparse release that has been found
+     * for one of the given coordinates. Result is an empty {@code Optional}
+     * if none of the coordinates is contained in the index.
+     *
+     * @param coordinates a map with the coordinates of an artifact
+     * @return an {@code Optional} with the release found
+     */
+    Optional<SW360SparseRelease> get(Map<String, String> coordinates) {
+        return coordinates.values().stream()
+                .map(releases::get)
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+}
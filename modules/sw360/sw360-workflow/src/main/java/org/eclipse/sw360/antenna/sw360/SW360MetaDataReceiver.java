@@ -23,6 +23,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Comp
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360License;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360SparseLicense;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
 import org.eclipse.sw360.antenna.sw360.utils.ArtifactToComponentUtils;
 import org.eclipse.sw360.antenna.sw360.utils.ArtifactToReleaseUtils;
@@ -30,7 +31,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class SW360MetaDataReceiver {
     private static final Logger LOGGER = LoggerFactory.getLogger(SW360MetaDataReceiver.class);
@@ -40,13 +43,41 @@ public class SW360MetaDataReceiver {
     private SW360ReleaseClientAdapter releaseClientAdapter;
     private SW360LicenseClientAdapter licenseClientAdapter;
 
+    /**
+     * Stores the releases that have been looked up in advance by the
+     * coordinates of the artifacts to be processed.
+     */
+    private final ReleasesByCoordinates releasesByCoordinates;
+
     public SW360MetaDataReceiver(SW360Connection sw360ConnectionConfiguration) {
         componentClientAdapter = sw360ConnectionConfiguration.getComponentAdapter();
         releaseClientAdapter = sw360ConnectionConfiguration.getReleaseAdapter();
         licenseClientAdapter = sw360ConnectionConfiguration.getLicenseAdapter();
+        releasesByCoordinates = new ReleasesByCoordinates(releaseClientAdapter);
+    }
+
+    /**
+     * Looks up the releases for the given artifacts by their coordinates with
+     * bulk requests. The releases found are stored, so that
+     * {@link #findReleaseForArtifact(Artifact)} only needs a single request
+     * to fetch the details of such a release. Other artifacts are looked up
+     * via their component as before.
+     *
+     * @param artifacts the artifacts that are going to be processed
+     */
+    public void prefetchReleases(Collection<Artifact> artifacts) {
+        releasesByCoordinates.prefetch(artifacts.stream()
+                .map(ArtifactToReleaseUtils::getMapOfCoordinates)
+                .collect(Collectors.toList()));
     }
 
     public Optional<SW360Release> findReleaseForArtifact(Artifact artifact) {
+        Optional<SW360SparseRelease> optPrefetchedRelease =
+                releasesByCoordinates.get(ArtifactToReleaseUtils.getMapOfCoordinates(artifact));
+        if (optPrefetchedRelease.isPresent()) {
+            return releaseClientAdapter.enrichSparseRelease(optPrefetchedRelease.get());
+        }
+
         Optional<SW360Component> component = getComponentByArtifact(artifact);
         if (component.isPresent()) {
 
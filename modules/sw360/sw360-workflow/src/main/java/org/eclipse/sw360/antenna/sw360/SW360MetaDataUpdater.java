@@ -12,6 +12,8 @@
 
 package org.eclipse.sw360.antenna.sw360;
 
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactClearingState;
 import org.eclipse.sw360.antenna.model.license.License;
 import org.eclipse.sw360.antenna.sw360.client.adapter.AttachmentUploadRequest;
@@ -19,8 +21,10 @@ import org.eclipse.sw360.antenna.sw360.client.adapter.AttachmentUploadResult;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360AttachmentUtils;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360LicenseClientAdapter;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360LicenseClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ProjectClientAdapter;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapter;
+import org.eclipse.sw360.antenna.sw360.client.rest.PagingIterator;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360HalResource;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360Visibility;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360AttachmentType;
@@ -32,19 +36,27 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.projects.SW360Projec
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
+import org.eclipse.sw360.antenna.sw360.utils.ArtifactToReleaseUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class SW360MetaDataUpdater {
     private static final Logger LOGGER = LoggerFactory.getLogger(SW360MetaDataUpdater.class);
@@ -52,19 +64,57 @@ public class SW360MetaDataUpdater {
     // rest service adapters
     private final SW360ProjectClientAdapter projectClientAdapter;
     private final SW360LicenseClientAdapter licenseClientAdapter;
+    private final SW360LicenseClientAdapterAsync licenseClientAdapterAsync;
     private final SW360ReleaseClientAdapter releaseClientAdapter;
 
     /**
-     * Stores a set with the IDs of licenses known to SW360. This set is
-     * populated on demand and then cached to speed up further license checks.
+     * Stores a set with the IDs (short names) of licenses known to SW360. This
+     * index is populated on demand from the license catalogue and then shared
+     * by all license lookups. Licenses created by this object are added to it.
      */
-    private final AtomicReference<Set<String>> knownSW360LicenseIds;
+    private volatile Set<String> knownSW360LicenseIds;
+
+    /**
+     * Stores the releases that have been looked up in advance by the
+     * coordinates of the artifacts to be processed.
+     */
+    private final ReleasesByCoordinates releasesByCoordinates;
+
+    /**
+     * The cache for the hashes of local attachment files.
+     */
+    private final FileHashCache fileHashCache;
+
+    /**
+     * Stores the locks for the releases that are currently modified. As
+     * artifacts are processed in parallel, multiple artifacts can refer to the
+     * same release. Operations that modify a release (updates, attachment
+     * uploads and deletions) are therefore executed while holding the lock of
+     * this release, so that they cannot overwrite each other. Operations on
+     * different releases still run in parallel. A lock is only kept as long
+     * as an operation holds or waits for it; so the map does not grow with
+     * the number of releases processed.
+     */
+    private final ConcurrentMap<String, ReleaseLock> releaseLocks = new ConcurrentHashMap<>();
 
     public SW360MetaDataUpdater(SW360Connection connection) {
+        this(connection, FileHashCache.getDefault());
+    }
+
+    /**
+     * Creates a new instance of {@code SW360MetaDataUpdater} that uses the
+     * given cache to obtain the hashes of local attachment files.
+     *
+     * @param connection    the connection to the SW360 server
+     * @param fileHashCache the cache for file hashes
+     */
+    public SW360MetaDataUpdater(SW360Connection connection, FileHashCache fileHashCache) {
+        this.fileHashCache = fileHashCache;
         projectClientAdapter = connection.getProjectAdapter();
         licenseClientAdapter = connection.getLicenseAdapter();
+        licenseClientAdapterAsync = connection.getLicenseAdapterAsync();
         releaseClientAdapter = connection.getReleaseAdapter();
-        knownSW360LicenseIds = new AtomicReference<>();
+        releasesByCoordinates = new ReleasesByCoordinates(releaseClientAdapter);
     }
 
     public Set<SW360License> getLicenses(Collection<License> licenses) {
@@ -76,6 +126,64 @@ public class SW360MetaDataUpdater {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Returns a set with the SW360 IDs of the licenses passed in. The IDs are
+     * resolved using the index of licenses known to SW360; so no request to
+     * the server is needed except for loading the index once. Licenses that
+     * are unknown to SW360 are skipped; so the resulting set may contain
+     * fewer elements than the collection passed in.
+     *
+     * @param licenses the licenses to be resolved
+     * @return a set with the IDs of the licenses known to SW360
+     */
+    public Set<String> getLicenseIds(Collection<License> licenses) {
+        return licenses.stream()
+                .filter(this::isLicenseInSW360)
+                .map(License::getId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Creates all the licenses passed in that are not yet known to SW360. The
+     * create requests are sent in parallel; the method waits until all of
+     * them are complete. Licenses that could be created successfully are
+     * added to the index of known licenses, so that they can be resolved by
+     * later lookups. Failures are logged.
+     *
+     * @param licenses the licenses to be created if necessary
+     * @return a set with the IDs of the licenses that have been created
+     */
+    public Set<String> createMissingLicenses(Collection<License> licenses) {
+        Set<String> licenseIds = getSW360Licenses();
+        Map<String, License> missingLicenses = new HashMap<>();
+        licenses.stream()
+                .filter(license -> !licenseIds.contains(license.getId()))
+                .forEach(license -> missingLicenses.putIfAbsent(license.getId(), license));
+        if (missingLicenses.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        LOGGER.info("Creating {} missing licenses in SW360.", missingLicenses.size());
+        List<CompletableFuture<Optional<SW360License>>> futures = missingLicenses.values().stream()
+                .map(license -> licenseClientAdapterAsync.createLicense(toSW360License(license))
+                        .handle((createdLicense, ex) -> {
+                            if (ex != null) {
+                                LOGGER.error("Could not create license {} in SW360.", license.getId(), ex);
+                            }
+                            return Optional.ofNullable(createdLicense);
+                        }))
+                .collect(Collectors.toList());
+
+        Set<String> createdIds = new HashSet<>();
+        for (CompletableFuture<Optional<SW360License>> future : futures) {
+            future.join().ifPresent(license -> {
+                licenseIds.add(license.getShortName());
+                createdIds.add(license.getShortName());
+            });
+        }
+        return createdIds;
+    }
+
     private boolean isLicenseInSW360(License license) {
         if (getSW360Licenses().contains(license.getId())) {
             LOGGER.debug("License [{}] found in SW360.", license.getId());
@@ -87,17 +195,21 @@ public class SW360MetaDataUpdater {
 
     /**
      * Returns a set with the licenses known to SW360. The set is retrieved
-     * once and then cached. Note that an atomic reference is used to make
-     * sure that the initialization happens in a thread-safe way.
+     * once and then cached. As multiple artifacts may be processed in
+     * parallel, the initialization is synchronized, so that the license
+     * catalogue is loaded only a single time.
      *
      * @return the set with licenses known to SW360
      */
     private Set<String> getSW360Licenses() {
-        Set<String> licenseIds = knownSW360LicenseIds.get();
-        while (licenseIds == null) {
-            licenseIds = loadLicensesFromSW360();
-            if (!knownSW360LicenseIds.compareAndSet(null, licenseIds)) {
-                licenseIds = knownSW360LicenseIds.get();
+        Set<String> licenseIds = knownSW360LicenseIds;
+        if (licenseIds == null) {
+            synchronized (this) {
+                licenseIds = knownSW360LicenseIds;
+                if (licenseIds == null) {
+                    licenseIds = loadLicensesFromSW360();
+                    knownSW360LicenseIds = licenseIds;
+                }
             }
         }
         return licenseIds;
@@ -105,21 +217,61 @@ public class SW360MetaDataUpdater {
 
     /**
      * Queries the licenses known to SW360 and generates a set with their IDs.
+     * The licenses are loaded page by page, so that only their IDs are kept
+     * in memory. The set is thread-safe, so that newly created licenses can
+     * be added.
      *
      * @return the set with IDs of all known licenses in SW360
      */
     private Set<String> loadLicensesFromSW360() {
         LOGGER.info("Querying existing licenses from SW360.");
-        return licenseClientAdapter.getLicenses().stream()
-                .map(SW360SparseLicense::getShortName)
-                .collect(Collectors.toSet());
+        Set<String> licenseIds = ConcurrentHashMap.newKeySet();
+        try (Stream<SW360SparseLicense> licenses = licenseClientAdapter.getLicenseClient()
+                .streamLicenses(PagingIterator.DEFAULT_PAGE_SIZE)) {
+            licenses.map(SW360SparseLicense::getShortName)
+                    .forEach(licenseIds::add);
+        }
+        return licenseIds;
+    }
+
+    /**
+     * Creates an {@code SW360License} entity for a license that is to be
+     * created in SW360.
+     *
+     * @param license the license
+     * @return the corresponding {@code SW360License}
+     */
+    private static SW360License toSW360License(License license) {
+        String fullName = license.getCommonName() != null ? license.getCommonName() : license.getId();
+        return new SW360License()
+                .setShortName(license.getId())
+                .setFullName(fullName)
+                .setText(license.getText());
+    }
+
+    /**
+     * Looks up the releases for the given artifacts by their coordinates with
+     * bulk requests. This is an optimization for processing a large number of
+     * artifacts: the releases found are stored, so that
+     * {@link #getOrCreateRelease(SW360Release, boolean, boolean)} can skip
+     * the search for these artifacts and only needs to fetch the release
+     * details. Artifacts whose release cannot be found in this way are
+     * looked up individually as before.
+     *
+     * @param artifacts the artifacts that are going to be processed
+     */
+    public void prefetchReleases(Collection<Artifact> artifacts) {
+        releasesByCoordinates.prefetch(artifacts.stream()
+                .map(ArtifactToReleaseUtils::getMapOfCoordinates)
+                .collect(Collectors.toList()));
     }
 
     /**
      * Makes sure that a release corresponding to the passed in data object
      * exists in SW360 and returns it. If no matching release is found, a new
      * one is created. Otherwise, based on the {@code updateExisting} flag, the
-     * release found in SW360 may or may not be updated.
+     * release found in SW360 may or may not be updated. The release found in
+     * SW360 is not modified; the data is merged into a copy of it.
      *
      * @param sw360ReleaseFromArtifact the release to update or create
      * @param updateExisting           a flag whether the release should be
@@ -130,12 +282,10 @@ public class SW360MetaDataUpdater {
      * @return the updated or newly created release entity
      */
     public SW360Release getOrCreateRelease(SW360Release sw360ReleaseFromArtifact, boolean updateExisting, boolean overwriteSW360Data) {
-        Optional<SW360SparseRelease> optSparseReleaseByIds =
-                releaseClientAdapter.getSparseReleaseByExternalIds(sw360ReleaseFromArtifact.getExternalIds());
-        Optional<SW360SparseRelease> optSparseRelease = optSparseReleaseByIds.isPresent() ? optSparseReleaseByIds :
-                releaseClientAdapter.getSparseReleaseByNameAndVersion(sw360ReleaseFromArtifact.getName(),
-                        sw360ReleaseFromArtifact.getVersion());
-        Optional<SW360Release> optRelease = optSparseRelease.flatMap(releaseClientAdapter::enrichSparseRelease)
+        Optional<SW360Release> optRelease = findSparseRelease(sw360ReleaseFromArtifact)
+                .flatMap(releaseClientAdapter::enrichSparseRelease)
+                // the release may be shared with concurrent callers via request coalescing
+                .map(SW360Release::copy)
                 .map(release -> {
                     if (overwriteSW360Data && updateAllowed(release.getClearingState())) {
                         return release.mergeWith(sw360ReleaseFromArtifact);
@@ -146,7 +296,7 @@ public class SW360MetaDataUpdater {
         if (optRelease.isPresent()) {
             SW360Release release = optRelease.get();
             return updateExisting ?
-                    releaseClientAdapter.updateRelease(release) : release;
+                    withReleaseLock(release, () -> releaseClientAdapter.updateRelease(release)) : release;
         }
         return releaseClientAdapter.createRelease(sw360ReleaseFromArtifact);
     }
@@ -166,6 +316,29 @@ public class SW360MetaDataUpdater {
         return getOrCreateRelease(sw360ReleaseFromArtifact, updateExisting, false);
     }
 
+    /**
+     * Searches for the release in SW360 that corresponds to the given data
+     * object. The release is looked up in the releases that have been
+     * prefetched by coordinates, then by the external IDs, and finally by
+     * the component name and version.
+     *
+     * @param sw360ReleaseFromArtifact the release derived from an artifact
+     * @return an {@code Optional} with the sparse release found
+     */
+    private Optional<SW360SparseRelease> findSparseRelease(SW360Release sw360ReleaseFromArtifact) {
+        Optional<SW360SparseRelease> optPrefetchedRelease =
+                releasesByCoordinates.get(sw360ReleaseFromArtifact.getCoordinates());
+        if (optPrefetchedRelease.isPresent()) {
+            return optPrefetchedRelease;
+        }
+
+        Optional<SW360SparseRelease> optSparseReleaseByIds =
+                releaseClientAdapter.getSparseReleaseByExternalIds(sw360ReleaseFromArtifact.getExternalIds());
+        return optSparseReleaseByIds.isPresent() ? optSparseReleaseByIds :
+                releaseClientAdapter.getSparseReleaseByNameAndVersion(sw360ReleaseFromArtifact.getName(),
+                        sw360ReleaseFromArtifact.getVersion());
+    }
+
     /**
      * Checks whether a given Optional clearing state string allows for the release to be updated.
      * @param clearingState Optional clearing state that gets checked against
@@ -202,6 +375,9 @@ public class SW360MetaDataUpdater {
      * (if {@code force} is <strong>true</strong>) or a failure is recorded for
      * this attachment ({@code force} == <strong>false</strong>).</li>
      * </ul>
+     * The existing attachments are checked based on the current state of the
+     * release on the server, which is loaded while holding the lock of the
+     * release.
      *
      * @param sw360Release the target of the uploads
      * @param attachments  a map with paths and attachment types to upload
@@ -212,12 +388,70 @@ public class SW360MetaDataUpdater {
     public AttachmentUploadResult<SW360Release> uploadAttachments(SW360Release sw360Release,
                                                                   Map<Path, SW360AttachmentType> attachments,
                                                                   boolean force) {
+        return withReleaseLock(sw360Release, () ->
+                uploadAttachmentsLocked(sw360Release, loadCurrentRelease(sw360Release), attachments, force));
+    }
+
+    /**
+     * Deletes the attachments of a release matched by a filter and then
+     * uploads multiple attachments to it. This is a combination of
+     * {@link #deleteAttachments(SW360Release, Predicate)} and
+     * {@link #uploadAttachments(SW360Release, Map, boolean)} that is executed
+     * as a single operation while holding the lock of the release; so no
+     * other modification of the release can happen between the deletion and
+     * the upload. As the deletion is not a crucial operation, exceptions
+     * thrown by it are just logged, and the upload is done nevertheless.
+     *
+     * @param sw360Release the target of the operation
+     * @param deleteFilter a filter to select the attachments to be deleted
+     * @param attachments  a map with paths and attachment types to upload
+     * @param force        the flag that controls how to deal with conflicts
+     * @return a result object with information about successful and failed
+     * uploads
+     */
+    public AttachmentUploadResult<SW360Release> deleteAndUploadAttachments(SW360Release sw360Release,
+                                                                           Predicate<SW360SparseAttachment> deleteFilter,
+                                                                           Map<Path, SW360AttachmentType> attachments,
+                                                                           boolean force) {
+        return withReleaseLock(sw360Release, () -> {
+            SW360Release currentRelease = loadCurrentRelease(sw360Release);
+            SW360Release target = sw360Release;
+            try {
+                target = deleteAttachmentsLocked(sw360Release, currentRelease, deleteFilter);
+                if (target != sw360Release) {
+                    currentRelease = target;
+                }
+            } catch (SW360ClientException e) {
+                LOGGER.warn("Could not delete attachments for release {}:{}",
+                        sw360Release.getName(), sw360Release.getVersion(), e);
+            }
+            return uploadAttachmentsLocked(target, currentRelease, attachments, force);
+        });
+    }
+
+    /**
+     * Implements the upload of attachments to a release. This method is
+     * called while holding the lock of the release. Existing attachments are
+     * looked up in the current state of the release, which may differ from
+     * the target release passed by the caller.
+     *
+     * @param sw360Release   the target of the uploads
+     * @param currentRelease the current state of the release on the server
+     * @param attachments    a map with paths and attachment types to upload
+     * @param force          the flag that controls how to deal with conflicts
+     * @return a result object with information about successful and failed
+     * uploads
+     */
+    private AttachmentUploadResult<SW360Release> uploadAttachmentsLocked(SW360Release sw360Release,
+                                                                         SW360Release currentRelease,
+                                                                         Map<Path, SW360AttachmentType> attachments,
+                                                                         boolean force) {
         Set<String> attachmentsToDelete = new HashSet<>();
         Map<AttachmentUploadRequest.Item, Throwable> conflictFailures = new HashMap<>();
         AttachmentUploadRequest.Builder<SW360Release> builder = AttachmentUploadRequest.builder(sw360Release);
         for (Map.Entry<Path, SW360AttachmentType> e : attachments.entrySet()) {
             String fileName = String.valueOf(e.getKey().getFileName());
-            Optional<SW360SparseAttachment> optAttachment = findAttachmentByFileName(sw360Release, fileName);
+            Optional<SW360SparseAttachment> optAttachment = findAttachmentByFileName(currentRelease, fileName);
             boolean shouldUpload = optAttachment.map(attachment ->
                     checkUploadCriteria(e.getKey(), attachment, attachmentsToDelete, conflictFailures, force))
                     .orElse(true);
@@ -256,14 +490,32 @@ public class SW360MetaDataUpdater {
      * Deletes all the attachments of the given release matched by a filter.
      * This method gives full control over the attachments that are removed and
      * which are kept. This is useful for instance to delete all other source
-     * attachments than the final approved one.
+     * attachments than the final approved one. The filter is applied to the
+     * current state of the release on the server, which is loaded while
+     * holding the lock of the release.
      *
      * @param release the release to be updated
      * @param filter  a filter to select the attachments to be deleted
      * @return the updated release
      */
     public SW360Release deleteAttachments(SW360Release release, Predicate<SW360SparseAttachment> filter) {
-        Set<String> deleteAttachmentIds = release.getEmbedded().getAttachments().stream()
+        return withReleaseLock(release, () ->
+                deleteAttachmentsLocked(release, loadCurrentRelease(release), filter));
+    }
+
+    /**
+     * Implements the deletion of attachments matched by a filter. This method
+     * is called while holding the lock of the release. If no attachment is
+     * matched, no request is sent, and the release passed in is returned.
+     *
+     * @param release        the release to be updated
+     * @param currentRelease the current state of the release on the server
+     * @param filter         a filter to select the attachments to be deleted
+     * @return the updated release
+     */
+    private SW360Release deleteAttachmentsLocked(SW360Release release, SW360Release currentRelease,
+                                                 Predicate<SW360SparseAttachment> filter) {
+        Set<String> deleteAttachmentIds = currentRelease.getEmbedded().getAttachments().stream()
                 .filter(filter)
                 .map(SW360SparseAttachment::getId)
                 .collect(Collectors.toSet());
@@ -271,6 +523,69 @@ public class SW360MetaDataUpdater {
                 releaseClientAdapter.deleteAttachments(release, deleteAttachmentIds);
     }
 
+    /**
+     * Loads the current state of the given release from the server. This is
+     * done while holding the lock of the release before its attachments are
+     * inspected, so that decisions are not based on outdated data. If the
+     * release has no ID or cannot be loaded, the release passed in is
+     * returned.
+     *
+     * @param release the release in question
+     * @return the current state of this release
+     */
+    private SW360Release loadCurrentRelease(SW360Release release) {
+        String releaseId = release.getId();
+        if (releaseId == null) {
+            return release;
+        }
+        try {
+            return releaseClientAdapter.getReleaseById(releaseId).orElse(release);
+        } catch (SW360ClientException e) {
+            LOGGER.warn("Could not load the current state of release {}.", releaseId, e);
+            return release;
+        }
+    }
+
+    /**
+     * Executes an operation that modifies the given release while holding
+     * the lock for this release. So concurrent modifications of the same
+     * release are serialized. Releases without an ID have not been created
+     * yet and cannot be shared; for them, the operation is executed directly.
+     * The lock is reentrant, so operations can be nested. Note that the lock
+     * is held while the operation sends its requests to the server; other
+     * threads that want to modify the same release have to wait for this.
+     *
+     * @param release   the release affected by the operation
+     * @param operation the operation to execute
+     * @param <T>       the result type of the operation
+     * @return the result of the operation
+     */
+    private <T> T withReleaseLock(SW360Release release, Supplier<? extends T> operation) {
+        String releaseId = release.getId();
+        if (releaseId == null) {
+            return operation.get();
+        }
+        ReleaseLock releaseLock = releaseLocks.compute(releaseId,
+                (id, lock) -> (lock != null ? lock : new ReleaseLock()).acquire());
+        releaseLock.lock();
+        try {
+            return operation.get();
+        } finally {
+            releaseLock.unlock();
+            releaseLocks.computeIfPresent(releaseId, (id, lock) -> lock.release() ? null : lock);
+        }
+    }
+
+    /**
+     * Returns the number of release locks that are currently in use. This is
+     * used by tests to check that locks are cleaned up.
+     *
+     * @return the number of active release locks
+     */
+    int getActiveReleaseLockCount() {
+        return releaseLocks.size();
+    }
+
     /**
      * Calculates the SHA-1 hash for the given local attachment file. This is
      * used to determine whether a modified attachment file needs to be
@@ -281,7 +596,7 @@ public class SW360MetaDataUpdater {
      * @throws SW360ClientException if an error occurs
      */
     String calculateAttachmentHash(Path path) {
-        return SW360AttachmentUtils.calculateSha1Hash(path);
+        return SW360AttachmentUtils.calculateSha1Hash(path, fileHashCache);
     }
 
     /**
@@ -405,4 +720,43 @@ public class SW360MetaDataUpdater {
         moreFailures.putAll(orgResult.failedUploads());
         return AttachmentUploadResult.newResult(orgResult.getTarget(), orgResult.successfulUploads(), moreFailures);
     }
+
+    /**
+     * A lock for a single release that counts the threads using it. The
+     * counter is only modified by the atomic update functions of the map with
+     * release locks; so the lock can be removed from the map when it is no
+     * longer used.
+     */
+    private static final class ReleaseLock {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private int users;
+
+        /**
+         * Registers a thread that wants to use this lock.
+         *
+         * @return this lock
+         */
+        ReleaseLock acquire() {
+            users++;
+            return this;
+        }
+
+        /**
+         * Unregisters a thread that no longer uses this lock.
+         *
+         * @return a flag whether this lock is no longer used
+         */
+        boolean release() {
+            return --users == 0;
+        }
+
+        void lock() {
+            lock.lock();
+        }
+
+        void unlock() {
+            lock.unlock();
+        }
+    }
 }
@@ -145,7 +145,15 @@ public class ArtifactToReleaseUtils {
         release.setCoordinates(getMapOfCoordinates(artifact));
     }
 
-    private static Map<String, String> getMapOfCoordinates(Artifact artifact) {
+    /**
+     * Returns a map with the coordinates of the given artifact in the form
+     * they are stored as external IDs of a release: keys are the types of the
+     * coordinates, values are the canonical package URLs.
+     *
+     * @param artifact the artifact
+     * @return a map with the coordinates of this artifact
+     */
+    public static Map<String, String> getMapOfCoordinates(Artifact artifact) {
         Map<String, String> coordinates = new HashMap<>();
         artifact.askFor(ArtifactCoordinates.class)
                 .map(ArtifactCoordinates::getCoordinates)
@@ -11,11 +11,18 @@
 package org.eclipse.sw360.antenna.sw360.workflow;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ConnectionFactory;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
 import org.eclipse.sw360.antenna.sw360.client.config.SW360ClientConfig;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * <p>
  * A class for setting up the SW360 client library from the Antenna
@@ -79,6 +86,36 @@ public class SW360ConnectionConfigurationFactory {
      */
     public static final String TOKEN_KEY = "user.token";
 
+    /**
+     * The name of the property from the Antenna tool configuration that
+     * enables request coalescing: identical read requests that are in
+     * progress at the same time are sent to the server only once. This
+     * property is optional and defaults to <strong>false</strong>.
+     */
+    public static final String REQUEST_COALESCING_KEY = "request.coalescing";
+
+    /**
+     * The name of the property from the Antenna tool configuration that
+     * defines the time (in seconds) for which results of read requests are
+     * cached. A value of 0 disables caching. Setting a positive value
+     * implicitly enables request coalescing. This property is optional and
+     * defaults to 0.
+     */
+    public static final String CACHE_TTL_KEY = "cache.ttl.seconds";
+
+    /**
+     * The name of the property from the Antenna tool configuration that
+     * selects direct implementations for the synchronous client adapters
+     * instead of dynamic proxies. This property is optional and defaults to
+     * <strong>false</strong>.
+     */
+    public static final String DIRECT_SYNC_ADAPTERS_KEY = "sync.adapters.direct";
+
+    /**
+     * A map with the default values of optional properties.
+     */
+    private static final Map<String, String> DEFAULT_VALUES = Collections.unmodifiableMap(createDefaultValues());
+
     /**
      * The factory for creating a new connection.
      */
@@ -107,15 +144,18 @@ public class SW360ConnectionConfigurationFactory {
      * Creates a new {@code SW360Connection} object that is initialized from
      * configuration data. The passed in {@code Getter} object is used to
      * read in configuration settings. Other helper objects that are to be
-     * used by the connection to be created need to be passed in.
+     * used by the connection to be created need to be passed in. The
+     * {@code DownloadManager} should be the one shared by the application,
+     * so that its limits apply to the downloads of attachments as well.
      *
-     * @param getConfigValue getter for string config settings
-     * @param httpClient     the HTTP client
-     * @param mapper         the JSON mapper
+     * @param getConfigValue  getter for string config settings
+     * @param httpClient      the HTTP client
+     * @param mapper          the JSON mapper
+     * @param downloadManager the shared manager for downloads
      * @return the new {@code SW360Connection}
      */
     public SW360Connection createConnection(Getter<String> getConfigValue, HttpClient httpClient,
-                                            ObjectMapper mapper) {
+                                            ObjectMapper mapper, DownloadManager downloadManager) {
         String restUrl = getConfigValue.apply(REST_SERVER_URL_KEY);
         String authUrl = getConfigValue.apply(AUTH_SERVER_URL_KEY);
         String user = getConfigValue.apply(USERNAME_KEY);
@@ -123,13 +163,35 @@ public class SW360ConnectionConfigurationFactory {
         String clientId = getConfigValue.apply(CLIENT_USER_KEY);
         String clientPassword = getConfigValue.apply(CLIENT_PASSWORD_KEY);
         String token = getConfigValue.apply(TOKEN_KEY);
+        boolean requestCoalescing =
+                Boolean.parseBoolean(getOptionalValue(getConfigValue, REQUEST_COALESCING_KEY));
+        Duration cacheTtl = parseCacheTtl(getOptionalValue(getConfigValue, CACHE_TTL_KEY));
+        boolean directSyncAdapters =
+                Boolean.parseBoolean(getOptionalValue(getConfigValue, DIRECT_SYNC_ADAPTERS_KEY));
 
         SW360ClientConfig clientConfig =
                 SW360ClientConfig.createConfig(restUrl, authUrl, user, password, clientId, clientPassword,
-                        token, httpClient, mapper);
+                        token, httpClient, mapper)
+                        .withDownloadManager(downloadManager)
+                        .withRequestCoalescing(requestCoalescing)
+                        .withCacheTtl(cacheTtl)
+                        .withDirectSyncAdapters(directSyncAdapters);
         return connectionFactory.newConnection(clientConfig);
     }
 
+    /**
+     * Returns the default value of the configuration property with the given
+     * key. For mandatory properties, result is <strong>null</strong>. Callers
+     * that read the configuration can pass this value as default, so that
+     * optional properties need not be set.
+     *
+     * @param key the key of the property
+     * @return the default value of this property or <strong>null</strong>
+     */
+    public static String getDefaultValue(String key) {
+        return DEFAULT_VALUES.get(key);
+    }
+
     /**
      * Returns the {@code SW360ConnectionFactory} used by this object.
      *
@@ -139,6 +201,47 @@ public class SW360ConnectionConfigurationFactory {
         return connectionFactory;
     }
 
+    /**
+     * Reads an optional configuration property, falling back to its default
+     * value if it is not set.
+     *
+     * @param getConfigValue getter for string config settings
+     * @param key            the key of the property
+     * @return the value of the property
+     */
+    private static String getOptionalValue(Getter<String> getConfigValue, String key) {
+        String value = getConfigValue.apply(key);
+        return value != null ? value : getDefaultValue(key);
+    }
+
+    /**
+     * Converts the value of the cache time to live property to a duration.
+     *
+     * @param value the value of the property
+     * @return the time to live of cached results
+     * @throws ConfigurationException if the value is invalid
+     */
+    private static Duration parseCacheTtl(String value) {
+        try {
+            long seconds = Long.parseLong(value.trim());
+            if (seconds >= 0) {
+                return Duration.ofSeconds(seconds);
+            }
+        } catch (NumberFormatException e) {
+            // fall through to error handling
+        }
+        throw new ConfigurationException("The value in '" + CACHE_TTL_KEY +
+                "' must be a non-negative number of seconds: " + value);
+    }
+
+    private static Map<String, String> createDefaultValues() {
+        Map<String, String> defaults = new HashMap<>();
+        defaults.put(REQUEST_COALESCING_KEY, "false");
+        defaults.put(CACHE_TTL_KEY, "0");
+        defaults.put(DIRECT_SYNC_ADAPTERS_KEY, "false");
+        return defaults;
+    }
+
     @FunctionalInterface
     public interface Getter<T> {
         T apply(String s);
@@ -14,6 +14,7 @@ package org.eclipse.sw360.antenna.sw360.workflow.generators;
 
 import org.eclipse.sw360.antenna.api.IAttachable;
 import org.eclipse.sw360.antenna.api.workflow.AbstractGenerator;
+import org.eclipse.sw360.antenna.http.download.FileHashCache;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.sw360.SW360MetaDataUpdater;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
@@ -26,6 +27,8 @@ public class SW360Updater extends AbstractGenerator {
     private static final String UPDATE_RELEASES = "update_releases";
     private static final String UPLOAD_SOURCES = "upload_sources";
     private static final String DELETE_OBSOLETE_SOURCES = "delete_obsolete_sources";
+    private static final String MAX_CONCURRENCY = "max_concurrency";
+    private static final String CREATE_MISSING_LICENSES = "create_missing_licenses";
 
     private final SW360ConnectionConfigurationFactory connectionFactory;
 
@@ -78,14 +81,19 @@ public class SW360Updater extends AbstractGenerator {
      */
     SW360UpdaterImpl createUpdaterImpl(Map<String, String> configMap) {
         SW360Connection sw360Connection =
-                getConnectionFactory().createConnection(key -> getConfigValue(key, configMap),
-                        context.getHttpClient(), context.getObjectMapper());
-        SW360MetaDataUpdater sw360MetaDataUpdater = new SW360MetaDataUpdater(sw360Connection);
+                getConnectionFactory().createConnection(key -> getConfigValue(key, configMap,
+                        SW360ConnectionConfigurationFactory.getDefaultValue(key)),
+                        context.getHttpClient(), context.getObjectMapper(), context.getDownloadManager());
+        SW360MetaDataUpdater sw360MetaDataUpdater = new SW360MetaDataUpdater(sw360Connection,
+                getFileHashCache(configMap, FileHashCache.getDefault()));
 
         return new SW360UpdaterImpl(sw360MetaDataUpdater, getProjectName(), getProjectVersion(),
                 getBooleanConfigValue(UPDATE_RELEASES, configMap),
                 getBooleanConfigValue(UPLOAD_SOURCES, configMap),
-                getBooleanConfigValue(DELETE_OBSOLETE_SOURCES, configMap));
+                getBooleanConfigValue(DELETE_OBSOLETE_SOURCES, configMap),
+                Integer.parseInt(getConfigValue(MAX_CONCURRENCY, configMap,
+                        String.valueOf(SW360UpdaterImpl.DEFAULT_MAX_CONCURRENCY))),
+                getBooleanConfigValue(CREATE_MISSING_LICENSES, configMap));
     }
 
     SW360ConnectionConfigurationFactory getConnectionFactory() {
@@ -20,9 +20,7 @@ import org.eclipse.sw360.antenna.sw360.SW360MetaDataUpdater;
 import org.eclipse.sw360.antenna.sw360.client.adapter.AttachmentUploadResult;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360AttachmentType;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360SparseAttachment;
-import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360License;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
-import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
 import org.eclipse.sw360.antenna.sw360.utils.ArtifactToAttachmentUtils;
 import org.eclipse.sw360.antenna.sw360.utils.ArtifactToReleaseUtils;
 import org.slf4j.Logger;
@@ -30,6 +28,9 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -45,8 +46,21 @@ import java.util.stream.Collectors;
  * whether updates on release properties should be done or source attachments
  * should be uploaded.
  * </p>
+ * <p>
+ * When processing a collection of artifacts, the single artifacts are
+ * independent of each other. They are therefore handled by a thread pool
+ * whose size is limited by the maximum concurrency level; so multiple
+ * releases can be created and their attachments be uploaded at the same
+ * time. Only after all artifacts have been processed, the resulting releases
+ * are linked to the project in a single operation.
+ * </p>
  */
 public class SW360UpdaterImpl {
+    /**
+     * The default maximum number of artifacts that are processed in parallel.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(SW360UpdaterImpl.class);
 
     private final String projectName;
@@ -55,16 +69,76 @@ public class SW360UpdaterImpl {
     private final boolean updateReleases;
     private final boolean uploadSources;
     private final boolean deleteObsoleteSourceAttachments;
+    private final int maxConcurrency;
+    private final boolean createMissingLicenses;
 
     public SW360UpdaterImpl(SW360MetaDataUpdater sw360MetaDataUpdater,
                             String projectName, String projectVersion, boolean updateReleases,
                             boolean uploadSources, boolean deleteObsoleteSourceAttachments) {
+        this(sw360MetaDataUpdater, projectName, projectVersion, updateReleases, uploadSources,
+                deleteObsoleteSourceAttachments, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Creates a new instance of {@code SW360UpdaterImpl} that processes
+     * artifacts with the given concurrency level, but does not create
+     * missing licenses.
+     *
+     * @param sw360MetaDataUpdater            the object to update SW360
+     * @param projectName                     the name of the project
+     * @param projectVersion                  the version of the project
+     * @param updateReleases                  flag whether releases should be
+     *                                        updated
+     * @param uploadSources                   flag whether sources should be
+     *                                        uploaded
+     * @param deleteObsoleteSourceAttachments flag whether obsolete source
+     *                                        attachments should be deleted
+     * @param maxConcurrency                  the maximum number of artifacts
+     *                                        to process in parallel
+     * @throws IllegalArgumentException if the concurrency level is invalid
+     */
+    public SW360UpdaterImpl(SW360MetaDataUpdater sw360MetaDataUpdater,
+                            String projectName, String projectVersion, boolean updateReleases,
+                            boolean uploadSources, boolean deleteObsoleteSourceAttachments,
+                            int maxConcurrency) {
+        this(sw360MetaDataUpdater, projectName, projectVersion, updateReleases, uploadSources,
+                deleteObsoleteSourceAttachments, maxConcurrency, false);
+    }
+
+    /**
+     * Creates a new instance of {@code SW360UpdaterImpl} with all settings,
+     * including the maximum number of artifacts to be processed in parallel.
+     *
+     * @param sw360MetaDataUpdater            the object to update SW360
+     * @param projectName                     the name of the project
+     * @param projectVersion                  the version of the project
+     * @param updateReleases                  flag whether releases should be
+     *                                        updated
+     * @param uploadSources                   flag whether sources should be
+     *                                        uploaded
+     * @param deleteObsoleteSourceAttachments flag whether obsolete source
+     *                                        attachments should be deleted
+     * @param maxConcurrency                  the maximum number of artifacts
+     *                                        to process in parallel
+     * @param createMissingLicenses           flag whether licenses unknown
+     *                                        to SW360 should be created
+     * @throws IllegalArgumentException if the concurrency level is invalid
+     */
+    public SW360UpdaterImpl(SW360MetaDataUpdater sw360MetaDataUpdater,
+                            String projectName, String projectVersion, boolean updateReleases,
+                            boolean uploadSources, boolean deleteObsoleteSourceAttachments,
+                            int maxConcurrency, boolean createMissingLicenses) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Maximum concurrency must be at least 1, but is " + maxConcurrency);
+        }
         this.projectName = projectName;
         this.projectVersion = projectVersion;
         this.sw360MetaDataUpdater = sw360MetaDataUpdater;
         this.updateReleases = updateReleases;
         this.uploadSources = uploadSources;
         this.deleteObsoleteSourceAttachments = deleteObsoleteSourceAttachments;
+        this.maxConcurrency = maxConcurrency;
+        this.createMissingLicenses = createMissingLicenses;
     }
 
     /**
@@ -110,22 +184,111 @@ public class SW360UpdaterImpl {
         return deleteObsoleteSourceAttachments;
     }
 
+    /**
+     * Returns the maximum number of artifacts that are processed in parallel
+     * by {@link #produce(Collection)}.
+     *
+     * @return the maximum concurrency level
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Returns a flag whether licenses that are referenced by artifacts, but
+     * unknown to SW360 should be created. If set to <strong>true</strong>,
+     * {@link #produce(Collection)} collects the licenses of all artifacts
+     * first and creates the missing ones in a single batch, before the
+     * artifacts are processed. Otherwise, releases referencing unknown
+     * licenses are created without license information.
+     *
+     * @return a flag whether missing licenses should be created
+     */
+    public boolean isCreateMissingLicenses() {
+        return createMissingLicenses;
+    }
+
     public Map<String, IAttachable> produce(Collection<Artifact> intermediates) {
-        List<SW360Release> releases = new ArrayList<>();
-        for (Artifact artifact : intermediates) {
-            try {
-                SW360Release sw360ReleaseFinal = artifactToReleaseInSW360(artifact);
-                releases.add(sw360ReleaseFinal);
-            } catch (ExecutionException e) {
-                LOGGER.error("Release will not be created in SW360. Reason: {}", e.getMessage());
-                LOGGER.debug("Error: ", e);
-            }
+        if (isCreateMissingLicenses()) {
+            sw360MetaDataUpdater.createMissingLicenses(intermediates.stream()
+                    .flatMap(artifact -> ArtifactLicenseUtils.getFinalLicenses(artifact).getLicenses().stream())
+                    .collect(Collectors.toList()));
         }
+        List<SW360Release> releases = artifactsToReleasesInSW360(intermediates);
 
         sw360MetaDataUpdater.createProject(projectName, projectVersion, releases);
         return Collections.emptyMap();
     }
 
+    /**
+     * Processes all the given artifacts in parallel, making sure that
+     * corresponding releases exist in SW360. The releases of artifacts with
+     * known coordinates are looked up in bulk first. The releases are returned in the
+     * order of the artifacts; artifacts that cannot be processed are skipped.
+     *
+     * @param artifacts the artifacts to be processed
+     * @return a list with the resulting releases
+     */
+    private List<SW360Release> artifactsToReleasesInSW360(Collection<Artifact> artifacts) {
+        if (artifacts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        sw360MetaDataUpdater.prefetchReleases(artifacts);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(getMaxConcurrency(), artifacts.size()));
+        try {
+            List<Future<Optional<SW360Release>>> futures = artifacts.stream()
+                    .map(artifact -> executor.submit(() -> processArtifact(artifact)))
+                    .collect(Collectors.toList());
+            List<SW360Release> releases = new ArrayList<>(futures.size());
+            for (Future<Optional<SW360Release>> future : futures) {
+                waitForRelease(future).ifPresent(releases::add);
+            }
+            return releases;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Processes a single artifact. Expected failures are logged, and an empty
+     * {@code Optional} is returned for them.
+     *
+     * @param artifact the artifact to process
+     * @return an {@code Optional} with the resulting release
+     */
+    private Optional<SW360Release> processArtifact(Artifact artifact) {
+        try {
+            return Optional.ofNullable(artifactToReleaseInSW360(artifact));
+        } catch (ExecutionException e) {
+            LOGGER.error("Release will not be created in SW360. Reason: {}", e.getMessage());
+            LOGGER.debug("Error: ", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Waits for the processing of an artifact to complete and returns the
+     * result. Unexpected exceptions are re-thrown, so that they abort the
+     * update in the same way as if the artifacts were processed sequentially.
+     *
+     * @param future the future for the processing of an artifact
+     * @return an {@code Optional} with the resulting release
+     */
+    private static Optional<SW360Release> waitForRelease(Future<Optional<SW360Release>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while updating releases in SW360", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ExecutionException("Failed to update release in SW360", e.getCause());
+        }
+    }
+
     /**
      * Maps an artifact onto an SW360Release object and either gets
      * information about it from a SW360 instance or, if it does not
@@ -186,7 +349,9 @@ public class SW360UpdaterImpl {
     /**
      * Uploads the source artifact for the given release if it is available and
      * if uploads are enabled plus any additional attachments. If configured,
-     * all other source attachments are deleted for this release.
+     * all other source attachments are deleted for this release. The deletion
+     * and the uploads are executed as a single operation on the release, so
+     * that concurrent modifications of the same release cannot interfere.
      *
      * @param release  the release affected by the update
      * @param artifact the corresponding {@code Artifact}
@@ -197,7 +362,6 @@ public class SW360UpdaterImpl {
                                                                             Map<Path, SW360AttachmentType> uploads) {
         Optional<Path> optSrcPath = ArtifactToAttachmentUtils.getSourceAttachmentFromArtifact(artifact);
         String srcFileName = optSrcPath.map(path -> path.getFileName().toString()).orElse(null);
-        SW360Release srcDeletedRelease = deleteSourceAttachments(release, srcFileName);
 
         Map<Path, SW360AttachmentType> allUploads = new HashMap<>(uploads);
         if (isUploadSources() && release.getLinks().getSelf() != null
@@ -205,34 +369,15 @@ public class SW360UpdaterImpl {
             optSrcPath.ifPresent(srcPath -> allUploads.put(srcPath, SW360AttachmentType.SOURCE));
         }
 
+        if (isDeleteObsoleteSourceAttachments()) {
+            return sw360MetaDataUpdater.deleteAndUploadAttachments(release, deleteAttachmentsPredicate(srcFileName),
+                    allUploads, true);
+        }
         if (!allUploads.isEmpty()) {
-            return sw360MetaDataUpdater.uploadAttachments(srcDeletedRelease, allUploads,
-                    isDeleteObsoleteSourceAttachments());
+            return sw360MetaDataUpdater.uploadAttachments(release, allUploads, false);
         }
 
-        return new AttachmentUploadResult<>(srcDeletedRelease);
-    }
-
-    /**
-     * Deletes all source attachments of the given release and returns the
-     * updated release entity. As the deletion is not a crucial operation,
-     * exceptions are just logged. (It may be the case, that the following
-     * attachment upload fails because of that failure.)
-     *
-     * @param release     the release affected by the update
-     * @param srcFileName the name of the source attachment (or null)
-     * @return the updated release
-     */
-    private SW360Release deleteSourceAttachments(SW360Release release, String srcFileName) {
-        try {
-            return isDeleteObsoleteSourceAttachments() ?
-                    sw360MetaDataUpdater.deleteAttachments(release, deleteAttachmentsPredicate(srcFileName)) :
-                    release;
-        } catch (SW360ClientException e) {
-            LOGGER.warn("Could not delete source attachments for release {}:{}",
-                    release.getName(), release.getVersion(), e);
-            return release;
-        }
+        return new AttachmentUploadResult<>(release);
     }
 
     /**
@@ -251,16 +396,23 @@ public class SW360UpdaterImpl {
                 sourceTypePredicate.and(attachment -> !srcFileName.equals(attachment.getFilename()));
     }
 
+    /**
+     * Determines the SW360 IDs of the licenses of the given artifact. The IDs
+     * are resolved from the license index of the {@code SW360MetaDataUpdater},
+     * which is shared by all artifacts. If one of the licenses is unknown to
+     * SW360, an empty set is returned.
+     *
+     * @param artifact the artifact
+     * @return a set with the IDs of the artifact's licenses
+     */
     private Set<String> getSetOfLicenseIds(Artifact artifact) {
         Collection<License> availableLicenses = ArtifactLicenseUtils.getFinalLicenses(artifact).getLicenses();
 
-        Set<SW360License> detectedLicenses = sw360MetaDataUpdater.getLicenses(availableLicenses);
-        Set<String> licenseIds = Collections.emptySet();
-        if (detectedLicenses.size() == availableLicenses.size()) {
-            licenseIds = detectedLicenses.stream()
-                    .map(SW360License::getShortName)
-                    .collect(Collectors.toSet());
-        }
-        return licenseIds;
+        Set<String> licenseIds = sw360MetaDataUpdater.getLicenseIds(availableLicenses);
+        long expectedCount = availableLicenses.stream()
+                .map(License::getId)
+                .distinct()
+                .count();
+        return licenseIds.size() == expectedCount ? licenseIds : Collections.emptySet();
     }
 }
@@ -74,8 +74,9 @@ public class SW360Enricher extends AbstractProcessor {
 
     SW360MetaDataReceiver createMetaDataReceiver(Map<String, String> configMap) {
         SW360Connection connection =
-                getConnectionFactory().createConnection(key -> getConfigValue(key, configMap),
-                        context.getHttpClient(), context.getObjectMapper());
+                getConnectionFactory().createConnection(key -> getConfigValue(key, configMap,
+                        SW360ConnectionConfigurationFactory.getDefaultValue(key)),
+                        context.getHttpClient(), context.getObjectMapper(), context.getDownloadManager());
         return new SW360MetaDataReceiver(connection);
     }
 
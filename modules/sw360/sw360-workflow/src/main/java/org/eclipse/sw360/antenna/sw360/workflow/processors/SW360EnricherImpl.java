@@ -50,6 +50,7 @@ public class SW360EnricherImpl {
     }
 
     public Collection<Artifact> process(Collection<Artifact> intermediates) {
+        connector.prefetchReleases(intermediates);
         for (Artifact artifact : intermediates) {
             Optional<SW360Release> release = connector.findReleaseForArtifact(artifact);
             if (release.isPresent()) {
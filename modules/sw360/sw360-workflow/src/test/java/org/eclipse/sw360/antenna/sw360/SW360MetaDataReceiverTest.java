@@ -22,12 +22,15 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.components.SW360Comp
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360License;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.licenses.SW360SparseLicense;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
+import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
 import org.eclipse.sw360.antenna.sw360.utils.ArtifactToComponentUtils;
+import org.eclipse.sw360.antenna.sw360.utils.ArtifactToReleaseUtils;
 import org.junit.Test;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -77,6 +80,26 @@ public class SW360MetaDataReceiverTest {
         verify(releaseClientAdapter, times(1)).getReleaseByVersion(sw360Component, version);
     }
 
+    @Test
+    public void testFindReleaseForArtifactPrefetched() {
+        final Artifact artifact = new Artifact()
+                .addFact(new ArtifactCoordinates(new Coordinate(Coordinate.Types.NPM, "test", "1.0")));
+        final String purl = ArtifactToReleaseUtils.getMapOfCoordinates(artifact).get(Coordinate.Types.NPM);
+        final SW360SparseRelease sparseRelease = new SW360SparseRelease().setName("test");
+        final SW360Release release = new SW360Release();
+        when(releaseClientAdapter.getSparseReleasesByExternalIdValues(Coordinate.Types.NPM,
+                Collections.singleton(purl)))
+                .thenReturn(Collections.singletonMap(purl, sparseRelease));
+        when(releaseClientAdapter.enrichSparseRelease(sparseRelease))
+                .thenReturn(Optional.of(release));
+        setUp();
+
+        metaDataReceiver.prefetchReleases(Collections.singleton(artifact));
+        final Optional<SW360Release> releaseForArtifact = metaDataReceiver.findReleaseForArtifact(artifact);
+        assertThat(releaseForArtifact).hasValue(release);
+        verify(componentClientAdapter, never()).getComponentByName(any());
+    }
+
     @Test
     public void testFindReleaseForArtifactNotPresentComponent() {
         final String version = "version";
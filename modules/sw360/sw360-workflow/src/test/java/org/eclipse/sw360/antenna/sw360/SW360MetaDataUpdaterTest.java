@@ -10,13 +10,18 @@
  */
 package org.eclipse.sw360.antenna.sw360;
 
+import org.eclipse.sw360.antenna.model.artifact.Artifact;
+import org.eclipse.sw360.antenna.model.artifact.ArtifactCoordinates;
+import org.eclipse.sw360.antenna.model.coordinates.Coordinate;
 import org.eclipse.sw360.antenna.model.license.License;
 import org.eclipse.sw360.antenna.sw360.client.adapter.AttachmentUploadRequest;
 import org.eclipse.sw360.antenna.sw360.client.adapter.AttachmentUploadResult;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360LicenseClientAdapter;
+import org.eclipse.sw360.antenna.sw360.client.adapter.SW360LicenseClientAdapterAsync;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ProjectClientAdapter;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ReleaseClientAdapter;
+import org.eclipse.sw360.antenna.sw360.client.rest.SW360LicenseClient;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.SW360Visibility;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.Self;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.attachments.SW360AttachmentType;
@@ -28,7 +33,9 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.projects.SW360Projec
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Release;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360ReleaseEmbedded;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360SparseRelease;
+import org.eclipse.sw360.antenna.sw360.client.utils.FutureUtils;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
+import org.eclipse.sw360.antenna.sw360.utils.ArtifactToReleaseUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -48,12 +55,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -85,6 +99,9 @@ public class SW360MetaDataUpdaterTest {
     private final SW360Connection connection = mock(SW360Connection.class);
     private final SW360ProjectClientAdapter projectClientAdapter = mock(SW360ProjectClientAdapter.class);
     private final SW360LicenseClientAdapter licenseClientAdapter = mock(SW360LicenseClientAdapter.class);
+    private final SW360LicenseClientAdapterAsync licenseClientAdapterAsync =
+            mock(SW360LicenseClientAdapterAsync.class);
+    private final SW360LicenseClient licenseClient = mock(SW360LicenseClient.class);
     private final SW360ReleaseClientAdapter releaseClientAdapter = mock(SW360ReleaseClientAdapter.class);
 
     @Before
@@ -95,6 +112,10 @@ public class SW360MetaDataUpdaterTest {
                 .thenReturn(projectClientAdapter);
         when(connection.getLicenseAdapter())
                 .thenReturn(licenseClientAdapter);
+        when(connection.getLicenseAdapterAsync())
+                .thenReturn(licenseClientAdapterAsync);
+        when(licenseClientAdapter.getLicenseClient())
+                .thenReturn(licenseClient);
 
         metaDataUpdater = new SW360MetaDataUpdater(connection);
     }
@@ -201,6 +222,16 @@ public class SW360MetaDataUpdaterTest {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Prepares the mock for the license client to return the given licenses
+     * when the licenses are streamed.
+     *
+     * @param licenses the licenses known to SW360
+     */
+    private void initLicenses(List<SW360SparseLicense> licenses) {
+        when(licenseClient.streamLicenses(anyInt())).thenAnswer(invocation -> licenses.stream());
+    }
+
     @Test
     public void testGetLicensesWithExistingLicense() {
         final String licenseName = "licenseName";
@@ -210,7 +241,7 @@ public class SW360MetaDataUpdaterTest {
                 .setShortName(licenseName);
         License licenseAntenna = new License();
         licenseAntenna.setId(licenseName);
-        when(licenseClientAdapter.getLicenses()).thenReturn(testLicenses);
+        initLicenses(testLicenses);
         when(licenseClientAdapter.getLicenseByName(licenseName))
                 .thenReturn(Optional.of(license));
 
@@ -218,7 +249,7 @@ public class SW360MetaDataUpdaterTest {
 
         assertThat(licenses).hasSize(1);
 
-        verify(licenseClientAdapter, times(1)).getLicenses();
+        verify(licenseClient, times(1)).streamLicenses(anyInt());
         verify(licenseClientAdapter, times(1)).getLicenseByName(licenseName);
     }
 
@@ -229,15 +260,69 @@ public class SW360MetaDataUpdaterTest {
                 .setShortName(licenseName);
         License licenseAntenna = new License();
         licenseAntenna.setId(licenseName);
-        when(licenseClientAdapter.getLicenses())
-                .thenReturn(createTestLicenses());
+        initLicenses(createTestLicenses());
         when(licenseClientAdapter.getLicenseByName(licenseName))
                 .thenReturn(Optional.of(license));
 
         final Set<SW360License> licenses = metaDataUpdater.getLicenses(Collections.singletonList(licenseAntenna));
 
         assertThat(licenses).hasSize(0);
-        verify(licenseClientAdapter, times(1)).getLicenses();
+        verify(licenseClient, times(1)).streamLicenses(anyInt());
+    }
+
+    @Test
+    public void testGetLicenseIdsUsesLicenseIndex() {
+        List<SW360SparseLicense> testLicenses = createTestLicenses();
+        initLicenses(testLicenses);
+        License license1 = new License("testLicense1");
+        License license2 = new License("testLicense2");
+        License unknownLicense = new License("unknownLicense");
+
+        assertThat(metaDataUpdater.getLicenseIds(Arrays.asList(license1, unknownLicense)))
+                .containsOnly(license1.getId());
+        assertThat(metaDataUpdater.getLicenseIds(Arrays.asList(license1, license2)))
+                .containsOnly(license1.getId(), license2.getId());
+        verify(licenseClient, times(1)).streamLicenses(anyInt());
+        verify(licenseClientAdapter, never()).getLicenseByName(any());
+    }
+
+    @Test
+    public void testCreateMissingLicenses() {
+        initLicenses(createTestLicenses());
+        License knownLicense = new License("testLicense1");
+        License newLicense1 = new License("newLicense1", "New License 1", "License text");
+        License newLicense2 = new License("newLicense2");
+        License failedLicense = new License("failedLicense");
+        when(licenseClientAdapterAsync.createLicense(any())).thenAnswer(invocation -> {
+            SW360License license = invocation.getArgument(0);
+            return "failedLicense".equals(license.getShortName()) ?
+                    FutureUtils.failedFuture(new SW360ClientException("Test exception")) :
+                    CompletableFuture.completedFuture(license);
+        });
+
+        Set<String> createdIds = metaDataUpdater.createMissingLicenses(Arrays.asList(knownLicense, newLicense1,
+                newLicense2, newLicense1, failedLicense));
+        assertThat(createdIds).containsOnly(newLicense1.getId(), newLicense2.getId());
+        ArgumentCaptor<SW360License> captor = ArgumentCaptor.forClass(SW360License.class);
+        verify(licenseClientAdapterAsync, times(3)).createLicense(captor.capture());
+        SW360License createdLicense1 = captor.getAllValues().stream()
+                .filter(license -> newLicense1.getId().equals(license.getShortName()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        assertThat(createdLicense1.getFullName()).isEqualTo(newLicense1.getCommonName());
+        assertThat(createdLicense1.getText()).isEqualTo(newLicense1.getText());
+        assertThat(metaDataUpdater.getLicenseIds(Arrays.asList(newLicense1, newLicense2, failedLicense)))
+                .containsOnly(newLicense1.getId(), newLicense2.getId());
+        verify(licenseClient, times(1)).streamLicenses(anyInt());
+    }
+
+    @Test
+    public void testCreateMissingLicensesNoMissingLicenses() {
+        initLicenses(createTestLicenses());
+
+        assertThat(metaDataUpdater.createMissingLicenses(Collections.singleton(new License("testLicense3"))))
+                .isEmpty();
+        verifyZeroInteractions(licenseClientAdapterAsync);
     }
 
     @Test
@@ -255,6 +340,54 @@ public class SW360MetaDataUpdaterTest {
         verify(releaseClientAdapter, never()).updateRelease(any());
     }
 
+    /**
+     * Creates a test artifact with Maven coordinates.
+     *
+     * @return the test artifact
+     */
+    private static Artifact createArtifactWithCoordinates() {
+        return new Artifact()
+                .addFact(new ArtifactCoordinates(new Coordinate(Coordinate.Types.MAVEN, "org.test",
+                        "test-component", "1.0")));
+    }
+
+    @Test
+    public void testGetOrCreateReleaseUsesPrefetchedRelease() {
+        Artifact artifact = createArtifactWithCoordinates();
+        String purl = ArtifactToReleaseUtils.getMapOfCoordinates(artifact).get(Coordinate.Types.MAVEN);
+        SW360SparseRelease sparseRelease = new SW360SparseRelease().setName("prefetched");
+        SW360Release foundRelease = new SW360Release();
+        SW360Release patchedRelease = new SW360Release();
+        when(releaseClientAdapter.getSparseReleasesByExternalIdValues(Coordinate.Types.MAVEN,
+                Collections.singleton(purl)))
+                .thenReturn(Collections.singletonMap(purl, sparseRelease));
+        when(releaseClientAdapter.enrichSparseRelease(sparseRelease)).thenReturn(Optional.of(foundRelease));
+        when(releaseClientAdapter.updateRelease(any())).thenReturn(patchedRelease);
+        SW360Release queryRelease = ArtifactToReleaseUtils.convertToReleaseWithoutAttachments(artifact);
+
+        metaDataUpdater.prefetchReleases(Collections.singleton(artifact));
+        assertThat(metaDataUpdater.getOrCreateRelease(queryRelease, true, false)).isEqualTo(patchedRelease);
+        verify(releaseClientAdapter, never()).getSparseReleaseByExternalIds(any());
+        verify(releaseClientAdapter, never()).getSparseReleaseByNameAndVersion(any(), any());
+    }
+
+    @Test
+    public void testGetOrCreateReleaseFailedPrefetchFallsBackToSearch() {
+        Artifact artifact = createArtifactWithCoordinates();
+        SW360Release queryRelease = ArtifactToReleaseUtils.convertToReleaseWithoutAttachments(artifact);
+        SW360Release newRelease = new SW360Release();
+        when(releaseClientAdapter.getSparseReleasesByExternalIdValues(any(), anyCollection()))
+                .thenThrow(new SW360ClientException("Bulk lookup failed"));
+        when(releaseClientAdapter.getSparseReleaseByExternalIds(queryRelease.getExternalIds()))
+                .thenReturn(Optional.empty());
+        when(releaseClientAdapter.getSparseReleaseByNameAndVersion(queryRelease.getName(),
+                queryRelease.getVersion())).thenReturn(Optional.empty());
+        when(releaseClientAdapter.createRelease(queryRelease)).thenReturn(newRelease);
+
+        metaDataUpdater.prefetchReleases(Collections.singleton(artifact));
+        assertThat(metaDataUpdater.getOrCreateRelease(queryRelease, true, false)).isEqualTo(newRelease);
+    }
+
     @Test
     public void testGetOrCreateReleaseFoundByExternalIDsWithSW360Precedence() {
         SW360SparseRelease sparseRelease = new SW360SparseRelease();
@@ -325,6 +458,38 @@ public class SW360MetaDataUpdaterTest {
         assertThat(metaDataUpdater.getOrCreateRelease(queryRelease, true, true)).isEqualTo(patchedRelease);
     }
 
+    @Test
+    public void testGetOrCreateReleaseDoesNotModifySharedRelease() {
+        SW360SparseRelease sparseRelease = new SW360SparseRelease();
+        SW360Release sharedRelease = new SW360Release();
+        Map<String, String> extIDs = Collections.singletonMap("foo", "bar");
+        final String foundCopyright = "(C) Test copyright found";
+        sharedRelease.setExternalIds(extIDs);
+        sharedRelease.setCopyrights(foundCopyright);
+        SW360Release queryRelease1 = new SW360Release()
+                .setExternalIds(extIDs)
+                .setCopyrights("(C) Test copyright query 1");
+        SW360Release queryRelease2 = new SW360Release()
+                .setExternalIds(extIDs)
+                .setCopyrights("(C) Test copyright query 2");
+        queryRelease2.getEmbedded().setAttachments(Collections.singleton(new SW360SparseAttachment()
+                .setFilename("source.zip")
+                .setAttachmentType(SW360AttachmentType.SOURCE)));
+        when(releaseClientAdapter.getSparseReleaseByExternalIds(extIDs)).thenReturn(Optional.of(sparseRelease));
+        when(releaseClientAdapter.enrichSparseRelease(sparseRelease)).thenReturn(Optional.of(sharedRelease));
+        when(releaseClientAdapter.updateRelease(any()))
+                .thenAnswer((Answer<SW360Release>) invocationOnMock -> invocationOnMock.getArgument(0));
+
+        SW360Release result1 = metaDataUpdater.getOrCreateRelease(queryRelease1, true, true);
+        SW360Release result2 = metaDataUpdater.getOrCreateRelease(queryRelease2, true, true);
+        assertThat(result1.getCopyrights()).isEqualTo(queryRelease1.getCopyrights());
+        assertThat(result1.getEmbedded().getAttachments()).isEmpty();
+        assertThat(result2.getCopyrights()).isEqualTo(queryRelease2.getCopyrights());
+        assertThat(result2.getEmbedded().getAttachments()).hasSize(1);
+        assertThat(sharedRelease.getCopyrights()).isEqualTo(foundCopyright);
+        assertThat(sharedRelease.getEmbedded().getAttachments()).isEmpty();
+    }
+
     /**
      * Prepare release client adapter methods called when GetOrCreateRelease by ExternalID is tested
      * @param sparseRelease SparseRelease for getting release
@@ -428,6 +593,113 @@ public class SW360MetaDataUpdaterTest {
         verifyNoMoreInteractions(releaseClientAdapter);
     }
 
+    @Test
+    public void testUploadAttachmentsToTheSameReleaseAreSerialized() throws Exception {
+        final int uploadCount = 4;
+        SW360Release release = createRelease(RELEASE_NAME);
+        release.getLinks().setSelf(new Self("https://sw360.org/releases/testReleaseId"));
+        AtomicInteger activeUploads = new AtomicInteger();
+        AtomicInteger maxActiveUploads = new AtomicInteger();
+        when(releaseClientAdapter.uploadAttachments(any())).thenAnswer(invocation -> {
+            maxActiveUploads.accumulateAndGet(activeUploads.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            activeUploads.decrementAndGet();
+            return new AttachmentUploadResult<>(release);
+        });
+        List<Callable<AttachmentUploadResult<SW360Release>>> uploads = IntStream.range(0, uploadCount)
+                .mapToObj(idx -> Collections.singletonMap(attachmentPath("upload" + idx + ".doc"),
+                        SW360AttachmentType.DOCUMENT))
+                .<Callable<AttachmentUploadResult<SW360Release>>>map(attachments -> () ->
+                        metaDataUpdater.uploadAttachments(release, attachments, false))
+                .collect(Collectors.toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(uploadCount);
+        try {
+            List<Future<AttachmentUploadResult<SW360Release>>> futures = executor.invokeAll(uploads);
+            for (Future<AttachmentUploadResult<SW360Release>> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxActiveUploads.get()).isEqualTo(1);
+        verify(releaseClientAdapter, times(uploadCount)).uploadAttachments(any());
+        assertThat(metaDataUpdater.getActiveReleaseLockCount()).isEqualTo(0);
+    }
+
+    /**
+     * Creates a test release that has an ID.
+     *
+     * @return the test release
+     */
+    private static SW360Release createReleaseWithId() {
+        SW360Release release = createRelease(RELEASE_NAME);
+        release.getLinks().setSelf(new Self("https://sw360.org/releases/" + RELEASE_NAME));
+        return release;
+    }
+
+    @Test
+    public void testUploadAttachmentsChecksCurrentStateOfRelease() throws IOException {
+        Path uploadPath = createTestFile(attachmentPath("upload.doc"), TEST_FILE_CONTENT);
+        SW360AttachmentType attachmentType = SW360AttachmentType.SOURCE;
+        SW360Release release = createReleaseWithId();
+        SW360Release currentRelease = addAttachment(createReleaseWithId(),
+                createAttachment(uploadPath.getFileName().toString(), attachmentType));
+        when(releaseClientAdapter.getReleaseById(release.getId())).thenReturn(Optional.of(currentRelease));
+
+        AttachmentUploadResult<SW360Release> uploadResult =
+                metaDataUpdater.uploadAttachments(release, Collections.singletonMap(uploadPath, attachmentType),
+                        false);
+        assertThat(uploadResult).isEqualTo(new AttachmentUploadResult<>(release));
+        verify(releaseClientAdapter, never()).uploadAttachments(any());
+    }
+
+    @Test
+    public void testDeleteAndUploadAttachments() throws IOException {
+        Path uploadPath = createTestFile(attachmentPath("upload.doc"), TEST_FILE_CONTENT);
+        SW360AttachmentType attachmentType = SW360AttachmentType.SOURCE;
+        SW360SparseAttachment obsoleteAttachment = createAttachment("obsolete.zip", attachmentType);
+        SW360Release release = createReleaseWithId();
+        SW360Release currentRelease = addAttachment(createReleaseWithId(), obsoleteAttachment);
+        SW360Release deletedRelease = createReleaseWithId();
+        when(releaseClientAdapter.getReleaseById(release.getId())).thenReturn(Optional.of(currentRelease));
+        when(releaseClientAdapter.deleteAttachments(release, Collections.singleton(obsoleteAttachment.getId())))
+                .thenReturn(deletedRelease);
+        AttachmentUploadRequest<SW360Release> expRequest = AttachmentUploadRequest.builder(deletedRelease)
+                .addAttachment(uploadPath, attachmentType)
+                .build();
+        AttachmentUploadResult<SW360Release> expResult = new AttachmentUploadResult<>(createRelease("update"));
+        when(releaseClientAdapter.uploadAttachments(expRequest)).thenReturn(expResult);
+
+        AttachmentUploadResult<SW360Release> uploadResult =
+                metaDataUpdater.deleteAndUploadAttachments(release,
+                        attachment -> attachment.getAttachmentType() == SW360AttachmentType.SOURCE,
+                        Collections.singletonMap(uploadPath, attachmentType), true);
+        assertThat(uploadResult).isEqualTo(expResult);
+        assertThat(metaDataUpdater.getActiveReleaseLockCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testDeleteAndUploadAttachmentsHandlesDeleteFailure() throws IOException {
+        Path uploadPath = createTestFile(attachmentPath("upload.doc"), TEST_FILE_CONTENT);
+        SW360AttachmentType attachmentType = SW360AttachmentType.SOURCE;
+        SW360Release release = addSourceAttachment(createReleaseWithId(), "obsolete.zip");
+        when(releaseClientAdapter.deleteAttachments(any(), anyCollection()))
+                .thenThrow(new SW360ClientException("Delete rejected"));
+        AttachmentUploadRequest<SW360Release> expRequest = AttachmentUploadRequest.builder(release)
+                .addAttachment(uploadPath, attachmentType)
+                .build();
+        AttachmentUploadResult<SW360Release> expResult = new AttachmentUploadResult<>(createRelease("update"));
+        when(releaseClientAdapter.uploadAttachments(expRequest)).thenReturn(expResult);
+
+        AttachmentUploadResult<SW360Release> uploadResult =
+                metaDataUpdater.deleteAndUploadAttachments(release, attachment -> true,
+                        Collections.singletonMap(uploadPath, attachmentType), true);
+        assertThat(uploadResult).isEqualTo(expResult);
+        assertThat(metaDataUpdater.getActiveReleaseLockCount()).isEqualTo(0);
+    }
+
     @Test
     public void testUploadAttachmentsSkipUploads() throws IOException {
         Path uploadPath = createTestFile(attachmentPath("upload.doc"), TEST_FILE_CONTENT);
@@ -12,12 +12,16 @@ package org.eclipse.sw360.antenna.sw360.workflow;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360ConnectionFactory;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
 import org.eclipse.sw360.antenna.sw360.client.config.SW360ClientConfig;
+import org.eclipse.sw360.antenna.api.exceptions.ConfigurationException;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -42,15 +46,26 @@ public class SW360ConnectionConfigurationFactoryTest {
      * @return the accessor for properties
      */
     private static SW360ConnectionConfigurationFactory.Getter<String> stringConfigGetter() {
-        Map<String, String> props = new HashMap<>();
-        props.put(SW360ConnectionConfigurationFactory.REST_SERVER_URL_KEY, REST_URL);
-        props.put(SW360ConnectionConfigurationFactory.AUTH_SERVER_URL_KEY, AUTH_URL);
-        props.put(SW360ConnectionConfigurationFactory.USERNAME_KEY, USER);
-        props.put(SW360ConnectionConfigurationFactory.PASSWORD_KEY, PASSWORD);
-        props.put(SW360ConnectionConfigurationFactory.CLIENT_USER_KEY, CLIENT_ID);
-        props.put(SW360ConnectionConfigurationFactory.CLIENT_PASSWORD_KEY, CLIENT_SECRET);
-
-        return props::get;
+        return stringConfigGetter(new HashMap<>());
+    }
+
+    /**
+     * Returns an object allowing access to string-based test configuration
+     * properties, which contains the given additional properties.
+     *
+     * @param props a map with additional properties
+     * @return the accessor for properties
+     */
+    private static SW360ConnectionConfigurationFactory.Getter<String> stringConfigGetter(Map<String, String> props) {
+        Map<String, String> allProps = new HashMap<>(props);
+        allProps.put(SW360ConnectionConfigurationFactory.REST_SERVER_URL_KEY, REST_URL);
+        allProps.put(SW360ConnectionConfigurationFactory.AUTH_SERVER_URL_KEY, AUTH_URL);
+        allProps.put(SW360ConnectionConfigurationFactory.USERNAME_KEY, USER);
+        allProps.put(SW360ConnectionConfigurationFactory.PASSWORD_KEY, PASSWORD);
+        allProps.put(SW360ConnectionConfigurationFactory.CLIENT_USER_KEY, CLIENT_ID);
+        allProps.put(SW360ConnectionConfigurationFactory.CLIENT_PASSWORD_KEY, CLIENT_SECRET);
+
+        return allProps::get;
     }
 
     @Test
@@ -65,13 +80,14 @@ public class SW360ConnectionConfigurationFactoryTest {
     public void testConnectionCreation() {
         HttpClient httpClient = mock(HttpClient.class);
         ObjectMapper mapper = mock(ObjectMapper.class);
+        DownloadManager downloadManager = mock(DownloadManager.class);
         SW360ConnectionFactory connectionFactory = mock(SW360ConnectionFactory.class);
         SW360Connection connection = mock(SW360Connection.class);
         when(connectionFactory.newConnection(any())).thenReturn(connection);
         SW360ConnectionConfigurationFactory factory = new SW360ConnectionConfigurationFactory(connectionFactory);
 
         SW360Connection actualConnection =
-                factory.createConnection(stringConfigGetter(), httpClient, mapper);
+                factory.createConnection(stringConfigGetter(), httpClient, mapper, downloadManager);
         assertThat(actualConnection).isEqualTo(connection);
 
         ArgumentCaptor<SW360ClientConfig> captSW360Config = ArgumentCaptor.forClass(SW360ClientConfig.class);
@@ -85,5 +101,66 @@ public class SW360ConnectionConfigurationFactoryTest {
         assertThat(sw360ClientConfig.getClientPassword()).isEqualTo(CLIENT_SECRET);
         assertThat(sw360ClientConfig.getHttpClient()).isEqualTo(httpClient);
         assertThat(sw360ClientConfig.getObjectMapper()).isEqualTo(mapper);
+        assertThat(sw360ClientConfig.getDownloadManager()).contains(downloadManager);
+        assertThat(sw360ClientConfig.isRequestCoalescing()).isFalse();
+        assertThat(sw360ClientConfig.getCacheTtl()).isEqualTo(Duration.ZERO);
+        assertThat(sw360ClientConfig.isDirectSyncAdapters()).isFalse();
+    }
+
+    /**
+     * Creates a connection with the given additional properties and returns
+     * the client configuration that was passed to the connection factory.
+     *
+     * @param props the additional properties
+     * @return the client configuration
+     */
+    private static SW360ClientConfig createClientConfig(Map<String, String> props) {
+        SW360ConnectionFactory connectionFactory = mock(SW360ConnectionFactory.class);
+        SW360ConnectionConfigurationFactory factory = new SW360ConnectionConfigurationFactory(connectionFactory);
+
+        factory.createConnection(stringConfigGetter(props), mock(HttpClient.class), mock(ObjectMapper.class),
+                mock(DownloadManager.class));
+        ArgumentCaptor<SW360ClientConfig> captSW360Config = ArgumentCaptor.forClass(SW360ClientConfig.class);
+        verify(connectionFactory).newConnection(captSW360Config.capture());
+        return captSW360Config.getValue();
+    }
+
+    @Test
+    public void testRequestCoalescingCanBeConfigured() {
+        Map<String, String> props = new HashMap<>();
+        props.put(SW360ConnectionConfigurationFactory.REQUEST_COALESCING_KEY, "true");
+        props.put(SW360ConnectionConfigurationFactory.CACHE_TTL_KEY, "30");
+
+        SW360ClientConfig clientConfig = createClientConfig(props);
+        assertThat(clientConfig.isRequestCoalescing()).isTrue();
+        assertThat(clientConfig.getCacheTtl()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void testDirectSyncAdaptersCanBeConfigured() {
+        SW360ClientConfig clientConfig = createClientConfig(
+                Collections.singletonMap(SW360ConnectionConfigurationFactory.DIRECT_SYNC_ADAPTERS_KEY, "true"));
+
+        assertThat(clientConfig.isDirectSyncAdapters()).isTrue();
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testInvalidCacheTtlIsRejected() {
+        createClientConfig(Collections.singletonMap(SW360ConnectionConfigurationFactory.CACHE_TTL_KEY, "soon"));
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testNegativeCacheTtlIsRejected() {
+        createClientConfig(Collections.singletonMap(SW360ConnectionConfigurationFactory.CACHE_TTL_KEY, "-1"));
+    }
+
+    @Test
+    public void testDefaultValues() {
+        assertThat(SW360ConnectionConfigurationFactory
+                .getDefaultValue(SW360ConnectionConfigurationFactory.REQUEST_COALESCING_KEY)).isEqualTo("false");
+        assertThat(SW360ConnectionConfigurationFactory
+                .getDefaultValue(SW360ConnectionConfigurationFactory.CACHE_TTL_KEY)).isEqualTo("0");
+        assertThat(SW360ConnectionConfigurationFactory
+                .getDefaultValue(SW360ConnectionConfigurationFactory.REST_SERVER_URL_KEY)).isNull();
     }
 }
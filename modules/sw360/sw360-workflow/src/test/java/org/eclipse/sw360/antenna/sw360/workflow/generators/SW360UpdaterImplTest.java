@@ -10,10 +10,13 @@
  */
 package org.eclipse.sw360.antenna.sw360.workflow.generators;
 
+import org.eclipse.sw360.antenna.api.exceptions.ExecutionException;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactSourceFile;
 import org.eclipse.sw360.antenna.model.artifact.facts.ConfiguredLicenseInformation;
 import org.eclipse.sw360.antenna.model.license.License;
+import org.eclipse.sw360.antenna.model.license.LicenseOperator;
+import org.eclipse.sw360.antenna.model.license.LicenseStatement;
 import org.eclipse.sw360.antenna.sw360.SW360MetaDataUpdater;
 import org.eclipse.sw360.antenna.sw360.client.adapter.AttachmentUploadResult;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.Self;
@@ -24,6 +27,7 @@ import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360Releas
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360ReleaseEmbedded;
 import org.eclipse.sw360.antenna.sw360.client.rest.resource.releases.SW360ReleaseLinkObjects;
 import org.eclipse.sw360.antenna.sw360.client.utils.SW360ClientException;
+import org.eclipse.sw360.antenna.sw360.utils.ArtifactToReleaseUtils;
 import org.eclipse.sw360.antenna.sw360.utils.TestUtils;
 import org.junit.Rule;
 import org.junit.Test;
@@ -33,11 +37,17 @@ import org.mockito.ArgumentCaptor;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -104,6 +114,108 @@ public class SW360UpdaterImplTest {
         checkUpdaterProduce(true);
     }
 
+    @Test
+    public void testDefaultMaxConcurrency() {
+        SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
+                false, false, false);
+
+        assertThat(updater.getMaxConcurrency()).isEqualTo(SW360UpdaterImpl.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxConcurrencyIsRejected() {
+        new SW360UpdaterImpl(metaDataUpdater, "test", "version", false, false, false, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUpdaterProduceProcessesArtifactsInParallel() {
+        final int artifactCount = 16;
+        List<Artifact> artifacts = new ArrayList<>();
+        for (int i = 0; i < artifactCount; i++) {
+            artifacts.add(TestUtils.mkArtifact("test" + i, false));
+        }
+        artifacts.add(2, TestUtils.mkArtifact("fail", false));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(metaDataUpdater.getOrCreateRelease(any(), anyBoolean(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    SW360Release release = invocation.getArgument(0);
+                    threads.add(Thread.currentThread().getName());
+                    if (release.getName().contains("fail")) {
+                        throw new ExecutionException("Test exception");
+                    }
+                    return release;
+                });
+        SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
+                false, false, false, 4);
+
+        updater.produce(artifacts);
+        ArgumentCaptor<Collection<SW360Release>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(metaDataUpdater).createProject(eq("test"), eq("version"), captor.capture());
+        List<String> expectedNames = artifacts.stream()
+                .map(artifact -> ArtifactToReleaseUtils.convertToReleaseWithoutAttachments(artifact).getName())
+                .filter(name -> !name.contains("fail"))
+                .collect(Collectors.toList());
+        assertThat(captor.getValue().stream().map(SW360Release::getName)).containsExactlyElementsOf(expectedNames);
+        assertThat(threads).doesNotContain(Thread.currentThread().getName());
+        assertThat(threads.size()).isLessThanOrEqualTo(4);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUpdaterProduceCreatesMissingLicensesInBatch() {
+        Artifact artifact1 = TestUtils.mkArtifact("test1", false);
+        Artifact artifact2 = TestUtils.mkArtifact("test2", false);
+        License license = new License("additionalLicense");
+        artifact2.addFact(new ConfiguredLicenseInformation(license));
+        SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
+                false, false, false, 1, true);
+
+        updater.produce(Arrays.asList(artifact1, artifact2));
+        ArgumentCaptor<Collection<License>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(metaDataUpdater).createMissingLicenses(captor.capture());
+        assertThat(captor.getValue()).contains(license);
+        assertThat(captor.getValue().stream().map(License::getId))
+                .contains(TestUtils.RELEASE_DECLEARED_LICENSE);
+    }
+
+    @Test
+    public void testUpdaterProduceDoesNotCreateLicensesPerDefault() {
+        SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
+                false, false, false);
+
+        updater.produce(Collections.singleton(TestUtils.mkArtifact("test", false)));
+        assertThat(updater.isCreateMissingLicenses()).isFalse();
+        verify(metaDataUpdater, never()).createMissingLicenses(any());
+    }
+
+    @Test
+    public void testLicenseIdsAreNotSetIfLicensesAreUnknown() {
+        Artifact artifact = TestUtils.mkArtifact("test", false);
+        License license1 = new License("knownLicense");
+        License license2 = new License("unknownLicense");
+        artifact.addFact(new ConfiguredLicenseInformation(new LicenseStatement(Arrays.asList(license1, license2),
+                LicenseOperator.AND)));
+        SW360Release release = createRelease("test", null);
+        when(metaDataUpdater.getLicenseIds(any()))
+                .thenReturn(Collections.singleton(license1.getId()));
+        SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
+                true, false, false);
+
+        updater.artifactToReleaseWithUploads(artifact, release, Collections.emptyMap());
+        assertThat(release.getMainLicenseIds()).isEmpty();
+    }
+
+    @Test(expected = SW360ClientException.class)
+    public void testUpdaterProduceUnexpectedExceptionIsPropagated() {
+        when(metaDataUpdater.getOrCreateRelease(any(), anyBoolean(), anyBoolean()))
+                .thenThrow(new SW360ClientException("Test exception"));
+        SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
+                false, false, false);
+
+        updater.produce(Collections.singleton(TestUtils.mkArtifact("test", false)));
+    }
+
     @Test
     public void testUpdaterArtifactToReleaseWithUploadsNoUploads() {
         Artifact artifact = TestUtils.mkArtifact("test", false);
@@ -113,8 +225,8 @@ public class SW360UpdaterImplTest {
         artifact.addFact(new ConfiguredLicenseInformation(license));
         SW360Release release = createRelease("test", null);
         SW360Release updatedRelease = createRelease("testUpdated", null);
-        when(metaDataUpdater.getLicenses(Collections.singletonList(license)))
-                .thenReturn(Collections.singleton(sw360License));
+        when(metaDataUpdater.getLicenseIds(Collections.singletonList(license)))
+                .thenReturn(Collections.singleton(sw360License.getShortName()));
         when(metaDataUpdater.getOrCreateRelease(release, true))
                 .thenReturn(updatedRelease);
         SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
@@ -225,7 +337,8 @@ public class SW360UpdaterImplTest {
     private Predicate<SW360SparseAttachment> extractPredicateForDeleteAttachments(SW360Release createdRelease) {
         @SuppressWarnings("unchecked")
         ArgumentCaptor<Predicate<SW360SparseAttachment>> captor = ArgumentCaptor.forClass(Predicate.class);
-        verify(metaDataUpdater).deleteAttachments(eq(createdRelease), captor.capture());
+        verify(metaDataUpdater).deleteAndUploadAttachments(eq(createdRelease), captor.capture(), any(),
+                eq(true));
         return captor.getValue();
     }
 
@@ -237,8 +350,9 @@ public class SW360UpdaterImplTest {
         SW360Release deletedRelease = createRelease("releaseNoAttachments", null);
         when(metaDataUpdater.getOrCreateRelease(release, false))
                 .thenReturn(createdRelease);
-        when(metaDataUpdater.deleteAttachments(eq(createdRelease), any()))
-                .thenReturn(deletedRelease);
+        when(metaDataUpdater.deleteAndUploadAttachments(eq(createdRelease), any(), eq(Collections.emptyMap()),
+                eq(true)))
+                .thenReturn(new AttachmentUploadResult<>(deletedRelease));
         SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
                 false, false, true);
 
@@ -259,15 +373,13 @@ public class SW360UpdaterImplTest {
         artifact.addFact(new ArtifactSourceFile(sourceFile));
         SW360Release release = createRelease("test", sourceFile);
         SW360Release createdRelease = createRelease("testCreated", sourceFile);
-        SW360Release srcDeletedRelease = createRelease("testAttachmentsDeleted", sourceFile);
         SW360Release updatedRelease = createRelease("testUpdated", sourceFile);
         Map<Path, SW360AttachmentType> uploadMap = Collections.singletonMap(sourceFile, SW360AttachmentType.SOURCE);
         AttachmentUploadResult<SW360Release> uploadResult = new AttachmentUploadResult<>(updatedRelease);
 
         when(metaDataUpdater.getOrCreateRelease(release, false))
                 .thenReturn(createdRelease);
-        when(metaDataUpdater.deleteAttachments(eq(createdRelease), any())).thenReturn(srcDeletedRelease);
-        when(metaDataUpdater.uploadAttachments(srcDeletedRelease, uploadMap, true))
+        when(metaDataUpdater.deleteAndUploadAttachments(eq(createdRelease), any(), eq(uploadMap), eq(true)))
                 .thenReturn(uploadResult);
         SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
                 false, true, true);
@@ -283,7 +395,7 @@ public class SW360UpdaterImplTest {
     }
 
     @Test
-    public void testUpdaterArtifactToReleaseDeleteFailure() throws IOException {
+    public void testUpdaterArtifactToReleaseDeleteSourcesUploadsSourceFile() throws IOException {
         Path sourceFile = createTestFile();
         Artifact artifact = TestUtils.mkArtifact("test", false);
         artifact.addFact(new ArtifactSourceFile(sourceFile));
@@ -294,9 +406,7 @@ public class SW360UpdaterImplTest {
         AttachmentUploadResult<SW360Release> uploadResult = new AttachmentUploadResult<>(updatedRelease);
 
         when(metaDataUpdater.getOrCreateRelease(release, true)).thenReturn(createdRelease);
-        when(metaDataUpdater.deleteAttachments(any(), any()))
-                .thenThrow(new SW360ClientException("Delete operation failed"));
-        when(metaDataUpdater.uploadAttachments(createdRelease, uploadMap, true))
+        when(metaDataUpdater.deleteAndUploadAttachments(eq(createdRelease), any(), eq(uploadMap), eq(true)))
                 .thenReturn(uploadResult);
         SW360UpdaterImpl updater = new SW360UpdaterImpl(metaDataUpdater, "test", "version",
                 true, true, true);
@@ -304,5 +414,7 @@ public class SW360UpdaterImplTest {
         AttachmentUploadResult<SW360Release> result =
                 updater.artifactToReleaseWithUploads(artifact, release, Collections.emptyMap());
         assertThat(result).isEqualTo(uploadResult);
+        verify(metaDataUpdater, never()).deleteAttachments(any(), any());
+        verify(metaDataUpdater, never()).uploadAttachments(any(), any(), anyBoolean());
     }
 }
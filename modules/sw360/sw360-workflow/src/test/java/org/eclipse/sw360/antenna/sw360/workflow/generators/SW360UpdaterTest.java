@@ -16,6 +16,7 @@ import org.eclipse.sw360.antenna.api.IAttachable;
 import org.eclipse.sw360.antenna.api.configuration.AntennaContext;
 import org.eclipse.sw360.antenna.api.configuration.ToolConfiguration;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.model.Configuration;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.sw360.client.adapter.SW360Connection;
@@ -87,10 +88,13 @@ public class SW360UpdaterTest {
         SW360ConnectionConfigurationFactory connectionFactory = mock(SW360ConnectionConfigurationFactory.class);
         HttpClient httpClient = mock(HttpClient.class);
         ObjectMapper mapper = mock(ObjectMapper.class);
+        DownloadManager downloadManager = mock(DownloadManager.class);
         SW360Connection connection = mock(SW360Connection.class);
         when(antennaContextMock.getHttpClient()).thenReturn(httpClient);
         when(antennaContextMock.getObjectMapper()).thenReturn(mapper);
-        when(connectionFactory.createConnection(any(), eq(httpClient), eq(mapper))).thenReturn(connection);
+        when(antennaContextMock.getDownloadManager()).thenReturn(downloadManager);
+        when(connectionFactory.createConnection(any(), eq(httpClient), eq(mapper), eq(downloadManager)))
+                .thenReturn(connection);
 
         SW360Updater updater = new SW360Updater(connectionFactory);
         updater.setAntennaContext(antennaContextMock);
@@ -102,7 +106,8 @@ public class SW360UpdaterTest {
         @SuppressWarnings("unchecked")
         ArgumentCaptor<SW360ConnectionConfigurationFactory.Getter<String>> captor =
                 ArgumentCaptor.forClass(SW360ConnectionConfigurationFactory.Getter.class);
-        verify(connectionFactory).createConnection(captor.capture(), eq(httpClient), eq(mapper));
+        verify(connectionFactory).createConnection(captor.capture(), eq(httpClient), eq(mapper),
+                eq(downloadManager));
         SW360ConnectionConfigurationFactory.Getter<String> getter = captor.getValue();
         for (Map.Entry<String, String> e : configMap.entrySet()) {
             assertThat(getter.apply(e.getKey())).isEqualTo(e.getValue());
@@ -114,7 +119,7 @@ public class SW360UpdaterTest {
     public void testCreateUpdaterImpl() {
         SW360ConnectionConfigurationFactory connectionFactory = mock(SW360ConnectionConfigurationFactory.class);
         SW360Connection connection = mock(SW360Connection.class);
-        when(connectionFactory.createConnection(any(), any(), any())).thenReturn(connection);
+        when(connectionFactory.createConnection(any(), any(), any(), any())).thenReturn(connection);
         SW360Updater updater = new SW360Updater(connectionFactory);
         updater.setAntennaContext(antennaContextMock);
 
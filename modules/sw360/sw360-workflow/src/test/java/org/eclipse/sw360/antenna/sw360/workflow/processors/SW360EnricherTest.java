@@ -14,6 +14,7 @@ package org.eclipse.sw360.antenna.sw360.workflow.processors;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.sw360.antenna.http.HttpClient;
+import org.eclipse.sw360.antenna.http.download.DownloadManager;
 import org.eclipse.sw360.antenna.model.artifact.Artifact;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactChangeStatus;
 import org.eclipse.sw360.antenna.model.artifact.facts.ArtifactClearingState;
@@ -117,10 +118,13 @@ public class SW360EnricherTest extends AntennaTestWithMockedContext {
         SW360ConnectionConfigurationFactory connectionFactory = mock(SW360ConnectionConfigurationFactory.class);
         HttpClient httpClient = mock(HttpClient.class);
         ObjectMapper mapper = mock(ObjectMapper.class);
+        DownloadManager downloadManager = mock(DownloadManager.class);
         SW360Connection connection = mock(SW360Connection.class);
         when(antennaContextMock.getHttpClient()).thenReturn(httpClient);
         when(antennaContextMock.getObjectMapper()).thenReturn(mapper);
-        when(connectionFactory.createConnection(any(), eq(httpClient), eq(mapper))).thenReturn(connection);
+        when(antennaContextMock.getDownloadManager()).thenReturn(downloadManager);
+        when(connectionFactory.createConnection(any(), eq(httpClient), eq(mapper), eq(downloadManager)))
+                .thenReturn(connection);
 
         sw360Enricher = new SW360Enricher(connectionFactory);
         sw360Enricher.setAntennaContext(antennaContextMock);
@@ -131,7 +135,8 @@ public class SW360EnricherTest extends AntennaTestWithMockedContext {
         @SuppressWarnings("unchecked")
         ArgumentCaptor<SW360ConnectionConfigurationFactory.Getter<String>> captor =
                 ArgumentCaptor.forClass(SW360ConnectionConfigurationFactory.Getter.class);
-        verify(connectionFactory).createConnection(captor.capture(), eq(httpClient), eq(mapper));
+        verify(connectionFactory).createConnection(captor.capture(), eq(httpClient), eq(mapper),
+                eq(downloadManager));
         SW360ConnectionConfigurationFactory.Getter<String> getter = captor.getValue();
         for (Map.Entry<String, String> e : createStandardConfigMap().entrySet()) {
             assertThat(getter.apply(e.getKey())).isEqualTo(e.getValue());
@@ -139,6 +144,7 @@ public class SW360EnricherTest extends AntennaTestWithMockedContext {
         verify(connection).getReleaseAdapter();
         verify(antennaContextMock).getHttpClient();
         verify(antennaContextMock).getObjectMapper();
+        verify(antennaContextMock).getDownloadManager();
     }
 
     @Test